@@ -0,0 +1,144 @@
+package org.example.benchmarks;
+
+import org.example.partitions.PartitionMaintainer;
+import org.example.partitions.PartitionedTable;
+import org.example.utils.ConnectionManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the audit queries of one month on the table partitioned by month against an unpartitioned copy
+ * with the same rows, the primary key and an index on the timestamp. The rows are spread evenly over 2024
+ * and loaded once; later runs reuse them while the row count matches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuditPartitionBenchmark {
+
+    private static final String FLAT_TABLE = "coworking.audits_flat";
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime MONTH_START = LocalDateTime.of(2024, 6, 1, 0, 0);
+    private static final LocalDateTime MONTH_END = MONTH_START.plusMonths(1);
+
+    @Param({"10000000"})
+    public long audits;
+
+    /**
+     * {@code partitioned} queries {@code coworking.audits}, {@code flat} the unpartitioned copy.
+     */
+    @Param({"partitioned", "flat"})
+    public String layout;
+
+    private ConnectionManager connectionManager;
+    private String pageQuery;
+    private String countQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connectionManager = BenchmarkDatabase.open();
+        if (count("coworking.audits") != audits || count(FLAT_TABLE) != audits) {
+            load();
+        }
+
+        String table = layout.equals("flat") ? FLAT_TABLE : "coworking.audits";
+        pageQuery = "SELECT * FROM " + table + " WHERE audit_timestamp >= ? AND audit_timestamp < ? AND id > ? ORDER BY id LIMIT 100";
+        countQuery = "SELECT count(*) FROM " + table + " WHERE audit_timestamp >= ? AND audit_timestamp < ?";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionManager.close();
+    }
+
+    /**
+     * The first page of the audits of June, as served by {@code /admin/audits/page} with a time window.
+     */
+    @Benchmark
+    public long pageOfMonth() throws SQLException {
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(pageQuery)) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(MONTH_START));
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(MONTH_END));
+            preparedStatement.setLong(3, 0L);
+            long lastId = 0;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    lastId = resultSet.getLong("id");
+                }
+            }
+            return lastId;
+        }
+    }
+
+    /**
+     * Counts the audits of June.
+     */
+    @Benchmark
+    public long countOfMonth() throws SQLException {
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(countQuery)) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(MONTH_START));
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(MONTH_END));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private void load() throws SQLException {
+        PartitionMaintainer partitionMaintainer = new PartitionMaintainer(connectionManager);
+        for (int month = 1; month <= 12; month++) {
+            partitionMaintainer.createPartition(PartitionedTable.AUDITS, YearMonth.of(2024, month));
+        }
+
+        long secondsPerAudit = Math.max(1, 366L * 24 * 3600 / audits);
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE coworking.audits");
+            statement.execute("DROP TABLE IF EXISTS " + FLAT_TABLE);
+            statement.execute("""
+                    INSERT INTO coworking.audits(username, action_type, audit_type, audit_timestamp)
+                    SELECT 'user-' || g %% 500, 'AUTHORIZATION', CASE WHEN g %% 10 = 0 THEN 'FAIL' ELSE 'SUCCESS' END,
+                           timestamp '%s' + g * interval '%d seconds'
+                    FROM generate_series(0, %d - 1) g
+                    """.formatted(Timestamp.valueOf(FIRST_DAY), secondsPerAudit, audits));
+            statement.execute("CREATE TABLE " + FLAT_TABLE + " AS SELECT * FROM coworking.audits ORDER BY id");
+            statement.execute("ALTER TABLE " + FLAT_TABLE + " ADD PRIMARY KEY (id)");
+            statement.execute("CREATE INDEX audits_flat_timestamp_idx ON " + FLAT_TABLE + " (audit_timestamp)");
+            statement.execute("VACUUM ANALYZE coworking.audits");
+            statement.execute("VACUUM ANALYZE " + FLAT_TABLE);
+        }
+    }
+
+    private long count(String table) throws SQLException {
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (table.equals(FLAT_TABLE)) {
+                try (ResultSet exists = statement.executeQuery("SELECT to_regclass('" + FLAT_TABLE + "') IS NOT NULL")) {
+                    exists.next();
+                    if (!exists.getBoolean(1)) {
+                        return -1;
+                    }
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM " + table)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
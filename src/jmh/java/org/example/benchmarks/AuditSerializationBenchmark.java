@@ -0,0 +1,97 @@
+package org.example.benchmarks;
+
+import org.example.config.JsonHttpMessageConverter;
+import org.example.entity.Audit;
+import org.example.entity.types.ActionType;
+import org.example.entity.types.AuditType;
+import org.example.utils.JsonUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures writing the response of {@code /admin/audits} through the message converter: the former converter
+ * with its own indenting mapper and bean serializers against the shared compact mapper, with and without gzip.
+ * The size of the body sent to the client is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditSerializationBenchmark {
+
+    private static final Type AUDITS_TYPE = ResolvableType.forClassWithGenerics(List.class, Audit.class).getType();
+
+    @Param({"1000", "10000"})
+    public int audits;
+
+    /**
+     * {@code indented} is the converter used before, {@code compact} the shared one,
+     * {@code compact-gzip} the shared one behind the compression filter at its default level.
+     */
+    @Param({"indented", "compact", "compact-gzip"})
+    public String format;
+
+    private MappingJackson2HttpMessageConverter converter;
+    private boolean gzip;
+    private List<Audit> body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        converter = format.equals("indented")
+                ? new MappingJackson2HttpMessageConverter(new Jackson2ObjectMapperBuilder().indentOutput(true).build())
+                : new JsonHttpMessageConverter(JsonUtil.OBJECT_MAPPER);
+        gzip = format.endsWith("gzip");
+
+        ActionType[] actionTypes = ActionType.values();
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 9, 0);
+        body = new ArrayList<>(audits);
+        for (int i = 0; i < audits; i++) {
+            body.add(new Audit((long) i + 1, "user-" + i % 500, i % 10 == 0 ? AuditType.FAIL : AuditType.SUCCESS,
+                    actionTypes[i % actionTypes.length], timestamp.plusSeconds(i * 37L)));
+        }
+        System.out.println("Bytes on wire for " + audits + " audits, " + format + ": " + writeAudits());
+    }
+
+    @Benchmark
+    public long writeAudits() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        OutputStream out = gzip ? new GZIPOutputStream(bytes, 8192) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        } : bytes;
+        converter.write(body, AUDITS_TYPE, MediaType.APPLICATION_JSON, new HttpOutputMessage() {
+            private final HttpHeaders headers = new HttpHeaders();
+
+            @Override
+            public OutputStream getBody() {
+                return out;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        });
+        out.close();
+        return bytes.size();
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.benchmarks;
+
+import org.example.availability.AvailabilityIndex;
+import org.example.entity.Workspace;
+import org.example.repository.BookingRepository;
+import org.example.repository.impl.BookingRepositoryImpl;
+import org.example.repository.impl.WorkspaceRepositoryImpl;
+import org.example.utils.ConnectionManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookup of free workspaces in a period, both through SQL and through the in-memory availability index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    private static final int WINDOWS = 1024;
+
+    @Param({"10000", "100000", "1000000"})
+    public int bookings;
+
+    private ConnectionManager connectionManager;
+    private BookingRepository bookingRepository;
+    private AvailabilityIndex availabilityIndex;
+    private LocalDateTime[] windowStarts;
+    private Duration[] windowLengths;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connectionManager = BenchmarkDatabase.open();
+        LocalDateTime latestEnd;
+        try (Connection connection = connectionManager.getConnection()) {
+            latestEnd = new BookingDataGenerator(42).generate(connection, bookings);
+        }
+
+        bookingRepository = new BookingRepositoryImpl(connectionManager);
+        WorkspaceRepositoryImpl workspaceRepository = new WorkspaceRepositoryImpl(connectionManager);
+        availabilityIndex = new AvailabilityIndex();
+        availabilityIndex.rebuild(workspaceRepository::findAll, bookingRepository::findAll);
+
+        Random random = new Random(7);
+        LocalDateTime first = BookingDataGenerator.FIRST_DAY.atStartOfDay();
+        long rangeMinutes = Duration.between(first, latestEnd).toMinutes();
+        windowStarts = new LocalDateTime[WINDOWS];
+        windowLengths = new Duration[WINDOWS];
+        for (int i = 0; i < WINDOWS; i++) {
+            windowStarts[i] = first.plusMinutes(random.nextInt((int) rangeMinutes));
+            windowLengths[i] = Duration.ofMinutes(30L * (1 + random.nextInt(8)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionManager.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Window {
+        private int next;
+
+        int nextIndex() {
+            next = (next + 1) & (WINDOWS - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public List<Workspace> sql(Window window) {
+        int i = window.nextIndex();
+        return bookingRepository.findAllAvailableWorkspaces(windowStarts[i], windowStarts[i].plus(windowLengths[i]));
+    }
+
+    @Benchmark
+    public List<Workspace> index(Window window) {
+        int i = window.nextIndex();
+        return availabilityIndex.findAvailableWorkspaces(windowStarts[i], windowStarts[i].plus(windowLengths[i]));
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.benchmarks;
+
+import org.example.liquibase.LiquibaseManager;
+import org.example.utils.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Prepares the database used by DB-backed benchmarks.
+ * By default the benchmarks use a separate database on the docker-compose Postgres, so generated data never
+ * touches the development database. Every setting may be overridden with a system property.
+ */
+final class BenchmarkDatabase {
+
+    static final String ADMIN_URL = System.getProperty("bench.db.admin-url", "jdbc:postgresql://localhost:5433/coworking_service_db");
+    static final String DATABASE = System.getProperty("bench.db.name", "coworking_benchmark_db");
+    static final String URL = System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5433/" + DATABASE);
+    static final String USERNAME = System.getProperty("bench.db.username", "ruslan");
+    static final String PASSWORD = System.getProperty("bench.db.password", "123");
+    static final String DRIVER = "org.postgresql.Driver";
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Creates the benchmark database if needed, applies migrations and removes data left by a previous run.
+     *
+     * @return connection manager pointing to the benchmark database
+     */
+    static ConnectionManager open() throws SQLException {
+        createDatabaseIfMissing();
+
+        ConnectionManager connectionManager = new ConnectionManager();
+        try (Connection connection = connectionManager.getConnection(URL, USERNAME, PASSWORD, DRIVER)) {
+            LiquibaseManager.getInstance().runMigrations(connection);
+        }
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE coworking.bookings, coworking.workspaces CASCADE");
+            statement.execute("DELETE FROM coworking.users WHERE username <> 'admin'");
+        }
+        return connectionManager;
+    }
+
+    private static void createDatabaseIfMissing() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(ADMIN_URL, USERNAME, PASSWORD);
+             PreparedStatement exists = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            exists.setString(1, DATABASE);
+            try (ResultSet resultSet = exists.executeQuery()) {
+                if (!resultSet.next()) {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("CREATE DATABASE \"" + DATABASE + "\"");
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.benchmarks;
+
+import org.example.entity.Booking;
+import org.example.exceptions.WorkspaceAlreadyBookedException;
+import org.example.repository.BookingRepository;
+import org.example.repository.impl.BookingRepositoryImpl;
+import org.example.utils.ConnectionManager;
+import org.example.utils.WorkspaceLockManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress test of concurrent bookings from many more threads than the pool has connections.
+ * With {@code stripes} set to 0 bookings of one workspace queue on the row lock of the workspace in the database,
+ * holding their connections while they wait; otherwise they queue on the striped locks of the application first.
+ * Booked and rejected requests are reported as separate rates, and every iteration fails if two stored bookings
+ * of a workspace overlap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(32)
+@Fork(1)
+public class BookingContentionBenchmark {
+
+    private static final LocalDateTime FIRST_SLOT = BookingDataGenerator.FIRST_DAY.atTime(8, 0);
+    private static final int SLOTS = 30 * 24;
+
+    private static final String SQL_COUNT_OVERLAPS = """
+            SELECT count(*) FROM coworking.bookings a
+            JOIN coworking.bookings b ON a.workspace_id = b.workspace_id AND a.id < b.id
+            WHERE a.start_time < b.end_time AND b.start_time < a.end_time
+            """;
+
+    @Param({"1", "16", "256"})
+    public int workspaces;
+
+    /**
+     * Number of application lock stripes, 0 leaves the serialization to the database alone.
+     */
+    @Param({"0", "64"})
+    public int stripes;
+
+    private ConnectionManager connectionManager;
+    private BookingRepository bookingRepository;
+    private WorkspaceLockManager lockManager;
+    private long firstWorkspaceId;
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connectionManager = BenchmarkDatabase.open();
+        try (Connection connection = connectionManager.getConnection()) {
+            firstWorkspaceId = BookingDataGenerator.insertWorkspaces(connection, workspaces);
+            userId = BookingDataGenerator.insertUsers(connection);
+        }
+        ReflectionTestUtils.setField(connectionManager, "maximumPoolSize", 10);
+        ReflectionTestUtils.setField(connectionManager, "acquireTimeout", "PT1M");
+        connectionManager.close();
+        bookingRepository = new BookingRepositoryImpl(connectionManager);
+        lockManager = stripes == 0 ? null : new WorkspaceLockManager(stripes, "PT1M");
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() throws Exception {
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE coworking.bookings");
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkNoOverlaps() throws Exception {
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SQL_COUNT_OVERLAPS)) {
+            resultSet.next();
+            long overlaps = resultSet.getLong(1);
+            if (overlaps != 0) {
+                throw new IllegalStateException(overlaps + " pairs of stored bookings overlap.");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionManager.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        private final Random random = new Random(Thread.currentThread().getId());
+    }
+
+    /**
+     * Outcomes of the booking requests, reported by JMH as rates next to the primary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long booked;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            booked = 0;
+            rejected = 0;
+        }
+    }
+
+    @Benchmark
+    public Object book(Requests requests, Outcomes outcomes) {
+        LocalDateTime startTime = FIRST_SLOT.plusHours(requests.random.nextInt(SLOTS));
+        Booking booking = Booking.builder()
+                .workspaceId(firstWorkspaceId + requests.random.nextInt(workspaces))
+                .userId(userId)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1 + requests.random.nextInt(3)))
+                .build();
+        try {
+            Booking saved = lockManager == null
+                    ? bookingRepository.save(booking)
+                    : lockManager.callLocked(booking.getWorkspaceId(), () -> bookingRepository.save(booking));
+            outcomes.booked++;
+            return saved;
+        } catch (WorkspaceAlreadyBookedException e) {
+            outcomes.rejected++;
+            return e;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.benchmarks;
+
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Random;
+
+/**
+ * Fills the benchmark database with workspaces, users and bookings that look like real coworking usage.
+ * Bookings are placed on working hours, mostly on weekdays, with short meetings being more frequent
+ * than full-day bookings and random gaps between them. Bookings of one workspace never overlap,
+ * so the generated data satisfies the exclusion constraint on the bookings table.
+ */
+final class BookingDataGenerator {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    private static final LocalTime OPENING = LocalTime.of(8, 0);
+    private static final LocalTime CLOSING = LocalTime.of(20, 0);
+    private static final int[] DURATION_MINUTES = {30, 60, 120, 240, 480, 720};
+    private static final int[] DURATION_WEIGHTS = {10, 30, 25, 20, 10, 5};
+    private static final double MEAN_GAP_MINUTES = 90;
+    private static final double WEEKEND_OCCUPANCY = 0.3;
+    private static final int BOOKINGS_PER_WORKSPACE = 1000;
+    private static final int USERS = 100;
+    private static final int COPY_CHUNK_ROWS = 50_000;
+
+    private final Random random;
+
+    BookingDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates the given number of bookings together with the workspaces and users they refer to.
+     *
+     * @param connection the connection to the benchmark database
+     * @param bookings   the number of bookings to generate
+     * @return the end of the latest generated booking
+     */
+    LocalDateTime generate(Connection connection, int bookings) throws SQLException, IOException {
+        int workspaces = Math.max(10, bookings / BOOKINGS_PER_WORKSPACE);
+        long firstWorkspaceId = insertWorkspaces(connection, workspaces);
+        long firstUserId = insertUsers(connection);
+
+        CopyManager copyManager = new CopyManager(connection.unwrap(BaseConnection.class));
+        String copySql = "COPY coworking.bookings(user_id, workspace_id, start_time, end_time) FROM STDIN (FORMAT csv)";
+        StringBuilder rows = new StringBuilder();
+        int rowsInChunk = 0;
+        LocalDateTime latestEnd = FIRST_DAY.atTime(OPENING);
+
+        for (int workspace = 0; workspace < workspaces; workspace++) {
+            int quota = bookings / workspaces + (workspace < bookings % workspaces ? 1 : 0);
+            LocalDate day = FIRST_DAY;
+            boolean open = isOpen(day);
+            LocalDateTime cursor = nextStart(day.atTime(OPENING));
+
+            for (int generated = 0; generated < quota; ) {
+                LocalDateTime end = cursor.plusMinutes(pickDuration());
+                if (!open || end.toLocalTime().isAfter(CLOSING) || !end.toLocalDate().equals(day)) {
+                    day = day.plusDays(1);
+                    open = isOpen(day);
+                    cursor = nextStart(day.atTime(OPENING));
+                    continue;
+                }
+
+                rows.append(firstUserId + random.nextInt(USERS)).append(',')
+                        .append(firstWorkspaceId + workspace).append(',')
+                        .append(cursor).append(',')
+                        .append(end).append('\n');
+                generated++;
+                if (end.isAfter(latestEnd)) {
+                    latestEnd = end;
+                }
+                if (++rowsInChunk == COPY_CHUNK_ROWS) {
+                    copyManager.copyIn(copySql, new StringReader(rows.toString()));
+                    rows.setLength(0);
+                    rowsInChunk = 0;
+                }
+                cursor = nextStart(end);
+            }
+        }
+        if (rowsInChunk > 0) {
+            copyManager.copyIn(copySql, new StringReader(rows.toString()));
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE coworking.bookings");
+        }
+        return latestEnd;
+    }
+
+    /**
+     * Inserts the given number of workspaces.
+     *
+     * @param connection the connection to the benchmark database
+     * @param workspaces the number of workspaces
+     * @return the id of the first inserted workspace
+     */
+    static long insertWorkspaces(Connection connection, int workspaces) throws SQLException {
+        String sql = """
+                INSERT INTO coworking.workspaces(name)
+                SELECT 'bench-workspace-' || n FROM generate_series(1, ?) n
+                RETURNING id;
+                """;
+        return insertAndReturnFirstId(connection, sql, workspaces);
+    }
+
+    /**
+     * Inserts benchmark users.
+     *
+     * @param connection the connection to the benchmark database
+     * @return the id of the first inserted user
+     */
+    static long insertUsers(Connection connection) throws SQLException {
+        String sql = """
+                INSERT INTO coworking.users(username, password, role)
+                SELECT 'bench-user-' || n, 'password', 'USER' FROM generate_series(1, ?) n
+                RETURNING id;
+                """;
+        return insertAndReturnFirstId(connection, sql, USERS);
+    }
+
+    private static long insertAndReturnFirstId(Connection connection, String sql, int rows) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setInt(1, rows);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                long firstId = Long.MAX_VALUE;
+                while (resultSet.next()) {
+                    firstId = Math.min(firstId, resultSet.getLong(1));
+                }
+                return firstId;
+            }
+        }
+    }
+
+    private boolean isOpen(LocalDate day) {
+        boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+        return !weekend || random.nextDouble() < WEEKEND_OCCUPANCY;
+    }
+
+    private LocalDateTime nextStart(LocalDateTime after) {
+        long gap = Math.round(-Math.log(1 - random.nextDouble()) * MEAN_GAP_MINUTES);
+        return after.plusMinutes(gap - gap % 15);
+    }
+
+    private int pickDuration() {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < DURATION_WEIGHTS.length; i++) {
+            roll -= DURATION_WEIGHTS[i];
+            if (roll < 0) {
+                return DURATION_MINUTES[i];
+            }
+        }
+        return DURATION_MINUTES[DURATION_MINUTES.length - 1];
+    }
+}
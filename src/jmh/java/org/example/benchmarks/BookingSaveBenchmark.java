@@ -0,0 +1,83 @@
+package org.example.benchmarks;
+
+import org.example.entity.Booking;
+import org.example.exceptions.WorkspaceAlreadyBookedException;
+import org.example.repository.BookingRepository;
+import org.example.repository.impl.BookingRepositoryImpl;
+import org.example.utils.ConnectionManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures booking inserts by several threads competing for a small number of workspaces.
+ * Rejected bookings are part of the measurement, since under contention they are the common outcome.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class BookingSaveBenchmark {
+
+    private static final LocalDateTime FIRST_SLOT = BookingDataGenerator.FIRST_DAY.atTime(8, 0);
+    private static final int SLOTS = 30 * 24;
+
+    @Param({"1", "10", "100"})
+    public int workspaces;
+
+    private ConnectionManager connectionManager;
+    private BookingRepository bookingRepository;
+    private long firstWorkspaceId;
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connectionManager = BenchmarkDatabase.open();
+        try (Connection connection = connectionManager.getConnection()) {
+            firstWorkspaceId = BookingDataGenerator.insertWorkspaces(connection, workspaces);
+            userId = BookingDataGenerator.insertUsers(connection);
+        }
+        bookingRepository = new BookingRepositoryImpl(connectionManager);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() throws Exception {
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE coworking.bookings");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionManager.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        private final Random random = new Random(Thread.currentThread().getId());
+    }
+
+    @Benchmark
+    public Object save(Requests requests) {
+        LocalDateTime startTime = FIRST_SLOT.plusHours(requests.random.nextInt(SLOTS));
+        Booking booking = Booking.builder()
+                .workspaceId(firstWorkspaceId + requests.random.nextInt(workspaces))
+                .userId(userId)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1 + requests.random.nextInt(3)))
+                .build();
+        try {
+            return bookingRepository.save(booking);
+        } catch (WorkspaceAlreadyBookedException e) {
+            return e;
+        }
+    }
+}
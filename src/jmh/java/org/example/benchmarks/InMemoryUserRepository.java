@@ -0,0 +1,76 @@
+package org.example.benchmarks;
+
+import org.example.entity.User;
+import org.example.repository.UserRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * User repository holding a single user, so security benchmarks do not measure the database.
+ */
+class InMemoryUserRepository implements UserRepository {
+
+    private final User user;
+
+    InMemoryUserRepository(User user) {
+        this.user = user;
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return user.getUsername().equals(username) ? Optional.of(user) : Optional.empty();
+    }
+
+    @Override
+    public Optional<User> findByUsernameOnPrimary(String username) {
+        return findByUsername(username);
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        return ids.contains(user.getId()) ? List.of(user) : List.of();
+    }
+
+    @Override
+    public List<User> findAll() {
+        return List.of(user);
+    }
+
+    @Override
+    public List<User> findPage(Long afterId, int limit) {
+        return afterId == null || user.getId() > afterId ? List.of(user) : List.of();
+    }
+
+    @Override
+    public void forEach(Consumer<? super User> action) {
+        action.accept(user);
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return user.getId().equals(id) ? Optional.of(user) : Optional.empty();
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return false;
+    }
+
+    @Override
+    public boolean deleteAll() {
+        return false;
+    }
+
+    @Override
+    public User save(User entity) {
+        return entity;
+    }
+
+    @Override
+    public boolean update(User entity) {
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.benchmarks;
+
+import org.example.async.QueryExecutor;
+import org.example.entity.Booking;
+import org.example.entity.Workspace;
+import org.example.exceptions.WorkspaceAlreadyBookedException;
+import org.example.repository.BookingRepository;
+import org.example.repository.impl.BookingRepositoryImpl;
+import org.example.utils.ConnectionManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the queries behind {@code /workspaces/available} and {@code /workspaces/bookings/book} from many more
+ * clients than the pool has connections, with and without the database concurrency limit. Every request is handed
+ * to a pool of platform threads as large as the default of Tomcat, or to a virtual thread of its own, and the client
+ * waits for it like a servlet thread waits for the {@link QueryExecutor}. The virtual executor needs Java 21.
+ * Throughput mode gives the sustainable rate, sample time mode the latency percentiles including p99.
+ * The acquire timeout is raised so that queueing shows up as latency rather than as failed requests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(256)
+@Fork(1)
+public class RequestLoadBenchmark {
+
+    private static final int BOOKINGS = 10_000;
+    private static final int WORKSPACES = BOOKINGS / 1000;
+    private static final int SLOTS = 365 * 24;
+    private static final int PLATFORM_THREADS = 200;
+
+    /**
+     * Permits of the concurrency limit, 0 lets every thread compete inside the pool.
+     */
+    @Param({"0", "10"})
+    public int maxConcurrent;
+
+    /**
+     * The threads running the requests, {@code platform} or {@code virtual}.
+     */
+    @Param({"platform", "virtual"})
+    public String executor;
+
+    private ExecutorService requestExecutor;
+    private ConnectionManager connectionManager;
+    private BookingRepository bookingRepository;
+    private LocalDateTime firstSlot;
+    private long firstWorkspaceId;
+    private long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connectionManager = BenchmarkDatabase.open();
+        try (Connection connection = connectionManager.getConnection()) {
+            firstSlot = new BookingDataGenerator(42).generate(connection, BOOKINGS).plusDays(1);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                         "SELECT (SELECT min(id) FROM coworking.workspaces), (SELECT min(id) FROM coworking.users WHERE username <> 'admin')")) {
+                resultSet.next();
+                firstWorkspaceId = resultSet.getLong(1);
+                userId = resultSet.getLong(2);
+            }
+        }
+        ReflectionTestUtils.setField(connectionManager, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(connectionManager, "maximumPoolSize", 10);
+        ReflectionTestUtils.setField(connectionManager, "acquireTimeout", "PT1M");
+        connectionManager.close();
+        bookingRepository = new BookingRepositoryImpl(connectionManager);
+
+        requestExecutor = "virtual".equals(executor)
+                ? QueryExecutor.newVirtualThreadExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        if (requestExecutor == null) {
+            throw new IllegalStateException("Virtual threads need Java 21.");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearNewBookings() throws Exception {
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM coworking.bookings WHERE start_time >= '" + firstSlot + "'");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        connectionManager.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        private final Random random = new Random(Thread.currentThread().getId());
+    }
+
+    @Benchmark
+    public List<Workspace> available(Requests requests) throws Exception {
+        LocalDateTime startTime = firstSlot.minusHours(1 + requests.random.nextInt(SLOTS));
+        LocalDateTime endTime = startTime.plusHours(1 + requests.random.nextInt(8));
+        return requestExecutor.submit(() -> bookingRepository.findAllAvailableWorkspaces(startTime, endTime)).get();
+    }
+
+    @Benchmark
+    public Object book(Requests requests) throws Exception {
+        LocalDateTime startTime = firstSlot.plusHours(requests.random.nextInt(SLOTS));
+        Booking booking = Booking.builder()
+                .workspaceId(firstWorkspaceId + requests.random.nextInt(WORKSPACES))
+                .userId(userId)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1 + requests.random.nextInt(3)))
+                .build();
+        return requestExecutor.submit(() -> {
+            try {
+                return bookingRepository.save(booking);
+            } catch (WorkspaceAlreadyBookedException e) {
+                return e;
+            }
+        }).get();
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.benchmarks;
+
+import org.example.cache.AuthenticationCache;
+import org.example.cache.TokenDenylist;
+import org.example.cache.UserCache;
+import org.example.dto.Authentication;
+import org.example.entity.User;
+import org.example.entity.types.Role;
+import org.example.service.UserService;
+import org.example.utils.JwtTokenUtil;
+import org.example.utils.PasswordUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the work done for every authenticated request and for every login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityBenchmark {
+
+    private static final String USERNAME = "benchmark";
+    private static final String PASSWORD = "benchmark-password";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private String token;
+    private String hashedPassword;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User user = User.builder()
+                .id(1L)
+                .username(USERNAME)
+                .password(PASSWORD)
+                .role(Role.USER)
+                .build();
+        AuthenticationCache authenticationCache = new AuthenticationCache(10_000);
+        UserService userService = new UserService(new InMemoryUserRepository(user), authenticationCache,
+                new UserCache(10_000, "PT1M", "PT10S"), new TokenDenylist());
+        jwtTokenUtil = new JwtTokenUtil(userService, authenticationCache);
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", "fdf203scdjkfkds9sdnfasb8ica12039r1mjkc1a");
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtLifetime", "PT3H");
+        token = jwtTokenUtil.generateToken(USERNAME);
+        hashedPassword = PasswordUtil.hashPassword(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication authentication() throws Exception {
+        return jwtTokenUtil.authentication(token);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean checkPassword() {
+        return PasswordUtil.checkPassword(PASSWORD, hashedPassword);
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.benchmarks;
+
+import org.example.entity.Booking;
+import org.example.entity.User;
+import org.example.entity.Workspace;
+import org.example.repository.BookingRepository;
+import org.example.repository.UserRepository;
+import org.example.repository.WorkspaceRepository;
+import org.example.repository.impl.BookingRepositoryImpl;
+import org.example.repository.impl.UserRepositoryImpl;
+import org.example.repository.impl.WorkspaceRepositoryImpl;
+import org.example.utils.ConnectionManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the repository calls behind login, workspace lookup and booking with and without server-side
+ * prepared statements. A prepare threshold of 0 makes the driver send every statement unnamed, so Postgres
+ * parses and plans it on each call; with 1 the statement is prepared once per pooled connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StatementCacheBenchmark {
+
+    private static final int WORKSPACES = 100;
+
+    @Param({"0", "1"})
+    public int prepareThreshold;
+
+    private ConnectionManager connectionManager;
+    private UserRepository userRepository;
+    private WorkspaceRepository workspaceRepository;
+    private BookingRepository bookingRepository;
+    private long firstWorkspaceId;
+    private long userId;
+    private long slot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connectionManager = BenchmarkDatabase.open();
+        try (Connection connection = connectionManager.getConnection()) {
+            firstWorkspaceId = BookingDataGenerator.insertWorkspaces(connection, WORKSPACES);
+            userId = BookingDataGenerator.insertUsers(connection);
+        }
+        ReflectionTestUtils.setField(connectionManager, "prepareThreshold", prepareThreshold);
+        connectionManager.close();
+
+        userRepository = new UserRepositoryImpl(connectionManager);
+        workspaceRepository = new WorkspaceRepositoryImpl(connectionManager);
+        bookingRepository = new BookingRepositoryImpl(connectionManager);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() throws Exception {
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE coworking.bookings");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionManager.close();
+    }
+
+    @Benchmark
+    public Optional<User> findByUsername() {
+        return userRepository.findByUsername("bench-user-42");
+    }
+
+    @Benchmark
+    public Optional<Workspace> findByName() {
+        return workspaceRepository.findByName("bench-workspace-42");
+    }
+
+    @Benchmark
+    public Booking save() {
+        LocalDateTime startTime = BookingDataGenerator.FIRST_DAY.atStartOfDay().plusHours(slot++);
+        return bookingRepository.save(Booking.builder()
+                .workspaceId(firstWorkspaceId + slot % WORKSPACES)
+                .userId(userId)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .build());
+    }
+}
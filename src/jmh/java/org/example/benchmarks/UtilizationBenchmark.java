@@ -0,0 +1,87 @@
+package org.example.benchmarks;
+
+import org.example.analytics.UtilizationAggregate;
+import org.example.analytics.UtilizationAggregator;
+import org.example.entity.Workspace;
+import org.example.repository.BookingRepository;
+import org.example.repository.impl.BookingRepositoryImpl;
+import org.example.repository.impl.WorkspaceRepositoryImpl;
+import org.example.utils.ConnectionManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the utilization report of a whole year, aggregated in memory from the streamed bookings and pushed
+ * down to the database. One booking in twenty is marked as rescheduled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class UtilizationBenchmark {
+
+    @Param({"1000000"})
+    public int bookings;
+
+    private ConnectionManager connectionManager;
+    private BookingRepository bookingRepository;
+    private UtilizationAggregator utilizationAggregator;
+    private Map<Long, Integer> workspaceRows;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int hours;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connectionManager = BenchmarkDatabase.open();
+        LocalDateTime latestEnd;
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            latestEnd = new BookingDataGenerator(42).generate(connection, bookings);
+            statement.execute("UPDATE coworking.bookings SET version = 1 WHERE id % 20 = 0");
+            statement.execute("VACUUM ANALYZE coworking.bookings");
+        }
+
+        bookingRepository = new BookingRepositoryImpl(connectionManager);
+        List<Workspace> workspaces = new WorkspaceRepositoryImpl(connectionManager).findAll();
+        workspaceRows = new HashMap<>();
+        for (int i = 0; i < workspaces.size(); i++) {
+            workspaceRows.put(workspaces.get(i).getId(), i);
+        }
+
+        from = BookingDataGenerator.FIRST_DAY.atStartOfDay();
+        to = latestEnd.toLocalDate().plusDays(1).atStartOfDay();
+        hours = (int) Duration.between(from, to).toHours();
+
+        utilizationAggregator = new UtilizationAggregator(bookingRepository);
+        utilizationAggregator.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        utilizationAggregator.close();
+        connectionManager.close();
+    }
+
+    @Benchmark
+    public UtilizationAggregate inMemory() {
+        return utilizationAggregator.aggregate(from, to, workspaceRows);
+    }
+
+    @Benchmark
+    public UtilizationAggregate pushedDown() {
+        UtilizationAggregate aggregate = new UtilizationAggregate(workspaceRows, hours);
+        bookingRepository.aggregateUtilization(from, to, aggregate);
+        return aggregate;
+    }
+}
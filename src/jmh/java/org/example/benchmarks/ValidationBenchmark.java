@@ -0,0 +1,59 @@
+package org.example.benchmarks;
+
+import org.example.dto.AuthRequest;
+import org.example.dto.BookingRequest;
+import org.example.dto.UserDTO;
+import org.example.entity.User;
+import org.example.entity.types.Role;
+import org.example.mappers.UserMapper;
+import org.example.utils.ValidationUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures request validation and entity mapping done on the request path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private AuthRequest authRequest;
+    private BookingRequest bookingRequest;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        authRequest = new AuthRequest("benchmark", "benchmark-password");
+        LocalDateTime startTime = LocalDateTime.now().plusYears(1);
+        bookingRequest = new BookingRequest("workspace", startTime, startTime.plusHours(2));
+        user = User.builder()
+                .id(1L)
+                .username("benchmark")
+                .password("benchmark-password")
+                .role(Role.USER)
+                .build();
+    }
+
+    @Benchmark
+    public AuthRequest validateAuthRequest() {
+        ValidationUtil.validate(authRequest);
+        return authRequest;
+    }
+
+    @Benchmark
+    public BookingRequest validateBookingRequest() {
+        ValidationUtil.validate(bookingRequest);
+        return bookingRequest;
+    }
+
+    @Benchmark
+    public UserDTO userMapperToDTO() {
+        return UserMapper.INSTANCE.toDTO(user);
+    }
+}
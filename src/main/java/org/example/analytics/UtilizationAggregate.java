@@ -0,0 +1,187 @@
+package org.example.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Booking totals of a period, kept in primitive arrays so that millions of bookings can be added without
+ * an object per booking. Time is counted in booked seconds: per workspace, and per hour of the period in
+ * {@code hours} buckets, the bucket of an hour being the number of whole hours between the start of the period
+ * and the hour. Per user the number of bookings and of rescheduled bookings is counted.
+ * <p>
+ * An aggregate is filled either booking by booking with {@link #addBooking} and merged with the aggregates of
+ * other threads, or with totals computed by the database.
+ */
+public final class UtilizationAggregate {
+
+    /**
+     * The length of a bucket in seconds.
+     */
+    public static final int SECONDS_PER_HOUR = 3600;
+
+    /**
+     * The position of the number of bookings in the counts of a user.
+     */
+    public static final int BOOKINGS = 0;
+
+    /**
+     * The position of the number of rescheduled bookings in the counts of a user.
+     */
+    public static final int RESCHEDULED = 1;
+
+    private final Map<Long, Integer> workspaceRows;
+    private final long[] workspaceSeconds;
+    private final long[] workspaceBookings;
+    private final long[] hourSeconds;
+    private final Map<Long, long[]> users = new HashMap<>();
+
+    /**
+     * Creates an empty aggregate.
+     *
+     * @param workspaceRows the row of every workspace in the per-workspace arrays, by workspace ID
+     * @param hours         the number of hours of the period
+     */
+    public UtilizationAggregate(Map<Long, Integer> workspaceRows, int hours) {
+        this.workspaceRows = workspaceRows;
+        this.workspaceSeconds = new long[workspaceRows.size()];
+        this.workspaceBookings = new long[workspaceRows.size()];
+        this.hourSeconds = new long[hours];
+    }
+
+    /**
+     * Creates an empty aggregate for the same workspaces and period.
+     *
+     * @return the new aggregate
+     */
+    UtilizationAggregate emptyCopy() {
+        return new UtilizationAggregate(workspaceRows, hourSeconds.length);
+    }
+
+    /**
+     * Returns the row of a workspace in the per-workspace arrays.
+     *
+     * @param workspaceId the workspace ID
+     * @return the row, or -1 if the workspace is not aggregated
+     */
+    int rowOf(long workspaceId) {
+        Integer row = workspaceRows.get(workspaceId);
+        return row != null ? row : -1;
+    }
+
+    /**
+     * Adds a booking clipped to the period.
+     *
+     * @param row         the row of the workspace, or -1 to count the booking for its user and hours only
+     * @param userId      the user who booked
+     * @param rescheduled whether the booking was rescheduled
+     * @param start       the start of the booking in seconds since the start of the period
+     * @param end         the end of the booking in seconds since the start of the period, after the start
+     */
+    void addBooking(int row, long userId, boolean rescheduled, int start, int end) {
+        if (row >= 0) {
+            workspaceSeconds[row] += end - start;
+            workspaceBookings[row]++;
+        }
+        long[] user = users.computeIfAbsent(userId, id -> new long[2]);
+        user[BOOKINGS]++;
+        if (rescheduled) {
+            user[RESCHEDULED]++;
+        }
+        for (int second = start; second < end; ) {
+            int hour = second / SECONDS_PER_HOUR;
+            int next = Math.min(end, (hour + 1) * SECONDS_PER_HOUR);
+            hourSeconds[hour] += next - second;
+            second = next;
+        }
+    }
+
+    /**
+     * Adds the totals of another aggregate of the same workspaces and period to this one.
+     *
+     * @param other the aggregate to add
+     */
+    void merge(UtilizationAggregate other) {
+        for (int i = 0; i < workspaceSeconds.length; i++) {
+            workspaceSeconds[i] += other.workspaceSeconds[i];
+            workspaceBookings[i] += other.workspaceBookings[i];
+        }
+        for (int i = 0; i < hourSeconds.length; i++) {
+            hourSeconds[i] += other.hourSeconds[i];
+        }
+        other.users.forEach((userId, counts) -> addUser(userId, counts[BOOKINGS], counts[RESCHEDULED]));
+    }
+
+    /**
+     * Adds bookings of a workspace. Workspaces which are not aggregated are ignored.
+     *
+     * @param workspaceId the workspace ID
+     * @param bookings    the number of bookings
+     * @param seconds     the booked seconds within the period
+     */
+    public void addWorkspace(long workspaceId, long bookings, long seconds) {
+        int row = rowOf(workspaceId);
+        if (row >= 0) {
+            workspaceSeconds[row] += seconds;
+            workspaceBookings[row] += bookings;
+        }
+    }
+
+    /**
+     * Adds bookings of a user.
+     *
+     * @param userId      the user ID
+     * @param bookings    the number of bookings
+     * @param rescheduled the number of those bookings which were rescheduled
+     */
+    public void addUser(long userId, long bookings, long rescheduled) {
+        long[] user = users.computeIfAbsent(userId, id -> new long[2]);
+        user[BOOKINGS] += bookings;
+        user[RESCHEDULED] += rescheduled;
+    }
+
+    /**
+     * Adds booked seconds to an hour of the period.
+     *
+     * @param hour    the bucket of the hour
+     * @param seconds the booked seconds within the hour, of all workspaces
+     */
+    public void addHour(int hour, long seconds) {
+        hourSeconds[hour] += seconds;
+    }
+
+    /**
+     * Returns the booked seconds per workspace row.
+     *
+     * @return the live array, indexed by row
+     */
+    public long[] getWorkspaceSeconds() {
+        return workspaceSeconds;
+    }
+
+    /**
+     * Returns the number of bookings per workspace row.
+     *
+     * @return the live array, indexed by row
+     */
+    public long[] getWorkspaceBookings() {
+        return workspaceBookings;
+    }
+
+    /**
+     * Returns the booked seconds of all workspaces per hour of the period.
+     *
+     * @return the live array, indexed by the bucket of the hour
+     */
+    public long[] getHourSeconds() {
+        return hourSeconds;
+    }
+
+    /**
+     * Returns the number of bookings and of rescheduled bookings per user.
+     *
+     * @return the live map from the user ID to its counts, at {@link #BOOKINGS} and {@link #RESCHEDULED}
+     */
+    public Map<Long, long[]> getUsers() {
+        return users;
+    }
+}
@@ -0,0 +1,203 @@
+package org.example.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.example.entity.Booking;
+import org.example.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Aggregates the bookings of a period in memory. The bookings are streamed from the {@link BookingRepository}
+ * and packed into chunks of {@code analytics.chunk-size} bookings, each booking taking a few primitive array slots.
+ * Every full chunk is handed to a fork/join pool while the next one is read; the chunk is split until at most
+ * {@code analytics.leaf-size} bookings are left, each part is added up into its own {@link UtilizationAggregate},
+ * and the parts are merged. Only a few chunks are in flight at a time, so memory does not grow with the number
+ * of bookings.
+ */
+@Component
+@RequiredArgsConstructor
+public class UtilizationAggregator {
+
+    private static final String THREAD_NAME_PREFIX = "analytics-";
+
+    private final BookingRepository bookingRepository;
+
+    @Value("${analytics.chunk-size:16384}")
+    private int chunkSize = 16384;
+    @Value("${analytics.leaf-size:2048}")
+    private int leafSize = 2048;
+    @Value("${analytics.parallelism:0}")
+    private int parallelism = 0;
+
+    private ForkJoinPool pool;
+
+    /**
+     * Starts the threads of the pool, as many as configured or one per processor.
+     */
+    @PostConstruct
+    public void start() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(threads, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName(THREAD_NAME_PREFIX + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Stops the threads of the pool.
+     */
+    @PreDestroy
+    public void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+    }
+
+    /**
+     * Aggregates every booking overlapping a period, clipped to the period.
+     *
+     * @param from          the start of the period, at the start of an hour
+     * @param to            the end of the period, exclusive, a whole number of hours after the start
+     * @param workspaceRows the row of every aggregated workspace, by workspace ID
+     * @return the totals of the period
+     */
+    public UtilizationAggregate aggregate(LocalDateTime from, LocalDateTime to, Map<Long, Integer> workspaceRows) {
+        int seconds = (int) ChronoUnit.SECONDS.between(from, to);
+        UtilizationAggregate total = new UtilizationAggregate(workspaceRows, seconds / UtilizationAggregate.SECONDS_PER_HOUR);
+        ChunkReader reader = new ChunkReader(total, from, seconds);
+        bookingRepository.forEachFilteredBookingByTimePeriod(from, to, reader);
+        reader.finish();
+        return total;
+    }
+
+    /**
+     * Packs the streamed bookings into chunks and merges the aggregates of the chunks into the total.
+     */
+    private final class ChunkReader implements Consumer<Booking> {
+
+        private final UtilizationAggregate total;
+        private final LocalDateTime from;
+        private final int periodSeconds;
+        private final Deque<ForkJoinTask<UtilizationAggregate>> inFlight = new ArrayDeque<>();
+        private Chunk chunk = new Chunk(chunkSize);
+
+        private ChunkReader(UtilizationAggregate total, LocalDateTime from, int periodSeconds) {
+            this.total = total;
+            this.from = from;
+            this.periodSeconds = periodSeconds;
+        }
+
+        @Override
+        public void accept(Booking booking) {
+            long start = Math.max(0, ChronoUnit.SECONDS.between(from, booking.getStartTime()));
+            long end = Math.min(periodSeconds, ChronoUnit.SECONDS.between(from, booking.getEndTime()));
+            if (start >= end) {
+                return;
+            }
+            chunk.add(total.rowOf(booking.getWorkspaceId()), booking.getUserId(),
+                    booking.getVersion() != null && booking.getVersion() > 0, (int) start, (int) end);
+            if (chunk.size == chunkSize) {
+                submit();
+            }
+        }
+
+        private void submit() {
+            inFlight.add(pool.submit(new AggregateTask(chunk, 0, chunk.size, total)));
+            chunk = new Chunk(chunkSize);
+            while (inFlight.size() > pool.getParallelism()) {
+                total.merge(inFlight.poll().join());
+            }
+        }
+
+        private void finish() {
+            if (chunk.size > 0) {
+                submit();
+            }
+            while (!inFlight.isEmpty()) {
+                total.merge(inFlight.poll().join());
+            }
+        }
+    }
+
+    /**
+     * Adds up a range of a chunk, splitting it in halves while it is larger than the leaf size.
+     */
+    private final class AggregateTask extends RecursiveTask<UtilizationAggregate> {
+
+        private final Chunk chunk;
+        private final int from;
+        private final int to;
+        private final UtilizationAggregate template;
+
+        private AggregateTask(Chunk chunk, int from, int to, UtilizationAggregate template) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+            this.template = template;
+        }
+
+        @Override
+        protected UtilizationAggregate compute() {
+            if (to - from <= leafSize) {
+                UtilizationAggregate aggregate = template.emptyCopy();
+                for (int i = from; i < to; i++) {
+                    aggregate.addBooking(chunk.rows[i], chunk.userIds[i], chunk.rescheduled[i], chunk.starts[i], chunk.ends[i]);
+                }
+                return aggregate;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(chunk, from, middle, template);
+            left.fork();
+            UtilizationAggregate right = new AggregateTask(chunk, middle, to, template).compute();
+            UtilizationAggregate aggregate = left.join();
+            aggregate.merge(right);
+            return aggregate;
+        }
+    }
+
+    /**
+     * Bookings reduced to the values the aggregation needs, one array per value.
+     */
+    private static final class Chunk {
+
+        private final int[] rows;
+        private final long[] userIds;
+        private final boolean[] rescheduled;
+        private final int[] starts;
+        private final int[] ends;
+        private int size;
+
+        private Chunk(int capacity) {
+            rows = new int[capacity];
+            userIds = new long[capacity];
+            rescheduled = new boolean[capacity];
+            starts = new int[capacity];
+            ends = new int[capacity];
+        }
+
+        private void add(int row, long userId, boolean isRescheduled, int start, int end) {
+            rows[size] = row;
+            userIds[size] = userId;
+            rescheduled[size] = isRescheduled;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+    }
+}
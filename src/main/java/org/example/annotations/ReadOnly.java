@@ -0,0 +1,15 @@
+package org.example.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to mark repository methods which only read, so their queries may be served by a read replica.
+ * Methods without it always use the primary database.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD})
+public @interface ReadOnly {
+}
@@ -11,10 +11,9 @@ import org.example.dto.AuthRequest;
 import org.example.entity.types.ActionType;
 import org.example.entity.types.AuditType;
 import org.example.service.AuditService;
+import org.example.utils.AuthenticationContext;
 import org.springframework.stereotype.Component;
 
-import javax.servlet.ServletContext;
-
 /**
  * Aspect for auditing annotated methods with {@link Auditable} annotation.
  */
@@ -26,7 +25,7 @@ public class AuditingAspect {
 
     private final AuditService auditService;
 
-    private final ServletContext servletContext;
+    private final AuthenticationContext authenticationContext;
 
     /**
      * Pointcut definition to match methods annotated with {@link Auditable}.
@@ -59,17 +58,17 @@ public class AuditingAspect {
 
         try {
             Object result = pjp.proceed();
-            auditService.record(payload, actionType, AuditType.SUCCESS);
+            auditService.submit(payload, actionType, AuditType.SUCCESS);
             return result;
         } catch (Throwable ex) {
-            auditService.record(payload, actionType, AuditType.FAIL);
+            auditService.submit(payload, actionType, AuditType.FAIL);
             throw ex;
         }
     }
 
     private String payloadParser(String payload) {
         if (payload.isEmpty()) {
-            Authentication authUser = (Authentication) servletContext.getAttribute("authentication");
+            Authentication authUser = authenticationContext.getAuthentication();
             if (authUser != null) {
                 return authUser.getUsername();
             }
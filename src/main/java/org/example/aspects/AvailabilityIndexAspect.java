@@ -0,0 +1,194 @@
+package org.example.aspects;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.availability.AvailabilityIndex;
+import org.example.entity.Booking;
+import org.example.entity.Workspace;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Aspect keeping the {@link AvailabilityIndex} in sync with booking and workspace repositories
+ * and serving availability lookups from the index when it is enabled.
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndexAspect {
+
+    private final AvailabilityIndex availabilityIndex;
+
+    /**
+     * Advice to index a booking after it has been stored.
+     * @param booking The stored booking, null if the insert failed.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.BookingRepositoryImpl.save(..))",
+            returning = "booking")
+    public void bookingSaved(Booking booking) {
+        if (availabilityIndex.isEnabled()) {
+            availabilityIndex.addBooking(booking);
+        }
+    }
+
+    /**
+     * Advice to index bookings after a batch of them has been stored.
+     * @param bookings The stored bookings, empty if the batch failed.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.BookingRepositoryImpl.saveAll(..))",
+            returning = "bookings")
+    public void bookingsSaved(List<Booking> bookings) {
+        if (availabilityIndex.isEnabled()) {
+            bookings.forEach(availabilityIndex::addBooking);
+        }
+    }
+
+    /**
+     * Advice to index the occurrences of a booking series after they have been stored.
+     * @param bookings The stored occurrences, empty if the series failed.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.BookingRepositoryImpl.saveSeries(..))",
+            returning = "bookings")
+    public void seriesSaved(List<Booking> bookings) {
+        bookingsSaved(bookings);
+    }
+
+    /**
+     * Advice to move a booking in the index after it has been rescheduled.
+     * @param booking The rescheduled booking.
+     * @param updated Whether a row was updated.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.BookingRepositoryImpl.update(..)) && args(booking)",
+            returning = "updated", argNames = "booking,updated")
+    public void bookingUpdated(Booking booking, boolean updated) {
+        if (availabilityIndex.isEnabled() && updated) {
+            availabilityIndex.addBooking(booking);
+        }
+    }
+
+    /**
+     * Advice to drop a booking from the index after it has been deleted.
+     * @param id The booking id.
+     * @param deleted Whether a row was deleted.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.BookingRepositoryImpl.deleteById(..)) && args(id)",
+            returning = "deleted", argNames = "id,deleted")
+    public void bookingDeleted(Long id, boolean deleted) {
+        if (availabilityIndex.isEnabled() && deleted) {
+            availabilityIndex.removeBooking(id);
+        }
+    }
+
+    /**
+     * Advice to clear indexed bookings after all bookings have been deleted.
+     */
+    @AfterReturning("execution(* org.example.repository.impl.BookingRepositoryImpl.deleteAll())")
+    public void bookingsCleared() {
+        if (availabilityIndex.isEnabled()) {
+            availabilityIndex.clearBookings();
+        }
+    }
+
+    /**
+     * Advice to index a workspace after it has been stored or renamed.
+     * @param workspace The workspace.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.WorkspaceRepositoryImpl.save(..))",
+            returning = "workspace")
+    public void workspaceSaved(Workspace workspace) {
+        if (availabilityIndex.isEnabled()) {
+            availabilityIndex.putWorkspace(workspace);
+        }
+    }
+
+    /**
+     * Advice to reindex a workspace after an update.
+     * @param workspace The updated workspace.
+     * @param updated Whether a row was updated.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.WorkspaceRepositoryImpl.update(..)) && args(workspace)",
+            returning = "updated", argNames = "workspace,updated")
+    public void workspaceUpdated(Workspace workspace, boolean updated) {
+        if (availabilityIndex.isEnabled() && updated) {
+            availabilityIndex.putWorkspace(workspace);
+        }
+    }
+
+    /**
+     * Advice to drop a workspace and its bookings from the index after it has been deleted by id.
+     * @param id The workspace id.
+     * @param deleted Whether a row was deleted.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.WorkspaceRepositoryImpl.deleteById(..)) && args(id)",
+            returning = "deleted", argNames = "id,deleted")
+    public void workspaceDeleted(Long id, boolean deleted) {
+        if (availabilityIndex.isEnabled() && deleted) {
+            availabilityIndex.removeWorkspace(id);
+        }
+    }
+
+    /**
+     * Advice to drop a workspace and its bookings from the index after it has been deleted by name.
+     * @param name The workspace name.
+     * @param deleted Whether a row was deleted.
+     */
+    @AfterReturning(pointcut = "execution(* org.example.repository.impl.WorkspaceRepositoryImpl.deleteByName(..)) && args(name)",
+            returning = "deleted", argNames = "name,deleted")
+    public void workspaceDeletedByName(String name, boolean deleted) {
+        if (availabilityIndex.isEnabled() && deleted) {
+            availabilityIndex.removeWorkspace(name);
+        }
+    }
+
+    /**
+     * Advice to clear the index after all workspaces have been deleted.
+     */
+    @AfterReturning("execution(* org.example.repository.impl.WorkspaceRepositoryImpl.deleteAll())")
+    public void workspacesCleared() {
+        if (availabilityIndex.isEnabled()) {
+            availabilityIndex.clearWorkspaces();
+        }
+    }
+
+    /**
+     * Advice to answer availability lookups from the index. In consistency check mode the SQL query
+     * is still executed, its result is returned and any difference to the index is logged.
+     * @param pjp The ProceedingJoinPoint for the intercepted method.
+     * @param startTime The period start.
+     * @param endTime The period end.
+     * @return Available workspaces.
+     * @throws Throwable If an error occurs during method execution.
+     */
+    @Around(value = "execution(* org.example.repository.impl.BookingRepositoryImpl.findAllAvailableWorkspaces(..)) && args(startTime, endTime)",
+            argNames = "pjp,startTime,endTime")
+    public Object findAvailableWorkspaces(ProceedingJoinPoint pjp, LocalDateTime startTime, LocalDateTime endTime) throws Throwable {
+        if (!availabilityIndex.isEnabled() || !availabilityIndex.isReady()) {
+            return pjp.proceed();
+        }
+
+        List<Workspace> fromIndex = availabilityIndex.findAvailableWorkspaces(startTime, endTime);
+        if (!availabilityIndex.isConsistencyCheck()) {
+            return fromIndex;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Workspace> fromDatabase = (List<Workspace>) pjp.proceed();
+        Set<Long> indexIds = fromIndex.stream().map(Workspace::getId).collect(Collectors.toSet());
+        Set<Long> databaseIds = fromDatabase.stream().map(Workspace::getId).collect(Collectors.toSet());
+        if (!indexIds.equals(databaseIds)) {
+            availabilityIndex.recordConsistencyMismatch();
+            log.warn("Availability index mismatch for period " + startTime + " - " + endTime
+                    + ": index " + indexIds + ", database " + databaseIds);
+        }
+        return fromDatabase;
+    }
+}
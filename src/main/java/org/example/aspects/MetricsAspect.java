@@ -0,0 +1,177 @@
+package org.example.aspects;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Aspect timing every controller, service and repository method and counting database statements.
+ * Each call of a JDBC repository method runs one statement or one batch, so the calls are counted as statements,
+ * and the rows returned to the caller are counted as rows read. The rows returned by the methods saving, updating
+ * or deleting are the ones just written, so they are not counted as read.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    private static final String CONTROLLER = "controller";
+    private static final String SERVICE = "service";
+    private static final String REPOSITORY = "repository";
+
+    private final MetricsRegistry metricsRegistry;
+
+    @Value("${metrics.enabled:true}")
+    private boolean enabled = true;
+
+    /**
+     * Pointcut definition to match methods of the controllers.
+     */
+    @Pointcut("within(org.example.controllers.*)")
+    public void controllerMethods(){}
+
+    /**
+     * Pointcut definition to match methods of the services.
+     */
+    @Pointcut("within(org.example.service.*)")
+    public void serviceMethods(){}
+
+    /**
+     * Pointcut definition to match methods of the repositories, including the caching decorators.
+     */
+    @Pointcut("within(org.example.repository.impl.*)")
+    public void repositoryMethods(){}
+
+    /**
+     * Pointcut definition to match methods of the repositories which talk to the database.
+     */
+    @Pointcut("within(org.example.repository.impl.*RepositoryImpl)")
+    public void jdbcRepositoryMethods(){}
+
+    /**
+     * Advice to time a controller method.
+     * @param joinPoint The ProceedingJoinPoint for the intercepted method.
+     * @return The result of the intercepted method.
+     * @throws Throwable If an error occurs during method execution.
+     */
+    @Around("controllerMethods()")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, CONTROLLER);
+    }
+
+    /**
+     * Advice to time a service method.
+     * @param joinPoint The ProceedingJoinPoint for the intercepted method.
+     * @return The result of the intercepted method.
+     * @throws Throwable If an error occurs during method execution.
+     */
+    @Around("serviceMethods()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, SERVICE);
+    }
+
+    /**
+     * Advice to time a repository method.
+     * @param joinPoint The ProceedingJoinPoint for the intercepted method.
+     * @return The result of the intercepted method.
+     * @throws Throwable If an error occurs during method execution.
+     */
+    @Around("repositoryMethods()")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, REPOSITORY);
+    }
+
+    /**
+     * Advice to count a database statement and the rows it read.
+     * Rows passed to a consumer by the streaming methods are counted as they are consumed.
+     * @param joinPoint The ProceedingJoinPoint for the intercepted method.
+     * @return The result of the intercepted method.
+     * @throws Throwable If an error occurs during method execution.
+     */
+    @Around("jdbcRepositoryMethods()")
+    public Object countStatement(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+
+        Object[] args = joinPoint.getArgs();
+        int consumerIndex = args.length - 1;
+        if (consumerIndex < 0 || !(args[consumerIndex] instanceof Consumer)) {
+            Object result = joinPoint.proceed();
+            metricsRegistry.recordStatement(isWrite(joinPoint) ? 0 : rowsOf(result));
+            return result;
+        }
+
+        CountingConsumer<Object> counting = new CountingConsumer<>(castConsumer(args[consumerIndex]));
+        args[consumerIndex] = counting;
+        try {
+            return joinPoint.proceed(args);
+        } finally {
+            metricsRegistry.recordStatement(counting.rows);
+        }
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - startTime;
+            metricsRegistry.timer(joinPoint.getTarget().getClass(),
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(), layer).record(elapsed);
+        }
+    }
+
+    private static boolean isWrite(ProceedingJoinPoint joinPoint) {
+        String name = joinPoint.getSignature().getName();
+        return name.startsWith("save") || name.startsWith("update") || name.startsWith("delete");
+    }
+
+    private static long rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<Object> castConsumer(Object consumer) {
+        return (Consumer<Object>) consumer;
+    }
+
+    /**
+     * Consumer counting the rows passed on to the wrapped consumer.
+     */
+    private static final class CountingConsumer<T> implements Consumer<T> {
+
+        private final Consumer<T> delegate;
+        private long rows;
+
+        private CountingConsumer(Consumer<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void accept(T row) {
+            rows++;
+            delegate.accept(row);
+        }
+    }
+}
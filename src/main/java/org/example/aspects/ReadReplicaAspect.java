@@ -0,0 +1,96 @@
+package org.example.aspects;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.example.replication.ReplicaRouter;
+import org.example.utils.ConnectionManager;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Aspect routing the queries of {@link org.example.annotations.ReadOnly} repository methods to a read replica
+ * chosen by the {@link ReplicaRouter}, and recording booking, workspace and user writes for read-your-writes.
+ * The repositories turn SQL errors into empty results, so a read which failed on the replica is repeated once
+ * on the primary. Methods returning nothing hand their rows to an argument while reading and are not repeated,
+ * since the rows read before the failure would be handed over twice.
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ReadReplicaAspect {
+
+    private final ReplicaRouter replicaRouter;
+    private final ConnectionManager connectionManager;
+
+    /**
+     * Pointcut for the methods writing bookings, workspaces or users.
+     */
+    @Pointcut("execution(* org.example.repository.impl.BookingRepositoryImpl.save*(..))"
+            + " || execution(* org.example.repository.impl.BookingRepositoryImpl.update(..))"
+            + " || execution(* org.example.repository.impl.BookingRepositoryImpl.delete*(..))"
+            + " || execution(* org.example.repository.impl.WorkspaceRepositoryImpl.save(..))"
+            + " || execution(* org.example.repository.impl.WorkspaceRepositoryImpl.update(..))"
+            + " || execution(* org.example.repository.impl.WorkspaceRepositoryImpl.delete*(..))"
+            + " || execution(* org.example.repository.impl.UserRepositoryImpl.save(..))"
+            + " || execution(* org.example.repository.impl.UserRepositoryImpl.update(..))"
+            + " || execution(* org.example.repository.impl.UserRepositoryImpl.delete*(..))")
+    public void writeMethods() {
+    }
+
+    /**
+     * Advice to run a read-only method with the connections of a replica, if one may serve the read,
+     * and to run it again on the primary if a query failed on the replica.
+     * @param pjp The ProceedingJoinPoint for the intercepted method.
+     * @return The result of the method.
+     * @throws Throwable If an error occurs during method execution.
+     */
+    @Around("@annotation(org.example.annotations.ReadOnly)")
+    public Object routeRead(ProceedingJoinPoint pjp) throws Throwable {
+        DataSource replica = replicaRouter.chooseReplica();
+        if (replica == null) {
+            return pjp.proceed();
+        }
+        DataSource previous = connectionManager.bindReadDataSource(replica);
+        Object result;
+        SQLException failure;
+        try {
+            result = pjp.proceed();
+        } finally {
+            failure = connectionManager.takeReplicaFailure();
+            connectionManager.restoreReadDataSource(previous);
+        }
+        if (failure == null) {
+            return result;
+        }
+
+        if (((MethodSignature) pjp.getSignature()).getReturnType() == void.class) {
+            log.warn("Read of " + pjp.getSignature().toShortString() + " failed on a replica: " + failure.getMessage());
+            return result;
+        }
+        log.warn("Read of " + pjp.getSignature().toShortString() + " failed on a replica, reading from the primary: "
+                + failure.getMessage());
+        DataSource bound = connectionManager.bindReadDataSource(null);
+        try {
+            return pjp.proceed();
+        } finally {
+            connectionManager.restoreReadDataSource(bound);
+        }
+    }
+
+    /**
+     * Advice to send the reads of the writing user to the primary for a while after a write.
+     */
+    @AfterReturning("writeMethods()")
+    public void written() {
+        replicaRouter.recordWrite();
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.async;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.QueryExecutorStats;
+import org.example.exceptions.ServiceBusyException;
+import org.example.utils.AuthenticationContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs the database work of read requests on a dedicated pool of threads, so that the servlet container thread
+ * is returned as soon as the request is handed over. The pool is as large as the connection pool, since more
+ * threads would only wait for connections. Queries wait in a bounded queue; when it is full the request is
+ * rejected at once with {@link ServiceBusyException}, and a request whose query does not complete within
+ * the timeout is answered the same way.
+ * With {@code http.async.virtual-threads} on Java 21 every query runs on its own virtual thread instead, and up to
+ * {@code threads + queue-capacity} queries run at once; they wait for a connection in the pool, or in the database
+ * concurrency limit of the {@link org.example.utils.ConnectionManager} when one is set, without holding a
+ * platform thread.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryExecutor {
+
+    private static final String THREAD_NAME_PREFIX = "db-query-";
+
+    private final AuthenticationContext authenticationContext;
+
+    @Value("${http.async.threads:${db.pool.maximum-pool-size:10}}")
+    private int threads = 10;
+    @Value("${http.async.queue-capacity:100}")
+    private int queueCapacity = 100;
+    @Value("${http.async.timeout:PT10S}")
+    private String timeout = "PT10S";
+    @Value("${http.async.retry-after:PT1S}")
+    private String retryAfter = "PT1S";
+    @Value("${http.async.virtual-threads:false}")
+    private boolean virtualThreads = false;
+
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final AtomicInteger running = new AtomicInteger();
+
+    private ExecutorService executor;
+    private Semaphore virtualThreadPermits;
+    private long timeoutMillis;
+    private long retryAfterSeconds;
+
+    /**
+     * Starts the threads of the executor, or the virtual thread executor if enabled and available.
+     */
+    @PostConstruct
+    public void start() {
+        timeoutMillis = Duration.parse(timeout).toMillis();
+        retryAfterSeconds = Math.max(1, Duration.parse(retryAfter).toSeconds());
+        if (virtualThreads) {
+            executor = newVirtualThreadExecutor();
+            if (executor != null) {
+                virtualThreadPermits = new Semaphore(threads + queueCapacity);
+                return;
+            }
+            log.warn("Virtual threads need Java 21, running queries on " + threads + " platform threads.");
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+            Thread thread = new Thread(task, THREAD_NAME_PREFIX + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules a query and returns the response it will complete.
+     * The query runs with the authentication of the calling request. Exceptions thrown by the query
+     * are handled like exceptions thrown by the controller. Errors complete the response the same way
+     * and are rethrown to the worker thread.
+     *
+     * @param query the query producing the response body
+     * @param <T>   the type of the response body
+     * @return the pending response
+     * @throws ServiceBusyException if too many queries are already waiting
+     */
+    public <T> DeferredResult<ResponseEntity<T>> submit(Supplier<T> query) {
+        Semaphore permits = virtualThreadPermits;
+        if (permits != null && !permits.tryAcquire()) {
+            throw reject();
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (permits != null && released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+
+        DeferredResult<ResponseEntity<T>> result = new DeferredResult<>(timeoutMillis);
+        Future<?> future;
+        try {
+            future = executor.submit(authenticationContext.wrap(() -> {
+                running.incrementAndGet();
+                try {
+                    result.setResult(ResponseEntity.ok(query.get()));
+                } catch (Throwable e) {
+                    result.setErrorResult(e);
+                    if (e instanceof Error error) {
+                        throw error;
+                    }
+                } finally {
+                    running.decrementAndGet();
+                    release.run();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            release.run();
+            throw reject();
+        }
+
+        result.onTimeout(() -> {
+            timeouts.increment();
+            if (future.cancel(false)) {
+                release.run();
+            }
+            result.setErrorResult(new ServiceBusyException("The request timed out waiting for the database, try again later.", retryAfterSeconds));
+        });
+        return result;
+    }
+
+    /**
+     * Returns the current state of the executor.
+     *
+     * @return the executor statistics
+     */
+    public QueryExecutorStats getStats() {
+        if (executor instanceof ThreadPoolExecutor pool) {
+            return QueryExecutorStats.builder()
+                    .threads(pool.getMaximumPoolSize())
+                    .active(pool.getActiveCount())
+                    .queueDepth(pool.getQueue().size())
+                    .queueCapacity(queueCapacity)
+                    .rejected(rejected.sum())
+                    .timeouts(timeouts.sum())
+                    .build();
+        }
+        return QueryExecutorStats.builder()
+                .virtualThreads(true)
+                .threads(threads + queueCapacity)
+                .active(running.get())
+                .rejected(rejected.sum())
+                .timeouts(timeouts.sum())
+                .build();
+    }
+
+    /**
+     * Stops accepting queries and lets running ones finish.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+    }
+
+    private ServiceBusyException reject() {
+        rejected.increment();
+        return new ServiceBusyException("Too many requests are waiting for the database, try again later.", retryAfterSeconds);
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task. The build also targets Java 17, where the factory
+     * method does not exist, so it is looked up at runtime.
+     *
+     * @return the executor, or null if the runtime has no virtual threads
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package org.example.audit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.Audit;
+import org.example.entity.types.ActionType;
+import org.example.entity.types.AuditType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores audit records moved out of the database in segment files in a local directory.
+ * A segment is a gzip compressed file with one JSON record per line, sorted by id. Its name holds the time range
+ * and the id range of its records, e.g. {@code audits-20240101T000000-20240101T120001-1-10000.ndjson.gz}, which
+ * serves as the time index: a query only opens the segments whose range overlaps the requested window.
+ * Segments of the same month are merged into one by {@link #compact(YearMonth)}.
+ */
+@Slf4j
+@Component
+public class AuditArchive {
+
+    private static final String SEGMENT_PREFIX = "audits-";
+    private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+    private static final DateTimeFormatter NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Comparator<Audit> BY_TIMESTAMP_AND_ID = Comparator.comparing(Audit::getAuditTimestamp)
+            .thenComparing(Audit::getId);
+
+    @Value("${audit.archive.directory:audit-archive}")
+    private String directory = "audit-archive";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<Segment> segments;
+
+    /**
+     * Writes audit records to a new segment. The segment is written to a temporary file first and moved into
+     * place when complete, so readers never see a partial segment.
+     *
+     * @param audits the audit records to archive, with their ids and timestamps set
+     * @throws IOException if the segment can not be written
+     */
+    public void write(List<Audit> audits) throws IOException {
+        if (audits.isEmpty()) {
+            return;
+        }
+        List<Audit> sorted = audits.stream().sorted(Comparator.comparing(Audit::getId)).toList();
+        Segment segment = writeSegment(sorted);
+
+        lock.writeLock().lock();
+        try {
+            add(segment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves the archived audit records written within a time window, ordered by timestamp and id.
+     *
+     * @param from     the start of the window, inclusive
+     * @param to       the end of the window, exclusive
+     * @param username the user the records belong to, or null for the records of all users
+     * @param limit    the maximum number of audit records to return
+     * @return at most {@code limit} archived audit records written within the window, without the records
+     * of segments which could not be read
+     */
+    public List<Audit> find(LocalDateTime from, LocalDateTime to, String username, int limit) {
+        List<Audit> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Segment segment : loadedSegments()) {
+                if (!segment.overlaps(from, to)) {
+                    continue;
+                }
+                try {
+                    for (Audit audit : read(segment)) {
+                        LocalDateTime timestamp = audit.getAuditTimestamp();
+                        if (!timestamp.isBefore(from) && timestamp.isBefore(to)
+                                && (username == null || username.equals(audit.getUsername()))) {
+                            found.add(audit);
+                        }
+                    }
+                } catch (IOException e) {
+                    log.error("Failed to read audit segment " + segment.path() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Set<Long> ids = new HashSet<>();
+        return found.stream()
+                .sorted(BY_TIMESTAMP_AND_ID)
+                .filter(audit -> ids.add(audit.getId()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Merges the segments starting in each month before the given one into a single segment per month.
+     * Records archived twice, which happens when deleting them from the database failed after they were
+     * archived, are kept once.
+     *
+     * @param before the first month whose segments are left as they are, usually the month still being archived
+     * @return the number of segments merged away
+     * @throws IOException if a segment can not be read or written
+     */
+    public int compact(YearMonth before) throws IOException {
+        Map<YearMonth, List<Segment>> byMonth = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            for (Segment segment : loadedSegments()) {
+                YearMonth month = YearMonth.from(segment.from());
+                if (month.isBefore(before)) {
+                    byMonth.computeIfAbsent(month, m -> new ArrayList<>()).add(segment);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int merged = 0;
+        for (Map.Entry<YearMonth, List<Segment>> entry : byMonth.entrySet()) {
+            List<Segment> monthSegments = entry.getValue();
+            if (monthSegments.size() < 2) {
+                continue;
+            }
+            Map<Long, Audit> audits = new TreeMap<>();
+            for (Segment segment : monthSegments) {
+                for (Audit audit : read(segment)) {
+                    audits.putIfAbsent(audit.getId(), audit);
+                }
+            }
+            Segment compacted = writeSegment(new ArrayList<>(audits.values()));
+
+            lock.writeLock().lock();
+            try {
+                loadedSegments().removeAll(monthSegments);
+                add(compacted);
+                for (Segment segment : monthSegments) {
+                    if (!segment.path().equals(compacted.path())) {
+                        Files.deleteIfExists(segment.path());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            merged += monthSegments.size() - 1;
+            log.info("Compacted " + monthSegments.size() + " audit segments of " + entry.getKey() + " into " + compacted.path().getFileName() + ".");
+        }
+        return merged;
+    }
+
+    /**
+     * Deletes the segments holding only records written before the given time.
+     *
+     * @param before the time all records of a deleted segment are older than
+     * @return the number of deleted segments
+     * @throws IOException if a segment can not be deleted
+     */
+    public int deleteOlderThan(LocalDateTime before) throws IOException {
+        int deleted = 0;
+        lock.writeLock().lock();
+        try {
+            List<Segment> expired = loadedSegments().stream()
+                    .filter(segment -> !segment.to().isAfter(before))
+                    .toList();
+            for (Segment segment : expired) {
+                Files.deleteIfExists(segment.path());
+                loadedSegments().remove(segment);
+                deleted++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns the number of segments in the archive.
+     *
+     * @return the number of segments
+     */
+    public int getSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return loadedSegments().size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Segment writeSegment(List<Audit> audits) throws IOException {
+        LocalDateTime from = audits.stream().map(Audit::getAuditTimestamp).min(Comparator.naturalOrder()).orElseThrow()
+                .truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime to = audits.stream().map(Audit::getAuditTimestamp).max(Comparator.naturalOrder()).orElseThrow()
+                .truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        Path path = dir.resolve(SEGMENT_PREFIX + NAME_FORMATTER.format(from) + "-" + NAME_FORMATTER.format(to) + "-"
+                + audits.get(0).getId() + "-" + audits.get(audits.size() - 1).getId() + SEGMENT_SUFFIX);
+        Path temporary = dir.resolve(path.getFileName() + ".tmp");
+
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temporary), 8192), StandardCharsets.UTF_8))) {
+            for (Audit audit : audits) {
+                writer.write(mapper.writeValueAsString(toRecord(audit)));
+                writer.newLine();
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Segment(path, from, to);
+    }
+
+    private List<Audit> read(Segment segment) throws IOException {
+        List<Audit> audits = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment.path()), 8192), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    audits.add(fromRecord(mapper.readValue(line, new TypeReference<Map<String, String>>() {})));
+                }
+            }
+        }
+        return audits;
+    }
+
+    /**
+     * Adds a written segment, replacing the entry of a segment with the same file name. Callers hold the write lock.
+     * The list may include the segment already when the directory was first listed after the file was moved in place.
+     */
+    private void add(Segment segment) {
+        List<Segment> loaded = loadedSegments();
+        loaded.removeIf(existing -> existing.path().equals(segment.path()));
+        loaded.add(segment);
+    }
+
+    /**
+     * Returns the segments, listing the directory on first use. Callers hold the lock.
+     * If the directory can not be listed no segment is returned, and listing is tried again on the next call.
+     */
+    private List<Segment> loadedSegments() {
+        if (segments != null) {
+            return segments;
+        }
+        List<Segment> listed = new ArrayList<>();
+        Path dir = Path.of(directory);
+        if (!Files.isDirectory(dir)) {
+            segments = listed;
+            return segments;
+        }
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path path : paths.toList()) {
+                Segment segment = Segment.parse(path);
+                if (segment != null) {
+                    listed.add(segment);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to list audit segments in " + directory + ": " + e.getMessage());
+            return listed;
+        }
+        segments = listed;
+        return segments;
+    }
+
+    private static Map<String, String> toRecord(Audit audit) {
+        Map<String, String> record = new LinkedHashMap<>();
+        record.put("id", String.valueOf(audit.getId()));
+        record.put("username", audit.getUsername());
+        record.put("actionType", audit.getActionType().name());
+        record.put("auditType", audit.getAuditType().name());
+        record.put("auditTimestamp", audit.getAuditTimestamp().toString());
+        return record;
+    }
+
+    private static Audit fromRecord(Map<String, String> record) {
+        return Audit.builder()
+                .id(Long.parseLong(record.get("id")))
+                .username(record.get("username"))
+                .actionType(ActionType.valueOf(record.get("actionType")))
+                .auditType(AuditType.valueOf(record.get("auditType")))
+                .auditTimestamp(LocalDateTime.parse(record.get("auditTimestamp")))
+                .build();
+    }
+
+    /**
+     * A segment file with the time range of its records, the end being exclusive.
+     */
+    private record Segment(Path path, LocalDateTime from, LocalDateTime to) {
+
+        private boolean overlaps(LocalDateTime windowFrom, LocalDateTime windowTo) {
+            return from.isBefore(windowTo) && to.isAfter(windowFrom);
+        }
+
+        private static Segment parse(Path path) {
+            String name = path.getFileName().toString();
+            if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+                return null;
+            }
+            String[] parts = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()).split("-");
+            try {
+                return new Segment(path, LocalDateTime.parse(parts[0], NAME_FORMATTER), LocalDateTime.parse(parts[1], NAME_FORMATTER));
+            } catch (RuntimeException e) {
+                log.warn("Ignoring audit archive file with unexpected name " + name + ".");
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.audit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.Audit;
+import org.example.repository.AuditRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves audit records older than {@code audit.archive.hot-days} days from the database to the {@link AuditArchive}
+ * from a background thread, so the audits table only holds recent records. Records are moved in batches of
+ * {@code audit.archive.batch-size}, oldest first, with a pause after every batch and at most
+ * {@code audit.archive.max-batches-per-run} batches per run, so archiving a large backlog does not compete with
+ * the requests for the database. A batch is deleted from the database only after its segment is written.
+ * After archiving, the segments of past months are compacted and, when {@code audit.archive.retention-days}
+ * is set, segments older than the retention are deleted.
+ */
+@Slf4j
+@Component
+@DependsOn("liquibase")
+@RequiredArgsConstructor
+public class AuditArchiver {
+
+    private static final String THREAD_NAME = "audit-archiver";
+
+    private final AuditRepository auditRepository;
+
+    private final AuditArchive auditArchive;
+
+    @Value("${audit.archive.enabled:true}")
+    private boolean enabled = true;
+    @Value("${audit.archive.hot-days:90}")
+    private int hotDays = 90;
+    @Value("${audit.archive.batch-size:10000}")
+    private int batchSize = 10000;
+    @Value("${audit.archive.batch-pause:PT0.5S}")
+    private String batchPause = "PT0.5S";
+    @Value("${audit.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun = 100;
+    @Value("${audit.archive.check-interval:PT1H}")
+    private String checkInterval = "PT1H";
+    @Value("${audit.archive.retention-days:0}")
+    private int retentionDays = 0;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Runs the archiving once right away and then every check interval. Does nothing when disabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Duration.parse(checkInterval).toMillis();
+        scheduler.scheduleWithFixedDelay(() -> run(LocalDateTime.now()), 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread. A running batch is finished, the remaining ones are left for the next start.
+     */
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Archives the records which are no longer hot at the given time, then compacts and expires the archive.
+     *
+     * @param now the time to count the hot days and the retention back from
+     */
+    public void run(LocalDateTime now) {
+        LocalDateTime cutoff = now.minusDays(hotDays);
+        try {
+            int archived = archive(cutoff);
+            if (archived > 0) {
+                log.info("Archived " + archived + " audit records older than " + cutoff + ".");
+            }
+            auditArchive.compact(YearMonth.from(cutoff));
+            if (retentionDays > 0) {
+                auditArchive.deleteOlderThan(now.minusDays(retentionDays));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Error during archiving of audit records: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the records written before the given time from the database to the archive, batch by batch.
+     * Stops early when a batch can not be deleted from the database, so a failing database does not get
+     * the same records archived over and over.
+     *
+     * @param before the time all archived records are older than
+     * @return the number of records moved
+     * @throws IOException if a segment can not be written
+     */
+    public int archive(LocalDateTime before) throws IOException {
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            List<Audit> audits = auditRepository.findOlderThan(before, batchSize);
+            if (audits.isEmpty()) {
+                break;
+            }
+
+            auditArchive.write(audits);
+            int deleted = auditRepository.deleteAllById(audits.stream().map(Audit::getId).toList());
+            if (deleted < 0) {
+                log.warn("Failed to delete " + audits.size() + " archived audit records, archiving stopped until the next run.");
+                break;
+            }
+            archived += audits.size();
+
+            if (audits.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        return archived;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(Duration.parse(batchPause).toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.audit;
+
+/**
+ * Describes what the {@link AuditWriter} does with a new audit record when its queue is full.
+ */
+public enum AuditOverflowPolicy {
+
+    /**
+     * The caller waits until the writer frees space in the queue.
+     */
+    BLOCK,
+
+    /**
+     * The oldest queued record is discarded to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new record is appended to a local spill file and written to the database once the queue drains.
+     */
+    SPILL
+}
@@ -0,0 +1,345 @@
+package org.example.audit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.dto.AuditWriterStats;
+import org.example.entity.Audit;
+import org.example.entity.types.ActionType;
+import org.example.entity.types.AuditType;
+import org.example.repository.AuditRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes audit records to the database from a background thread.
+ * Records are collected in a bounded queue and flushed with a multi-row insert once a batch is full
+ * or the flush interval has elapsed. What happens when the queue is full is decided by the
+ * configured {@link AuditOverflowPolicy}. Remaining records are flushed on shutdown.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditWriter {
+
+    private static final String THREAD_NAME = "audit-writer";
+    private static final long MAX_TRACKABLE_FLUSH_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long SPILL_RETRY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final AuditRepository auditRepository;
+
+    @Value("${audit.writer.async:true}")
+    private boolean async = true;
+    @Value("${audit.writer.queue-capacity:10000}")
+    private int queueCapacity = 10000;
+    @Value("${audit.writer.batch-size:100}")
+    private int batchSize = 100;
+    @Value("${audit.writer.flush-interval:PT0.2S}")
+    private String flushInterval = "PT0.2S";
+    @Value("${audit.writer.overflow-policy:BLOCK}")
+    private AuditOverflowPolicy overflowPolicy = AuditOverflowPolicy.BLOCK;
+    @Value("${audit.writer.spill-file:audit-spill.ndjson}")
+    private String spillFile = "audit-spill.ndjson";
+    @Value("${audit.writer.shutdown-timeout:PT10S}")
+    private String shutdownTimeout = "PT10S";
+
+    private final ObjectMapper spillMapper = new ObjectMapper();
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Histogram batchSizes = new ConcurrentHistogram(2);
+    private final Histogram flushLatency = new ConcurrentHistogram(MAX_TRACKABLE_FLUSH_NANOS, 2);
+
+    private BlockingQueue<Audit> queue = new ArrayBlockingQueue<>(1);
+    private Thread writerThread;
+    private volatile boolean running;
+    private long nextSpillReplayNanos = System.nanoTime();
+
+    /**
+     * Starts the background writer. Does nothing when asynchronous writing is disabled,
+     * in which case every record is written on the calling thread.
+     */
+    @PostConstruct
+    public void start() {
+        if (!async || running) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = new Thread(this::runWriter, THREAD_NAME);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Hands an audit record over to the writer. The record is stamped with the current time
+     * if it has no timestamp yet, so the stored time does not depend on when the batch is flushed.
+     *
+     * @param audit the audit record to write
+     */
+    public void submit(Audit audit) {
+        if (audit.getAuditTimestamp() == null) {
+            audit.setAuditTimestamp(LocalDateTime.now());
+        }
+        submitted.increment();
+
+        if (!running) {
+            write(List.of(audit), overflowPolicy == AuditOverflowPolicy.SPILL);
+            return;
+        }
+        if (queue.offer(audit)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_OLDEST:
+                while (!queue.offer(audit)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+                break;
+            case SPILL:
+                spill(List.of(audit));
+                break;
+            default:
+                enqueueBlocking(audit);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the queue state and of the flush statistics.
+     *
+     * @return current writer statistics
+     */
+    public AuditWriterStats getStats() {
+        Histogram sizes = batchSizes.copy();
+        Histogram latency = flushLatency.copy();
+
+        return AuditWriterStats.builder()
+                .queueDepth(queue.size())
+                .queueCapacity(running ? queueCapacity : 0)
+                .overflowPolicy(overflowPolicy.name())
+                .submitted(submitted.sum())
+                .written(written.sum())
+                .dropped(dropped.sum())
+                .spilled(spilled.sum())
+                .failed(failed.sum())
+                .batches(sizes.getTotalCount())
+                .batchSizeP50(sizes.getValueAtPercentile(50))
+                .batchSizeMax(sizes.getMaxValue())
+                .flushP50Micros(nanosToMicros(latency.getValueAtPercentile(50)))
+                .flushP99Micros(nanosToMicros(latency.getValueAtPercentile(99)))
+                .flushMaxMicros(nanosToMicros(latency.getMaxValue()))
+                .build();
+    }
+
+    /**
+     * Stops the background writer and writes every record still waiting in the queue.
+     */
+    @PreDestroy
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        try {
+            writerThread.join(Duration.parse(shutdownTimeout).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive()) {
+            log.warn("Audit writer did not stop within " + shutdownTimeout + ", flushing remaining records directly.");
+        }
+
+        List<Audit> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            write(remaining, overflowPolicy == AuditOverflowPolicy.SPILL);
+            remaining.clear();
+        }
+    }
+
+    private void runWriter() {
+        long flushIntervalNanos = Duration.parse(flushInterval).toNanos();
+        List<Audit> batch = new ArrayList<>(batchSize);
+        boolean interrupted = false;
+
+        while ((running || !queue.isEmpty()) && !interrupted) {
+            try {
+                Audit first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Audit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch, overflowPolicy == AuditOverflowPolicy.SPILL);
+                batch.clear();
+            }
+        }
+    }
+
+    private void enqueueBlocking(Audit audit) {
+        long flushIntervalNanos = Duration.parse(flushInterval).toNanos();
+        try {
+            while (!queue.offer(audit, flushIntervalNanos, TimeUnit.NANOSECONDS)) {
+                if (!running) {
+                    write(List.of(audit), false);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+            log.warn("Interrupted while waiting for space in the audit queue, record of " + audit.getUsername() + " dropped.");
+        }
+    }
+
+    private boolean write(List<Audit> batch, boolean spillOnFailure) {
+        long startTime = System.nanoTime();
+        boolean saved;
+        try {
+            saved = auditRepository.saveAll(batch);
+        } catch (RuntimeException e) {
+            log.error("Error during writing audit records: " + e.getMessage());
+            saved = false;
+        }
+        flushLatency.recordValue(Math.min(System.nanoTime() - startTime, MAX_TRACKABLE_FLUSH_NANOS));
+        batchSizes.recordValue(batch.size());
+
+        if (saved) {
+            written.add(batch.size());
+        } else if (spillOnFailure) {
+            spill(batch);
+        } else {
+            failed.add(batch.size());
+            log.error("Failed to write " + batch.size() + " audit records.");
+        }
+        return saved;
+    }
+
+    private void spill(List<Audit> audits) {
+        Path path = Path.of(spillFile);
+        spillLock.lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Audit audit : audits) {
+                    writer.write(spillMapper.writeValueAsString(toSpillRecord(audit)));
+                    writer.newLine();
+                }
+            }
+            spilled.add(audits.size());
+        } catch (IOException e) {
+            failed.add(audits.size());
+            log.error("Failed to spill " + audits.size() + " audit records to " + spillFile + ": " + e.getMessage());
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private void replaySpill() {
+        Path path = Path.of(spillFile);
+        if (System.nanoTime() - nextSpillReplayNanos < 0 || !Files.exists(path)) {
+            return;
+        }
+
+        List<Audit> audits = new ArrayList<>();
+        spillLock.lock();
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    audits.add(fromSpillRecord(spillMapper.readValue(line, new TypeReference<Map<String, String>>() {})));
+                }
+            }
+            Files.delete(path);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to read audit spill file " + spillFile + ": " + e.getMessage());
+            nextSpillReplayNanos = System.nanoTime() + SPILL_RETRY_NANOS;
+            return;
+        } finally {
+            spillLock.unlock();
+        }
+
+        for (int from = 0; from < audits.size(); from += batchSize) {
+            List<Audit> chunk = audits.subList(from, Math.min(from + batchSize, audits.size()));
+            if (!write(chunk, true)) {
+                spill(audits.subList(from + chunk.size(), audits.size()));
+                nextSpillReplayNanos = System.nanoTime() + SPILL_RETRY_NANOS;
+                return;
+            }
+        }
+        log.info("Replayed " + audits.size() + " audit records from " + spillFile + ".");
+    }
+
+    private static Map<String, String> toSpillRecord(Audit audit) {
+        Map<String, String> record = new LinkedHashMap<>();
+        record.put("username", audit.getUsername());
+        record.put("actionType", audit.getActionType().name());
+        record.put("auditType", audit.getAuditType().name());
+        record.put("auditTimestamp", audit.getAuditTimestamp().toString());
+        return record;
+    }
+
+    private static Audit fromSpillRecord(Map<String, String> record) {
+        return Audit.builder()
+                .username(record.get("username"))
+                .actionType(ActionType.valueOf(record.get("actionType")))
+                .auditType(AuditType.valueOf(record.get("auditType")))
+                .auditTimestamp(LocalDateTime.parse(record.get("auditTimestamp")))
+                .build();
+    }
+
+    private static long nanosToMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
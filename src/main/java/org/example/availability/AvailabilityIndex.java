@@ -0,0 +1,409 @@
+package org.example.availability;
+
+import org.example.entity.Booking;
+import org.example.entity.Workspace;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of bookings used to answer "which workspaces are free in a period" without a database round trip.
+ * A {@link SlotBitmap} of booked time slots answers most lookups with word operations across all workspaces.
+ * Only workspaces with bookings in the partially covered boundary slots of the period are checked against their
+ * immutable {@link WorkspaceIntervals}, which costs O(log B) each.
+ * Writers are serialized by a lock and replace bitmap days and interval sets copy-on-write, readers never block.
+ */
+@Component
+public class AvailabilityIndex {
+
+    @Value("${availability.index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${availability.index.consistency-check:false}")
+    private boolean consistencyCheck;
+
+    @Value("${availability.index.slot-minutes:15}")
+    private int slotMinutes = 15;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<Long, WorkspaceIntervals> intervalsByWorkspace = new ConcurrentHashMap<>();
+    private final Map<Long, Long> workspaceIdByBooking = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> rowByWorkspace = new HashMap<>();
+    private final LongAdder consistencyMismatches = new LongAdder();
+    private volatile Workspaces workspaces = Workspaces.EMPTY;
+    private volatile SlotBitmap bitmap;
+    private volatile boolean ready;
+
+    /**
+     * Checks whether the index is switched on in the configuration.
+     *
+     * @return true if the index should be maintained and used
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks whether lookups should also be answered by SQL and compared with the index.
+     *
+     * @return true if the consistency check mode is on
+     */
+    public boolean isConsistencyCheck() {
+        return consistencyCheck;
+    }
+
+    /**
+     * Checks whether the index has been loaded and may answer lookups.
+     *
+     * @return true after the first successful rebuild
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replaces the content of the index with the data returned by the given loaders.
+     * The loaders are called while holding the write lock, so concurrent updates are applied after the load.
+     *
+     * @param workspaceLoader supplies all workspaces
+     * @param bookingLoader   supplies all bookings
+     */
+    public void rebuild(Supplier<List<Workspace>> workspaceLoader, Supplier<List<Booking>> bookingLoader) {
+        writeLock.lock();
+        try {
+            List<Workspace> loadedWorkspaces = workspaceLoader.get();
+            List<Booking> loadedBookings = bookingLoader.get();
+
+            Map<Long, List<Booking>> bookingsByWorkspace = new HashMap<>();
+            for (Booking booking : loadedBookings) {
+                bookingsByWorkspace.computeIfAbsent(booking.getWorkspaceId(), id -> new ArrayList<>()).add(booking);
+            }
+
+            intervalsByWorkspace.clear();
+            workspaceIdByBooking.clear();
+            rowByWorkspace.clear();
+            loadedWorkspaces.stream()
+                    .map(Workspace::getId)
+                    .sorted()
+                    .forEach(this::rowOf);
+
+            int[] rows = new int[loadedBookings.size()];
+            long[] bookingStarts = new long[loadedBookings.size()];
+            long[] bookingEnds = new long[loadedBookings.size()];
+            for (int i = 0; i < loadedBookings.size(); i++) {
+                Booking booking = loadedBookings.get(i);
+                rows[i] = rowOf(booking.getWorkspaceId());
+                bookingStarts[i] = toKey(booking.getStartTime());
+                bookingEnds[i] = toKey(booking.getEndTime());
+            }
+            bitmap = SlotBitmap.of(slotMinutes, rows, bookingStarts, bookingEnds);
+
+            bookingsByWorkspace.forEach((workspaceId, bookings) -> {
+                long[] ids = new long[bookings.size()];
+                long[] starts = new long[bookings.size()];
+                long[] ends = new long[bookings.size()];
+                for (int i = 0; i < bookings.size(); i++) {
+                    Booking booking = bookings.get(i);
+                    ids[i] = booking.getId();
+                    starts[i] = toKey(booking.getStartTime());
+                    ends[i] = toKey(booking.getEndTime());
+                    workspaceIdByBooking.put(booking.getId(), workspaceId);
+                }
+                intervalsByWorkspace.put(workspaceId, WorkspaceIntervals.of(ids, starts, ends));
+            });
+
+            workspaces = snapshotOf(loadedWorkspaces.stream()
+                    .map(AvailabilityIndex::copyOf)
+                    .toArray(Workspace[]::new));
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Finds all workspaces which have no booking busy during the given period.
+     *
+     * @param startTime the period start
+     * @param endTime   the period end
+     * @return available workspaces ordered by id
+     */
+    public List<Workspace> findAvailableWorkspaces(LocalDateTime startTime, LocalDateTime endTime) {
+        long start = toKey(startTime);
+        long end = toKey(endTime);
+        Workspaces snapshot = workspaces;
+        SlotBitmap slots = bitmap;
+        List<Workspace> available = new ArrayList<>(snapshot.items.length);
+
+        long[] busy = new long[(snapshot.rowLimit + Long.SIZE - 1) / Long.SIZE];
+        long[] touched = new long[busy.length];
+        if (slots != null) {
+            slots.collect(start, end, busy, touched);
+        } else {
+            Arrays.fill(touched, -1L);
+        }
+
+        for (int i = 0; i < snapshot.items.length; i++) {
+            Workspace workspace = snapshot.items[i];
+            int row = snapshot.rows[i];
+            if ((busy[row >>> 6] & 1L << row) != 0) {
+                continue;
+            }
+            if ((touched[row >>> 6] & 1L << row) != 0) {
+                WorkspaceIntervals intervals = intervalsByWorkspace.get(workspace.getId());
+                if (intervals != null && intervals.overlaps(start, end)) {
+                    continue;
+                }
+            }
+            available.add(copyOf(workspace));
+        }
+        return available;
+    }
+
+    /**
+     * Adds or replaces a booking.
+     *
+     * @param booking the saved booking
+     */
+    public void addBooking(Booking booking) {
+        if (booking == null || booking.getId() == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            removeBookingLocked(booking.getId());
+            long start = toKey(booking.getStartTime());
+            long end = toKey(booking.getEndTime());
+            intervalsByWorkspace.merge(booking.getWorkspaceId(),
+                    WorkspaceIntervals.EMPTY.with(booking.getId(), start, end),
+                    (current, added) -> current.with(booking.getId(), start, end));
+            workspaceIdByBooking.put(booking.getId(), booking.getWorkspaceId());
+            bitmap().mark(rowOf(booking.getWorkspaceId()), start, end);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a booking.
+     *
+     * @param bookingId the id of the deleted booking
+     */
+    public void removeBooking(Long bookingId) {
+        writeLock.lock();
+        try {
+            removeBookingLocked(bookingId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all bookings, keeping the workspaces.
+     */
+    public void clearBookings() {
+        writeLock.lock();
+        try {
+            intervalsByWorkspace.clear();
+            workspaceIdByBooking.clear();
+            bitmap = new SlotBitmap(slotMinutes);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a workspace or replaces the workspace with the same id.
+     *
+     * @param workspace the saved or updated workspace
+     */
+    public void putWorkspace(Workspace workspace) {
+        if (workspace == null || workspace.getId() == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Workspace[] updated = Arrays.stream(workspaces.items)
+                    .filter(current -> !current.getId().equals(workspace.getId()))
+                    .toArray(size -> new Workspace[size + 1]);
+            updated[updated.length - 1] = copyOf(workspace);
+            workspaces = snapshotOf(updated);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a workspace together with its bookings, mirroring the cascading delete in the database.
+     *
+     * @param workspaceId the id of the deleted workspace
+     */
+    public void removeWorkspace(Long workspaceId) {
+        writeLock.lock();
+        try {
+            workspaces = snapshotOf(Arrays.stream(workspaces.items)
+                    .filter(current -> !current.getId().equals(workspaceId))
+                    .toArray(Workspace[]::new));
+            WorkspaceIntervals removed = intervalsByWorkspace.remove(workspaceId);
+            if (removed != null) {
+                for (long bookingId : removed.bookingIds()) {
+                    workspaceIdByBooking.remove(bookingId);
+                }
+            }
+            Integer row = rowByWorkspace.get(workspaceId);
+            if (row != null) {
+                bitmap().clearRow(row);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a workspace identified by name together with its bookings.
+     *
+     * @param name the name of the deleted workspace
+     */
+    public void removeWorkspace(String name) {
+        for (Workspace workspace : workspaces.items) {
+            if (workspace.getName().equals(name)) {
+                removeWorkspace(workspace.getId());
+            }
+        }
+    }
+
+    /**
+     * Removes all workspaces and bookings.
+     */
+    public void clearWorkspaces() {
+        writeLock.lock();
+        try {
+            workspaces = Workspaces.EMPTY;
+            intervalsByWorkspace.clear();
+            workspaceIdByBooking.clear();
+            rowByWorkspace.clear();
+            bitmap = new SlotBitmap(slotMinutes);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Records a disagreement between the index and the SQL path found in consistency check mode.
+     */
+    public void recordConsistencyMismatch() {
+        consistencyMismatches.increment();
+    }
+
+    /**
+     * Returns the number of disagreements found in consistency check mode.
+     *
+     * @return mismatch count since startup
+     */
+    public long getConsistencyMismatches() {
+        return consistencyMismatches.sum();
+    }
+
+    /**
+     * Returns the number of indexed bookings.
+     *
+     * @return booking count
+     */
+    public int getBookingCount() {
+        return workspaceIdByBooking.size();
+    }
+
+    /**
+     * Returns the memory held by the slot bitmap.
+     *
+     * @return size of the bitmap in bytes
+     */
+    public long getBitmapSizeInBytes() {
+        SlotBitmap current = bitmap;
+        return current != null ? current.sizeInBytes() : 0;
+    }
+
+    private void removeBookingLocked(Long bookingId) {
+        Long workspaceId = workspaceIdByBooking.remove(bookingId);
+        if (workspaceId == null) {
+            return;
+        }
+        WorkspaceIntervals intervals = intervalsByWorkspace.get(workspaceId);
+        long[] removed = intervals != null ? intervals.bounds(bookingId) : null;
+        if (removed == null) {
+            return;
+        }
+        WorkspaceIntervals updated = intervals.without(bookingId);
+        if (updated.size() == 0) {
+            intervalsByWorkspace.remove(workspaceId);
+        } else {
+            intervalsByWorkspace.put(workspaceId, updated);
+        }
+        bitmap().refresh(rowOf(workspaceId), removed[0], removed[1], updated);
+    }
+
+    /**
+     * Returns the bitmap, creating it on the first write. Must be called while holding the write lock.
+     */
+    private SlotBitmap bitmap() {
+        SlotBitmap current = bitmap;
+        if (current == null) {
+            current = new SlotBitmap(slotMinutes);
+            bitmap = current;
+        }
+        return current;
+    }
+
+    private int rowOf(Long workspaceId) {
+        return rowByWorkspace.computeIfAbsent(workspaceId, id -> rowByWorkspace.size());
+    }
+
+    private Workspaces snapshotOf(Workspace[] items) {
+        Arrays.sort(items, Comparator.comparing(Workspace::getId));
+        int[] rows = new int[items.length];
+        int rowLimit = 0;
+        for (int i = 0; i < items.length; i++) {
+            rows[i] = rowOf(items[i].getId());
+            rowLimit = Math.max(rowLimit, rows[i] + 1);
+        }
+        return new Workspaces(items, rows, rowLimit);
+    }
+
+    private static Workspace copyOf(Workspace workspace) {
+        return new Workspace(workspace.getId(), workspace.getName());
+    }
+
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    /**
+     * Workspaces ordered by id together with their bitmap rows, replaced as a whole on every change.
+     */
+    private static final class Workspaces {
+
+        private static final Workspaces EMPTY = new Workspaces(new Workspace[0], new int[0], 0);
+
+        private final Workspace[] items;
+        private final int[] rows;
+        private final int rowLimit;
+
+        private Workspaces(Workspace[] items, int[] rows, int rowLimit) {
+            this.items = items;
+            this.rows = rows;
+            this.rowLimit = rowLimit;
+        }
+    }
+}
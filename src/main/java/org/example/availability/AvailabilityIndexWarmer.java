@@ -0,0 +1,41 @@
+package org.example.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.repository.BookingRepository;
+import org.example.repository.WorkspaceRepository;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the {@link AvailabilityIndex} from the database once the application context is ready.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndexWarmer {
+
+    private final AvailabilityIndex availabilityIndex;
+
+    private final WorkspaceRepository workspaceRepository;
+
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Warms the index when it is enabled. Refresh events of child contexts are ignored.
+     *
+     * @param event the context refreshed event
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        if (!availabilityIndex.isEnabled() || event.getApplicationContext().getParent() != null) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        availabilityIndex.rebuild(workspaceRepository::findAll, bookingRepository::findAll);
+        log.info("Availability index warmed with " + availabilityIndex.getBookingCount() + " bookings in "
+                + (System.currentTimeMillis() - startTime) + " ms.");
+    }
+}
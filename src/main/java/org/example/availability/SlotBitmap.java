@@ -0,0 +1,254 @@
+package org.example.availability;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bitmap of booked time slots per workspace and calendar day.
+ * A day is split into slots of a fixed length and every workspace owns one row of {@code wordsPerDay} longs
+ * in the array of the day, where bit {@code i} is set if some booking covers at least a part of slot {@code i}.
+ * Rows are dense indexes handed out by {@link AvailabilityIndex}, so a day costs {@code rows * wordsPerDay} longs
+ * and a lookup checks all workspaces with a few word operations per day. Day arrays are replaced copy-on-write,
+ * so readers never block and never see a half written word.
+ * <p>
+ * Times are passed as keys in microseconds since the epoch, as produced by {@link AvailabilityIndex}.
+ */
+final class SlotBitmap {
+
+    private static final long MICROS_PER_MINUTE = 60_000_000L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MIN_ROWS = 64;
+
+    private final long slotMicros;
+    private final int slotsPerDay;
+    private final int wordsPerDay;
+    private final Map<Long, long[]> days;
+
+    /**
+     * Creates an empty bitmap.
+     *
+     * @param slotMinutes the slot length, it must divide a day into whole slots
+     */
+    SlotBitmap(int slotMinutes) {
+        this(slotMinutes, new ConcurrentHashMap<>());
+    }
+
+    private SlotBitmap(int slotMinutes, Map<Long, long[]> days) {
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("Slot length of " + slotMinutes + " minutes does not divide a day.");
+        }
+        this.slotMicros = slotMinutes * MICROS_PER_MINUTE;
+        this.slotsPerDay = MINUTES_PER_DAY / slotMinutes;
+        this.wordsPerDay = (slotsPerDay + Long.SIZE - 1) / Long.SIZE;
+        this.days = days;
+    }
+
+    /**
+     * Builds a bitmap from all bookings at once. The day arrays are written in place before the bitmap
+     * is published, so the build does not pay for copy-on-write.
+     *
+     * @param slotMinutes the slot length
+     * @param rows        the row of each booking
+     * @param starts      booking start times
+     * @param ends        booking end times
+     * @return the filled bitmap
+     */
+    static SlotBitmap of(int slotMinutes, int[] rows, long[] starts, long[] ends) {
+        SlotBitmap builder = new SlotBitmap(slotMinutes, new HashMap<>());
+        for (int i = 0; i < rows.length; i++) {
+            int row = rows[i];
+            builder.forEachDay(builder.firstSlot(starts[i]), builder.lastSlot(starts[i], ends[i]) + 1, (day, from, to) -> {
+                long[] words = builder.days.get(day);
+                long[] grown = builder.withRow(words, row);
+                if (grown != words) {
+                    builder.days.put(day, grown);
+                }
+                builder.setBits(grown, row, from, to);
+            });
+        }
+        return new SlotBitmap(slotMinutes, new ConcurrentHashMap<>(builder.days));
+    }
+
+    /**
+     * Marks the slots touched by a booking.
+     *
+     * @param row   the row of the booked workspace
+     * @param start the booking start
+     * @param end   the booking end
+     */
+    void mark(int row, long start, long end) {
+        forEachDay(firstSlot(start), lastSlot(start, end) + 1, (day, from, to) -> {
+            long[] words = copyWithRow(days.get(day), row);
+            setBits(words, row, from, to);
+            days.put(day, words);
+        });
+    }
+
+    /**
+     * Recomputes the slots touched by a removed booking from the bookings left in the workspace.
+     *
+     * @param row       the row of the workspace
+     * @param start     the start of the removed booking
+     * @param end       the end of the removed booking
+     * @param remaining the bookings still held for the workspace
+     */
+    void refresh(int row, long start, long end, WorkspaceIntervals remaining) {
+        forEachDay(firstSlot(start), lastSlot(start, end) + 1, (day, from, to) -> {
+            long[] current = days.get(day);
+            if (current == null || (row + 1) * wordsPerDay > current.length) {
+                return;
+            }
+            long[] words = current.clone();
+            int base = row * wordsPerDay;
+            for (int slot = from; slot < to; slot++) {
+                long slotStart = (day * slotsPerDay + slot) * slotMicros;
+                long bit = 1L << (slot & (Long.SIZE - 1));
+                if (remaining.overlaps(slotStart, slotStart + slotMicros - 1)) {
+                    words[base + slot / Long.SIZE] |= bit;
+                } else {
+                    words[base + slot / Long.SIZE] &= ~bit;
+                }
+            }
+            days.put(day, words);
+        });
+    }
+
+    /**
+     * Clears every slot of a row, used when a workspace is removed.
+     *
+     * @param row the row of the removed workspace
+     */
+    void clearRow(int row) {
+        for (Map.Entry<Long, long[]> entry : days.entrySet()) {
+            long[] current = entry.getValue();
+            if ((row + 1) * wordsPerDay <= current.length) {
+                long[] words = current.clone();
+                for (int word = 0; word < wordsPerDay; word++) {
+                    words[row * wordsPerDay + word] = 0;
+                }
+                entry.setValue(words);
+            }
+        }
+    }
+
+    /**
+     * Sorts the workspaces for the period [start, end] into three groups, one bit per row.
+     * A row set in {@code busy} has a booking in a slot lying completely inside the period, so the workspace
+     * is certainly booked. A row set only in {@code touched} has a booking in a slot which the period covers
+     * just partially, so the exact intervals have to decide. All other workspaces are free.
+     *
+     * @param start   the period start
+     * @param end     the period end
+     * @param busy    receives the rows booked for certain
+     * @param touched receives the rows with bookings in the boundary slots
+     */
+    void collect(long start, long end, long[] busy, long[] touched) {
+        long startSlot = Math.floorDiv(start, slotMicros);
+        long firstInner = Math.floorMod(start, slotMicros) == 0 ? startSlot : startSlot + 1;
+        long endSlot = Math.floorDiv(end, slotMicros);
+
+        collect(firstInner, endSlot, busy);
+        collect(endSlot, endSlot + 1, touched);
+        if (firstInner != startSlot) {
+            collect(startSlot, startSlot + 1, touched);
+        }
+    }
+
+    /**
+     * Returns the memory held by the day arrays.
+     *
+     * @return size of the bitmap in bytes
+     */
+    long sizeInBytes() {
+        long words = 0;
+        for (long[] day : days.values()) {
+            words += day.length;
+        }
+        return words * Long.BYTES;
+    }
+
+    private void collect(long fromSlot, long toSlot, long[] target) {
+        int targetRows = target.length * Long.SIZE;
+        forEachDay(fromSlot, toSlot, (day, from, to) -> {
+            long[] words = days.get(day);
+            if (words == null) {
+                return;
+            }
+            int rows = Math.min(words.length / wordsPerDay, targetRows);
+            int firstWord = from / Long.SIZE;
+            int lastWord = (to - 1) / Long.SIZE;
+            long firstMask = -1L << (from & (Long.SIZE - 1));
+            long lastMask = -1L >>> (Long.SIZE - 1 - ((to - 1) & (Long.SIZE - 1)));
+
+            for (int row = 0; row < rows; row++) {
+                int base = row * wordsPerDay;
+                long any = 0;
+                for (int word = firstWord; word <= lastWord; word++) {
+                    long mask = -1L;
+                    if (word == firstWord) {
+                        mask &= firstMask;
+                    }
+                    if (word == lastWord) {
+                        mask &= lastMask;
+                    }
+                    any |= words[base + word] & mask;
+                }
+                if (any != 0) {
+                    target[row >>> 6] |= 1L << row;
+                }
+            }
+        });
+    }
+
+    private void setBits(long[] words, int row, int from, int to) {
+        int base = row * wordsPerDay;
+        for (int slot = from; slot < to; slot++) {
+            words[base + slot / Long.SIZE] |= 1L << (slot & (Long.SIZE - 1));
+        }
+    }
+
+    private long[] copyWithRow(long[] words, int row) {
+        long[] grown = withRow(words, row);
+        return grown == words ? words.clone() : grown;
+    }
+
+    private long[] withRow(long[] words, int row) {
+        int needed = (row + 1) * wordsPerDay;
+        if (words != null && words.length >= needed) {
+            return words;
+        }
+        int rows = Math.max(row + 1, Math.max(MIN_ROWS, words == null ? 0 : 2 * words.length / wordsPerDay));
+        long[] grown = new long[rows * wordsPerDay];
+        if (words != null) {
+            System.arraycopy(words, 0, grown, 0, words.length);
+        }
+        return grown;
+    }
+
+    private long firstSlot(long start) {
+        return Math.floorDiv(start, slotMicros);
+    }
+
+    private long lastSlot(long start, long end) {
+        return Math.floorDiv(Math.max(start, end - 1), slotMicros);
+    }
+
+    /**
+     * Splits the slot range [fromSlot, toSlot) into the parts falling on each day.
+     */
+    private void forEachDay(long fromSlot, long toSlot, DayRange action) {
+        for (long slot = fromSlot; slot < toSlot; ) {
+            long day = Math.floorDiv(slot, slotsPerDay);
+            long dayEnd = (day + 1) * slotsPerDay;
+            long rangeEnd = Math.min(toSlot, dayEnd);
+            action.accept(day, (int) (slot - day * slotsPerDay), (int) (rangeEnd - day * slotsPerDay));
+            slot = rangeEnd;
+        }
+    }
+
+    @FunctionalInterface
+    private interface DayRange {
+        void accept(long day, int fromSlot, int toSlot);
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.availability;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of booked intervals of a single workspace.
+ * Intervals are kept sorted by start time together with a running maximum of end times, so the
+ * question "does any booking overlap [start, end]" is answered with one binary search even when
+ * stored bookings overlap each other. Every modification returns a new instance, which lets readers
+ * work without locking.
+ */
+final class WorkspaceIntervals {
+
+    static final WorkspaceIntervals EMPTY = new WorkspaceIntervals(new long[0], new long[0], new long[0]);
+
+    private final long[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private WorkspaceIntervals(long[] bookingIds, long[] starts, long[] ends) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    /**
+     * Builds an interval set from unsorted arrays. The arrays are taken over by the new instance.
+     *
+     * @param bookingIds booking identifiers
+     * @param starts     booking start times
+     * @param ends       booking end times
+     * @return the interval set
+     */
+    static WorkspaceIntervals of(long[] bookingIds, long[] starts, long[] ends) {
+        Integer[] order = new Integer[starts.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(starts[a], starts[b]));
+
+        long[] sortedIds = new long[order.length];
+        long[] sortedStarts = new long[order.length];
+        long[] sortedEnds = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = bookingIds[order[i]];
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+        }
+        return new WorkspaceIntervals(sortedIds, sortedStarts, sortedEnds);
+    }
+
+    /**
+     * Returns a copy with the given booking added. An existing booking with the same id is replaced.
+     *
+     * @param bookingId the booking identifier
+     * @param start     the booking start time
+     * @param end       the booking end time
+     * @return the updated interval set
+     */
+    WorkspaceIntervals with(long bookingId, long start, long end) {
+        WorkspaceIntervals base = without(bookingId);
+        int position = upperBound(base.starts, start);
+        int size = base.size();
+
+        long[] newIds = new long[size + 1];
+        long[] newStarts = new long[size + 1];
+        long[] newEnds = new long[size + 1];
+        insert(base.bookingIds, newIds, position, bookingId);
+        insert(base.starts, newStarts, position, start);
+        insert(base.ends, newEnds, position, end);
+        return new WorkspaceIntervals(newIds, newStarts, newEnds);
+    }
+
+    /**
+     * Returns a copy without the given booking, or this instance if the booking is absent.
+     *
+     * @param bookingId the booking identifier
+     * @return the updated interval set
+     */
+    WorkspaceIntervals without(long bookingId) {
+        int position = indexOf(bookingId);
+        if (position < 0) {
+            return this;
+        }
+        return new WorkspaceIntervals(remove(bookingIds, position), remove(starts, position), remove(ends, position));
+    }
+
+    /**
+     * Checks whether any booking in the set is busy during the given period.
+     * A booking [s, e) is considered busy for the period [start, end] when {@code s <= end && e > start},
+     * which is the predicate used by the SQL availability query.
+     *
+     * @param start the period start
+     * @param end   the period end
+     * @return true if at least one booking is busy during the period
+     */
+    boolean overlaps(long start, long end) {
+        int candidates = upperBound(starts, end);
+        return candidates > 0 && maxEnds[candidates - 1] > start;
+    }
+
+    /**
+     * Returns the start and end time of a booking.
+     *
+     * @param bookingId the booking identifier
+     * @return the start and end time, or null if the booking is absent
+     */
+    long[] bounds(long bookingId) {
+        int position = indexOf(bookingId);
+        return position < 0 ? null : new long[]{starts[position], ends[position]};
+    }
+
+    long[] bookingIds() {
+        return bookingIds.clone();
+    }
+
+    int size() {
+        return bookingIds.length;
+    }
+
+    private int indexOf(long bookingId) {
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int upperBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void insert(long[] source, long[] target, int position, long value) {
+        System.arraycopy(source, 0, target, 0, position);
+        target[position] = value;
+        System.arraycopy(source, position, target, position + 1, source.length - position);
+    }
+
+    private static long[] remove(long[] source, int position) {
+        long[] target = new long[source.length - 1];
+        System.arraycopy(source, 0, target, 0, position);
+        System.arraycopy(source, position + 1, target, position, source.length - position - 1);
+        return target;
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.cache;
+
+import org.example.dto.Authentication;
+import org.example.dto.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of authentications resolved from verified JWTs.
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are never kept in memory,
+ * and live until the token expires. Entries of a user are dropped when the user logs out or
+ * the role of the user changes.
+ */
+@Component
+public class AuthenticationCache {
+
+    private final BoundedCache<String, Authentication> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates the cache.
+     *
+     * @param maximumSize the maximum number of cached tokens
+     */
+    public AuthenticationCache(@Value("${jwt.cache.maximum-size:10000}") int maximumSize) {
+        this.cache = new BoundedCache<>("authentication", maximumSize);
+    }
+
+    /**
+     * Returns the authentication cached for the token.
+     *
+     * @param token the JWT
+     * @return a copy of the cached authentication, or null if the token is not cached
+     */
+    public Authentication get(String token) {
+        Authentication authentication = cache.get(hash(token));
+        return authentication != null ? copyOf(authentication) : null;
+    }
+
+    /**
+     * Returns a counter which changes on every invalidation. Read it before resolving an authentication
+     * and pass it to {@link #put(String, Authentication, Date, long)}.
+     *
+     * @return the current invalidation generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches an authentication until the token expires. Nothing is cached if an invalidation happened
+     * after the given generation was read, so a role change racing with a request cannot be overwritten.
+     *
+     * @param token          the verified JWT
+     * @param authentication the resolved authentication
+     * @param expiresAt      the expiration time of the token, tokens without one are not cached
+     * @param generation     the generation read before the authentication was resolved
+     */
+    public void put(String token, Authentication authentication, Date expiresAt, long generation) {
+        if (expiresAt == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (this.generation.get() == generation) {
+                cache.put(hash(token), copyOf(authentication), expiresAt.getTime());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every cached authentication of the user.
+     *
+     * @param username the username
+     */
+    public void invalidateUser(String username) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            cache.invalidateIf((key, authentication) -> authentication.getUsername().equals(username));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return current cache statistics
+     */
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    private static Authentication copyOf(Authentication authentication) {
+        return new Authentication(authentication.getUsername(), authentication.getRole());
+    }
+
+    /**
+     * Hashes a token for use as a key, so the raw token is not kept in memory.
+     */
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
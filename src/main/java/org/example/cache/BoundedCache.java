@@ -0,0 +1,245 @@
+package org.example.cache;
+
+import org.example.dto.CacheStats;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded in-memory cache with per-entry expiration.
+ * When the cache is full the least recently used entry is evicted. Expired entries are removed lazily
+ * on access. All operations are guarded by a single lock, which is cheap compared with the database or
+ * cryptographic work the cached values replace.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maximumSize;
+    private final long timeToLiveMillis;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache whose entries live until they are evicted or invalidated, unless an expiration time is given on put.
+     *
+     * @param name        the cache name used in statistics
+     * @param maximumSize the maximum number of entries
+     */
+    public BoundedCache(String name, int maximumSize) {
+        this(name, maximumSize, null, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache whose entries expire after the given time to live.
+     *
+     * @param name        the cache name used in statistics
+     * @param maximumSize the maximum number of entries
+     * @param timeToLive  the default lifetime of an entry, or null for no default expiration
+     */
+    public BoundedCache(String name, int maximumSize, Duration timeToLive) {
+        this(name, maximumSize, timeToLive, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache using the given clock, which returns the current time in milliseconds.
+     *
+     * @param name        the cache name used in statistics
+     * @param maximumSize the maximum number of entries
+     * @param timeToLive  the default lifetime of an entry, or null for no default expiration
+     * @param clock       the time source
+     */
+    public BoundedCache(String name, int maximumSize, Duration timeToLive, LongSupplier clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive.");
+        }
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.timeToLiveMillis = timeToLive != null ? timeToLive.toMillis() : Long.MAX_VALUE;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value for the key.
+     *
+     * @param key the key
+     * @return the value, or null if absent or expired
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAtMillis <= clock.getAsLong()) {
+                entries.remove(key);
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether an unexpired value is cached for the key. Statistics are not affected.
+     *
+     * @param key the key
+     * @return true if the key is cached
+     */
+    public boolean containsKey(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            return entry != null && entry.expiresAtMillis > clock.getAsLong();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Caches a value for the default time to live.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        long now = clock.getAsLong();
+        put(key, value, timeToLiveMillis == Long.MAX_VALUE ? Long.MAX_VALUE : now + timeToLiveMillis);
+    }
+
+    /**
+     * Caches a value until the given time, but never longer than the default time to live.
+     *
+     * @param key             the key
+     * @param value           the value
+     * @param expiresAtMillis the expiration time in milliseconds since the epoch
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        lock.lock();
+        try {
+            long now = clock.getAsLong();
+            long limit = timeToLiveMillis == Long.MAX_VALUE ? Long.MAX_VALUE : now + timeToLiveMillis;
+            long expiresAt = Math.min(expiresAtMillis, limit);
+            if (expiresAt <= now) {
+                entries.remove(key);
+                return;
+            }
+
+            entries.put(key, new Entry<>(value, expiresAt));
+            if (entries.size() > maximumSize) {
+                evictEldest();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry for the key.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry matching the predicate.
+     *
+     * @param predicate the condition on key and value
+     * @return the number of removed entries
+     */
+    public int invalidateIf(BiPredicate<K, V> predicate) {
+        lock.lock();
+        try {
+            int removed = 0;
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = iterator.next();
+                if (predicate.test(entry.getKey(), entry.getValue().value)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of entries, including expired entries not removed yet.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return current cache statistics
+     */
+    public CacheStats getStats() {
+        return CacheStats.builder()
+                .name(name)
+                .size(size())
+                .maximumSize(maximumSize)
+                .hits(hits.sum())
+                .misses(misses.sum())
+                .evictions(evictions.sum())
+                .build();
+    }
+
+    private void evictEldest() {
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        iterator.next();
+        iterator.remove();
+        evictions.increment();
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.cache;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Tokens which were logged out and are rejected until they expire, although their signature is still valid.
+ * Entries are keyed by the SHA-256 hash of the token like the {@link AuthenticationCache}, and are dropped once
+ * the token expires, since the verifier rejects it from then on. Entries are never evicted early, so the
+ * denylist holds at most the tokens logged out within one token lifetime.
+ */
+@Component
+public class TokenDenylist {
+
+    private final Map<String, Long> denied = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+
+    /**
+     * Creates a denylist using the system clock.
+     */
+    public TokenDenylist() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a denylist using the given clock, which returns the current time in milliseconds.
+     *
+     * @param clock the time source
+     */
+    public TokenDenylist(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Rejects the token until it expires, and forgets the tokens which expired already.
+     * A token without an expiration time is rejected for good.
+     *
+     * @param token the verified JWT
+     */
+    public void deny(String token) {
+        Date expiresAt;
+        try {
+            expiresAt = JWT.decode(token).getExpiresAt();
+        } catch (JWTDecodeException e) {
+            return;
+        }
+        long now = clock.getAsLong();
+        denied.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+        long expiresAtMillis = expiresAt != null ? expiresAt.getTime() : Long.MAX_VALUE;
+        if (expiresAtMillis > now) {
+            denied.put(AuthenticationCache.hash(token), expiresAtMillis);
+        }
+    }
+
+    /**
+     * Checks whether the token was logged out and has not expired yet.
+     *
+     * @param token the JWT
+     * @return true if the token has to be rejected
+     */
+    public boolean isDenied(String token) {
+        if (denied.isEmpty()) {
+            return false;
+        }
+        Long expiresAtMillis = denied.get(AuthenticationCache.hash(token));
+        return expiresAtMillis != null && expiresAtMillis > clock.getAsLong();
+    }
+
+    /**
+     * Returns the number of tokens currently rejected, including expired ones not forgotten yet.
+     *
+     * @return the number of denied tokens
+     */
+    public int size() {
+        return denied.size();
+    }
+}
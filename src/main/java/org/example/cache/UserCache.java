@@ -0,0 +1,149 @@
+package org.example.cache;
+
+import org.example.dto.CacheStats;
+import org.example.dto.UserDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of users looked up by username and by id.
+ * Only {@link UserDTO} objects are kept, so password hashes never stay in memory. Usernames which do not
+ * exist are remembered for a shorter time, so requests with unknown users do not reach the database either.
+ */
+@Component
+public class UserCache {
+
+    private final BoundedCache<String, UserDTO> byUsername;
+    private final BoundedCache<Long, UserDTO> byId;
+    private final BoundedCache<String, Boolean> missingUsernames;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates the cache.
+     *
+     * @param maximumSize       the maximum number of entries in each lookup map
+     * @param timeToLive        how long a user stays cached, as an ISO-8601 duration
+     * @param missingTimeToLive how long an unknown username stays cached, as an ISO-8601 duration
+     */
+    public UserCache(@Value("${user.cache.maximum-size:10000}") int maximumSize,
+                     @Value("${user.cache.ttl:PT1M}") String timeToLive,
+                     @Value("${user.cache.missing-ttl:PT10S}") String missingTimeToLive) {
+        this.byUsername = new BoundedCache<>("user-by-username", maximumSize, Duration.parse(timeToLive));
+        this.byId = new BoundedCache<>("user-by-id", maximumSize, Duration.parse(timeToLive));
+        this.missingUsernames = new BoundedCache<>("user-missing", maximumSize, Duration.parse(missingTimeToLive));
+    }
+
+    /**
+     * Returns the user cached for the username.
+     *
+     * @param username the username
+     * @return a copy of the cached user, or null if it is not cached
+     */
+    public UserDTO get(String username) {
+        return copyOf(byUsername.get(username));
+    }
+
+    /**
+     * Returns the user cached for the id.
+     *
+     * @param id the user id
+     * @return a copy of the cached user, or null if it is not cached
+     */
+    public UserDTO get(Long id) {
+        return copyOf(byId.get(id));
+    }
+
+    /**
+     * Checks whether the username is known not to exist.
+     *
+     * @param username the username
+     * @return true if a recent lookup found no user with this username
+     */
+    public boolean isMissing(String username) {
+        return missingUsernames.get(username) != null;
+    }
+
+    /**
+     * Returns a counter which changes on every invalidation. Read it before loading a user
+     * and pass it to {@link #put(UserDTO, long)} or {@link #putMissing(String, long)}.
+     *
+     * @return the current invalidation generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a user under its username and id, unless an invalidation happened after the given generation was read.
+     *
+     * @param user       the loaded user
+     * @param generation the generation read before the user was loaded
+     */
+    public void put(UserDTO user, long generation) {
+        lock.lock();
+        try {
+            if (this.generation.get() == generation) {
+                byUsername.put(user.getUsername(), copyOf(user));
+                byId.put(user.getId(), copyOf(user));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remembers that no user has the username, unless an invalidation happened after the given generation was read.
+     *
+     * @param username   the unknown username
+     * @param generation the generation read before the lookup
+     */
+    public void putMissing(String username, long generation) {
+        lock.lock();
+        try {
+            if (this.generation.get() == generation) {
+                missingUsernames.put(username, Boolean.TRUE);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops everything cached for the username, including the knowledge that it does not exist.
+     *
+     * @param username the username
+     */
+    public void invalidate(String username) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            byUsername.invalidate(username);
+            missingUsernames.invalidate(username);
+            byId.invalidateIf((id, user) -> Objects.equals(user.getUsername(), username));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of all lookup maps.
+     *
+     * @return statistics of the username, id and unknown username lookups
+     */
+    public List<CacheStats> getStats() {
+        return List.of(byUsername.getStats(), byId.getStats(), missingUsernames.getStats());
+    }
+
+    private static UserDTO copyOf(UserDTO user) {
+        return user != null
+                ? UserDTO.builder().id(user.getId()).username(user.getUsername()).role(user.getRole()).build()
+                : null;
+    }
+}
@@ -0,0 +1,146 @@
+package org.example.cache;
+
+import org.example.dto.CacheStats;
+import org.example.entity.Workspace;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of workspaces looked up by id and by name.
+ * Workspaces change rarely while almost every booking request resolves one, so entries are kept for
+ * a configurable time to live and dropped as soon as the workspace is changed through the repository.
+ */
+@Component
+public class WorkspaceCache {
+
+    private final BoundedCache<Long, Workspace> byId;
+    private final BoundedCache<String, Workspace> byName;
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Creates the cache.
+     *
+     * @param maximumSize the maximum number of workspaces in each lookup map
+     * @param timeToLive  how long a workspace stays cached, as an ISO-8601 duration
+     */
+    public WorkspaceCache(@Value("${workspace.cache.maximum-size:1000}") int maximumSize,
+                          @Value("${workspace.cache.ttl:PT5M}") String timeToLive) {
+        this.byId = new BoundedCache<>("workspace-by-id", maximumSize, Duration.parse(timeToLive));
+        this.byName = new BoundedCache<>("workspace-by-name", maximumSize, Duration.parse(timeToLive));
+    }
+
+    /**
+     * Returns the workspace cached for the id.
+     *
+     * @param id the workspace id
+     * @return a copy of the cached workspace, or null if it is not cached
+     */
+    public Workspace get(Long id) {
+        return copyOf(byId.get(id));
+    }
+
+    /**
+     * Returns the workspace cached for the name.
+     *
+     * @param name the workspace name
+     * @return a copy of the cached workspace, or null if it is not cached
+     */
+    public Workspace get(String name) {
+        return copyOf(byName.get(name));
+    }
+
+    /**
+     * Returns a counter which changes on every invalidation. Read it before loading a workspace
+     * and pass it to {@link #put(Workspace, long)}.
+     *
+     * @return the current invalidation generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a workspace under its id and name. Nothing is cached if an invalidation happened after
+     * the given generation was read, so a load racing with an update cannot bring back the old state.
+     *
+     * @param workspace  the loaded workspace
+     * @param generation the generation read before the workspace was loaded
+     */
+    public void put(Workspace workspace, long generation) {
+        lock.lock();
+        try {
+            if (this.generation.get() == generation) {
+                byId.put(workspace.getId(), copyOf(workspace));
+                byName.put(workspace.getName(), copyOf(workspace));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the workspace with the given id from both lookup maps.
+     *
+     * @param id the workspace id
+     */
+    public void invalidate(Long id) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            byId.invalidate(id);
+            byName.invalidateIf((name, workspace) -> Objects.equals(workspace.getId(), id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the workspace with the given name from both lookup maps.
+     *
+     * @param name the workspace name
+     */
+    public void invalidate(String name) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            byName.invalidate(name);
+            byId.invalidateIf((id, workspace) -> Objects.equals(workspace.getName(), name));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops all cached workspaces.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            byId.clear();
+            byName.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of both lookup maps.
+     *
+     * @return statistics of the id and the name lookups
+     */
+    public List<CacheStats> getStats() {
+        return List.of(byId.getStats(), byName.getStats());
+    }
+
+    private static Workspace copyOf(Workspace workspace) {
+        return workspace != null ? new Workspace(workspace.getId(), workspace.getName()) : null;
+    }
+}
@@ -1,12 +1,16 @@
 package org.example.config;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.FilterRegistration;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRegistration;
 
+import java.util.EnumSet;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.filters.GlobalFilter;
+import org.example.utils.JsonUtil;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -43,25 +47,32 @@ public class ApplicationConfig implements WebApplicationInitializer {
 
         ServletRegistration.Dynamic dispatcher = servletContext.addServlet("dispatcher", new DispatcherServlet(context));
         dispatcher.setLoadOnStartup(1);
+        dispatcher.setAsyncSupported(true);
         dispatcher.addMapping("/");
 
+        FilterRegistration.Dynamic compressionFilter = servletContext.addFilter("compressionFilter", new DelegatingFilterProxy("compressionFilter"));
+        compressionFilter.addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC), false, "/*");
+        compressionFilter.setAsyncSupported(true);
+
         FilterRegistration.Dynamic jwtTokenFilter = servletContext.addFilter("jwtTokenFilter", new DelegatingFilterProxy("jwtTokenFilter"));
         jwtTokenFilter.addMappingForUrlPatterns(null, false, "/*");
         jwtTokenFilter.setInitParameter("order", "1");
+        jwtTokenFilter.setAsyncSupported(true);
 
         FilterRegistration.Dynamic globalFilter = servletContext.addFilter("globalFilter", GlobalFilter.class);
         globalFilter.addMappingForUrlPatterns(null, false, "/*");
         globalFilter.setInitParameter("order", "2");
+        globalFilter.setAsyncSupported(true);
     }
 
     /**
-     * Configures the ObjectMapper bean.
+     * Configures the ObjectMapper bean, the mapper shared by the whole application, see {@link JsonUtil}.
      *
      * @return the ObjectMapper bean
      */
     @Bean
     public ObjectMapper objectMapper() {
-        return new ObjectMapper();
+        return JsonUtil.OBJECT_MAPPER;
     }
 
 }
@@ -1,14 +1,16 @@
 package org.example.config;
 
 import liquibase.integration.spring.SpringLiquibase;
+import lombok.RequiredArgsConstructor;
+import org.example.utils.ConnectionManager;
 import org.example.utils.YamlPropertySourceFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -17,20 +19,11 @@ import java.sql.Statement;
  * Configuration class for setting up data source and Liquibase integration using Spring.
  */
 @Configuration
+@RequiredArgsConstructor
 @PropertySource(value = "classpath:application.yml", factory = YamlPropertySourceFactory.class)
 public class DataSourceConfig {
 
-    @Value("${db.url}")
-    private String url;
-
-    @Value("${db.driver-class-name}")
-    private String driver;
-
-    @Value("${db.username}")
-    private String username;
-
-    @Value("${db.password}")
-    private String password;
+    private final ConnectionManager connectionManager;
 
     @Value("${liquibase.changeLogFile}")
     private String changeLogFile;
@@ -39,20 +32,16 @@ public class DataSourceConfig {
     private String schemaName;
 
     /**
-     * Configures and provides a JdbcTemplate bean initialized with the configured data source.
+     * Configures and provides a JdbcTemplate bean backed by the shared connection pool.
      *
      * @return configured JdbcTemplate bean
      */
     @Bean
     public JdbcTemplate jdbcTemplate() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(driver);
-        dataSource.setUrl(url);
-        dataSource.setUsername(username);
-        dataSource.setPassword(password);
+        DataSource dataSource = connectionManager.getDataSource();
 
-        try (Connection connection = dataSource.getConnection()) {
-            Statement statement = connection.createStatement();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
             statement.execute("CREATE SCHEMA IF NOT EXISTS " + schemaName);
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -0,0 +1,39 @@
+package org.example.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.utils.JsonUtil;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Jackson message converter writing compact JSON with the shared {@link ObjectMapper}.
+ * A response is indented only when the request carries the {@code pretty} parameter.
+ */
+public class JsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Creates the converter.
+     *
+     * @param objectMapper the shared object mapper
+     */
+    public JsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    /**
+     * Switches the generator to indented output if the current request asks for it.
+     *
+     * @param generator the generator the response is written with
+     * @param object    the object to write
+     * @throws IOException if writing fails
+     */
+    @Override
+    protected void writePrefix(JsonGenerator generator, Object object) throws IOException {
+        if (JsonUtil.isPrettyRequested()) {
+            generator.useDefaultPrettyPrinter();
+        }
+        super.writePrefix(generator, object);
+    }
+}
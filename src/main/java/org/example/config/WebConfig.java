@@ -1,9 +1,9 @@
 package org.example.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.converter.HttpMessageConverter;
-import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
-import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.util.List;
@@ -12,17 +12,19 @@ import java.util.List;
  * Configuration class for customizing HTTP message converters in a Spring MVC application.
  */
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectMapper objectMapper;
+
     /**
-     * Configure custom HTTP message converters, adding a Jackson JSON converter with indentation.
+     * Configure custom HTTP message converters, adding a Jackson JSON converter which writes compact output
+     * with the shared object mapper and indents it only for requests with the {@code pretty} parameter.
      *
      * @param converters the list of HTTP message converters to customize
      */
     @Override
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
-        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
-                .indentOutput(true);
-        converters.add(new MappingJackson2HttpMessageConverter(builder.build()));
+        converters.add(new JsonHttpMessageConverter(objectMapper));
     }
 }
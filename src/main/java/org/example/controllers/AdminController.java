@@ -8,12 +8,19 @@ import org.example.dto.*;
 import org.example.entity.Audit;
 import org.example.entity.Workspace;
 import org.example.entity.types.Role;
+import org.example.service.AnalyticsService;
 import org.example.service.AuditService;
+import org.example.service.CacheService;
+import org.example.service.MetricsService;
+import org.example.service.UserService;
 import org.example.service.WorkspaceService;
+import org.example.utils.AuthenticationContext;
+import org.example.utils.JsonStreamUtil;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
@@ -28,7 +35,11 @@ public class AdminController {
 
     private final AuditService auditService;
     private final WorkspaceService workspaceService;
-    private final ServletContext servletContext;
+    private final UserService userService;
+    private final CacheService cacheService;
+    private final MetricsService metricsService;
+    private final AnalyticsService analyticsService;
+    private final AuthenticationContext authenticationContext;
 
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
     @ApiOperation(value = "Create a new workspace", response = Workspace.class)
@@ -73,9 +84,80 @@ public class AdminController {
         return ResponseEntity.ok(auditService.getAllAudits());
     }
 
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get page of audits", response = Page.class)
+    @GetMapping("/audits/page")
+    public ResponseEntity<Page<Audit>> getPageOfAudits(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String from, @RequestParam(required = false) String to) throws AccessDeniedException {
+        isAdmin();
+        if (from == null && to == null) {
+            return ResponseEntity.ok(auditService.getAuditsPage(cursor, limit));
+        }
+        return ResponseEntity.ok(auditService.getAuditsPage(from, to, cursor, limit));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Search recent and archived audits by time range and username", response = Audit.class)
+    @GetMapping("/audits/search")
+    public ResponseEntity<List<Audit>> searchAudits(@RequestParam String from, @RequestParam String to,
+                                                    @RequestParam(required = false) String username,
+                                                    @RequestParam(required = false) Integer limit) throws AccessDeniedException {
+        isAdmin();
+        return ResponseEntity.ok(auditService.searchAudits(from, to, username, limit));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Export all audits as a streamed JSON array", response = Audit.class)
+    @GetMapping("/audits/stream")
+    public void streamAudits(HttpServletResponse response) throws IOException {
+        isAdmin();
+        JsonStreamUtil.writeArray(response, auditService::forEachAudit);
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get statistics of the audit writer", response = AuditWriterStats.class)
+    @GetMapping("/audits/writer")
+    public ResponseEntity<AuditWriterStats> getAuditWriterStats() throws AccessDeniedException {
+        isAdmin();
+        return ResponseEntity.ok(auditService.getWriterStats());
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get statistics of the caches", response = CacheStats.class)
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStats>> getCacheStats() throws AccessDeniedException {
+        isAdmin();
+        return ResponseEntity.ok(cacheService.getCacheStats());
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get application metrics in Prometheus text format", response = String.class)
+    @GetMapping(value = "/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
+    public ResponseEntity<String> getMetrics() throws AccessDeniedException {
+        isAdmin();
+        return ResponseEntity.ok(metricsService.scrape());
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get utilization of the workspaces over a range of days", response = UtilizationReport.class)
+    @GetMapping("/analytics/utilization")
+    public ResponseEntity<UtilizationReport> getUtilization(@RequestParam String from, @RequestParam String to,
+                                                            @RequestParam(required = false) Boolean pushDown) throws AccessDeniedException {
+        isAdmin();
+        return ResponseEntity.ok(analyticsService.getUtilization(from, to, pushDown));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Change role of user", response = UserDTO.class)
+    @PutMapping("/users/{username}/role")
+    public ResponseEntity<UserDTO> changeUserRole(@PathVariable("username") String username, @RequestParam Role role) throws AccessDeniedException {
+        isAdmin();
+        return ResponseEntity.ok(userService.changeRole(username, role));
+    }
+
     private void isAdmin() throws AccessDeniedException {
-        Authentication authentication = (Authentication) servletContext.getAttribute("authentication");
-        if (authentication.getRole() != Role.ADMIN) {
+        Authentication authentication = authenticationContext.getAuthentication();
+        if (authentication == null || authentication.getRole() != Role.ADMIN) {
             throw new AccessDeniedException("You do not have permission to access this page.");
         }
     }
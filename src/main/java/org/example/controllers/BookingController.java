@@ -4,14 +4,25 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.example.async.QueryExecutor;
 import org.example.dto.Authentication;
+import org.example.dto.BatchBookingMode;
+import org.example.dto.BatchBookingResponse;
 import org.example.dto.BookingRequest;
+import org.example.dto.BookingSeriesRequest;
+import org.example.dto.BookingSeriesResponse;
+import org.example.dto.Page;
+import org.example.dto.RescheduleRequest;
 import org.example.entity.Booking;
 import org.example.service.BookingService;
+import org.example.utils.AuthenticationContext;
+import org.example.utils.JsonStreamUtil;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
-import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
@@ -26,21 +37,41 @@ public class BookingController {
 
     private final BookingService bookingService;
 
-    private final ServletContext servletContext;
+    private final AuthenticationContext authenticationContext;
+
+    private final QueryExecutor queryExecutor;
 
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
     @ApiOperation(value = "Booking workspace", response = Booking.class)
     @PostMapping("/book")
     public ResponseEntity<Booking> bookWorkspace(@RequestBody BookingRequest request) {
-        Authentication authentication = (Authentication) servletContext.getAttribute("authentication");
+        Authentication authentication = authenticationContext.getAuthentication();
         return ResponseEntity.ok(bookingService.bookWorkspace(request, authentication.getUsername()));
     }
 
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Booking several workspaces at once", response = BatchBookingResponse.class)
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> bookWorkspaces(@RequestBody List<BookingRequest> requests,
+                                                               @RequestParam(defaultValue = "BEST_EFFORT") BatchBookingMode mode) {
+        Authentication authentication = authenticationContext.getAuthentication();
+        return ResponseEntity.ok(bookingService.bookWorkspaces(requests, authentication.getUsername(), mode));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Booking workspace by a recurrence rule", response = BookingSeriesResponse.class)
+    @PostMapping("/series")
+    public ResponseEntity<BookingSeriesResponse> bookSeries(@RequestBody BookingSeriesRequest request,
+                                                            @RequestParam(defaultValue = "BEST_EFFORT") BatchBookingMode mode) {
+        Authentication authentication = authenticationContext.getAuthentication();
+        return ResponseEntity.ok(bookingService.bookSeries(request, authentication.getUsername(), mode));
+    }
+
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
     @ApiOperation(value = "Get list bookings for time period", response = Booking.class)
     @GetMapping("/time-period")
-    public ResponseEntity<List<Booking>> getFilteredBookingsByTimePeriod(@RequestParam String startTime, @RequestParam String endTime) {
-        return ResponseEntity.ok(bookingService.getFilteredBookingsByTimePeriod(startTime, endTime));
+    public DeferredResult<ResponseEntity<List<Booking>>> getFilteredBookingsByTimePeriod(@RequestParam String startTime, @RequestParam String endTime) {
+        return queryExecutor.submit(() -> bookingService.getFilteredBookingsByTimePeriod(startTime, endTime));
     }
 
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
@@ -57,6 +88,56 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getFilteredBookingsByWorkspace(name));
     }
 
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get page of bookings for time period", response = Page.class)
+    @GetMapping("/time-period/page")
+    public ResponseEntity<Page<Booking>> getPageOfBookingsByTimePeriod(@RequestParam String startTime, @RequestParam String endTime, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bookingService.getFilteredBookingsByTimePeriod(startTime, endTime, cursor, limit));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Export bookings for time period as a streamed JSON array", response = Booking.class)
+    @GetMapping("/time-period/stream")
+    public void streamBookingsByTimePeriod(@RequestParam String startTime, @RequestParam String endTime, HttpServletResponse response) throws IOException {
+        JsonStreamUtil.writeArray(response, action -> bookingService.forEachFilteredBookingByTimePeriod(startTime, endTime, action));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get page of bookings by username", response = Page.class)
+    @GetMapping("/username/page")
+    public ResponseEntity<Page<Booking>> getPageOfBookingsByUsername(@RequestParam String username, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bookingService.getFilteredBookingsByUsername(username, cursor, limit));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Export bookings by username as a streamed JSON array", response = Booking.class)
+    @GetMapping("/username/stream")
+    public void streamBookingsByUsername(@RequestParam String username, HttpServletResponse response) throws IOException {
+        JsonStreamUtil.writeArray(response, action -> bookingService.forEachFilteredBookingByUsername(username, action));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get page of bookings by workspace name", response = Page.class)
+    @GetMapping("/workspace/page")
+    public ResponseEntity<Page<Booking>> getPageOfBookingsByWorkspace(@RequestParam String name, @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(bookingService.getFilteredBookingsByWorkspace(name, cursor, limit));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Export bookings by workspace name as a streamed JSON array", response = Booking.class)
+    @GetMapping("/workspace/stream")
+    public void streamBookingsByWorkspace(@RequestParam String name, HttpServletResponse response) throws IOException {
+        JsonStreamUtil.writeArray(response, action -> bookingService.forEachFilteredBookingByWorkspace(name, action));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Reschedule booking", response = Booking.class)
+    @PutMapping("/{id}")
+    public ResponseEntity<Booking> rescheduleBooking(@PathVariable Long id, @RequestBody RescheduleRequest request) {
+        Authentication authentication = authenticationContext.getAuthentication();
+        return ResponseEntity.ok(bookingService.rescheduleBooking(id, request, authentication.getUsername()));
+    }
+
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
     @ApiOperation(value = "Cancel booking")
     @DeleteMapping("/{id}")
@@ -5,11 +5,10 @@ import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import org.example.service.UserService;
+import org.example.utils.AuthenticationContext;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import javax.servlet.ServletContext;
-
 
 @Api(value = "User Controller")
 @RestController
@@ -18,13 +17,14 @@ import javax.servlet.ServletContext;
 public class UserController {
 
     private final UserService userService;
-    private final ServletContext servletContext;
+    private final AuthenticationContext authenticationContext;
 
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
     @ApiOperation(value = "Logout the current user", response = ResponseEntity.class)
     @GetMapping("/logout")
-    public ResponseEntity<Void> logout() {
-        userService.logout(servletContext);
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String bearerToken) {
+        String token = bearerToken != null && bearerToken.startsWith("Bearer ") ? bearerToken.substring(7) : null;
+        userService.logout(authenticationContext.getAuthentication(), token);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -4,13 +4,19 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.example.async.QueryExecutor;
+import org.example.dto.Page;
 import org.example.entity.Audit;
 import org.example.entity.Workspace;
 import org.example.service.BookingService;
 import org.example.service.WorkspaceService;
+import org.example.utils.JsonStreamUtil;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
@@ -25,12 +31,27 @@ public class WorkspaceController {
 
     private final WorkspaceService workspaceService;
     private final BookingService bookingService;
+    private final QueryExecutor queryExecutor;
 
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
     @ApiOperation(value = "Get list of all workspaces", response = Audit.class)
     @GetMapping("/list")
-    public ResponseEntity<List<Workspace>> getListOfAllWorkspaces() throws AccessDeniedException {
-        return ResponseEntity.ok(workspaceService.getListOfAllWorkSpaces());
+    public DeferredResult<ResponseEntity<List<Workspace>>> getListOfAllWorkspaces() {
+        return queryExecutor.submit(workspaceService::getListOfAllWorkSpaces);
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Get page of workspaces", response = Page.class)
+    @GetMapping("/list/page")
+    public ResponseEntity<Page<Workspace>> getPageOfWorkspaces(@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(workspaceService.getPageOfWorkspaces(cursor, limit));
+    }
+
+    @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
+    @ApiOperation(value = "Export all workspaces as a streamed JSON array", response = Workspace.class)
+    @GetMapping("/list/stream")
+    public void streamWorkspaces(HttpServletResponse response) throws IOException {
+        JsonStreamUtil.writeArray(response, workspaceService::forEachWorkspace);
     }
 
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
@@ -51,14 +72,14 @@ public class WorkspaceController {
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
     @ApiOperation(value = "Get list of all available workspaces at the current time", response = Audit.class)
     @GetMapping("/available")
-    public ResponseEntity<List<Workspace>> getAvailableWorkspacesAtNow() throws AccessDeniedException {
-        return ResponseEntity.ok(bookingService.getAvailableWorkspacesAtNow());
+    public DeferredResult<ResponseEntity<List<Workspace>>> getAvailableWorkspacesAtNow() {
+        return queryExecutor.submit(bookingService::getAvailableWorkspacesAtNow);
     }
 
     @ApiImplicitParam(name = "Authorization", value = "Bearer token", required = true, dataTypeClass = String.class, paramType = "header")
     @ApiOperation(value = "Get list of all available workspaces at the current time", response = Audit.class)
     @GetMapping("/available-period")
-    public ResponseEntity<List<Workspace>> getAvailableWorkspacesForTimePeriod(@RequestParam String startTime, @RequestParam String endTime) throws AccessDeniedException {
-        return ResponseEntity.ok(bookingService.getAvailableWorkspacesForTimePeriod(startTime, endTime));
+    public DeferredResult<ResponseEntity<List<Workspace>>> getAvailableWorkspacesForTimePeriod(@RequestParam String startTime, @RequestParam String endTime) {
+        return queryExecutor.submit(() -> bookingService.getAvailableWorkspacesForTimePeriod(startTime, endTime));
     }
 }
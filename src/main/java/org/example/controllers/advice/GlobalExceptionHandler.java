@@ -2,6 +2,7 @@ package org.example.controllers.advice;
 
 import org.example.dto.AppExceptionResponse;
 import org.example.exceptions.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -105,6 +106,76 @@ public class GlobalExceptionHandler {
         return buildExceptionResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
     }
 
+    /**
+     * Handles WorkspaceLockTimeoutException and returns an HTTP 503 (Service Unavailable) response.
+     *
+     * @param exception the exception to handle
+     * @return ResponseEntity with HTTP status 503 and the exception message
+     */
+    @ExceptionHandler(WorkspaceLockTimeoutException.class)
+    ResponseEntity<AppExceptionResponse> handleWorkspaceLockTimeoutException(WorkspaceLockTimeoutException exception) {
+        return buildExceptionResponse(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+    }
+
+    /**
+     * Handles BookingNotFoundException and returns an HTTP 400 (Bad Request) response.
+     *
+     * @param exception the exception to handle
+     * @return ResponseEntity with HTTP status 400 and the exception message
+     */
+    @ExceptionHandler(BookingNotFoundException.class)
+    ResponseEntity<AppExceptionResponse> handleBookingNotFoundException(BookingNotFoundException exception) {
+        return buildExceptionResponse(HttpStatus.BAD_REQUEST, exception.getMessage());
+    }
+
+    /**
+     * Handles BookingVersionConflictException and returns an HTTP 409 (Conflict) response.
+     *
+     * @param exception the exception to handle
+     * @return ResponseEntity with HTTP status 409 and the exception message
+     */
+    @ExceptionHandler(BookingVersionConflictException.class)
+    ResponseEntity<AppExceptionResponse> handleBookingVersionConflictException(BookingVersionConflictException exception) {
+        return buildExceptionResponse(HttpStatus.CONFLICT, exception.getMessage());
+    }
+
+    /**
+     * Handles BookingUpdateFailedException and returns an HTTP 500 (Internal Server Error) response.
+     *
+     * @param exception the exception to handle
+     * @return ResponseEntity with HTTP status 500 and the exception message
+     */
+    @ExceptionHandler(BookingUpdateFailedException.class)
+    ResponseEntity<AppExceptionResponse> handleBookingUpdateFailedException(BookingUpdateFailedException exception) {
+        return buildExceptionResponse(HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage());
+    }
+
+    /**
+     * Handles BookingSaveFailedException and returns an HTTP 500 (Internal Server Error) response.
+     *
+     * @param exception the exception to handle
+     * @return ResponseEntity with HTTP status 500 and the exception message
+     */
+    @ExceptionHandler(BookingSaveFailedException.class)
+    ResponseEntity<AppExceptionResponse> handleBookingSaveFailedException(BookingSaveFailedException exception) {
+        return buildExceptionResponse(HttpStatus.INTERNAL_SERVER_ERROR, exception.getMessage());
+    }
+
+    /**
+     * Handles ServiceBusyException and returns an HTTP 503 (Service Unavailable) response telling the client
+     * when to retry.
+     *
+     * @param exception the exception to handle
+     * @return ResponseEntity with HTTP status 503, a Retry-After header and the exception message
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    ResponseEntity<AppExceptionResponse> handleServiceBusyException(ServiceBusyException exception) {
+        ResponseEntity<AppExceptionResponse> response = buildExceptionResponse(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     /**
      * Handles AccessDeniedException and returns an HTTP 403 (Forbidden) response.
      *
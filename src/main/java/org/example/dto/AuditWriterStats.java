@@ -0,0 +1,82 @@
+package org.example.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Represents a point-in-time view of the asynchronous audit writer.
+ */
+@Data
+@Builder
+public class AuditWriterStats {
+
+    /**
+     * The number of records waiting in the queue.
+     */
+    private int queueDepth;
+
+    /**
+     * The maximum number of records the queue can hold.
+     */
+    private int queueCapacity;
+
+    /**
+     * The policy applied when the queue is full.
+     */
+    private String overflowPolicy;
+
+    /**
+     * The number of records submitted since startup.
+     */
+    private long submitted;
+
+    /**
+     * The number of records written to the database since startup.
+     */
+    private long written;
+
+    /**
+     * The number of records discarded because the queue was full.
+     */
+    private long dropped;
+
+    /**
+     * The number of records appended to the spill file.
+     */
+    private long spilled;
+
+    /**
+     * The number of records lost because the database rejected them.
+     */
+    private long failed;
+
+    /**
+     * The number of batches flushed since startup.
+     */
+    private long batches;
+
+    /**
+     * The median number of records in a flushed batch.
+     */
+    private long batchSizeP50;
+
+    /**
+     * The largest number of records in a flushed batch.
+     */
+    private long batchSizeMax;
+
+    /**
+     * The median time spent writing a batch, in microseconds.
+     */
+    private long flushP50Micros;
+
+    /**
+     * The 99th percentile of time spent writing a batch, in microseconds.
+     */
+    private long flushP99Micros;
+
+    /**
+     * The longest time spent writing a batch, in microseconds.
+     */
+    private long flushMaxMicros;
+}
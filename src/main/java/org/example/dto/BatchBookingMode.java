@@ -0,0 +1,17 @@
+package org.example.dto;
+
+/**
+ * Defines how a batch of bookings is committed when some of its items can not be booked.
+ */
+public enum BatchBookingMode {
+
+    /**
+     * Nothing is booked unless every item of the batch can be booked.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Every item which can be booked is booked, the others are reported.
+     */
+    BEST_EFFORT
+}
@@ -0,0 +1,43 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents the result of a batch booking with one entry per requested booking.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponse {
+
+    /**
+     * The mode the batch was processed in.
+     */
+    private BatchBookingMode mode;
+
+    /**
+     * The number of created bookings.
+     */
+    private int created;
+
+    /**
+     * The number of items rejected because of a conflicting booking.
+     */
+    private int conflicts;
+
+    /**
+     * The number of items rejected as invalid.
+     */
+    private int invalid;
+
+    /**
+     * The outcome of every item, in request order.
+     */
+    private List<BookingResult> results;
+}
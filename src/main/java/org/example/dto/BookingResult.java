@@ -0,0 +1,37 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.entity.Booking;
+
+/**
+ * Represents the outcome of a single item of a batch booking or a single occurrence of a booking series.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingResult {
+
+    /**
+     * The position of the item in the request, starting with zero.
+     */
+    private int index;
+
+    /**
+     * The outcome of the item.
+     */
+    private BookingResultStatus status;
+
+    /**
+     * The created booking, set only for created items, or the occurrence which was not booked for items of a series.
+     */
+    private Booking booking;
+
+    /**
+     * The reason why the item was not booked.
+     */
+    private String message;
+}
@@ -0,0 +1,27 @@
+package org.example.dto;
+
+/**
+ * Outcome of a single item of a batch booking.
+ */
+public enum BookingResultStatus {
+
+    /**
+     * The booking was created.
+     */
+    CREATED,
+
+    /**
+     * The workspace is already booked during the requested period, or another item of the batch books it.
+     */
+    CONFLICT,
+
+    /**
+     * The item failed validation or refers to a workspace which does not exist.
+     */
+    INVALID,
+
+    /**
+     * The item could be booked, but was not because another item of an all-or-nothing batch failed.
+     */
+    SKIPPED
+}
@@ -0,0 +1,95 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+import org.example.entity.types.RecurrenceFrequency;
+
+import javax.validation.constraints.Future;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Builder
+@Getter
+@Setter
+public class BookingSeriesRequest {
+
+    /**
+     * The name of workspace for booking.
+     */
+    @NotNull(message = "Workspace name cannot be null")
+    @NotBlank(message = "Workspace name cannot be blank")
+    private String workspaceName;
+
+    /**
+     * The start time of the first occurrence.
+     */
+    @NotNull(message = "Start time cannot be null")
+    @Future(message = "Start time must be in the future")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startTime;
+
+    /**
+     * The end time of the first occurrence.
+     */
+    @NotNull(message = "End time cannot be null")
+    @Future(message = "End time must be in the future")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endTime;
+
+    /**
+     * How often the series repeats.
+     */
+    @NotNull(message = "Frequency cannot be null")
+    private RecurrenceFrequency frequency;
+
+    /**
+     * The series repeats every this many days or weeks, every one if not given.
+     */
+    @Min(value = 1, message = "Interval must be at least 1")
+    private Integer interval;
+
+    /**
+     * The days of the week with an occurrence. All days for daily series and the day of the first occurrence
+     * for weekly series if not given.
+     */
+    private Set<DayOfWeek> daysOfWeek;
+
+    /**
+     * The last day an occurrence may start on.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate until;
+
+    /**
+     * The maximum number of occurrences.
+     */
+    @Min(value = 1, message = "Count must be at least 1")
+    private Integer count;
+
+    @JsonCreator
+    public BookingSeriesRequest(@JsonProperty("workspaceName") String workspaceName,
+                                @JsonProperty("startTime") LocalDateTime startTime,
+                                @JsonProperty("endTime") LocalDateTime endTime,
+                                @JsonProperty("frequency") RecurrenceFrequency frequency,
+                                @JsonProperty("interval") Integer interval,
+                                @JsonProperty("daysOfWeek") Set<DayOfWeek> daysOfWeek,
+                                @JsonProperty("until") LocalDate until,
+                                @JsonProperty("count") Integer count) {
+        this.workspaceName = workspaceName;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.daysOfWeek = daysOfWeek;
+        this.until = until;
+        this.count = count;
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.entity.BookingSeries;
+
+import java.util.List;
+
+/**
+ * Represents the result of booking a series with one entry per occurrence.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesResponse {
+
+    /**
+     * The series, with its ID set if any occurrence was booked.
+     */
+    private BookingSeries series;
+
+    /**
+     * The mode the occurrences were booked in.
+     */
+    private BatchBookingMode mode;
+
+    /**
+     * The number of booked occurrences.
+     */
+    private int created;
+
+    /**
+     * The number of occurrences rejected because of a conflicting booking.
+     */
+    private int conflicts;
+
+    /**
+     * The outcome of every occurrence, in order of time.
+     */
+    private List<BookingResult> results;
+}
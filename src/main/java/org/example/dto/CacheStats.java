@@ -0,0 +1,42 @@
+package org.example.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Represents a point-in-time view of an in-memory cache.
+ */
+@Data
+@Builder
+public class CacheStats {
+
+    /**
+     * The name of the cache.
+     */
+    private String name;
+
+    /**
+     * The number of cached entries.
+     */
+    private int size;
+
+    /**
+     * The maximum number of cached entries.
+     */
+    private int maximumSize;
+
+    /**
+     * The number of lookups answered from the cache.
+     */
+    private long hits;
+
+    /**
+     * The number of lookups not found in the cache.
+     */
+    private long misses;
+
+    /**
+     * The number of entries removed to stay within the maximum size.
+     */
+    private long evictions;
+}
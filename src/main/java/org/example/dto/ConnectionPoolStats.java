@@ -0,0 +1,72 @@
+package org.example.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Represents a point-in-time view of the database connection pool.
+ */
+@Data
+@Builder
+public class ConnectionPoolStats {
+
+    /**
+     * The number of connections currently lent out.
+     */
+    private int active;
+
+    /**
+     * The number of connections waiting in the pool.
+     */
+    private int idle;
+
+    /**
+     * The total number of open connections.
+     */
+    private int total;
+
+    /**
+     * The number of threads waiting for a connection.
+     */
+    private int waiting;
+
+    /**
+     * The upper bound of open connections.
+     */
+    private int maximumPoolSize;
+
+    /**
+     * The upper bound of connections lent at the same time, or 0 if the concurrency limit is disabled.
+     */
+    private int maximumConcurrent;
+
+    /**
+     * The number of threads waiting for a permit of the concurrency limit.
+     */
+    private int limiterWaiting;
+
+    /**
+     * The number of successful acquisitions since startup.
+     */
+    private long acquireCount;
+
+    /**
+     * The number of acquisitions which gave up after the acquire timeout.
+     */
+    private long acquireTimeouts;
+
+    /**
+     * The median time spent waiting for a connection, in microseconds.
+     */
+    private long acquireP50Micros;
+
+    /**
+     * The 99th percentile of time spent waiting for a connection, in microseconds.
+     */
+    private long acquireP99Micros;
+
+    /**
+     * The longest time spent waiting for a connection, in microseconds.
+     */
+    private long acquireMaxMicros;
+}
@@ -0,0 +1,29 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the occupancy of the workspaces on one day, hour by hour.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOccupancy {
+
+    /**
+     * The day.
+     */
+    private LocalDate date;
+
+    /**
+     * The occupancy in percent of every hour of the day, from 0 to 23.
+     */
+    private List<Double> hourlyOccupancy;
+}
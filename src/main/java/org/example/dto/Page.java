@@ -0,0 +1,30 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Represents one page of a keyset-paginated listing.
+ *
+ * @param <T> the type of the listed items
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Page<T> {
+
+    /**
+     * The items of the page, ordered by id.
+     */
+    private List<T> items;
+
+    /**
+     * The opaque cursor of the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+}
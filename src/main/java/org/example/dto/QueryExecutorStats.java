@@ -0,0 +1,47 @@
+package org.example.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Represents a point-in-time view of the executor running asynchronous read requests.
+ */
+@Data
+@Builder
+public class QueryExecutorStats {
+
+    /**
+     * Whether every query runs on its own virtual thread.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * The number of threads running queries, or with virtual threads the maximum number of queries running at once.
+     */
+    private int threads;
+
+    /**
+     * The number of threads currently running a query.
+     */
+    private int active;
+
+    /**
+     * The number of queries waiting for a thread, always 0 with virtual threads.
+     */
+    private int queueDepth;
+
+    /**
+     * The maximum number of queries that may wait for a thread.
+     */
+    private int queueCapacity;
+
+    /**
+     * The number of requests rejected because the queue was full.
+     */
+    private long rejected;
+
+    /**
+     * The number of requests which timed out before their query completed.
+     */
+    private long timeouts;
+}
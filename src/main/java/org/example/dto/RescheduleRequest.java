@@ -0,0 +1,58 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import javax.validation.constraints.Future;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+@Setter
+public class RescheduleRequest {
+
+    /**
+     * The name of workspace the booking is moved to.
+     */
+    @NotNull(message = "Workspace name cannot be null")
+    @NotBlank(message = "Workspace name cannot be blank")
+    private String workspaceName;
+
+    /**
+     * The new start time of booking.
+     */
+    @NotNull(message = "Start time cannot be null")
+    @Future(message = "Start time must be in the future")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startTime;
+
+    /**
+     * The new end time of booking.
+     */
+    @NotNull(message = "End time cannot be null")
+    @Future(message = "End time must be in the future")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endTime;
+
+    /**
+     * The version of booking the client has read.
+     */
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    @JsonCreator
+    public RescheduleRequest(@JsonProperty("workspaceName") String workspaceName,
+                             @JsonProperty("startTime") LocalDateTime startTime,
+                             @JsonProperty("endTime") LocalDateTime endTime,
+                             @JsonProperty("version") Long version) {
+        this.workspaceName = workspaceName;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.version = version;
+    }
+
+}
@@ -0,0 +1,41 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents how often a user reschedules their bookings over a range of days.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBookingStats {
+
+    /**
+     * The ID of the user.
+     */
+    private Long userId;
+
+    /**
+     * The username of the user.
+     */
+    private String username;
+
+    /**
+     * The number of bookings overlapping the range.
+     */
+    private long bookings;
+
+    /**
+     * The number of those bookings which were rescheduled at least once.
+     */
+    private long rescheduled;
+
+    /**
+     * The rescheduled share of the bookings in percent.
+     */
+    private double rescheduledShare;
+}
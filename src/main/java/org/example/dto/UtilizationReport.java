@@ -0,0 +1,60 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the utilization of the workspaces over a range of days. Occupancy is the booked share of the time
+ * of all workspaces, counting whole days.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationReport {
+
+    /**
+     * The first day of the range.
+     */
+    private LocalDate from;
+
+    /**
+     * The last day of the range, inclusive.
+     */
+    private LocalDate to;
+
+    /**
+     * Whether the totals were computed by the database instead of in memory.
+     */
+    private boolean pushedDown;
+
+    /**
+     * The utilization of every workspace, the most occupied first.
+     */
+    private List<WorkspaceUtilization> workspaces;
+
+    /**
+     * The occupancy in percent of every hour of the day, from 0 to 23, averaged over the days of the range.
+     */
+    private List<Double> hourlyOccupancy;
+
+    /**
+     * The hours of the day with the highest occupancy, the busiest first.
+     */
+    private List<Integer> peakHours;
+
+    /**
+     * The users who reschedule the largest share of their bookings, the largest share first.
+     */
+    private List<UserBookingStats> frequentReschedulers;
+
+    /**
+     * The occupancy of every hour of every day of the range.
+     */
+    private List<DailyOccupancy> dailyHeatmap;
+}
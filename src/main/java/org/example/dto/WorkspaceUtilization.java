@@ -0,0 +1,41 @@
+package org.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Represents the utilization of one workspace over a range of days.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkspaceUtilization {
+
+    /**
+     * The ID of the workspace.
+     */
+    private Long workspaceId;
+
+    /**
+     * The name of the workspace.
+     */
+    private String name;
+
+    /**
+     * The number of bookings overlapping the range.
+     */
+    private long bookings;
+
+    /**
+     * The booked hours within the range.
+     */
+    private double bookedHours;
+
+    /**
+     * The booked share of the range in percent.
+     */
+    private double occupancy;
+}
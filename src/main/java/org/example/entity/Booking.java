@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 /**
- * Represents a booking with information such as a unique identifier, workspaceId, userId, startTime, endTime.
+ * Represents a booking with information such as a unique identifier, workspaceId, userId, startTime, endTime, version
+ * and the series the booking belongs to.
  *
  * @author ruslan
  */
@@ -46,4 +47,14 @@ public class Booking {
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime endTime;
 
+    /**
+     * The version of booking, incremented on every change and used for optimistic locking.
+     */
+    private Long version;
+
+    /**
+     * The unique identifier for the booking series the booking is an occurrence of, null for single bookings.
+     */
+    private Long seriesId;
+
 }
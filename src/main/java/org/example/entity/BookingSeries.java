@@ -0,0 +1,80 @@
+package org.example.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.entity.types.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Represents a series of bookings of one workspace which repeats by a rule: every given number of days or weeks,
+ * on the chosen days of the week, until a date or for a number of occurrences.
+ *
+ * @author ruslan
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingSeries {
+
+    /**
+     * The unique identifier for the booking series.
+     */
+    private Long id;
+
+    /**
+     * The unique identifier for the workspace booked by the series.
+     */
+    private Long workspaceId;
+
+    /**
+     * The unique identifier for the user who made the series.
+     */
+    private Long userId;
+
+    /**
+     * How often the series repeats.
+     */
+    private RecurrenceFrequency frequency;
+
+    /**
+     * The series repeats every this many days or weeks.
+     */
+    private int interval;
+
+    /**
+     * The days of the week with an occurrence, all days if empty.
+     */
+    private Set<DayOfWeek> daysOfWeek;
+
+    /**
+     * The start time of the first occurrence.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startTime;
+
+    /**
+     * The end time of the first occurrence.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endTime;
+
+    /**
+     * The last day an occurrence may start on, or null if the series is limited by count only.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate until;
+
+    /**
+     * The maximum number of occurrences, or null if the series is limited by date only.
+     */
+    private Integer count;
+
+}
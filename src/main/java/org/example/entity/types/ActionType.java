@@ -21,6 +21,16 @@ public enum ActionType {
      */
     BOOK_WORKSPACE,
 
+    /**
+     * Represents the action of rescheduling booking.
+     */
+    RESCHEDULE_BOOKING,
+
+    /**
+     * Represents the action of booking a series of workspace bookings.
+     */
+    BOOK_SERIES,
+
     /**
      * Represents the action of creating workspace.
      */
@@ -35,4 +45,6 @@ public enum ActionType {
      * Represents the action of updating workspace.
      */
     UPDATE_WORKSPACE, LOGOUT,
+
+    CHANGE_ROLE,
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.example.entity.types;
+
+/**
+ * Enumeration representing how often a booking series repeats.
+ */
+public enum RecurrenceFrequency {
+
+    /**
+     * The series repeats every given number of days.
+     */
+    DAILY,
+
+    /**
+     * The series repeats every given number of weeks, on the chosen days of the week.
+     */
+    WEEKLY
+}
@@ -0,0 +1,16 @@
+package org.example.exceptions;
+
+/**
+ * Exception thrown when a requested booking is not found.
+ */
+public class BookingNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new BookingNotFoundException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method).
+     */
+    public BookingNotFoundException(String message) {
+        super(message);
+    }
+}
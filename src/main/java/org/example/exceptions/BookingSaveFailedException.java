@@ -0,0 +1,16 @@
+package org.example.exceptions;
+
+/**
+ * Exception thrown when bookings could not be made because storing them failed.
+ */
+public class BookingSaveFailedException extends RuntimeException {
+
+    /**
+     * Constructs a new BookingSaveFailedException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method).
+     */
+    public BookingSaveFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.exceptions;
+
+/**
+ * Exception thrown when a booking could not be changed because storing the change failed.
+ */
+public class BookingUpdateFailedException extends RuntimeException {
+
+    /**
+     * Constructs a new BookingUpdateFailedException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method).
+     */
+    public BookingUpdateFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.exceptions;
+
+/**
+ * Exception thrown when a booking was changed by someone else since the given version was read.
+ */
+public class BookingVersionConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new BookingVersionConflictException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method).
+     */
+    public BookingVersionConflictException(String message) {
+        super(message);
+    }
+}
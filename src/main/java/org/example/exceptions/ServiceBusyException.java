@@ -0,0 +1,26 @@
+package org.example.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a request can not be served now because the server is saturated.
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    /**
+     * The number of seconds after which the client may retry.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceBusyException with the specified detail message.
+     *
+     * @param message           the detail message (which is saved for later retrieval by the getMessage() method).
+     * @param retryAfterSeconds the number of seconds after which the client may retry
+     */
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.exceptions;
+
+/**
+ * Exception thrown when a booking can not get the lock of its workspace in time.
+ */
+public class WorkspaceLockTimeoutException extends RuntimeException {
+
+    /**
+     * Constructs a new WorkspaceLockTimeoutException with the specified detail message.
+     *
+     * @param message the detail message (which is saved for later retrieval by the getMessage() method).
+     */
+    public WorkspaceLockTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.filters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * A filter that compresses response bodies with gzip for clients which accept it. Bodies smaller than
+ * {@code http.compression.min-size} are sent unchanged, since compressing them saves little and costs CPU.
+ * The fastest compression level is the default: on JSON listings it sends only slightly more bytes than the
+ * default level of deflate at a third of its CPU time. The filter also runs on the async dispatch of deferred
+ * responses, which completes the compressed body.
+ */
+@Component
+public class CompressionFilter extends OncePerRequestFilter {
+
+    @Value("${http.compression.enabled:true}")
+    private boolean enabled = true;
+    @Value("${http.compression.min-size:2048}")
+    private int minSize = 2048;
+    @Value("${http.compression.level:1}")
+    private int level = 1;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        GzipResponseWrapper wrapper = WebUtils.getNativeResponse(response, GzipResponseWrapper.class);
+        if (wrapper == null) {
+            if (!enabled || isAsyncDispatch(request) || !acceptsGzip(request)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            wrapper = new GzipResponseWrapper(response, minSize, level);
+        }
+
+        filterChain.doFilter(request, wrapper);
+        if (!request.isAsyncStarted()) {
+            wrapper.finish();
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+}
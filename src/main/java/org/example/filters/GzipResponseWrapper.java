@@ -0,0 +1,184 @@
+package org.example.filters;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response which holds back the first bytes of the body and compresses the body with gzip once it grows
+ * beyond the minimum size. Smaller bodies are sent unchanged when the response is finished.
+ */
+class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int minSize;
+    private final int level;
+    private final ByteArrayOutputStream buffer;
+
+    private GZIPOutputStream gzipStream;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private Long contentLength;
+    private boolean finished;
+
+    /**
+     * Wraps the response.
+     *
+     * @param response the response to compress
+     * @param minSize  the size in bytes from which the body is compressed
+     * @param level    the deflate compression level, from 1 (fastest) to 9 (smallest)
+     */
+    GzipResponseWrapper(HttpServletResponse response, int minSize, int level) {
+        super(response);
+        this.minSize = minSize;
+        this.level = level;
+        this.buffer = new ByteArrayOutputStream(Math.min(minSize, 8192));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (outputStream == null) {
+            outputStream = new GzipServletOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null && writer == null) {
+            throw new IllegalStateException("getOutputStream() has already been called for this response");
+        }
+        if (writer == null) {
+            outputStream = new GzipServletOutputStream();
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        contentLength = (long) length;
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        contentLength = length;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (gzipStream != null) {
+            gzipStream.flush();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        buffer.reset();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        buffer.reset();
+        contentLength = null;
+    }
+
+    /**
+     * Completes the body: finishes the gzip stream, or sends the held back bytes unchanged
+     * if the body stayed below the minimum size.
+     *
+     * @throws IOException if writing to the client fails
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        finished = true;
+        if (gzipStream != null) {
+            gzipStream.finish();
+            return;
+        }
+        if (buffer.size() > 0) {
+            super.setContentLength(buffer.size());
+            OutputStream out = super.getOutputStream();
+            buffer.writeTo(out);
+            out.flush();
+        } else if (contentLength != null) {
+            super.setContentLengthLong(contentLength);
+        }
+    }
+
+    private void write(byte[] bytes, int offset, int length) throws IOException {
+        if (finished) {
+            throw new IOException("The response has already been finished");
+        }
+        if (gzipStream == null) {
+            if (buffer.size() + length < minSize) {
+                buffer.write(bytes, offset, length);
+                return;
+            }
+            startCompression();
+        }
+        gzipStream.write(bytes, offset, length);
+    }
+
+    private void startCompression() throws IOException {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        response.setHeader("Content-Encoding", "gzip");
+        response.addHeader("Vary", "Accept-Encoding");
+        gzipStream = new GZIPOutputStream(super.getOutputStream(), 8192, true) {
+            {
+                def.setLevel(level);
+            }
+        };
+        buffer.writeTo(gzipStream);
+        buffer.reset();
+    }
+
+    private class GzipServletOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            GzipResponseWrapper.this.write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            GzipResponseWrapper.this.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (gzipStream != null) {
+                gzipStream.flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException("Non-blocking writes are not supported by compressed responses");
+        }
+    }
+}
@@ -2,11 +2,15 @@ package org.example.filters;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.example.cache.TokenDenylist;
 import org.example.dto.Authentication;
 import org.example.dto.ExceptionResponse;
 import org.example.exceptions.AuthenticationException;
 import org.example.exceptions.UserNotFoundException;
 import org.example.filters.config.Routing;
+import org.example.metrics.AuthFailure;
+import org.example.metrics.MetricsRegistry;
+import org.example.utils.AuthenticationContext;
 import org.example.utils.JwtTokenUtil;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -15,11 +19,12 @@ import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.file.AccessDeniedException;
 
 /**
  * A filter that intercepts all incoming HTTP requests and checks for the presence of a JWT in the Authorization header.
- * If a valid JWT is found, it authenticates the user and stores the authentication in the servlet context.
- * If no JWT is found or the JWT is invalid, it stores an unauthenticated Authentication object in the servlet context.
+ * If a valid JWT is found, it authenticates the user and binds the authentication to the request,
+ * see {@link AuthenticationContext}. If no JWT is found, the JWT is invalid or it was logged out, the request is rejected.
  */
 @Component
 @RequiredArgsConstructor
@@ -27,13 +32,15 @@ public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final JwtTokenUtil jwtTokenUtil;
     private final ObjectMapper objectMapper;
+    private final MetricsRegistry metricsRegistry;
+    private final TokenDenylist tokenDenylist;
 
-    private final ServletContext servletContext;
+    private final AuthenticationContext authenticationContext;
 
     /**
      * Checks for the presence of a JWT in the Authorization header of the incoming request.
-     * If a valid JWT is found, it authenticates the user and stores the authentication in the servlet context.
-     * If no JWT is found or the JWT is invalid, it stores an unauthenticated Authentication object in the servlet context.
+     * If a valid JWT is found, it authenticates the user and binds the authentication to the request
+     * while the rest of the filter chain runs. If no JWT is found or the JWT is invalid, the request is rejected.
      *
      * @param httpRequest the incoming request
      * @param httpRequest the outgoing response
@@ -52,26 +59,42 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         }
 
         String bearerToken = httpRequest.getHeader("Authorization");
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+            metricsRegistry.recordAuthFailure(AuthFailure.MISSING_TOKEN);
+            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        String token = bearerToken.substring(7);
+        if (tokenDenylist.isDenied(token)) {
+            metricsRegistry.recordAuthFailure(AuthFailure.REVOKED_TOKEN);
+            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        Authentication authentication;
         try {
-            if (bearerToken != null && bearerToken.startsWith("Bearer ") && jwtTokenUtil.validateToken(bearerToken.substring(7))) {
-                Authentication authentication = jwtTokenUtil.authentication(bearerToken.substring(7));
-                servletContext.setAttribute("authentication", authentication);
-            } else {
-                httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                return;
-            }
+            authentication = jwtTokenUtil.authentication(token);
+        } catch (AccessDeniedException | AuthenticationException e) {
+            metricsRegistry.recordAuthFailure(AuthFailure.INVALID_TOKEN);
+            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
         } catch (UserNotFoundException e) {
             httpResponse.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             objectMapper.writeValue(httpResponse.getWriter(), new ExceptionResponse(e.getMessage()));
-        } catch (AuthenticationException e) {
-            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         } catch (RuntimeException e) {
             httpResponse.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             return;
         }
 
-        filterChain.doFilter(httpRequest, httpResponse);
+        httpRequest.setAttribute(AuthenticationContext.ATTRIBUTE, authentication);
+        authenticationContext.bind(authentication);
+        try {
+            filterChain.doFilter(httpRequest, httpResponse);
+        } finally {
+            authenticationContext.clear();
+        }
     }
 
 }
\ No newline at end of file
@@ -21,6 +21,10 @@ public class LiquibaseManager {
     private static final String CHANGELOG_PATH = "db/changelog/changelog.xml";
     private static final String LIQUIBASE_SCHEMA_NAME = "liquibase";
     private static final String SQL_CREATE_LIQUIBASE_SCHEMA = "CREATE SCHEMA IF NOT EXISTS " + LIQUIBASE_SCHEMA_NAME;
+    /**
+     * The number of change sets applied after the sequences were created, starting with the users table.
+     */
+    private static final int CHANGE_SETS_AFTER_SEQUENCES = 14;
 
     /**
      * Runs database migrations using Liquibase.
@@ -48,7 +52,7 @@ public class LiquibaseManager {
             Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
             database.setLiquibaseSchemaName(LIQUIBASE_SCHEMA_NAME);
             Liquibase liquibase = new Liquibase(CHANGELOG_PATH, new ClassLoaderResourceAccessor(), database);
-            liquibase.rollback(5, null);
+            liquibase.rollback(CHANGE_SETS_AFTER_SEQUENCES, null);
             System.out.println("Migrations successfully rolled back!");
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,27 @@
+package org.example.metrics;
+
+/**
+ * Reasons for a rejected authentication attempt.
+ */
+public enum AuthFailure {
+
+    /**
+     * The request carried no bearer token.
+     */
+    MISSING_TOKEN,
+
+    /**
+     * The bearer token was expired, malformed or not signed by us.
+     */
+    INVALID_TOKEN,
+
+    /**
+     * The bearer token was logged out before it expired.
+     */
+    REVOKED_TOKEN,
+
+    /**
+     * A login was attempted with an unknown username or a wrong password.
+     */
+    BAD_CREDENTIALS
+}
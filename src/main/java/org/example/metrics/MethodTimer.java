@@ -0,0 +1,72 @@
+package org.example.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution time statistics of a single method.
+ * Recording only touches preallocated counters, so it does not allocate.
+ */
+public final class MethodTimer {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String layer;
+    private final String method;
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 2);
+    private final LongAdder totalNanos = new LongAdder();
+
+    MethodTimer(String layer, String method) {
+        this.layer = layer;
+        this.method = method;
+    }
+
+    /**
+     * Records one execution.
+     *
+     * @param nanos the execution time in nanoseconds
+     */
+    public void record(long nanos) {
+        latency.recordValue(Math.min(Math.max(nanos, 0), MAX_TRACKABLE_NANOS));
+        totalNanos.add(nanos);
+    }
+
+    /**
+     * Returns the application layer of the method, such as "service".
+     *
+     * @return the layer name
+     */
+    public String getLayer() {
+        return layer;
+    }
+
+    /**
+     * Returns the method name qualified with the simple name of its class.
+     *
+     * @return the method name
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the live histogram of execution times in nanoseconds.
+     *
+     * @return execution time histogram
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Returns the sum of all recorded execution times.
+     *
+     * @return total execution time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+}
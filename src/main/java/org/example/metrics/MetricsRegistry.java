@@ -0,0 +1,110 @@
+package org.example.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the application metrics: method timers and counters of database statements and authentication failures.
+ * Timers are created on the first call of a method, after that looking up and recording do not allocate.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final Map<Class<?>, Map<Method, MethodTimer>> timersByType = new ConcurrentHashMap<>();
+    private final LongAdder dbStatements = new LongAdder();
+    private final LongAdder dbRowsRead = new LongAdder();
+    private final LongAdder[] authFailures = new LongAdder[AuthFailure.values().length];
+
+    public MetricsRegistry() {
+        for (int i = 0; i < authFailures.length; i++) {
+            authFailures[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Returns the timer of a method, creating it on first use.
+     * Methods inherited from an interface get a timer per implementing class.
+     *
+     * @param type   the class the method was called on
+     * @param method the called method
+     * @param layer  the application layer of the class
+     * @return the timer of the method
+     */
+    public MethodTimer timer(Class<?> type, Method method, String layer) {
+        Map<Method, MethodTimer> timers = timersByType.get(type);
+        if (timers == null) {
+            timers = timersByType.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+        }
+        MethodTimer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, key -> new MethodTimer(layer, type.getSimpleName() + "." + key.getName()));
+        }
+        return timer;
+    }
+
+    /**
+     * Records a database statement.
+     *
+     * @param rowsRead the number of rows the statement read and returned to the application
+     */
+    public void recordStatement(long rowsRead) {
+        dbStatements.increment();
+        dbRowsRead.add(rowsRead);
+    }
+
+    /**
+     * Records a rejected authentication attempt.
+     *
+     * @param reason why the attempt was rejected
+     */
+    public void recordAuthFailure(AuthFailure reason) {
+        authFailures[reason.ordinal()].increment();
+    }
+
+    /**
+     * Returns all method timers ordered by layer and method name.
+     *
+     * @return the method timers
+     */
+    public List<MethodTimer> getTimers() {
+        List<MethodTimer> timers = new ArrayList<>();
+        timersByType.values().forEach(byMethod -> timers.addAll(byMethod.values()));
+        timers.sort(Comparator.comparing(MethodTimer::getLayer).thenComparing(MethodTimer::getMethod));
+        return timers;
+    }
+
+    /**
+     * Returns the number of database statements executed since startup.
+     *
+     * @return statement count
+     */
+    public long getDbStatements() {
+        return dbStatements.sum();
+    }
+
+    /**
+     * Returns the number of rows read from the database since startup.
+     *
+     * @return row count
+     */
+    public long getDbRowsRead() {
+        return dbRowsRead.sum();
+    }
+
+    /**
+     * Returns the number of authentication attempts rejected for the given reason since startup.
+     *
+     * @param reason the rejection reason
+     * @return failure count
+     */
+    public long getAuthFailures(AuthFailure reason) {
+        return authFailures[reason.ordinal()].sum();
+    }
+}
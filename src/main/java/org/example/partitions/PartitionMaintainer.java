@@ -0,0 +1,248 @@
+package org.example.partitions;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.utils.ConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the monthly partitions of the {@link PartitionedTable}s in shape from a background thread.
+ * Partitions are created {@code partitions.months-ahead} months in advance, so new rows rarely land in the
+ * default partition. When a partition is created for a month the default partition already holds rows of,
+ * those rows are moved into it. Partitions older than the retention of their table are detached, and dropped
+ * when the retention action is {@link RetentionAction#DROP}, which frees the space of a whole month at once
+ * instead of deleting its rows one by one.
+ */
+@Slf4j
+@Component
+@DependsOn("liquibase")
+@RequiredArgsConstructor
+public class PartitionMaintainer {
+
+    private static final String THREAD_NAME = "partition-maintainer";
+    private static final String SCHEMA = "coworking";
+
+    private static final String SQL_FIND_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            JOIN pg_namespace n ON n.oid = p.relnamespace
+            WHERE n.nspname = ? AND p.relname = ?
+            ORDER BY c.relname;
+            """;
+
+    private static final String SQL_TABLE_EXISTS = "SELECT to_regclass(?) IS NOT NULL;";
+
+    private final ConnectionManager connectionManager;
+
+    @Value("${partitions.enabled:true}")
+    private boolean enabled = true;
+    @Value("${partitions.months-ahead:3}")
+    private int monthsAhead = 3;
+    @Value("${partitions.check-interval:PT6H}")
+    private String checkInterval = "PT6H";
+    @Value("${partitions.retention-action:DETACH}")
+    private RetentionAction retentionAction = RetentionAction.DETACH;
+    @Value("${partitions.bookings.retention-months:0}")
+    private int bookingsRetentionMonths = 0;
+    @Value("${partitions.audits.retention-months:12}")
+    private int auditsRetentionMonths = 12;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Runs the maintenance once right away and then every check interval. Does nothing when disabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Duration.parse(checkInterval).toMillis();
+        scheduler.scheduleWithFixedDelay(() -> maintain(YearMonth.now()), 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread, letting a running maintenance finish.
+     */
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Creates the missing partitions from the given month on and removes the expired ones of every table.
+     * A failure on one table is logged and does not keep the other tables from being maintained.
+     *
+     * @param currentMonth the month to count the months ahead and the retention from
+     */
+    public void maintain(YearMonth currentMonth) {
+        for (PartitionedTable table : PartitionedTable.values()) {
+            try {
+                for (int i = 0; i <= monthsAhead; i++) {
+                    createPartition(table, currentMonth.plusMonths(i));
+                }
+                int retentionMonths = getRetentionMonths(table);
+                if (retentionMonths > 0) {
+                    removePartitionsBefore(table, currentMonth.minusMonths(retentionMonths), retentionAction);
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.error("Error during maintenance of the partitions of " + table.getTableName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates the partition of a month unless it exists. Rows of the month which were stored in the default
+     * partition are moved into the new partition in the same transaction, while the default partition is
+     * locked against writes.
+     *
+     * @param table the partitioned table
+     * @param month the month of the partition
+     * @return true if the partition was created, false if it existed already
+     * @throws SQLException if the partition can not be created
+     */
+    public boolean createPartition(PartitionedTable table, YearMonth month) throws SQLException {
+        String partition = qualified(table.partitionName(month));
+        String parent = qualified(table.getTableName());
+        String defaultPartition = qualified(table.getDefaultPartitionName());
+        String from = "'" + month.atDay(1) + "'";
+        String to = "'" + month.plusMonths(1).atDay(1) + "'";
+        String inRange = " WHERE " + table.getPartitionColumn() + " >= " + from + " AND " + table.getPartitionColumn() + " < " + to;
+
+        try (Connection connection = connectionManager.getConnection()) {
+            if (exists(connection, partition)) {
+                return false;
+            }
+            connection.setAutoCommit(false);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LOCK TABLE " + defaultPartition + " IN EXCLUSIVE MODE");
+                if (exists(connection, partition)) {
+                    connection.rollback();
+                    return false;
+                }
+                statement.execute("CREATE TABLE " + partition + " (LIKE " + parent
+                        + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)");
+                if (table.getPartitionConstraint() != null) {
+                    statement.execute("ALTER TABLE " + partition + " ADD CONSTRAINT "
+                            + table.partitionName(month) + "_no_overlap " + table.getPartitionConstraint());
+                }
+                int moved = statement.executeUpdate("INSERT INTO " + partition + "(" + table.getColumns() + ") SELECT "
+                        + table.getColumns() + " FROM " + defaultPartition + inRange);
+                statement.executeUpdate("DELETE FROM " + defaultPartition + inRange);
+                statement.execute("ALTER TABLE " + parent + " ATTACH PARTITION " + partition
+                        + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+                connection.commit();
+                log.info("Created partition " + partition + (moved > 0 ? ", moved " + moved + " rows from " + defaultPartition : "") + ".");
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Detaches, and with {@link RetentionAction#DROP} also drops, every monthly partition of a table whose month
+     * is before the given one. The default partition is never removed.
+     *
+     * @param table  the partitioned table
+     * @param before the first month to keep
+     * @param action what to do with the expired partitions
+     * @return the names of the removed partitions
+     * @throws SQLException if the partitions can not be listed or removed
+     */
+    public List<String> removePartitionsBefore(PartitionedTable table, YearMonth before, RetentionAction action) throws SQLException {
+        List<String> removed = new ArrayList<>();
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String partitionName : findPartitions(connection, table)) {
+                Optional<YearMonth> month = table.monthOf(partitionName);
+                if (month.isEmpty() || !month.get().isBefore(before)) {
+                    continue;
+                }
+                statement.execute("ALTER TABLE " + qualified(table.getTableName()) + " DETACH PARTITION " + qualified(partitionName));
+                if (action == RetentionAction.DROP) {
+                    statement.execute("DROP TABLE " + qualified(partitionName));
+                }
+                removed.add(partitionName);
+                log.info((action == RetentionAction.DROP ? "Dropped" : "Detached") + " partition " + qualified(partitionName) + ".");
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Lists the partitions currently attached to a table.
+     *
+     * @param table the partitioned table
+     * @return the names of the partitions, without the schema, including the default partition
+     * @throws SQLException if the partitions can not be listed
+     */
+    public List<String> findPartitions(PartitionedTable table) throws SQLException {
+        try (Connection connection = connectionManager.getConnection()) {
+            return findPartitions(connection, table);
+        }
+    }
+
+    private int getRetentionMonths(PartitionedTable table) {
+        return table == PartitionedTable.BOOKINGS ? bookingsRetentionMonths : auditsRetentionMonths;
+    }
+
+    private static List<String> findPartitions(Connection connection, PartitionedTable table) throws SQLException {
+        List<String> partitions = new ArrayList<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_PARTITIONS)) {
+            preparedStatement.setString(1, SCHEMA);
+            preparedStatement.setString(2, table.getTableName());
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private static boolean exists(Connection connection, String qualifiedName) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_TABLE_EXISTS)) {
+            preparedStatement.setString(1, qualifiedName);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private static String qualified(String name) {
+        return SCHEMA + "." + name;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.partitions;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * The tables partitioned by month, with what the {@link PartitionMaintainer} needs to create their partitions.
+ * A partition of a month is named after the table and the month, e.g. {@code bookings_p2024_05}.
+ */
+public enum PartitionedTable {
+
+    BOOKINGS("bookings", "start_time", "id, user_id, workspace_id, start_time, end_time, version, series_id",
+            "EXCLUDE USING gist (workspace_id WITH =, period WITH &&)"),
+    AUDITS("audits", "audit_timestamp", "id, username, action_type, audit_type, audit_timestamp", null);
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final String tableName;
+    private final String partitionColumn;
+    private final String columns;
+    private final String partitionConstraint;
+
+    PartitionedTable(String tableName, String partitionColumn, String columns, String partitionConstraint) {
+        this.tableName = tableName;
+        this.partitionColumn = partitionColumn;
+        this.columns = columns;
+        this.partitionConstraint = partitionConstraint;
+    }
+
+    /**
+     * @return the name of the partitioned table, without the schema
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return the column the table is partitioned by
+     */
+    public String getPartitionColumn() {
+        return partitionColumn;
+    }
+
+    /**
+     * @return the stored columns, which are copied when rows move between partitions
+     */
+    public String getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the constraint every partition needs on its own because Postgres can not declare it on the
+     * partitioned table, or null if there is none
+     */
+    public String getPartitionConstraint() {
+        return partitionConstraint;
+    }
+
+    /**
+     * @return the name of the partition which receives rows no other partition covers
+     */
+    public String getDefaultPartitionName() {
+        return tableName + "_default";
+    }
+
+    /**
+     * Returns the name of the partition of a month.
+     *
+     * @param month the month
+     * @return the name of the partition, without the schema
+     */
+    public String partitionName(YearMonth month) {
+        return tableName + "_p" + MONTH_FORMATTER.format(month);
+    }
+
+    /**
+     * Returns the month of a partition of this table from its name.
+     *
+     * @param partitionName the name of the partition, without the schema
+     * @return the month, or empty if the name is not the name of a monthly partition of this table
+     */
+    public Optional<YearMonth> monthOf(String partitionName) {
+        String prefix = tableName + "_p";
+        if (!partitionName.startsWith(prefix)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(prefix.length()), MONTH_FORMATTER));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.partitions;
+
+/**
+ * Describes what the {@link PartitionMaintainer} does with a partition once all of its rows are older than the retention.
+ */
+public enum RetentionAction {
+
+    /**
+     * The partition is detached and kept as a standalone table, so it can be archived and dropped later.
+     */
+    DETACH,
+
+    /**
+     * The partition is detached and dropped together with its rows.
+     */
+    DROP
+}
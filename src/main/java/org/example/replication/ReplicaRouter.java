@@ -0,0 +1,240 @@
+package org.example.replication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.Authentication;
+import org.example.utils.AuthenticationContext;
+import org.example.utils.ConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the read replica serving the queries of {@link org.example.annotations.ReadOnly} repository methods.
+ * The replicas listed in {@code db.replicas.urls} are used in turn. A background thread checks every
+ * {@code db.replicas.check-interval} whether each replica answers and how far it lags behind the primary,
+ * comparing its replayed WAL position with the current one of the primary; a replica which does not answer or lags
+ * more than {@code db.replicas.max-lag-bytes} is skipped until it catches up. When no replica is usable the primary
+ * is read. A user who has just written, e.g. booked a workspace, keeps reading from the primary for
+ * {@code db.replicas.read-your-writes-window}, so they see their own change. Unauthenticated reads, i.e. logging in,
+ * always use the primary, so a user can log in right after registering.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReplicaRouter {
+
+    private static final String THREAD_NAME = "replica-health-check";
+    private static final String POOL_NAME_PREFIX = "coworking-replica-";
+    private static final String SQL_PRIMARY_POSITION = "SELECT pg_current_wal_lsn()::text;";
+    private static final String SQL_REPLICA_POSITION = "SELECT pg_is_in_recovery(), pg_last_wal_replay_lsn()::text;";
+
+    private final ConnectionManager connectionManager;
+
+    private final AuthenticationContext authenticationContext;
+
+    @Value("${db.replicas.urls:}")
+    private String urls = "";
+    @Value("${db.replicas.username:${db.username:}}")
+    private String username = "";
+    @Value("${db.replicas.password:${db.password:}}")
+    private String password = "";
+    @Value("${db.replicas.maximum-pool-size:10}")
+    private int maximumPoolSize = 10;
+    @Value("${db.replicas.acquire-timeout:PT1S}")
+    private String acquireTimeout = "PT1S";
+    @Value("${db.replicas.check-interval:PT5S}")
+    private String checkInterval = "PT5S";
+    @Value("${db.replicas.max-lag-bytes:16777216}")
+    private long maxLagBytes = 16 * 1024 * 1024;
+    @Value("${db.replicas.read-your-writes-window:PT5S}")
+    private String readYourWritesWindow = "PT5S";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private long readYourWritesNanos;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates the pools of the configured replicas, checks them once right away and then every check interval.
+     * Does nothing when no replica is configured.
+     */
+    @PostConstruct
+    public void start() {
+        readYourWritesNanos = Duration.parse(readYourWritesWindow).toNanos();
+        List<String> replicaUrls = Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        if (replicaUrls.isEmpty() || scheduler != null) {
+            return;
+        }
+        for (String url : replicaUrls) {
+            replicas.add(new Replica(url, connectionManager.createReplicaDataSource(POOL_NAME_PREFIX + (replicas.size() + 1),
+                    url, username, password, maximumPoolSize, Duration.parse(acquireTimeout))));
+        }
+        checkHealth();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Duration.parse(checkInterval).toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the health checks and closes the pools of the replicas.
+     */
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+        replicas.clear();
+    }
+
+    /**
+     * Chooses the replica to serve a read of the current user, taking the healthy replicas in turn.
+     *
+     * @return the data source of the replica, or null if the read has to go to the primary
+     */
+    public DataSource chooseReplica() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        Authentication authentication = authenticationContext.getAuthentication();
+        if (authentication == null || hasWrittenRecently(authentication.getUsername())) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica.dataSource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records that the current user has written, so their reads go to the primary for the read-your-writes window.
+     */
+    public void recordWrite() {
+        Authentication authentication = authenticationContext.getAuthentication();
+        if (!replicas.isEmpty() && authentication != null) {
+            lastWrites.put(authentication.getUsername(), System.nanoTime());
+        }
+    }
+
+    /**
+     * Checks whether every replica answers and is close enough to the primary, and forgets the writes
+     * older than the read-your-writes window. A replica is only marked as lagging if the position of the primary
+     * could be read.
+     */
+    public void checkHealth() {
+        long primaryPosition = -1;
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SQL_PRIMARY_POSITION)) {
+            resultSet.next();
+            primaryPosition = parsePosition(resultSet.getString(1));
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Failed to read the WAL position of the primary: " + e.getMessage());
+        }
+
+        for (Replica replica : replicas) {
+            boolean healthy;
+            String reason = null;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(SQL_REPLICA_POSITION)) {
+                resultSet.next();
+                long lag = 0;
+                if (resultSet.getBoolean(1) && primaryPosition >= 0) {
+                    String replayed = resultSet.getString(2);
+                    lag = replayed == null ? Long.MAX_VALUE : Math.max(0, primaryPosition - parsePosition(replayed));
+                }
+                healthy = lag <= maxLagBytes;
+                if (!healthy) {
+                    reason = "lags " + (lag == Long.MAX_VALUE ? "an unknown amount" : lag + " bytes") + " behind the primary";
+                }
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+                reason = "not available: " + e.getMessage();
+            }
+
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica " + replica.url + " is used for reads again.");
+                } else {
+                    log.warn("Replica " + replica.url + " is " + reason + ", reading from the other replicas or the primary.");
+                }
+            }
+            replica.healthy = healthy;
+        }
+
+        long expired = System.nanoTime() - readYourWritesNanos;
+        lastWrites.values().removeIf(written -> written - expired < 0);
+    }
+
+    /**
+     * Returns the number of replicas currently used for reads.
+     *
+     * @return the number of healthy replicas
+     */
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private boolean hasWrittenRecently(String username) {
+        Long written = lastWrites.get(username);
+        return written != null && System.nanoTime() - written < readYourWritesNanos;
+    }
+
+    /**
+     * Converts a WAL position such as {@code 16/B374D848} to a byte offset.
+     */
+    private static long parsePosition(String position) {
+        int slash = position.indexOf('/');
+        return (Long.parseLong(position.substring(0, slash), 16) << 32) | Long.parseLong(position.substring(slash + 1), 16);
+    }
+
+    /**
+     * A replica with its pool and the result of its last health check.
+     */
+    private static final class Replica {
+
+        private final String url;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+
+        private Replica(String url, HikariDataSource dataSource) {
+            this.url = url;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -2,9 +2,60 @@ package org.example.repository;
 
 import org.example.entity.Audit;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * The AuditRepository interface provides methods for managing audit records in the database.
  * It inherits CRUD methods from the Repository interface.
  */
 public interface AuditRepository extends Repository<Long, Audit> {
+
+    /**
+     * Saves several audit records with a single statement.
+     *
+     * @param audits the audit records to save
+     * @return true if all records were saved, false otherwise
+     */
+    boolean saveAll(List<Audit> audits);
+
+    /**
+     * Retrieves a page of audit records written within a time window, ordered by ID.
+     *
+     * @param from    the start of the window, inclusive
+     * @param to      the end of the window, exclusive
+     * @param afterId the ID of the last audit record of the previous page, or null for the first page
+     * @param limit   the maximum number of audit records to return
+     * @return at most {@code limit} audit records written within the window
+     */
+    List<Audit> findPage(LocalDateTime from, LocalDateTime to, Long afterId, int limit);
+
+    /**
+     * Retrieves the oldest audit records written before the given time, ordered by ID.
+     *
+     * @param before the time all returned records are older than
+     * @param limit  the maximum number of audit records to return
+     * @return at most {@code limit} audit records written before the given time
+     */
+    List<Audit> findOlderThan(LocalDateTime before, int limit);
+
+    /**
+     * Retrieves the audit records written within a time window, optionally of one user only,
+     * ordered by timestamp and ID.
+     *
+     * @param from     the start of the window, inclusive
+     * @param to       the end of the window, exclusive
+     * @param username the user the records belong to, or null for the records of all users
+     * @param limit    the maximum number of audit records to return
+     * @return at most {@code limit} audit records written within the window
+     */
+    List<Audit> findInRange(LocalDateTime from, LocalDateTime to, String username, int limit);
+
+    /**
+     * Deletes several audit records with a single statement.
+     *
+     * @param ids the IDs of the audit records to delete
+     * @return the number of deleted records, or -1 if deleting failed
+     */
+    int deleteAllById(List<Long> ids);
 }
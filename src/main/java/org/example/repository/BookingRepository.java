@@ -1,10 +1,14 @@
 package org.example.repository;
 
+import org.example.analytics.UtilizationAggregate;
 import org.example.entity.Booking;
+import org.example.entity.BookingSeries;
 import org.example.entity.Workspace;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Interface for Booking Data Access Object (DAO).
@@ -22,6 +26,31 @@ public interface BookingRepository extends Repository<Long, Booking> {
      */
     List<Workspace> findAllAvailableWorkspaces(LocalDateTime startTime, LocalDateTime endTime);
 
+    /**
+     * Saves bookings in one transaction, storing either all of them or none.
+     *
+     * @param bookings the bookings to save
+     * @return the saved bookings with their IDs set, or an empty list if saving failed
+     */
+    List<Booking> saveAll(List<Booking> bookings);
+
+    /**
+     * Saves a booking series together with the given occurrences in one transaction, storing either all of them or none.
+     *
+     * @param series      the series to save
+     * @param occurrences the occurrences of the series to book
+     * @return the saved occurrences with their IDs and the ID of the series set, or an empty list if saving failed
+     */
+    List<Booking> saveSeries(BookingSeries series, List<Booking> occurrences);
+
+    /**
+     * Checks prospective bookings against the stored ones in a single query.
+     *
+     * @param bookings the prospective bookings
+     * @return positions in the given list of the bookings which overlap a stored booking of the same workspace
+     */
+    Set<Integer> findConflicting(List<Booking> bookings);
+
     /**
      * Retrieves all bookings that fall within a specified time period.
      *
@@ -46,4 +75,71 @@ public interface BookingRepository extends Repository<Long, Booking> {
      * @return List of Booking objects associated with the specified workspace.
      */
     List<Booking> getFilteredBookingsByWorkspace(String workspaceName);
+
+    /**
+     * Retrieves a page of bookings that fall within a specified time period, ordered by ID.
+     *
+     * @param startTime The start time of the period.
+     * @param endTime   The end time of the period.
+     * @param afterId   The ID of the last booking of the previous page, or null for the first page.
+     * @param limit     The maximum number of bookings to return.
+     * @return List of at most {@code limit} Booking objects within the specified time period.
+     */
+    List<Booking> getFilteredBookingsByTimePeriod(LocalDateTime startTime, LocalDateTime endTime, Long afterId, int limit);
+
+    /**
+     * Retrieves a page of bookings made by a specific user, ordered by ID.
+     *
+     * @param username The username of the user to filter bookings by.
+     * @param afterId  The ID of the last booking of the previous page, or null for the first page.
+     * @param limit    The maximum number of bookings to return.
+     * @return List of at most {@code limit} Booking objects made by the specified user.
+     */
+    List<Booking> getFilteredBookingsByUsername(String username, Long afterId, int limit);
+
+    /**
+     * Retrieves a page of bookings associated with a specific workspace, ordered by ID.
+     *
+     * @param workspaceName The name of the workspace to filter bookings by.
+     * @param afterId       The ID of the last booking of the previous page, or null for the first page.
+     * @param limit         The maximum number of bookings to return.
+     * @return List of at most {@code limit} Booking objects associated with the specified workspace.
+     */
+    List<Booking> getFilteredBookingsByWorkspace(String workspaceName, Long afterId, int limit);
+
+    /**
+     * Passes every booking within a specified time period, ordered by ID, to the given action while the result set is read.
+     *
+     * @param startTime The start time of the period.
+     * @param endTime   The end time of the period.
+     * @param action    The action invoked for each booking.
+     */
+    void forEachFilteredBookingByTimePeriod(LocalDateTime startTime, LocalDateTime endTime, Consumer<? super Booking> action);
+
+    /**
+     * Passes every booking made by a specific user, ordered by ID, to the given action while the result set is read.
+     *
+     * @param username The username of the user to filter bookings by.
+     * @param action   The action invoked for each booking.
+     */
+    void forEachFilteredBookingByUsername(String username, Consumer<? super Booking> action);
+
+    /**
+     * Passes every booking of a specific workspace, ordered by ID, to the given action while the result set is read.
+     *
+     * @param workspaceName The name of the workspace to filter bookings by.
+     * @param action        The action invoked for each booking.
+     */
+    void forEachFilteredBookingByWorkspace(String workspaceName, Consumer<? super Booking> action);
+
+    /**
+     * Adds up the bookings overlapping a period in the database, each booking clipped to the period:
+     * the bookings and booked seconds per workspace, the bookings and rescheduled bookings per user
+     * and the booked seconds per hour of the period.
+     *
+     * @param startTime the start of the period, at the start of an hour
+     * @param endTime   the end of the period, a whole number of hours after the start
+     * @param aggregate the aggregate to add the totals to
+     */
+    void aggregateUtilization(LocalDateTime startTime, LocalDateTime endTime, UtilizationAggregate aggregate);
 }
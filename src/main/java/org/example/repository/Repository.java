@@ -2,6 +2,7 @@ package org.example.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Generic interface for Data Access Objects (DAO).
@@ -16,6 +17,22 @@ public interface Repository<U, T> {
      */
     List<T> findAll();
 
+    /**
+     * Retrieves entities ordered by ID, starting after the given ID.
+     * Uses keyset pagination, so the cost of a page does not grow with its position.
+     * @param afterId ID of the last entity of the previous page, or null for the first page
+     * @param limit Maximum number of entities to return
+     * @return List of at most {@code limit} entities
+     */
+    List<T> findPage(U afterId, int limit);
+
+    /**
+     * Passes every entity ordered by ID to the given action while reading the result set.
+     * Rows are fetched from the database in chunks, so the whole table is never held in memory.
+     * @param action Action invoked for each entity
+     */
+    void forEach(Consumer<? super T> action);
+
     /**
      * Retrieves an entity by its ID.
      * @param id ID of the entity to retrieve
@@ -2,6 +2,8 @@ package org.example.repository;
 
 import org.example.entity.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,4 +20,21 @@ public interface UserRepository extends Repository<Long, User> {
      * @return an Optional containing the found user, or an empty Optional if no user is found
      */
     Optional<User> findByUsername(String username);
+
+    /**
+     * Finds a user by their username on the primary database, never on a read replica,
+     * so a user about to be written back is not read stale.
+     *
+     * @param username the username of the user to find
+     * @return an Optional containing the found user, or an empty Optional if no user is found
+     */
+    Optional<User> findByUsernameOnPrimary(String username);
+
+    /**
+     * Finds all users with one of the given IDs in a single query.
+     *
+     * @param ids the IDs of the users to find
+     * @return the found users, IDs without a user are left out
+     */
+    List<User> findAllByIds(Collection<Long> ids);
 }
@@ -2,6 +2,8 @@ package org.example.repository;
 
 import org.example.entity.Workspace;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,6 +21,14 @@ public interface WorkspaceRepository extends Repository<Long, Workspace> {
      */
     Optional<Workspace> findByName(String name);
 
+    /**
+     * Finds all workspaces with one of the given names in a single query.
+     *
+     * @param names the names of the workspaces to find
+     * @return the found workspaces, names without a workspace are left out
+     */
+    List<Workspace> findAllByNames(Collection<String> names);
+
     /**
      * Deletes a workspace by its name from the database.
      * @param name Name of the workspace to delete
@@ -1,6 +1,7 @@
 package org.example.repository.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.example.annotations.ReadOnly;
 import org.example.repository.AuditRepository;
 import org.example.entity.Audit;
 import org.example.entity.types.ActionType;
@@ -9,9 +10,11 @@ import org.example.utils.ConnectionManager;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the AuditRepository interface for managing audit records.
@@ -20,6 +23,82 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class AuditRepositoryImpl implements AuditRepository {
 
+    private static final String SQL_FIND_ALL = "SELECT * FROM coworking.audits";
+
+    private static final String SQL_FIND_PAGE = """
+            SELECT * FROM coworking.audits
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?;
+            """;
+
+    /**
+     * Page of audits within a time window. The bounds on the partition key restrict the query
+     * to the partitions of the months in the window.
+     */
+    private static final String SQL_FIND_PAGE_IN_WINDOW = """
+            SELECT * FROM coworking.audits
+            WHERE audit_timestamp >= ? AND audit_timestamp < ?
+            AND id > ?
+            ORDER BY id
+            LIMIT ?;
+            """;
+
+    private static final String SQL_FIND_OLDER_THAN = """
+            SELECT * FROM coworking.audits
+            WHERE audit_timestamp < ?
+            ORDER BY id
+            LIMIT ?;
+            """;
+
+    private static final String SQL_FIND_IN_RANGE = """
+            SELECT * FROM coworking.audits
+            WHERE audit_timestamp >= ? AND audit_timestamp < ?
+            AND (?::varchar IS NULL OR username = ?)
+            ORDER BY audit_timestamp, id
+            LIMIT ?;
+            """;
+
+    private static final String SQL_DELETE_ALL_BY_ID = """
+            DELETE FROM coworking.audits
+            WHERE id = ANY(?);
+            """;
+
+    private static final String SQL_FIND_ALL_ORDERED = """
+            SELECT * FROM coworking.audits
+            ORDER BY id;
+            """;
+
+    private static final String SQL_FIND_BY_ID = """
+            SELECT * FROM coworking.audits
+            WHERE id=?;
+            """;
+
+    private static final String SQL_DELETE_BY_ID = """
+            DELETE FROM coworking.audits
+            WHERE id = ?;
+            """;
+
+    private static final String SQL_DELETE_ALL = """
+            DELETE FROM coworking.audits;
+            """;
+
+    private static final String SQL_SAVE = """
+            INSERT INTO coworking.audits(username, action_type, audit_type)
+            VALUES (?, ?, ?);
+            """;
+
+    private static final String SQL_SAVE_ALL = """
+            INSERT INTO coworking.audits(username, action_type, audit_type, audit_timestamp)
+            SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::timestamp[]);
+            """;
+
+    private static final String SQL_UPDATE = """
+            UPDATE coworking.audits
+            SET username = ?, action_type = ?, audit_type = ?
+            WHERE id = ?;
+            """;
+
     private final ConnectionManager connectionManager;
 
     /**
@@ -28,12 +107,11 @@ public class AuditRepositoryImpl implements AuditRepository {
      * @return a list of all audit records.
      */
     @Override
+    @ReadOnly
     public List<Audit> findAll() {
         List<Audit> audits = new ArrayList<>();
-        String sql = "SELECT * FROM coworking.audits";
-
         try (Connection conn = connectionManager.getConnection();
-             PreparedStatement preparedStatement = conn.prepareStatement(sql);
+             PreparedStatement preparedStatement = conn.prepareStatement(SQL_FIND_ALL);
              ResultSet resultSet = preparedStatement.executeQuery()) {
 
             while (resultSet.next()) {
@@ -47,6 +125,147 @@ public class AuditRepositoryImpl implements AuditRepository {
         return audits;
     }
 
+    /**
+     * Retrieves a page of audit records ordered by ID from the database.
+     * @param afterId ID of the last audit record of the previous page, or null for the first page
+     * @param limit Maximum number of audit records to return
+     * @return List of at most {@code limit} audit records
+     */
+    @Override
+    @ReadOnly
+    public List<Audit> findPage(Long afterId, int limit) {
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_PAGE)) {
+            preparedStatement.setLong(1, afterId != null ? afterId : 0L);
+            preparedStatement.setInt(2, limit);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<Audit> audits = new ArrayList<>();
+
+            while (resultSet.next()) {
+                audits.add(buildAudit(resultSet));
+            }
+
+            return audits;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Retrieves a page of audit records written within a time window, ordered by ID, from the database.
+     * @param from Start of the window, inclusive
+     * @param to End of the window, exclusive
+     * @param afterId ID of the last audit record of the previous page, or null for the first page
+     * @param limit Maximum number of audit records to return
+     * @return List of at most {@code limit} audit records
+     */
+    @Override
+    @ReadOnly
+    public List<Audit> findPage(LocalDateTime from, LocalDateTime to, Long afterId, int limit) {
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_PAGE_IN_WINDOW)) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(from));
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(to));
+            preparedStatement.setLong(3, afterId != null ? afterId : 0L);
+            preparedStatement.setInt(4, limit);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<Audit> audits = new ArrayList<>();
+
+            while (resultSet.next()) {
+                audits.add(buildAudit(resultSet));
+            }
+
+            return audits;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Retrieves the oldest audit records written before the given time, ordered by ID, from the database.
+     * @param before Time all returned records are older than
+     * @param limit Maximum number of audit records to return
+     * @return List of at most {@code limit} audit records
+     */
+    @Override
+    public List<Audit> findOlderThan(LocalDateTime before, int limit) {
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_OLDER_THAN)) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(before));
+            preparedStatement.setInt(2, limit);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<Audit> audits = new ArrayList<>();
+
+            while (resultSet.next()) {
+                audits.add(buildAudit(resultSet));
+            }
+
+            return audits;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Retrieves the audit records written within a time window, ordered by timestamp and ID, from the database.
+     * @param from Start of the window, inclusive
+     * @param to End of the window, exclusive
+     * @param username User the records belong to, or null for the records of all users
+     * @param limit Maximum number of audit records to return
+     * @return List of at most {@code limit} audit records
+     */
+    @Override
+    @ReadOnly
+    public List<Audit> findInRange(LocalDateTime from, LocalDateTime to, String username, int limit) {
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_IN_RANGE)) {
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(from));
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(to));
+            preparedStatement.setString(3, username);
+            preparedStatement.setString(4, username);
+            preparedStatement.setInt(5, limit);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<Audit> audits = new ArrayList<>();
+
+            while (resultSet.next()) {
+                audits.add(buildAudit(resultSet));
+            }
+
+            return audits;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Passes every audit record ordered by ID to the given action while the result set is read.
+     * @param action Action invoked for each audit record
+     */
+    @Override
+    @ReadOnly
+    public void forEach(Consumer<? super Audit> action) {
+        try (Connection connection = connectionManager.getStreamingConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL_ORDERED)) {
+            preparedStatement.setFetchSize(connectionManager.getFetchSize());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(buildAudit(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+        }
+    }
+
     /**
      * Retrieves an audit record by its ID.
      *
@@ -55,14 +274,9 @@ public class AuditRepositoryImpl implements AuditRepository {
      */
     @Override
     public Optional<Audit> findById(Long id) {
-        String sqlFindById = """
-                SELECT * FROM coworking.audits
-                WHERE id=?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-            PreparedStatement preparedStatement = connection.prepareStatement(sqlFindById)) {
-            preparedStatement.setObject(1, id);
+            PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_ID)) {
+            preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next()
@@ -82,14 +296,9 @@ public class AuditRepositoryImpl implements AuditRepository {
      */
     @Override
     public boolean deleteById(Long id) {
-        String sqlDeleteById = """
-                DELETE FROM coworking.audits
-                WHERE id = ?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-            PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteById)) {
-            preparedStatement.setObject(1, id);
+            PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_BY_ID)) {
+            preparedStatement.setLong(1, id);
             return preparedStatement.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -105,12 +314,8 @@ public class AuditRepositoryImpl implements AuditRepository {
      */
     @Override
     public boolean deleteAll() {
-        String sqlDeleteAll = """
-            DELETE FROM coworking.audits;
-            """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteAll)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_ALL)) {
             return preparedStatement.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -119,6 +324,29 @@ public class AuditRepositoryImpl implements AuditRepository {
         }
     }
 
+    /**
+     * Deletes several audit records with a single statement.
+     *
+     * @param ids the IDs of the audit records.
+     * @return the number of deleted records, or -1 if deleting failed.
+     */
+    @Override
+    public int deleteAllById(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_ALL_BY_ID)) {
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return preparedStatement.executeUpdate();
+
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return -1;
+        }
+    }
+
     /**
      * Saves a new audit record to the database.
      *
@@ -127,18 +355,10 @@ public class AuditRepositoryImpl implements AuditRepository {
      */
     @Override
     public Audit save(Audit audit) {
-        String sqlSave = """
-            INSERT INTO coworking.audits(username, action_type, audit_type)
-            VALUES (?, ?, ?);
-            """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlSave, Statement.RETURN_GENERATED_KEYS)) {
-
-            preparedStatement.setString(1, audit.getUsername());
-            preparedStatement.setString(2, audit.getActionType().name());
-            preparedStatement.setString(3, audit.getAuditType().name());
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE, Statement.RETURN_GENERATED_KEYS)) {
 
+            bindAudit(preparedStatement, audit);
             preparedStatement.executeUpdate();
             ResultSet keys = preparedStatement.getGeneratedKeys();
 
@@ -153,6 +373,47 @@ public class AuditRepositoryImpl implements AuditRepository {
         }
     }
 
+    /**
+     * Saves several audit records with one multi-row insert. Records without a timestamp are stamped with the current time.
+     * The rows are passed as one array per column, so the statement text does not depend on the number of records
+     * and stays in the prepared statement cache of the connection.
+     *
+     * @param audits the audit records to save.
+     * @return true if all records were saved, false otherwise.
+     */
+    @Override
+    public boolean saveAll(List<Audit> audits) {
+        if (audits.isEmpty()) {
+            return true;
+        }
+
+        String[] usernames = new String[audits.size()];
+        String[] actionTypes = new String[audits.size()];
+        String[] auditTypes = new String[audits.size()];
+        Timestamp[] auditTimestamps = new Timestamp[audits.size()];
+        for (int i = 0; i < audits.size(); i++) {
+            Audit audit = audits.get(i);
+            usernames[i] = audit.getUsername();
+            actionTypes[i] = audit.getActionType().name();
+            auditTypes[i] = audit.getAuditType().name();
+            auditTimestamps[i] = Timestamp.valueOf(audit.getAuditTimestamp() != null ? audit.getAuditTimestamp() : LocalDateTime.now());
+        }
+
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE_ALL)) {
+
+            preparedStatement.setArray(1, connection.createArrayOf("text", usernames));
+            preparedStatement.setArray(2, connection.createArrayOf("text", actionTypes));
+            preparedStatement.setArray(3, connection.createArrayOf("text", auditTypes));
+            preparedStatement.setArray(4, connection.createArrayOf("timestamp", auditTimestamps));
+
+            return preparedStatement.executeUpdate() == audits.size();
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Updates an existing audit record in the database.
      *
@@ -161,19 +422,11 @@ public class AuditRepositoryImpl implements AuditRepository {
      */
     @Override
     public boolean update(Audit audit) {
-        String sqlUpdate = """
-        UPDATE coworking.audits
-        SET username = ?, action_type = ?, audit_type = ?
-        WHERE id = ?;
-        """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlUpdate)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_UPDATE)) {
 
-            preparedStatement.setString(1, audit.getUsername());
-            preparedStatement.setString(2, audit.getActionType().name());
-            preparedStatement.setString(3, audit.getAuditType().name());
-            preparedStatement.setLong(4, audit.getId());
+            int index = bindAudit(preparedStatement, audit);
+            preparedStatement.setLong(index, audit.getId());
 
             return preparedStatement.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -182,6 +435,21 @@ public class AuditRepositoryImpl implements AuditRepository {
         }
     }
 
+    /**
+     * Binds the columns of an audit record in the order used by the insert and update statements.
+     *
+     * @param preparedStatement the statement to bind.
+     * @param audit the audit record to bind.
+     * @return the index of the first parameter left unbound.
+     * @throws SQLException if a parameter can not be set.
+     */
+    private static int bindAudit(PreparedStatement preparedStatement, Audit audit) throws SQLException {
+        preparedStatement.setString(1, audit.getUsername());
+        preparedStatement.setString(2, audit.getActionType().name());
+        preparedStatement.setString(3, audit.getAuditType().name());
+        return 4;
+    }
+
     /**
      * Builds an Audit object from a ResultSet.
      *
@@ -1,39 +1,303 @@
 package org.example.repository.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.example.analytics.UtilizationAggregate;
+import org.example.annotations.ReadOnly;
+import org.example.exceptions.BookingNotFoundException;
+import org.example.exceptions.BookingVersionConflictException;
 import org.example.exceptions.WorkspaceAlreadyBookedException;
 import org.example.repository.BookingRepository;
 import org.example.entity.Booking;
+import org.example.entity.BookingSeries;
 import org.example.entity.Workspace;
 import org.example.utils.ConnectionManager;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the BookingRepository for managing Booking entities in the database.
+ * <p>
+ * Bookings are partitioned by month of their start time. Every partition has its own exclusion constraint,
+ * and the {@code bookings_no_overlap} constraint trigger rejects overlaps across partitions. Every statement storing
+ * or moving bookings still runs after the rows of the affected workspaces are locked and checks overlaps with all
+ * partitions itself, so a conflict is reported without failing the statement. No booking lasts longer than
+ * the duration in {@code coworking.bookings_duration_bound}, so every overlap query also bounds {@code start_time}
+ * on both sides, which lets Postgres skip the partitions which can not hold an overlapping booking.
  */
 @Repository
 @RequiredArgsConstructor
 public class BookingRepositoryImpl implements BookingRepository {
+    private static final String SQL_STATE_EXCLUSION_VIOLATION = "23P01";
+
+    /**
+     * Bookings overlapping a half-open period. {@code period} is the generated {@code [start_time, end_time)} range,
+     * so the predicate is the same as {@code start_time < ? AND end_time > ?}, but can be answered by the GiST index.
+     * The bounds on {@code start_time} select the partitions to read.
+     */
+    static final String SQL_FILTER_BY_TIME_PERIOD = """
+            SELECT id, workspace_id, user_id, start_time, end_time, version, series_id
+            FROM coworking.bookings
+            WHERE period && tsrange(?, ?, '[)')
+            AND start_time > ?::timestamp - (SELECT max_duration FROM coworking.bookings_duration_bound)
+            AND start_time < ?
+            """;
+
+    static final String SQL_FILTER_BY_USERNAME = """
+            SELECT b.id, b.workspace_id, b.user_id, b.start_time, b.end_time, b.version, b.series_id
+            FROM coworking.bookings b
+            JOIN coworking.users u ON b.user_id = u.id
+            WHERE u.username = ?
+            """;
+
+    static final String SQL_FILTER_BY_WORKSPACE = """
+            SELECT b.id, b.workspace_id, b.user_id, b.start_time, b.end_time, b.version, b.series_id
+            FROM coworking.bookings b
+            JOIN coworking.workspaces w ON b.workspace_id = w.id
+            WHERE w.name = ?
+            """;
+
+    private static final String SQL_FIND_ALL = """
+            SELECT * FROM coworking.bookings;
+            """;
+
+    private static final String SQL_FIND_PAGE = """
+            SELECT * FROM coworking.bookings
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?;
+            """;
+
+    private static final String SQL_FIND_ALL_ORDERED = """
+            SELECT * FROM coworking.bookings
+            ORDER BY id;
+            """;
+
+    private static final String SQL_FIND_BY_ID = """
+            SELECT * FROM coworking.bookings
+            WHERE id=?;
+            """;
+
+    private static final String SQL_DELETE_BY_ID = """
+            DELETE FROM coworking.bookings
+            WHERE id = ?;
+            """;
+
+    private static final String SQL_DELETE_ALL = """
+            DELETE FROM coworking.bookings;
+            """;
+
+    private static final String SQL_SAVE = """
+            INSERT INTO coworking.bookings(workspace_id, user_id, start_time, end_time)
+            VALUES (?, ?, ?, ?);
+            """;
+
+    /**
+     * Moves a booking of its owner to another workspace or period if nobody changed it since the given version
+     * and no other booking of the target workspace overlaps the new period. The booking is found by primary key
+     * and the overlap is answered by the exclusion index, so a reschedule is one indexed statement.
+     */
+    static final String SQL_UPDATE_IF_FREE = """
+            WITH candidate(id, workspace_id, user_id, start_time, end_time, version) AS (
+                VALUES (?::bigint, ?::bigint, ?::bigint, ?::timestamp, ?::timestamp, ?::bigint)
+            )
+            UPDATE coworking.bookings b
+            SET workspace_id = c.workspace_id, start_time = c.start_time, end_time = c.end_time, version = b.version + 1
+            FROM candidate c
+            WHERE b.id = c.id
+            AND b.user_id = c.user_id
+            AND b.version = c.version
+            AND NOT EXISTS (
+                SELECT 1
+                FROM coworking.bookings o
+                WHERE o.workspace_id = c.workspace_id
+                AND o.id <> c.id
+                AND o.period && tsrange(c.start_time, c.end_time, '[)')
+                AND o.start_time > c.start_time - (SELECT max_duration FROM coworking.bookings_duration_bound)
+                AND o.start_time < c.end_time
+            )
+            RETURNING b.id, b.workspace_id, b.user_id, b.start_time, b.end_time, b.version, b.series_id;
+            """;
+
+    private static final String SQL_FIND_OWNER_AND_VERSION = """
+            SELECT user_id, version FROM coworking.bookings
+            WHERE id = ?;
+            """;
+
+    private static final String SQL_FIND_CONFLICTING = """
+            SELECT c.position
+            FROM unnest(?::bigint[], ?::timestamp[], ?::timestamp[]) WITH ORDINALITY
+                AS c(workspace_id, start_time, end_time, position)
+            WHERE EXISTS (
+                SELECT 1
+                FROM coworking.bookings b
+                WHERE b.workspace_id = c.workspace_id
+                AND b.start_time < c.end_time
+                AND b.end_time > c.start_time
+                AND b.start_time > c.start_time - (SELECT max_duration FROM coworking.bookings_duration_bound)
+            );
+            """;
+
+    private static final String SQL_SAVE_SERIES = """
+            INSERT INTO coworking.booking_series(user_id, workspace_id, frequency, repeat_interval, days_of_week,
+                start_time, end_time, until_date, occurrence_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?);
+            """;
+
+    /**
+     * Inserts all occurrences of a series with one statement, taking their periods from two parallel arrays.
+     * The IDs are drawn from the sequence before the insert, so every ID is returned with the position of its
+     * occurrence in the arrays.
+     */
+    private static final String SQL_SAVE_OCCURRENCES = """
+            WITH o AS (
+                SELECT nextval('coworking.booking_id_seq') AS id, o.start_time, o.end_time, o.position
+                FROM unnest(?::timestamp[], ?::timestamp[]) WITH ORDINALITY AS o(start_time, end_time, position)
+            ), inserted AS (
+                INSERT INTO coworking.bookings(id, workspace_id, user_id, start_time, end_time, series_id)
+                SELECT o.id, ?, ?, o.start_time, o.end_time, ?
+                FROM o
+                RETURNING id, version
+            )
+            SELECT o.position, inserted.id, inserted.version
+            FROM o
+            JOIN inserted ON inserted.id = o.id;
+            """;
+
+    private static final String SQL_FIND_AVAILABLE_WORKSPACES = """
+            SELECT w.id, w.name
+            FROM coworking.workspaces w
+            LEFT JOIN coworking.bookings b ON w.id = b.workspace_id
+                AND b.start_time <= ? AND b.end_time > ?
+                AND b.start_time > ?::timestamp - (SELECT max_duration FROM coworking.bookings_duration_bound)
+            WHERE b.workspace_id IS NULL;
+            """;
+
+    private static final String SQL_LOCK_WORKSPACE = """
+            SELECT id FROM coworking.workspaces
+            WHERE id = ?
+            FOR NO KEY UPDATE;
+            """;
+
+    /**
+     * Locks the rows of several workspaces, always in the order of their IDs, so that two transactions
+     * locking overlapping sets of workspaces can not deadlock.
+     */
+    private static final String SQL_LOCK_WORKSPACES = """
+            SELECT id FROM coworking.workspaces
+            WHERE id = ANY(?)
+            ORDER BY id
+            FOR NO KEY UPDATE;
+            """;
+
+    /**
+     * Inserts a booking unless a stored booking of the workspace overlaps its period. Run after the workspace row
+     * is locked, the check sees every booking committed before the lock was granted.
+     */
+    private static final String SQL_SAVE_IF_FREE = """
+            WITH candidate(workspace_id, user_id, start_time, end_time) AS (
+                VALUES (?::bigint, ?::bigint, ?::timestamp, ?::timestamp)
+            )
+            INSERT INTO coworking.bookings(workspace_id, user_id, start_time, end_time)
+            SELECT c.workspace_id, c.user_id, c.start_time, c.end_time
+            FROM candidate c
+            WHERE NOT EXISTS (
+                SELECT 1
+                FROM coworking.bookings b
+                WHERE b.workspace_id = c.workspace_id
+                AND b.period && tsrange(c.start_time, c.end_time, '[)')
+                AND b.start_time > c.start_time - (SELECT max_duration FROM coworking.bookings_duration_bound)
+                AND b.start_time < c.end_time
+            );
+            """;
+
+    /**
+     * Bookings and booked seconds per workspace and bookings and rescheduled bookings per user, of the bookings
+     * overlapping a period, clipped to the period. Takes the end and the start of the period after the filter parameters.
+     */
+    private static final String SQL_UTILIZATION_BY_WORKSPACE_AND_USER = "WITH filtered AS (" + SQL_FILTER_BY_TIME_PERIOD + """
+            )
+            SELECT GROUPING(workspace_id) = 1 AS by_user, workspace_id, user_id, count(*) AS bookings,
+                   count(*) FILTER (WHERE version > 0) AS rescheduled,
+                   sum(extract(epoch FROM least(end_time, ?) - greatest(start_time, ?)))::bigint AS seconds
+            FROM filtered
+            GROUP BY GROUPING SETS ((workspace_id), (user_id));
+            """;
+
+    /**
+     * Booked seconds per hour of a period, of the bookings overlapping the period, clipped to the period. Every booking
+     * is split into the hours it covers. Takes the start, the end and again the start of the period after the filter
+     * parameters; the hour is returned as the number of hours since the start.
+     */
+    private static final String SQL_UTILIZATION_BY_HOUR = "WITH filtered AS (" + SQL_FILTER_BY_TIME_PERIOD + """
+            ), clipped AS (
+                SELECT greatest(start_time, ?) AS clipped_start, least(end_time, ?) AS clipped_end
+                FROM filtered
+            )
+            SELECT (extract(epoch FROM slot_start - ?::timestamp) / 3600)::int AS bucket,
+                   sum(extract(epoch FROM least(clipped_end, slot_start + interval '1 hour')
+                       - greatest(clipped_start, slot_start)))::bigint AS seconds
+            FROM clipped, generate_series(date_trunc('hour', clipped_start), clipped_end - interval '1 microsecond',
+                                          interval '1 hour') AS slots(slot_start)
+            GROUP BY bucket;
+            """;
+
+    private static final String SQL_PAGE_BY_TIME_PERIOD = pageOf(SQL_FILTER_BY_TIME_PERIOD);
+    private static final String SQL_PAGE_BY_USERNAME = pageOf(SQL_FILTER_BY_USERNAME);
+    private static final String SQL_PAGE_BY_WORKSPACE = pageOf(SQL_FILTER_BY_WORKSPACE);
+    private static final String SQL_ORDERED_BY_TIME_PERIOD = orderedById(SQL_FILTER_BY_TIME_PERIOD);
+    private static final String SQL_ORDERED_BY_USERNAME = orderedById(SQL_FILTER_BY_USERNAME);
+    private static final String SQL_ORDERED_BY_WORKSPACE = orderedById(SQL_FILTER_BY_WORKSPACE);
+
     private final ConnectionManager connectionManager;
+
     /**
      * Retrieves all bookings from the database.
      *
      * @return List of all Booking objects retrieved from the database.
      */
     @Override
+    @ReadOnly
     public List<Booking> findAll(){
-        String sqlFindAll = """
-                SELECT * FROM coworking.bookings;
-                """;
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL)) {
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<Booking> bookings = new ArrayList<>();
+
+            while (resultSet.next()) {
+                bookings.add(buildBooking(resultSet));
+            }
+
+            return bookings;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
 
+    /**
+     * Retrieves a page of bookings ordered by ID from the database.
+     * @param afterId ID of the last booking of the previous page, or null for the first page
+     * @param limit Maximum number of bookings to return
+     * @return List of at most {@code limit} bookings
+     */
+    @Override
+    @ReadOnly
+    public List<Booking> findPage(Long afterId, int limit) {
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindAll)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_PAGE)) {
+            preparedStatement.setLong(1, afterId != null ? afterId : 0L);
+            preparedStatement.setInt(2, limit);
 
             ResultSet resultSet = preparedStatement.executeQuery();
             List<Booking> bookings = new ArrayList<>();
@@ -49,6 +313,27 @@ public class BookingRepositoryImpl implements BookingRepository {
         }
     }
 
+    /**
+     * Passes every booking ordered by ID to the given action while the result set is read.
+     * @param action Action invoked for each booking
+     */
+    @Override
+    @ReadOnly
+    public void forEach(Consumer<? super Booking> action) {
+        try (Connection connection = connectionManager.getStreamingConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL_ORDERED)) {
+            preparedStatement.setFetchSize(connectionManager.getFetchSize());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(buildBooking(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+        }
+    }
+
     /**
      * Finds a booking by its unique identifier.
      *
@@ -57,14 +342,9 @@ public class BookingRepositoryImpl implements BookingRepository {
      */
     @Override
     public Optional<Booking> findById(Long id) {
-        String sqlFindById = """
-                SELECT * FROM coworking.bookings
-                WHERE id=?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindById)) {
-            preparedStatement.setObject(1, id);
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_ID)) {
+            preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next()
@@ -84,14 +364,9 @@ public class BookingRepositoryImpl implements BookingRepository {
      */
     @Override
     public boolean deleteById(Long id){
-        String sqlDeleteById = """
-                DELETE FROM coworking.bookings
-                WHERE id = ?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteById)) {
-            preparedStatement.setObject(1, id);
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_BY_ID)) {
+            preparedStatement.setLong(1, id);
             return preparedStatement.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -107,12 +382,8 @@ public class BookingRepositoryImpl implements BookingRepository {
      */
     @Override
     public boolean deleteAll() {
-        String sqlDeleteAll = """
-            DELETE FROM coworking.bookings;
-            """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteAll)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_ALL)) {
             return preparedStatement.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -124,67 +395,301 @@ public class BookingRepositoryImpl implements BookingRepository {
 
     /**
      * Saves a new booking entity to the database.
+     * The row of the workspace is locked first and the booking is inserted only if no stored booking overlaps it,
+     * all in one transaction, so concurrent bookings of a workspace are decided one after another without
+     * failing on the exclusion constraint, which stays as the last line of defence.
      *
      * @param booking The Booking object to save.
      * @return The saved Booking object with its ID set, or null if saving failed.
+     * @throws WorkspaceAlreadyBookedException if the workspace is already booked for the specified period.
      */
     @Override
     public Booking save(Booking booking) {
-        String sqlSave = """
-        INSERT INTO coworking.bookings(workspace_id, user_id, start_time, end_time)
-        SELECT ?, ?, ?, ?
-        WHERE NOT EXISTS (
-            SELECT 1
-            FROM coworking.bookings
-            WHERE workspace_id = ?
-              AND ((start_time < ? AND end_time > ?)
-                   OR (start_time < ? AND end_time > ?)
-                   OR (start_time >= ? AND start_time <= ?))
-        );
-        """;
+        try (Connection connection = connectionManager.getConnection()) {
+            connection.setAutoCommit(false);
 
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlSave, Statement.RETURN_GENERATED_KEYS)) {
-
-            preparedStatement.setObject(1, booking.getWorkspaceId());
-            preparedStatement.setObject(2, booking.getUserId());
-            preparedStatement.setObject(3, booking.getStartTime());
-            preparedStatement.setObject(4, booking.getEndTime());
-            preparedStatement.setObject(5, booking.getWorkspaceId());
-            preparedStatement.setObject(6, booking.getEndTime());
-            preparedStatement.setObject(7, booking.getStartTime());
-            preparedStatement.setObject(8, booking.getStartTime());
-            preparedStatement.setObject(9, booking.getEndTime());
-            preparedStatement.setObject(10, booking.getStartTime());
-            preparedStatement.setObject(11, booking.getEndTime());
-
-            int affectedRows = preparedStatement.executeUpdate();
-            if (affectedRows == 0) {
+            try (PreparedStatement lockStatement = connection.prepareStatement(SQL_LOCK_WORKSPACE);
+                 PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE_IF_FREE, new String[]{"id", "version"})) {
+                lockStatement.setLong(1, booking.getWorkspaceId());
+                lockStatement.executeQuery().close();
+
+                bindBooking(preparedStatement, booking);
+                if (preparedStatement.executeUpdate() == 0) {
+                    throw new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period.");
+                }
+
+                ResultSet keys = preparedStatement.getGeneratedKeys();
+                if (keys.next()) {
+                    booking.setId(keys.getObject("id", Long.class));
+                    booking.setVersion(keys.getObject("version", Long.class));
+                }
+                connection.commit();
+                return booking;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            if (isExclusionViolation(e)) {
                 throw new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period.");
             }
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return null;
+        }
+    }
 
-            ResultSet keys = preparedStatement.getGeneratedKeys();
-            if (keys.next()) {
-                booking.setId(keys.getObject("id", Long.class));
+
+    /**
+     * Saves bookings with a single JDBC batch in one transaction.
+     * Either all bookings are stored or, if any insert fails, none of them. The rows of the workspaces are locked
+     * and the bookings checked against the stored ones first, since the exclusion constraints do not see bookings
+     * of other partitions.
+     *
+     * @param bookings The Booking objects to save.
+     * @return The saved Booking objects with their IDs set, or an empty list if saving failed.
+     * @throws WorkspaceAlreadyBookedException if one of the workspaces is already booked for the specified period.
+     */
+    @Override
+    public List<Booking> saveAll(List<Booking> bookings) {
+        try (Connection connection = connectionManager.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE, new String[]{"id", "version"})) {
+                lockWorkspaces(connection, bookings.stream().map(Booking::getWorkspaceId).collect(Collectors.toSet()));
+                if (!findConflicting(connection, bookings).isEmpty()) {
+                    throw new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period.");
+                }
+
+                for (Booking booking : bookings) {
+                    bindBooking(preparedStatement, booking);
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+
+                ResultSet keys = preparedStatement.getGeneratedKeys();
+                for (Booking booking : bookings) {
+                    if (keys.next()) {
+                        booking.setId(keys.getObject("id", Long.class));
+                        booking.setVersion(keys.getObject("version", Long.class));
+                    }
+                }
+                connection.commit();
+                return bookings;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            if (isExclusionViolation(e)) {
+                throw new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period.");
+            }
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Saves a booking series and its occurrences in one transaction with two statements: one for the series
+     * and one inserting all occurrences from arrays of their periods, whatever the number of occurrences.
+     * The row of the workspace is locked and the occurrences checked against the stored bookings first.
+     *
+     * @param series      The BookingSeries object to save.
+     * @param occurrences The occurrences of the series to book.
+     * @return The saved occurrences with their IDs and the ID of the series set, or an empty list if saving failed.
+     * @throws WorkspaceAlreadyBookedException if the workspace is already booked during one of the occurrences.
+     */
+    @Override
+    public List<Booking> saveSeries(BookingSeries series, List<Booking> occurrences) {
+        Timestamp[] startTimes = new Timestamp[occurrences.size()];
+        Timestamp[] endTimes = new Timestamp[occurrences.size()];
+        for (int i = 0; i < occurrences.size(); i++) {
+            startTimes[i] = Timestamp.valueOf(occurrences.get(i).getStartTime());
+            endTimes[i] = Timestamp.valueOf(occurrences.get(i).getEndTime());
+        }
+
+        try (Connection connection = connectionManager.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement seriesStatement = connection.prepareStatement(SQL_SAVE_SERIES, new String[]{"id"});
+                 PreparedStatement occurrencesStatement = connection.prepareStatement(SQL_SAVE_OCCURRENCES)) {
+                lockWorkspaces(connection, Set.of(series.getWorkspaceId()));
+                if (!findConflicting(connection, occurrences).isEmpty()) {
+                    throw new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period.");
+                }
+
+                bindSeries(connection, seriesStatement, series);
+                seriesStatement.executeUpdate();
+                ResultSet seriesKeys = seriesStatement.getGeneratedKeys();
+                if (!seriesKeys.next()) {
+                    throw new SQLException("No ID was generated for the booking series");
+                }
+                Long seriesId = seriesKeys.getObject("id", Long.class);
+
+                occurrencesStatement.setArray(1, connection.createArrayOf("timestamp", startTimes));
+                occurrencesStatement.setArray(2, connection.createArrayOf("timestamp", endTimes));
+                occurrencesStatement.setLong(3, series.getWorkspaceId());
+                occurrencesStatement.setLong(4, series.getUserId());
+                occurrencesStatement.setLong(5, seriesId);
+                ResultSet keys = occurrencesStatement.executeQuery();
+                while (keys.next()) {
+                    Booking occurrence = occurrences.get(keys.getInt("position") - 1);
+                    occurrence.setId(keys.getObject("id", Long.class));
+                    occurrence.setVersion(keys.getObject("version", Long.class));
+                    occurrence.setSeriesId(seriesId);
+                }
+                connection.commit();
+                series.setId(seriesId);
+                return occurrences;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            if (isExclusionViolation(e)) {
+                throw new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period.");
             }
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
 
-            return booking;
+    /**
+     * Checks a set of prospective bookings against the stored ones with a single query.
+     * A booking conflicts when a stored booking of the same workspace overlaps its half-open period,
+     * which is the condition enforced by the exclusion constraint on the booking period.
+     *
+     * @param bookings The prospective bookings.
+     * @return Positions in the given list of the bookings which conflict with a stored booking.
+     */
+    @Override
+    public Set<Integer> findConflicting(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        try (Connection connection = connectionManager.getConnection()) {
+            return findConflicting(connection, bookings);
         } catch (SQLException e) {
             System.err.println("Error during execution of SQL query: " + e.getMessage());
-            return null;
+            return new HashSet<>();
+        }
+    }
+
+    private static Set<Integer> findConflicting(Connection connection, List<Booking> bookings) throws SQLException {
+        Long[] workspaceIds = new Long[bookings.size()];
+        Timestamp[] startTimes = new Timestamp[bookings.size()];
+        Timestamp[] endTimes = new Timestamp[bookings.size()];
+        for (int i = 0; i < bookings.size(); i++) {
+            workspaceIds[i] = bookings.get(i).getWorkspaceId();
+            startTimes[i] = Timestamp.valueOf(bookings.get(i).getStartTime());
+            endTimes[i] = Timestamp.valueOf(bookings.get(i).getEndTime());
+        }
+
+        Set<Integer> conflicting = new HashSet<>();
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_CONFLICTING)) {
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", workspaceIds));
+            preparedStatement.setArray(2, connection.createArrayOf("timestamp", startTimes));
+            preparedStatement.setArray(3, connection.createArrayOf("timestamp", endTimes));
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                conflicting.add(resultSet.getInt("position") - 1);
+            }
         }
+        return conflicting;
     }
 
+    private static void lockWorkspaces(Connection connection, Set<Long> workspaceIds) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_LOCK_WORKSPACES)) {
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", workspaceIds.toArray()));
+            preparedStatement.executeQuery().close();
+        }
+    }
 
     /**
-     * Updates an existing booking entity in the database.
+     * Updates the workspace and period of an existing booking in the database.
+     * The booking must belong to the user and still have the version read by the caller. On success the
+     * Booking object is refreshed with the stored row, including its new version. Only when nothing was
+     * updated the booking is read again to tell the caller why. The row of the target workspace is locked
+     * first, since a moved booking may overlap bookings of another partition.
      *
-     * @param booking The Booking object with updated values.
-     * @return True if the update was successful, false otherwise.
+     * @param booking The Booking object with updated values and the version it was read with.
+     * @return True if the update was successful, false if it failed with an SQL error.
+     * @throws BookingNotFoundException if the user has no booking with the ID.
+     * @throws BookingVersionConflictException if the booking was changed since the given version.
+     * @throws WorkspaceAlreadyBookedException if the workspace is already booked for the new period.
      */
     @Override
     public boolean update(Booking booking) {
-        return false;
+        try (Connection connection = connectionManager.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement lockStatement = connection.prepareStatement(SQL_LOCK_WORKSPACE);
+                 PreparedStatement preparedStatement = connection.prepareStatement(SQL_UPDATE_IF_FREE)) {
+                lockStatement.setLong(1, booking.getWorkspaceId());
+                lockStatement.executeQuery().close();
+
+                preparedStatement.setLong(1, booking.getId());
+                preparedStatement.setLong(2, booking.getWorkspaceId());
+                preparedStatement.setLong(3, booking.getUserId());
+                preparedStatement.setObject(4, booking.getStartTime());
+                preparedStatement.setObject(5, booking.getEndTime());
+                preparedStatement.setLong(6, booking.getVersion());
+
+                ResultSet resultSet = preparedStatement.executeQuery();
+                if (!resultSet.next()) {
+                    throw explainFailedUpdate(connection, booking);
+                }
+                Booking updated = buildBooking(resultSet);
+                connection.commit();
+                booking.setWorkspaceId(updated.getWorkspaceId());
+                booking.setStartTime(updated.getStartTime());
+                booking.setEndTime(updated.getEndTime());
+                booking.setVersion(updated.getVersion());
+                booking.setSeriesId(updated.getSeriesId());
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            if (isExclusionViolation(e)) {
+                throw new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period.");
+            }
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Finds out why a conditional update of a booking changed no row.
+     *
+     * @param connection The connection the update was executed on.
+     * @param booking    The booking which was not updated.
+     * @return The exception describing the failure.
+     * @throws SQLException If the booking can not be read.
+     */
+    private RuntimeException explainFailedUpdate(Connection connection, Booking booking) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_OWNER_AND_VERSION)) {
+            preparedStatement.setLong(1, booking.getId());
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            if (!resultSet.next() || resultSet.getLong("user_id") != booking.getUserId()) {
+                return new BookingNotFoundException("Booking with id " + booking.getId() + " not found.");
+            }
+            if (resultSet.getLong("version") != booking.getVersion()) {
+                return new BookingVersionConflictException("The booking was changed by another request, reload it and try again.");
+            }
+            return new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period.");
+        }
     }
 
     /**
@@ -195,28 +700,16 @@ public class BookingRepositoryImpl implements BookingRepository {
      * @return List of Workspace objects that are available during the specified time period.
      */
     @Override
+    @ReadOnly
     public List<Workspace> findAllAvailableWorkspaces(LocalDateTime startTime, LocalDateTime endTime) {
-        String sqlQuery = """
-        SELECT w.id, w.name
-        FROM coworking.workspaces w
-        LEFT JOIN coworking.bookings b ON w.id = b.workspace_id
-            AND ((b.start_time < ? AND b.end_time > ?)
-                OR (b.start_time < ? AND b.end_time > ?)
-                OR (b.start_time >= ? AND b.start_time <= ?))
-        WHERE b.workspace_id IS NULL;
-        """;
-
         List<Workspace> workspaces = new ArrayList<>();
 
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_AVAILABLE_WORKSPACES)) {
 
-            preparedStatement.setTimestamp(1, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(2, Timestamp.valueOf(endTime));
-            preparedStatement.setTimestamp(3, Timestamp.valueOf(endTime));
-            preparedStatement.setTimestamp(4, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(5, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(6, Timestamp.valueOf(endTime));
+            preparedStatement.setTimestamp(1, Timestamp.valueOf(endTime));
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(startTime));
+            preparedStatement.setTimestamp(3, Timestamp.valueOf(startTime));
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
@@ -242,41 +735,19 @@ public class BookingRepositoryImpl implements BookingRepository {
      * @return List of Booking objects within the specified time period.
      */
     @Override
+    @ReadOnly
     public List<Booking> getFilteredBookingsByTimePeriod(LocalDateTime startTime, LocalDateTime endTime) {
-        String sqlQuery = """
-            SELECT id, workspace_id, user_id, start_time, end_time
-            FROM coworking.bookings
-            WHERE 
-                (start_time <= ? AND end_time >= ?) OR 
-                (start_time >= ? AND start_time <= ?) OR 
-                (end_time >= ? AND end_time <= ?) OR  
-                (start_time >= ? AND end_time <= ?);
-            """;
-
         List<Booking> bookings = new ArrayList<>();
 
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FILTER_BY_TIME_PERIOD)) {
 
-            preparedStatement.setTimestamp(1, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(2, Timestamp.valueOf(endTime));
-            preparedStatement.setTimestamp(3, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(4, Timestamp.valueOf(endTime));
-            preparedStatement.setTimestamp(5, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(6, Timestamp.valueOf(endTime));
-            preparedStatement.setTimestamp(7, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(8, Timestamp.valueOf(endTime));
+            bindTimePeriod(preparedStatement, startTime, endTime);
 
             ResultSet resultSet = preparedStatement.executeQuery();
 
             while (resultSet.next()) {
-                Booking booking = new Booking();
-                booking.setId(resultSet.getLong("id"));
-                booking.setWorkspaceId(resultSet.getLong("workspace_id"));
-                booking.setUserId(resultSet.getLong("user_id"));
-                booking.setStartTime(resultSet.getTimestamp("start_time").toLocalDateTime());
-                booking.setEndTime(resultSet.getTimestamp("end_time").toLocalDateTime());
-                bookings.add(booking);
+                bookings.add(buildBooking(resultSet));
             }
 
         } catch (SQLException e) {
@@ -293,31 +764,19 @@ public class BookingRepositoryImpl implements BookingRepository {
      * @return List of Booking objects made by the specified user.
      */
     @Override
+    @ReadOnly
     public List<Booking> getFilteredBookingsByUsername(String username) {
-        String sqlQuery = """
-                SELECT b.id, b.workspace_id, b.user_id, b.start_time, b.end_time
-                FROM coworking.bookings b
-                JOIN coworking.users u ON b.user_id = u.id
-                WHERE u.username = ?;
-                """;
-
         List<Booking> bookings = new ArrayList<>();
 
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FILTER_BY_USERNAME)) {
 
             preparedStatement.setString(1, username);
 
             ResultSet resultSet = preparedStatement.executeQuery();
 
             while (resultSet.next()) {
-                Booking booking = new Booking();
-                booking.setId(resultSet.getLong("id"));
-                booking.setWorkspaceId(resultSet.getLong("workspace_id"));
-                booking.setUserId(resultSet.getLong("user_id"));
-                booking.setStartTime(resultSet.getTimestamp("start_time").toLocalDateTime());
-                booking.setEndTime(resultSet.getTimestamp("end_time").toLocalDateTime());
-                bookings.add(booking);
+                bookings.add(buildBooking(resultSet));
             }
 
         } catch (SQLException e) {
@@ -334,31 +793,19 @@ public class BookingRepositoryImpl implements BookingRepository {
      * @return List of Booking objects associated with the specified workspace.
      */
     @Override
+    @ReadOnly
     public List<Booking> getFilteredBookingsByWorkspace(String workspaceName) {
-        String sqlQuery = """
-                SELECT b.id, b.workspace_id, b.user_id, b.start_time, b.end_time
-                FROM coworking.bookings b
-                JOIN coworking.workspaces w ON b.workspace_id = w.id
-                WHERE w.name = ?;
-                """;
-
         List<Booking> bookings = new ArrayList<>();
 
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FILTER_BY_WORKSPACE)) {
 
             preparedStatement.setString(1, workspaceName);
 
             ResultSet resultSet = preparedStatement.executeQuery();
 
             while (resultSet.next()) {
-                Booking booking = new Booking();
-                booking.setId(resultSet.getLong("id"));
-                booking.setWorkspaceId(resultSet.getLong("workspace_id"));
-                booking.setUserId(resultSet.getLong("user_id"));
-                booking.setStartTime(resultSet.getTimestamp("start_time").toLocalDateTime());
-                booking.setEndTime(resultSet.getTimestamp("end_time").toLocalDateTime());
-                bookings.add(booking);
+                bookings.add(buildBooking(resultSet));
             }
 
         } catch (SQLException e) {
@@ -369,44 +816,270 @@ public class BookingRepositoryImpl implements BookingRepository {
     }
 
     /**
-     * Checks if a workspace is already booked during a specified time period.
+     * Retrieves a page of bookings that fall within a specified time period, ordered by ID.
      *
-     * @param workspaceId The ID of the workspace to check.
-     * @param startTime   The start time of the period to check.
-     * @param endTime     The end time of the period to check.
-     * @return True if the workspace is booked during the specified time period, false otherwise.
-     */
-    private boolean isWorkspaceBooked(Long workspaceId, LocalDateTime startTime, LocalDateTime endTime) {
-        String sqlCheck = """
-            SELECT COUNT(*) AS count
-            FROM coworking.bookings
-            WHERE workspace_id = ?
-            AND ((start_time <= ? AND end_time > ?)
-                OR (start_time < ? AND end_time >= ?)
-                OR (start_time >= ? AND end_time <= ?));
-            """;
+     * @param startTime The start time of the period.
+     * @param endTime   The end time of the period.
+     * @param afterId   The ID of the last booking of the previous page, or null for the first page.
+     * @param limit     The maximum number of bookings to return.
+     * @return List of at most {@code limit} Booking objects within the specified time period.
+     */
+    @Override
+    @ReadOnly
+    public List<Booking> getFilteredBookingsByTimePeriod(LocalDateTime startTime, LocalDateTime endTime, Long afterId, int limit) {
+        return findBookingsPage(SQL_PAGE_BY_TIME_PERIOD, preparedStatement -> bindTimePeriod(preparedStatement, startTime, endTime), afterId, limit);
+    }
+
+    /**
+     * Retrieves a page of bookings made by a specific user, ordered by ID.
+     *
+     * @param username The username of the user to filter bookings by.
+     * @param afterId  The ID of the last booking of the previous page, or null for the first page.
+     * @param limit    The maximum number of bookings to return.
+     * @return List of at most {@code limit} Booking objects made by the specified user.
+     */
+    @Override
+    @ReadOnly
+    public List<Booking> getFilteredBookingsByUsername(String username, Long afterId, int limit) {
+        return findBookingsPage(SQL_PAGE_BY_USERNAME, preparedStatement -> bindName(preparedStatement, username), afterId, limit);
+    }
+
+    /**
+     * Retrieves a page of bookings associated with a specific workspace, ordered by ID.
+     *
+     * @param workspaceName The name of the workspace to filter bookings by.
+     * @param afterId       The ID of the last booking of the previous page, or null for the first page.
+     * @param limit         The maximum number of bookings to return.
+     * @return List of at most {@code limit} Booking objects associated with the specified workspace.
+     */
+    @Override
+    @ReadOnly
+    public List<Booking> getFilteredBookingsByWorkspace(String workspaceName, Long afterId, int limit) {
+        return findBookingsPage(SQL_PAGE_BY_WORKSPACE, preparedStatement -> bindName(preparedStatement, workspaceName), afterId, limit);
+    }
+
+    /**
+     * Passes every booking within a specified time period, ordered by ID, to the given action while the result set is read.
+     *
+     * @param startTime The start time of the period.
+     * @param endTime   The end time of the period.
+     * @param action    The action invoked for each booking.
+     */
+    @Override
+    @ReadOnly
+    public void forEachFilteredBookingByTimePeriod(LocalDateTime startTime, LocalDateTime endTime, Consumer<? super Booking> action) {
+        forEachBooking(SQL_ORDERED_BY_TIME_PERIOD, preparedStatement -> bindTimePeriod(preparedStatement, startTime, endTime), action);
+    }
+
+    /**
+     * Passes every booking made by a specific user, ordered by ID, to the given action while the result set is read.
+     *
+     * @param username The username of the user to filter bookings by.
+     * @param action   The action invoked for each booking.
+     */
+    @Override
+    @ReadOnly
+    public void forEachFilteredBookingByUsername(String username, Consumer<? super Booking> action) {
+        forEachBooking(SQL_ORDERED_BY_USERNAME, preparedStatement -> bindName(preparedStatement, username), action);
+    }
+
+    /**
+     * Passes every booking of a specific workspace, ordered by ID, to the given action while the result set is read.
+     *
+     * @param workspaceName The name of the workspace to filter bookings by.
+     * @param action        The action invoked for each booking.
+     */
+    @Override
+    @ReadOnly
+    public void forEachFilteredBookingByWorkspace(String workspaceName, Consumer<? super Booking> action) {
+        forEachBooking(SQL_ORDERED_BY_WORKSPACE, preparedStatement -> bindName(preparedStatement, workspaceName), action);
+    }
+
+    /**
+     * Adds up the bookings overlapping a period in the database, each booking clipped to the period.
+     *
+     * @param startTime The start of the period, at the start of an hour.
+     * @param endTime   The end of the period, a whole number of hours after the start.
+     * @param aggregate The aggregate to add the totals to.
+     */
+    @Override
+    @ReadOnly
+    public void aggregateUtilization(LocalDateTime startTime, LocalDateTime endTime, UtilizationAggregate aggregate) {
+        try (Connection connection = connectionManager.getStreamingConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_UTILIZATION_BY_WORKSPACE_AND_USER)) {
+                int index = bindTimePeriod(preparedStatement, startTime, endTime);
+                preparedStatement.setTimestamp(index, Timestamp.valueOf(endTime));
+                preparedStatement.setTimestamp(index + 1, Timestamp.valueOf(startTime));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        if (resultSet.getBoolean("by_user")) {
+                            aggregate.addUser(resultSet.getLong("user_id"), resultSet.getLong("bookings"), resultSet.getLong("rescheduled"));
+                        } else {
+                            aggregate.addWorkspace(resultSet.getLong("workspace_id"), resultSet.getLong("bookings"), resultSet.getLong("seconds"));
+                        }
+                    }
+                }
+            }
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SQL_UTILIZATION_BY_HOUR)) {
+                int index = bindTimePeriod(preparedStatement, startTime, endTime);
+                preparedStatement.setTimestamp(index, Timestamp.valueOf(startTime));
+                preparedStatement.setTimestamp(index + 1, Timestamp.valueOf(endTime));
+                preparedStatement.setTimestamp(index + 2, Timestamp.valueOf(startTime));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        aggregate.addHour(resultSet.getInt("bucket"), resultSet.getLong("seconds"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a booking filter restricted to IDs greater than {@code afterId}, returning at most {@code limit} rows.
+     *
+     * @param pageQuery The filter query wrapped by {@link #pageOf(String)}.
+     * @param binder    Binds the parameters of the filter query.
+     * @param afterId   The ID after which the page starts, or null for the first page.
+     * @param limit     The maximum number of bookings to return.
+     * @return List of Booking objects ordered by ID.
+     */
+    private List<Booking> findBookingsPage(String pageQuery, ParameterBinder binder, Long afterId, int limit) {
+        List<Booking> bookings = new ArrayList<>();
 
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlCheck)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(pageQuery)) {
 
-            preparedStatement.setLong(1, workspaceId);
-            preparedStatement.setTimestamp(2, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(3, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(4, Timestamp.valueOf(endTime));
-            preparedStatement.setTimestamp(5, Timestamp.valueOf(endTime));
-            preparedStatement.setTimestamp(6, Timestamp.valueOf(startTime));
-            preparedStatement.setTimestamp(7, Timestamp.valueOf(endTime));
+            int index = binder.bind(preparedStatement);
+            preparedStatement.setLong(index, afterId != null ? afterId : 0L);
+            preparedStatement.setInt(index + 1, limit);
 
             ResultSet resultSet = preparedStatement.executeQuery();
 
-            if (resultSet.next()) {
-                int count = resultSet.getInt("count");
-                return count > 0;
+            while (resultSet.next()) {
+                bookings.add(buildBooking(resultSet));
             }
+
         } catch (SQLException e) {
             System.err.println("Error during execution of SQL query: " + e.getMessage());
         }
 
+        return bookings;
+    }
+
+    /**
+     * Streams the rows of a booking filter ordered by ID to the given action.
+     *
+     * @param orderedQuery The filter query wrapped by {@link #orderedById(String)}.
+     * @param binder       Binds the parameters of the filter query.
+     * @param action       The action invoked for each booking.
+     */
+    private void forEachBooking(String orderedQuery, ParameterBinder binder, Consumer<? super Booking> action) {
+        try (Connection connection = connectionManager.getStreamingConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(orderedQuery)) {
+
+            binder.bind(preparedStatement);
+            preparedStatement.setFetchSize(connectionManager.getFetchSize());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(buildBooking(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Restricts a filter query to IDs greater than a parameter and limits the number of rows.
+     *
+     * @param filterQuery The filter query without ordering and terminating semicolon.
+     * @return The page query, taking the ID and the limit after the filter parameters.
+     */
+    private static String pageOf(String filterQuery) {
+        return "SELECT * FROM (" + filterQuery + ") filtered WHERE id > ? ORDER BY id LIMIT ?";
+    }
+
+    /**
+     * Orders the rows of a filter query by ID.
+     *
+     * @param filterQuery The filter query without ordering and terminating semicolon.
+     * @return The ordered query.
+     */
+    private static String orderedById(String filterQuery) {
+        return filterQuery + " ORDER BY id";
+    }
+
+    /**
+     * Binds the columns of a booking in the order used by the insert statement.
+     *
+     * @param preparedStatement The statement to bind.
+     * @param booking           The booking to bind.
+     * @throws SQLException If a parameter can not be set.
+     */
+    private static void bindBooking(PreparedStatement preparedStatement, Booking booking) throws SQLException {
+        preparedStatement.setLong(1, booking.getWorkspaceId());
+        preparedStatement.setLong(2, booking.getUserId());
+        preparedStatement.setObject(3, booking.getStartTime());
+        preparedStatement.setObject(4, booking.getEndTime());
+    }
+
+    private static void bindSeries(Connection connection, PreparedStatement preparedStatement, BookingSeries series) throws SQLException {
+        Integer[] days = series.getDaysOfWeek() == null ? null : series.getDaysOfWeek().stream()
+                .map(DayOfWeek::getValue)
+                .sorted()
+                .toArray(Integer[]::new);
+        preparedStatement.setLong(1, series.getUserId());
+        preparedStatement.setLong(2, series.getWorkspaceId());
+        preparedStatement.setString(3, series.getFrequency().name());
+        preparedStatement.setInt(4, series.getInterval());
+        preparedStatement.setArray(5, days == null ? null : connection.createArrayOf("integer", days));
+        preparedStatement.setObject(6, series.getStartTime());
+        preparedStatement.setObject(7, series.getEndTime());
+        preparedStatement.setObject(8, series.getUntil());
+        preparedStatement.setObject(9, series.getCount(), Types.INTEGER);
+    }
+
+    private static int bindTimePeriod(PreparedStatement preparedStatement, LocalDateTime startTime, LocalDateTime endTime) throws SQLException {
+        preparedStatement.setTimestamp(1, Timestamp.valueOf(startTime));
+        preparedStatement.setTimestamp(2, Timestamp.valueOf(endTime));
+        preparedStatement.setTimestamp(3, Timestamp.valueOf(startTime));
+        preparedStatement.setTimestamp(4, Timestamp.valueOf(endTime));
+        return 5;
+    }
+
+    private static int bindName(PreparedStatement preparedStatement, String name) throws SQLException {
+        preparedStatement.setString(1, name);
+        return 2;
+    }
+
+    /**
+     * Binds the leading parameters of a query.
+     */
+    @FunctionalInterface
+    private interface ParameterBinder {
+
+        /**
+         * Binds the parameters of the filter.
+         *
+         * @param preparedStatement The statement to bind.
+         * @return The index of the first parameter left unbound.
+         * @throws SQLException If a parameter can not be set.
+         */
+        int bind(PreparedStatement preparedStatement) throws SQLException;
+    }
+
+    private static boolean isExclusionViolation(SQLException exception) {
+        for (SQLException current = exception; current != null; current = current.getNextException()) {
+            if (SQL_STATE_EXCLUSION_VIOLATION.equals(current.getSQLState())) {
+                return true;
+            }
+        }
         return false;
     }
 
@@ -424,6 +1097,8 @@ public class BookingRepositoryImpl implements BookingRepository {
                 .userId(resultSet.getLong("user_id"))
                 .startTime(resultSet.getTimestamp("start_time").toLocalDateTime())
                 .endTime(resultSet.getTimestamp("end_time").toLocalDateTime())
+                .version(resultSet.getLong("version"))
+                .seriesId(resultSet.getObject("series_id", Long.class))
                 .build();
     }
 
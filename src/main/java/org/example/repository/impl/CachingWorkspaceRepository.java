@@ -0,0 +1,151 @@
+package org.example.repository.impl;
+
+import org.example.cache.WorkspaceCache;
+import org.example.entity.Workspace;
+import org.example.repository.WorkspaceRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of the database backed WorkspaceRepository.
+ * Lookups by id and by name are served from {@link WorkspaceCache} and loaded from the database on a miss.
+ * Every modification goes to the database first and then invalidates the affected entries.
+ */
+@Primary
+@Repository
+public class CachingWorkspaceRepository implements WorkspaceRepository {
+
+    private final WorkspaceRepository workspaceRepository;
+    private final WorkspaceCache workspaceCache;
+
+    /**
+     * Creates the caching repository.
+     *
+     * @param workspaceRepository the repository reading from the database
+     * @param workspaceCache      the cache of loaded workspaces
+     */
+    public CachingWorkspaceRepository(@Qualifier("workspaceRepositoryImpl") WorkspaceRepository workspaceRepository,
+                                      WorkspaceCache workspaceCache) {
+        this.workspaceRepository = workspaceRepository;
+        this.workspaceCache = workspaceCache;
+    }
+
+    @Override
+    public List<Workspace> findAll() {
+        return workspaceRepository.findAll();
+    }
+
+    @Override
+    public List<Workspace> findPage(Long afterId, int limit) {
+        return workspaceRepository.findPage(afterId, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<? super Workspace> action) {
+        workspaceRepository.forEach(action);
+    }
+
+    @Override
+    public Optional<Workspace> findById(Long id) {
+        Workspace cached = workspaceCache.get(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long generation = workspaceCache.generation();
+        Optional<Workspace> workspace = workspaceRepository.findById(id);
+        workspace.ifPresent(loaded -> workspaceCache.put(loaded, generation));
+        return workspace;
+    }
+
+    @Override
+    public Optional<Workspace> findByName(String name) {
+        Workspace cached = workspaceCache.get(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long generation = workspaceCache.generation();
+        Optional<Workspace> workspace = workspaceRepository.findByName(name);
+        workspace.ifPresent(loaded -> workspaceCache.put(loaded, generation));
+        return workspace;
+    }
+
+    @Override
+    public List<Workspace> findAllByNames(Collection<String> names) {
+        List<Workspace> workspaces = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : new LinkedHashSet<>(names)) {
+            Workspace cached = workspaceCache.get(name);
+            if (cached != null) {
+                workspaces.add(cached);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return workspaces;
+        }
+
+        long generation = workspaceCache.generation();
+        for (Workspace loaded : workspaceRepository.findAllByNames(missing)) {
+            workspaceCache.put(loaded, generation);
+            workspaces.add(loaded);
+        }
+        return workspaces;
+    }
+
+    @Override
+    public Workspace save(Workspace workspace) {
+        Workspace saved = workspaceRepository.save(workspace);
+        if (saved != null) {
+            workspaceCache.invalidate(saved.getName());
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean update(Workspace workspace) {
+        try {
+            return workspaceRepository.update(workspace);
+        } finally {
+            workspaceCache.invalidate(workspace.getId());
+            workspaceCache.invalidate(workspace.getName());
+        }
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        try {
+            return workspaceRepository.deleteById(id);
+        } finally {
+            workspaceCache.invalidate(id);
+        }
+    }
+
+    @Override
+    public boolean deleteByName(String name) {
+        try {
+            return workspaceRepository.deleteByName(name);
+        } finally {
+            workspaceCache.invalidate(name);
+        }
+    }
+
+    @Override
+    public boolean deleteAll() {
+        try {
+            return workspaceRepository.deleteAll();
+        } finally {
+            workspaceCache.clear();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.repository.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.example.annotations.ReadOnly;
 import org.example.repository.UserRepository;
 import org.example.entity.User;
 import org.example.entity.types.Role;
@@ -9,8 +10,10 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Implementation of UserRepository interface for interacting with User entities in the database.
@@ -19,6 +22,57 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserRepositoryImpl implements UserRepository {
 
+    private static final String SQL_FIND_BY_ID = """
+            SELECT * FROM coworking.users
+            WHERE id=?;
+            """;
+
+    private static final String SQL_DELETE_BY_ID = """
+            DELETE FROM coworking.users
+            WHERE id = ?;
+            """;
+
+    private static final String SQL_DELETE_ALL = """
+            DELETE FROM coworking.users;
+            """;
+
+    private static final String SQL_FIND_ALL = """
+            SELECT * FROM coworking.users;
+            """;
+
+    private static final String SQL_FIND_PAGE = """
+            SELECT * FROM coworking.users
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?;
+            """;
+
+    private static final String SQL_FIND_ALL_ORDERED = """
+            SELECT * FROM coworking.users
+            ORDER BY id;
+            """;
+
+    private static final String SQL_SAVE = """
+            INSERT INTO coworking.users(username, password, role)
+            VALUES (?,?,?);
+            """;
+
+    private static final String SQL_UPDATE = """
+            UPDATE coworking.users
+            SET username = ?, password = ?, role = ?
+            WHERE id = ?;
+            """;
+
+    private static final String SQL_FIND_BY_USERNAME = """
+            SELECT * FROM coworking.users
+            WHERE username=?;
+            """;
+
+    private static final String SQL_FIND_ALL_BY_IDS = """
+            SELECT * FROM coworking.users
+            WHERE id = ANY(?);
+            """;
+
     private final ConnectionManager connectionManager;
 
     /**
@@ -28,14 +82,9 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Override
     public Optional<User> findById(Long id){
-        String sqlFindById = """
-                SELECT * FROM coworking.users
-                WHERE id=?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindById)) {
-            preparedStatement.setObject(1, id);
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_ID)) {
+            preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next()
@@ -54,14 +103,9 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Override
     public boolean deleteById(Long id) {
-        String sqlDeleteById = """
-                DELETE FROM coworking.users
-                WHERE id = ?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteById)) {
-            preparedStatement.setObject(1, id);
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_BY_ID)) {
+            preparedStatement.setLong(1, id);
             return preparedStatement.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -76,12 +120,8 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Override
     public boolean deleteAll() {
-        String sqlDeleteAll = """
-            DELETE FROM coworking.users;
-            """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteAll)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_ALL)) {
             return preparedStatement.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -96,13 +136,38 @@ public class UserRepositoryImpl implements UserRepository {
      * @return List of all users
      */
     @Override
+    @ReadOnly
     public List<User> findAll(){
-        String sqlFindAll = """
-                SELECT * FROM coworking.users;
-                """;
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL)) {
 
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<User> users = new ArrayList<>();
+
+            while (resultSet.next()) {
+                users.add(buildUser(resultSet));
+            }
+
+            return users;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Retrieves a page of users ordered by ID from the database.
+     * @param afterId ID of the last user of the previous page, or null for the first page
+     * @param limit Maximum number of users to return
+     * @return List of at most {@code limit} users
+     */
+    @Override
+    @ReadOnly
+    public List<User> findPage(Long afterId, int limit) {
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindAll)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_PAGE)) {
+            preparedStatement.setLong(1, afterId != null ? afterId : 0L);
+            preparedStatement.setInt(2, limit);
 
             ResultSet resultSet = preparedStatement.executeQuery();
             List<User> users = new ArrayList<>();
@@ -118,6 +183,27 @@ public class UserRepositoryImpl implements UserRepository {
         }
     }
 
+    /**
+     * Passes every user ordered by ID to the given action while the result set is read.
+     * @param action Action invoked for each user
+     */
+    @Override
+    @ReadOnly
+    public void forEach(Consumer<? super User> action) {
+        try (Connection connection = connectionManager.getStreamingConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL_ORDERED)) {
+            preparedStatement.setFetchSize(connectionManager.getFetchSize());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(buildUser(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+        }
+    }
+
     /**
      * Saves a new user to the database.
      * @param user User object to save
@@ -125,18 +211,10 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Override
     public User save(User user){
-        String sqlSave = """
-                INSERT INTO coworking.users(username, password, role)
-                VALUES (?,?,?);
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlSave, Statement.RETURN_GENERATED_KEYS)) {
-
-            preparedStatement.setString(1, user.getUsername());
-            preparedStatement.setString(2, user.getPassword());
-            preparedStatement.setString(3, user.getRole().toString());
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE, Statement.RETURN_GENERATED_KEYS)) {
 
+            bindUser(preparedStatement, user);
             preparedStatement.executeUpdate();
             ResultSet keys = preparedStatement.getGeneratedKeys();
 
@@ -154,11 +232,20 @@ public class UserRepositoryImpl implements UserRepository {
     /**
      * Updates existing user.
      * @param user User object to update
-     * @return Always returns false as update operation is not implemented
+     * @return true if the user was updated, false otherwise
      */
     @Override
     public boolean update(User user) {
-        return false;
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_UPDATE)) {
+            int index = bindUser(preparedStatement, user);
+            preparedStatement.setLong(index, user.getId());
+            return preparedStatement.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return false;
+        }
     }
 
     /**
@@ -167,14 +254,29 @@ public class UserRepositoryImpl implements UserRepository {
      * @return Optional containing the user if found, otherwise empty
      */
     @Override
+    @ReadOnly
     public Optional<User> findByUsername(String username){
-        String sqlFindByUsername = """
-                SELECT * FROM coworking.users
-                WHERE username=?;
-                """;
+        return findUserByUsername(username);
+    }
+
+    /**
+     * Retrieves a user by their username from the primary database.
+     * @param username Username of the user to retrieve
+     * @return Optional containing the user if found, otherwise empty
+     */
+    @Override
+    public Optional<User> findByUsernameOnPrimary(String username){
+        return findUserByUsername(username);
+    }
 
+    /**
+     * Retrieves a user by their username from the database the connections of the current thread are borrowed from.
+     * @param username Username of the user to retrieve
+     * @return Optional containing the user if found, otherwise empty
+     */
+    private Optional<User> findUserByUsername(String username){
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindByUsername)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_USERNAME)) {
             preparedStatement.setString(1, username);
             ResultSet resultSet = preparedStatement.executeQuery();
 
@@ -189,6 +291,47 @@ public class UserRepositoryImpl implements UserRepository {
         }
     }
 
+    /**
+     * Retrieves all users with one of the given IDs in a single query.
+     * @param ids IDs of the users to retrieve
+     * @return List of found users, IDs without a user are left out
+     */
+    @Override
+    @ReadOnly
+    public List<User> findAllByIds(Collection<Long> ids){
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL_BY_IDS)) {
+
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<User> users = new ArrayList<>();
+
+            while (resultSet.next()) {
+                users.add(buildUser(resultSet));
+            }
+
+            return users;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Binds the columns of a user in the order used by the insert and update statements.
+     * @param preparedStatement Statement to bind
+     * @param user User to bind
+     * @return Index of the first parameter left unbound
+     * @throws SQLException If a parameter can not be set
+     */
+    private static int bindUser(PreparedStatement preparedStatement, User user) throws SQLException {
+        preparedStatement.setString(1, user.getUsername());
+        preparedStatement.setString(2, user.getPassword());
+        preparedStatement.setString(3, user.getRole().name());
+        return 4;
+    }
+
     /**
      * Builds a User object from the ResultSet.
      * @param resultSet ResultSet containing user data
@@ -1,6 +1,7 @@
 package org.example.repository.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.example.annotations.ReadOnly;
 import org.example.exceptions.WorkspaceAlreadyExistException;
 import org.example.repository.WorkspaceRepository;
 import org.example.entity.Workspace;
@@ -9,8 +10,10 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Implementation of WorkspaceRepository interface for interacting with Workspace entities in the database.
@@ -19,6 +22,67 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class WorkspaceRepositoryImpl implements WorkspaceRepository {
 
+    private static final String SQL_FIND_ALL = """
+            SELECT * FROM coworking.workspaces;
+            """;
+
+    private static final String SQL_FIND_PAGE = """
+            SELECT * FROM coworking.workspaces
+            WHERE id > ?
+            ORDER BY id
+            LIMIT ?;
+            """;
+
+    private static final String SQL_FIND_ALL_ORDERED = """
+            SELECT * FROM coworking.workspaces
+            ORDER BY id;
+            """;
+
+    private static final String SQL_FIND_BY_ID = """
+            SELECT * FROM coworking.workspaces
+            WHERE id=?;
+            """;
+
+    private static final String SQL_DELETE_BY_ID = """
+            DELETE FROM coworking.workspaces
+            WHERE id = ?;
+            """;
+
+    private static final String SQL_DELETE_ALL = """
+            DELETE FROM coworking.workspaces;
+            """;
+
+    private static final String SQL_SAVE = """
+            INSERT INTO coworking.workspaces(name)
+            SELECT ?
+            WHERE NOT EXISTS (
+                SELECT 1
+                FROM coworking.workspaces
+                WHERE name = ?
+            );
+            """;
+
+    private static final String SQL_UPDATE = """
+            UPDATE coworking.workspaces
+            SET name = ?
+            WHERE id = ?;
+            """;
+
+    private static final String SQL_FIND_BY_NAME = """
+            SELECT * FROM coworking.workspaces
+            WHERE name=?;
+            """;
+
+    private static final String SQL_FIND_ALL_BY_NAMES = """
+            SELECT * FROM coworking.workspaces
+            WHERE name = ANY(?);
+            """;
+
+    private static final String SQL_DELETE_BY_NAME = """
+            DELETE FROM coworking.workspaces
+            WHERE name = ?;
+            """;
+
     private final ConnectionManager connectionManager;
 
     /**
@@ -26,13 +90,38 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
      * @return List of all workspaces
      */
     @Override
+    @ReadOnly
     public List<Workspace> findAll(){
-        String sqlFindAll = """
-                SELECT * FROM coworking.workspaces;
-                """;
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL)) {
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<Workspace> workspaces = new ArrayList<>();
+
+            while (resultSet.next()) {
+                workspaces.add(buildWorkspace(resultSet));
+            }
 
+            return workspaces;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Retrieves a page of workspaces ordered by ID from the database.
+     * @param afterId ID of the last workspace of the previous page, or null for the first page
+     * @param limit Maximum number of workspaces to return
+     * @return List of at most {@code limit} workspaces
+     */
+    @Override
+    @ReadOnly
+    public List<Workspace> findPage(Long afterId, int limit) {
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindAll)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_PAGE)) {
+            preparedStatement.setLong(1, afterId != null ? afterId : 0L);
+            preparedStatement.setInt(2, limit);
 
             ResultSet resultSet = preparedStatement.executeQuery();
             List<Workspace> workspaces = new ArrayList<>();
@@ -48,6 +137,27 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
         }
     }
 
+    /**
+     * Passes every workspace ordered by ID to the given action while the result set is read.
+     * @param action Action invoked for each workspace
+     */
+    @Override
+    @ReadOnly
+    public void forEach(Consumer<? super Workspace> action) {
+        try (Connection connection = connectionManager.getStreamingConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL_ORDERED)) {
+            preparedStatement.setFetchSize(connectionManager.getFetchSize());
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    action.accept(buildWorkspace(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+        }
+    }
+
     /**
      * Retrieves a workspace by its ID from the database.
      * @param id ID of the workspace to retrieve
@@ -55,14 +165,9 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
      */
     @Override
     public Optional<Workspace> findById(Long id){
-        String sqlFindById = """
-                SELECT * FROM coworking.workspaces
-                WHERE id=?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindById)) {
-            preparedStatement.setObject(1, id);
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_ID)) {
+            preparedStatement.setLong(1, id);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next()
@@ -81,14 +186,9 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
      */
     @Override
     public boolean deleteById(Long id){
-        String sqlDeleteById = """
-                DELETE FROM coworking.workspaces
-                WHERE id = ?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteById)) {
-            preparedStatement.setObject(1, id);
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_BY_ID)) {
+            preparedStatement.setLong(1, id);
             return preparedStatement.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -103,12 +203,8 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
      */
     @Override
     public boolean deleteAll() {
-        String sqlDeleteAll = """
-            DELETE FROM coworking.workspaces;
-            """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteAll)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_ALL)) {
             return preparedStatement.executeUpdate() > 0;
 
         } catch (SQLException e) {
@@ -124,18 +220,8 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
      */
     @Override
     public Workspace save(Workspace workspace) {
-        String sqlSave = """
-        INSERT INTO coworking.workspaces(name)
-        SELECT ?
-        WHERE NOT EXISTS (
-            SELECT 1
-            FROM coworking.workspaces
-            WHERE name = ?
-        );
-        """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlSave, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_SAVE, Statement.RETURN_GENERATED_KEYS)) {
 
             preparedStatement.setString(1, workspace.getName());
             preparedStatement.setString(2, workspace.getName());
@@ -164,14 +250,8 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
      */
     @Override
     public boolean update(Workspace workspace) {
-        String sqlUpdate = """
-            UPDATE coworking.workspaces
-            SET name = ?
-            WHERE id = ?;
-            """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlUpdate)) {
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_UPDATE)) {
 
             preparedStatement.setString(1, workspace.getName());
             preparedStatement.setLong(2, workspace.getId());
@@ -189,15 +269,11 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
      * @return Optional containing the workspace if found, otherwise empty
      */
     @Override
+    @ReadOnly
     public Optional<Workspace> findByName(String name){
-        String sqlFindByName = """
-                SELECT * FROM coworking.workspaces
-                WHERE name=?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlFindByName)) {
-            preparedStatement.setObject(1, name);
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_BY_NAME)) {
+            preparedStatement.setString(1, name);
             ResultSet resultSet = preparedStatement.executeQuery();
 
             return resultSet.next()
@@ -209,6 +285,32 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
         }
     }
 
+    /**
+     * Finds all workspaces with one of the given names in a single query.
+     * @param names Names of the workspaces to find
+     * @return List of found workspaces, names without a workspace are left out
+     */
+    @Override
+    public List<Workspace> findAllByNames(Collection<String> names){
+        try (Connection connection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_FIND_ALL_BY_NAMES)) {
+
+            preparedStatement.setArray(1, connection.createArrayOf("text", names.toArray()));
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+            List<Workspace> workspaces = new ArrayList<>();
+
+            while (resultSet.next()) {
+                workspaces.add(buildWorkspace(resultSet));
+            }
+
+            return workspaces;
+        } catch (SQLException e) {
+            System.err.println("Error during execution of SQL query: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Deletes a workspace by its name from the database.
      * @param name Name of the workspace to delete
@@ -216,14 +318,9 @@ public class WorkspaceRepositoryImpl implements WorkspaceRepository {
      */
     @Override
     public boolean deleteByName(String name){
-        String sqlDeleteByName = """
-                DELETE FROM coworking.workspaces
-                WHERE name = ?;
-                """;
-
         try (Connection connection = connectionManager.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sqlDeleteByName)) {
-            preparedStatement.setObject(1, name);
+             PreparedStatement preparedStatement = connection.prepareStatement(SQL_DELETE_BY_NAME)) {
+            preparedStatement.setString(1, name);
 
             return preparedStatement.executeUpdate() > 0;
 
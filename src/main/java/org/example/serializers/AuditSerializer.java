@@ -0,0 +1,42 @@
+package org.example.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.example.entity.Audit;
+
+import java.io.IOException;
+
+import static org.example.utils.JsonUtil.writeDateTimeField;
+import static org.example.utils.JsonUtil.writeNumberField;
+import static org.example.utils.JsonUtil.writeStringField;
+
+/**
+ * Writes an {@link Audit} straight to the generator with pre-encoded field names,
+ * producing the same JSON as the bean serializer without introspecting the class.
+ */
+public class AuditSerializer extends StdSerializer<Audit> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString AUDIT_TYPE = new SerializedString("auditType");
+    private static final SerializableString ACTION_TYPE = new SerializedString("actionType");
+    private static final SerializableString AUDIT_TIMESTAMP = new SerializedString("auditTimestamp");
+
+    public AuditSerializer() {
+        super(Audit.class);
+    }
+
+    @Override
+    public void serialize(Audit audit, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(audit);
+        writeNumberField(generator, ID, audit.getId());
+        writeStringField(generator, USERNAME, audit.getUsername());
+        writeStringField(generator, AUDIT_TYPE, audit.getAuditType() == null ? null : audit.getAuditType().name());
+        writeStringField(generator, ACTION_TYPE, audit.getActionType() == null ? null : audit.getActionType().name());
+        writeDateTimeField(generator, AUDIT_TIMESTAMP, audit.getAuditTimestamp());
+        generator.writeEndObject();
+    }
+}
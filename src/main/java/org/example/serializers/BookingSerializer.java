@@ -0,0 +1,45 @@
+package org.example.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.example.entity.Booking;
+
+import java.io.IOException;
+
+import static org.example.utils.JsonUtil.writeDateTimeField;
+import static org.example.utils.JsonUtil.writeNumberField;
+
+/**
+ * Writes a {@link Booking} straight to the generator with pre-encoded field names,
+ * producing the same JSON as the bean serializer without introspecting the class.
+ */
+public class BookingSerializer extends StdSerializer<Booking> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString WORKSPACE_ID = new SerializedString("workspaceId");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+    private static final SerializableString START_TIME = new SerializedString("startTime");
+    private static final SerializableString END_TIME = new SerializedString("endTime");
+    private static final SerializableString VERSION = new SerializedString("version");
+    private static final SerializableString SERIES_ID = new SerializedString("seriesId");
+
+    public BookingSerializer() {
+        super(Booking.class);
+    }
+
+    @Override
+    public void serialize(Booking booking, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(booking);
+        writeNumberField(generator, ID, booking.getId());
+        writeNumberField(generator, WORKSPACE_ID, booking.getWorkspaceId());
+        writeNumberField(generator, USER_ID, booking.getUserId());
+        writeDateTimeField(generator, START_TIME, booking.getStartTime());
+        writeDateTimeField(generator, END_TIME, booking.getEndTime());
+        writeNumberField(generator, VERSION, booking.getVersion());
+        writeNumberField(generator, SERIES_ID, booking.getSeriesId());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.example.entity.Workspace;
+
+import java.io.IOException;
+
+import static org.example.utils.JsonUtil.writeNumberField;
+import static org.example.utils.JsonUtil.writeStringField;
+
+/**
+ * Writes a {@link Workspace} straight to the generator with pre-encoded field names,
+ * producing the same JSON as the bean serializer without introspecting the class.
+ */
+public class WorkspaceSerializer extends StdSerializer<Workspace> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+
+    public WorkspaceSerializer() {
+        super(Workspace.class);
+    }
+
+    @Override
+    public void serialize(Workspace workspace, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(workspace);
+        writeNumberField(generator, ID, workspace.getId());
+        writeStringField(generator, NAME, workspace.getName());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.analytics.UtilizationAggregate;
+import org.example.analytics.UtilizationAggregator;
+import org.example.dto.DailyOccupancy;
+import org.example.dto.UserBookingStats;
+import org.example.dto.UtilizationReport;
+import org.example.dto.WorkspaceUtilization;
+import org.example.entity.User;
+import org.example.entity.Workspace;
+import org.example.exceptions.NotValidArgumentException;
+import org.example.repository.BookingRepository;
+import org.example.repository.UserRepository;
+import org.example.repository.WorkspaceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Service class computing utilization reports of the workspaces for administrators.
+ * The bookings are added up either in memory by the {@link UtilizationAggregator}, or by the database when the
+ * aggregation is pushed down, which transfers only the totals instead of every booking.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+
+    private static final int HOURS_PER_DAY = 24;
+    private static final double SECONDS_PER_HOUR = UtilizationAggregate.SECONDS_PER_HOUR;
+
+    private final BookingRepository bookingRepository;
+    private final WorkspaceRepository workspaceRepository;
+    private final UserRepository userRepository;
+    private final UtilizationAggregator utilizationAggregator;
+
+    @Value("${analytics.max-days:366}")
+    private int maxDays = 366;
+
+    @Value("${analytics.push-down:false}")
+    private boolean pushDown = false;
+
+    @Value("${analytics.peak-hours:3}")
+    private int peakHours = 3;
+
+    @Value("${analytics.frequent-reschedulers.min-bookings:3}")
+    private int reschedulerMinBookings = 3;
+
+    @Value("${analytics.frequent-reschedulers.limit:10}")
+    private int reschedulerLimit = 10;
+
+    /**
+     * Computes the utilization of the workspaces over a range of days.
+     *
+     * @param from     the first day of the range, e.g. {@code 2024-06-01}
+     * @param to       the last day of the range, inclusive
+     * @param pushDown whether to add up the bookings in the database, or null for the configured default
+     * @return the utilization report
+     * @throws NotValidArgumentException if the range is missing, not valid or too long
+     */
+    public UtilizationReport getUtilization(String from, String to, Boolean pushDown) throws NotValidArgumentException {
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            throw new NotValidArgumentException("Both days of the range are required");
+        }
+        LocalDate firstDay;
+        LocalDate lastDay;
+        try {
+            firstDay = LocalDate.parse(from);
+            lastDay = LocalDate.parse(to);
+        } catch (DateTimeParseException e) {
+            throw new NotValidArgumentException("Date range is not valid");
+        }
+        if (lastDay.isBefore(firstDay)) {
+            throw new NotValidArgumentException("Date range is not valid");
+        }
+        int days = (int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        if (days > maxDays) {
+            throw new NotValidArgumentException("Date range is longer than " + maxDays + " days");
+        }
+
+        List<Workspace> workspaces = workspaceRepository.findAll();
+        Map<Long, Integer> workspaceRows = new HashMap<>();
+        for (int row = 0; row < workspaces.size(); row++) {
+            workspaceRows.put(workspaces.get(row).getId(), row);
+        }
+
+        boolean pushedDown = pushDown != null ? pushDown : this.pushDown;
+        LocalDateTime start = firstDay.atStartOfDay();
+        LocalDateTime end = lastDay.plusDays(1).atStartOfDay();
+        UtilizationAggregate aggregate;
+        if (pushedDown) {
+            aggregate = new UtilizationAggregate(workspaceRows, days * HOURS_PER_DAY);
+            bookingRepository.aggregateUtilization(start, end, aggregate);
+        } else {
+            aggregate = utilizationAggregator.aggregate(start, end, workspaceRows);
+        }
+
+        List<Double> hourlyOccupancy = hourlyOccupancy(aggregate.getHourSeconds(), days, workspaces.size());
+        return UtilizationReport.builder()
+                .from(firstDay)
+                .to(lastDay)
+                .pushedDown(pushedDown)
+                .workspaces(workspaceUtilization(workspaces, aggregate, days))
+                .hourlyOccupancy(hourlyOccupancy)
+                .peakHours(IntStream.range(0, HOURS_PER_DAY)
+                        .filter(hour -> hourlyOccupancy.get(hour) > 0)
+                        .boxed()
+                        .sorted(Comparator.comparing(hourlyOccupancy::get).reversed())
+                        .limit(peakHours)
+                        .toList())
+                .frequentReschedulers(frequentReschedulers(aggregate.getUsers()))
+                .dailyHeatmap(dailyHeatmap(aggregate.getHourSeconds(), firstDay, days, workspaces.size()))
+                .build();
+    }
+
+    private List<WorkspaceUtilization> workspaceUtilization(List<Workspace> workspaces, UtilizationAggregate aggregate, int days) {
+        double periodHours = (double) days * HOURS_PER_DAY;
+        List<WorkspaceUtilization> utilization = new ArrayList<>(workspaces.size());
+        for (int row = 0; row < workspaces.size(); row++) {
+            double bookedHours = aggregate.getWorkspaceSeconds()[row] / SECONDS_PER_HOUR;
+            utilization.add(WorkspaceUtilization.builder()
+                    .workspaceId(workspaces.get(row).getId())
+                    .name(workspaces.get(row).getName())
+                    .bookings(aggregate.getWorkspaceBookings()[row])
+                    .bookedHours(round(bookedHours))
+                    .occupancy(percent(bookedHours, periodHours))
+                    .build());
+        }
+        utilization.sort(Comparator.comparingDouble(WorkspaceUtilization::getOccupancy).reversed()
+                .thenComparing(WorkspaceUtilization::getWorkspaceId));
+        return utilization;
+    }
+
+    private List<Double> hourlyOccupancy(long[] hourSeconds, int days, int workspaceCount) {
+        long[] secondsByHourOfDay = new long[HOURS_PER_DAY];
+        for (int bucket = 0; bucket < hourSeconds.length; bucket++) {
+            secondsByHourOfDay[bucket % HOURS_PER_DAY] += hourSeconds[bucket];
+        }
+        double capacity = (double) days * workspaceCount * SECONDS_PER_HOUR;
+        List<Double> occupancy = new ArrayList<>(HOURS_PER_DAY);
+        for (long seconds : secondsByHourOfDay) {
+            occupancy.add(percent(seconds, capacity));
+        }
+        return occupancy;
+    }
+
+    private List<DailyOccupancy> dailyHeatmap(long[] hourSeconds, LocalDate firstDay, int days, int workspaceCount) {
+        double capacity = workspaceCount * SECONDS_PER_HOUR;
+        List<DailyOccupancy> heatmap = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            List<Double> occupancy = new ArrayList<>(HOURS_PER_DAY);
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                occupancy.add(percent(hourSeconds[day * HOURS_PER_DAY + hour], capacity));
+            }
+            heatmap.add(new DailyOccupancy(firstDay.plusDays(day), occupancy));
+        }
+        return heatmap;
+    }
+
+    private List<UserBookingStats> frequentReschedulers(Map<Long, long[]> users) {
+        List<UserBookingStats> reschedulers = users.entrySet().stream()
+                .filter(entry -> entry.getValue()[UtilizationAggregate.BOOKINGS] >= reschedulerMinBookings
+                        && entry.getValue()[UtilizationAggregate.RESCHEDULED] > 0)
+                .map(entry -> {
+                    long bookings = entry.getValue()[UtilizationAggregate.BOOKINGS];
+                    long rescheduled = entry.getValue()[UtilizationAggregate.RESCHEDULED];
+                    return UserBookingStats.builder()
+                            .userId(entry.getKey())
+                            .bookings(bookings)
+                            .rescheduled(rescheduled)
+                            .rescheduledShare(percent(rescheduled, bookings))
+                            .build();
+                })
+                .sorted(Comparator.comparingDouble(UserBookingStats::getRescheduledShare).reversed()
+                        .thenComparing(Comparator.comparingLong(UserBookingStats::getBookings).reversed())
+                        .thenComparing(UserBookingStats::getUserId))
+                .limit(reschedulerLimit)
+                .toList();
+        if (reschedulers.isEmpty()) {
+            return reschedulers;
+        }
+
+        Map<Long, String> usernames = userRepository.findAllByIds(reschedulers.stream().map(UserBookingStats::getUserId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, User::getUsername));
+        reschedulers.forEach(stats -> stats.setUsername(usernames.get(stats.getUserId())));
+        return reschedulers;
+    }
+
+    private static double percent(double part, double whole) {
+        return whole > 0 ? round(part * 100 / whole) : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -1,13 +1,28 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.audit.AuditArchive;
+import org.example.audit.AuditWriter;
+import org.example.dto.AuditWriterStats;
+import org.example.dto.Page;
 import org.example.repository.AuditRepository;
 import org.example.entity.Audit;
 import org.example.entity.types.ActionType;
 import org.example.entity.types.AuditType;
+import org.example.exceptions.NotValidArgumentException;
+import org.example.utils.JsonUtil;
+import org.example.utils.PageUtil;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing audits.
@@ -18,6 +33,10 @@ public class AuditService {
 
     private final AuditRepository auditRepository;
 
+    private final AuditWriter auditWriter;
+
+    private final AuditArchive auditArchive;
+
     /**
      * Saves an audit record.
      *
@@ -37,6 +56,89 @@ public class AuditService {
         return auditRepository.findAll();
     }
 
+    /**
+     * Retrieves a page of audit records ordered by id.
+     *
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the maximum number of records on the page, or null for the default
+     * @return the page of audit records with the cursor of the next page
+     */
+    public Page<Audit> getAuditsPage(String cursor, Integer limit) {
+        int pageSize = PageUtil.checkLimit(limit);
+        List<Audit> audits = auditRepository.findPage(PageUtil.decodeCursor(cursor), pageSize + 1);
+        return PageUtil.toPage(audits, pageSize, Audit::getId);
+    }
+
+    /**
+     * Retrieves a page of audit records written within a time window, ordered by id.
+     * Only the partitions of the months in the window are read.
+     *
+     * @param from   the start of the window, inclusive
+     * @param to     the end of the window, exclusive
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the maximum number of records on the page, or null for the default
+     * @return the page of audit records with the cursor of the next page
+     * @throws NotValidArgumentException if a bound of the window is missing or not valid
+     */
+    public Page<Audit> getAuditsPage(String from, String to, String cursor, Integer limit) throws NotValidArgumentException {
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            throw new NotValidArgumentException("Both bounds of the time window are required");
+        }
+        int pageSize = PageUtil.checkLimit(limit);
+        List<Audit> audits;
+        try {
+            audits = auditRepository.findPage(LocalDateTime.parse(from, JsonUtil.DATE_TIME_FORMATTER),
+                    LocalDateTime.parse(to, JsonUtil.DATE_TIME_FORMATTER), PageUtil.decodeCursor(cursor), pageSize + 1);
+        } catch (DateTimeParseException e) {
+            throw new NotValidArgumentException("Time window is not valid");
+        }
+        return PageUtil.toPage(audits, pageSize, Audit::getId);
+    }
+
+    /**
+     * Searches the audit records written within a time window, optionally of one user only, in the database
+     * and in the archive, ordered by timestamp and id.
+     *
+     * @param from     the start of the window, inclusive
+     * @param to       the end of the window, exclusive
+     * @param username the user the records belong to, or null for the records of all users
+     * @param limit    the maximum number of records to return, or null for the default
+     * @return at most {@code limit} audit records written within the window
+     * @throws NotValidArgumentException if a bound of the window is missing or not valid
+     */
+    public List<Audit> searchAudits(String from, String to, String username, Integer limit) throws NotValidArgumentException {
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            throw new NotValidArgumentException("Both bounds of the time window are required");
+        }
+        int maxResults = PageUtil.checkLimit(limit);
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = LocalDateTime.parse(from, JsonUtil.DATE_TIME_FORMATTER);
+            end = LocalDateTime.parse(to, JsonUtil.DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new NotValidArgumentException("Time window is not valid");
+        }
+        String user = username == null || username.isBlank() ? null : username;
+
+        Set<Long> ids = new HashSet<>();
+        return Stream.concat(auditRepository.findInRange(start, end, user, maxResults).stream(),
+                        auditArchive.find(start, end, user, maxResults).stream())
+                .sorted(Comparator.comparing(Audit::getAuditTimestamp).thenComparing(Audit::getId))
+                .filter(audit -> ids.add(audit.getId()))
+                .limit(maxResults)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Passes every audit record ordered by id to the given action without loading all of them into memory.
+     *
+     * @param action the action invoked for each audit record
+     */
+    public void forEachAudit(Consumer<? super Audit> action) {
+        auditRepository.forEach(action);
+    }
+
     /**
      * Performs an audit for a specific action.
      *
@@ -54,4 +156,28 @@ public class AuditService {
 
         return save(audit);
     }
+
+    /**
+     * Queues an audit for a specific action. The record is written to the database in the background.
+     *
+     * @param username   the login associated with the action
+     * @param actionType the type of action
+     * @param auditType  the type of audit (SUCCESS or FAIL)
+     */
+    public void submit(String username, ActionType actionType, AuditType auditType) {
+        auditWriter.submit(Audit.builder()
+                .username(username)
+                .actionType(actionType)
+                .auditType(auditType)
+                .build());
+    }
+
+    /**
+     * Retrieves the statistics of the background audit writer.
+     *
+     * @return the current audit writer statistics
+     */
+    public AuditWriterStats getWriterStats() {
+        return auditWriter.getStats();
+    }
 }
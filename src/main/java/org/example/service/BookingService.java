@@ -2,22 +2,47 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.annotations.Auditable;
+import org.example.exceptions.BookingNotFoundException;
+import org.example.exceptions.BookingSaveFailedException;
+import org.example.exceptions.BookingUpdateFailedException;
+import org.example.exceptions.BookingVersionConflictException;
 import org.example.exceptions.NotValidArgumentException;
 import org.example.repository.BookingRepository;
+import org.example.dto.BatchBookingMode;
+import org.example.dto.BatchBookingResponse;
 import org.example.dto.BookingRequest;
+import org.example.dto.BookingResult;
+import org.example.dto.BookingResultStatus;
+import org.example.dto.BookingSeriesRequest;
+import org.example.dto.BookingSeriesResponse;
+import org.example.dto.Page;
+import org.example.dto.RescheduleRequest;
 import org.example.dto.UserDTO;
 import org.example.entity.Booking;
+import org.example.entity.BookingSeries;
 import org.example.entity.Workspace;
 import org.example.entity.types.ActionType;
 import org.example.exceptions.UserNotFoundException;
 import org.example.exceptions.WorkspaceAlreadyBookedException;
+import org.example.exceptions.WorkspaceLockTimeoutException;
 import org.example.exceptions.WorkspaceNotFoundException;
+import org.example.utils.PageUtil;
+import org.example.utils.RecurrenceUtil;
 import org.example.utils.ValidationUtil;
+import org.example.utils.WorkspaceLockManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing bookings of workspaces.
@@ -28,6 +53,15 @@ public class BookingService {
     private final UserService userService;
     private final WorkspaceService workspaceService;
     private final BookingRepository bookingDao;
+    private final WorkspaceLockManager workspaceLockManager;
+
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    @Value("${booking.batch.max-size:1000}")
+    private int maxBatchSize = 1000;
+
+    @Value("${booking.series.max-occurrences:500}")
+    private int maxSeriesOccurrences = 500;
 
     /**
      * Retrieves a list of all available workspaces at the current time.
@@ -57,29 +91,233 @@ public class BookingService {
 
     /**
      * Books a workspace for a user within a specified time period.
+     * Bookings of the same workspace are saved one at a time under the lock of the workspace.
      * @param bookingRequest DTO with info about booking
      * @param username Username of the user booking the workspace
      * @return The booking entity that was created
+     * @throws NotValidArgumentException If the period is empty
      * @throws WorkspaceNotFoundException If the specified workspace does not exist
      * @throws UserNotFoundException If the user specified by username does not exist
      * @throws WorkspaceAlreadyBookedException If the workspace is already booked for the specified period
+     * @throws WorkspaceLockTimeoutException If the workspace stays locked by other bookings for too long
      */
     @Auditable(actionType = ActionType.BOOK_WORKSPACE)
     public Booking bookWorkspace(BookingRequest bookingRequest, String username) throws WorkspaceNotFoundException, UserNotFoundException, WorkspaceAlreadyBookedException {
         ValidationUtil.validate(bookingRequest);
+        checkPeriod(bookingRequest.getStartTime(), bookingRequest.getEndTime());
 
         Workspace workspace = workspaceService.getWorkspace(bookingRequest.getWorkspaceName());
         UserDTO user = userService.getUser(username);
 
-        Booking booking = bookingDao.save(Booking.builder()
+        Booking booking = Booking.builder()
                     .workspaceId(workspace.getId())
                     .userId(user.getId())
                     .startTime(bookingRequest.getStartTime())
                     .endTime(bookingRequest.getEndTime())
-                    .build());
+                    .build();
+        return workspaceLockManager.callLocked(workspace.getId(), () -> bookingDao.save(booking));
+    }
+
+    /**
+     * Moves a booking of the user to another workspace or period in place.
+     * The change is one conditional update, so the booking keeps its ID and nobody can take the old period
+     * in between, as could happen with a cancellation followed by a new booking.
+     * @param id ID of the booking to reschedule
+     * @param rescheduleRequest DTO with the new workspace and period and the version of the booking the user has read
+     * @param username Username of the user owning the booking
+     * @return The rescheduled booking with its new version
+     * @throws NotValidArgumentException If the request is not valid
+     * @throws WorkspaceNotFoundException If the specified workspace does not exist
+     * @throws UserNotFoundException If the user specified by username does not exist
+     * @throws BookingNotFoundException If the user has no booking with the ID
+     * @throws BookingVersionConflictException If the booking was changed since the user read it
+     * @throws WorkspaceAlreadyBookedException If the workspace is already booked for the new period
+     * @throws BookingUpdateFailedException If the change could not be stored
+     */
+    @Auditable(actionType = ActionType.RESCHEDULE_BOOKING)
+    public Booking rescheduleBooking(Long id, RescheduleRequest rescheduleRequest, String username)
+            throws NotValidArgumentException, WorkspaceNotFoundException, UserNotFoundException,
+            BookingNotFoundException, BookingVersionConflictException, WorkspaceAlreadyBookedException,
+            BookingUpdateFailedException {
+        ValidationUtil.validate(rescheduleRequest);
+        checkPeriod(rescheduleRequest.getStartTime(), rescheduleRequest.getEndTime());
+
+        Workspace workspace = workspaceService.getWorkspace(rescheduleRequest.getWorkspaceName());
+        UserDTO user = userService.getUser(username);
+
+        Booking booking = Booking.builder()
+                .id(id)
+                .workspaceId(workspace.getId())
+                .userId(user.getId())
+                .startTime(rescheduleRequest.getStartTime())
+                .endTime(rescheduleRequest.getEndTime())
+                .version(rescheduleRequest.getVersion())
+                .build();
+        boolean updated = workspaceLockManager.callLocked(workspace.getId(), () -> bookingDao.update(booking));
+        if (!updated) {
+            throw new BookingUpdateFailedException("The booking could not be rescheduled, try again later.");
+        }
         return booking;
     }
 
+    /**
+     * Books several workspaces for a user at once.
+     * Workspaces of the whole batch are resolved with one lookup and conflicts with stored bookings are found
+     * with one query. Bookable items are inserted with a single batch in one transaction. If a concurrent
+     * booking takes one of the periods between the check and the insert, the batch is checked again.
+     * @param bookingRequests DTOs with info about the bookings
+     * @param username Username of the user booking the workspaces
+     * @param mode Whether the bookable items are booked when other items fail
+     * @return The outcome of every requested booking
+     * @throws UserNotFoundException If the user specified by username does not exist
+     * @throws NotValidArgumentException If the batch is empty or too large
+     * @throws BookingSaveFailedException If the bookable items could not be stored
+     */
+    @Auditable(actionType = ActionType.BOOK_WORKSPACE)
+    public BatchBookingResponse bookWorkspaces(List<BookingRequest> bookingRequests, String username, BatchBookingMode mode)
+            throws UserNotFoundException, NotValidArgumentException, BookingSaveFailedException {
+        if (bookingRequests == null || bookingRequests.isEmpty()) {
+            throw new NotValidArgumentException("Batch of bookings can not be empty");
+        }
+        if (bookingRequests.size() > maxBatchSize) {
+            throw new NotValidArgumentException("Batch of bookings can not contain more than " + maxBatchSize + " items");
+        }
+
+        UserDTO user = userService.getUser(username);
+        Map<String, Workspace> workspaces = workspaceService.getWorkspaces(bookingRequests.stream()
+                .filter(Objects::nonNull)
+                .map(BookingRequest::getWorkspaceName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        BookingResult[] results = new BookingResult[bookingRequests.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<Booking> candidates = new ArrayList<>();
+        for (int i = 0; i < bookingRequests.size(); i++) {
+            BookingRequest bookingRequest = bookingRequests.get(i);
+            String problem = checkBookingRequest(bookingRequest, workspaces);
+            if (problem != null) {
+                results[i] = buildResult(i, BookingResultStatus.INVALID, null, problem);
+                continue;
+            }
+            positions.add(i);
+            candidates.add(Booking.builder()
+                    .workspaceId(workspaces.get(bookingRequest.getWorkspaceName()).getId())
+                    .userId(user.getId())
+                    .startTime(bookingRequest.getStartTime())
+                    .endTime(bookingRequest.getEndTime())
+                    .build());
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            Set<Integer> conflicting = bookingDao.findConflicting(candidates);
+            Map<Long, List<Booking>> acceptedByWorkspace = new HashMap<>();
+            List<Integer> acceptedPositions = new ArrayList<>();
+            List<Booking> accepted = new ArrayList<>();
+
+            for (int j = 0; j < candidates.size(); j++) {
+                Booking candidate = candidates.get(j);
+                List<Booking> sameWorkspace = acceptedByWorkspace.computeIfAbsent(candidate.getWorkspaceId(), id -> new ArrayList<>());
+                if (conflicting.contains(j)) {
+                    results[positions.get(j)] = buildResult(positions.get(j), BookingResultStatus.CONFLICT, null,
+                            "The workspace is already booked for the specified period.");
+                } else if (sameWorkspace.stream().anyMatch(other -> overlaps(other, candidate))) {
+                    results[positions.get(j)] = buildResult(positions.get(j), BookingResultStatus.CONFLICT, null,
+                            "The period overlaps another booking of this batch.");
+                } else {
+                    sameWorkspace.add(candidate);
+                    acceptedPositions.add(positions.get(j));
+                    accepted.add(candidate);
+                }
+            }
+
+            if (mode == BatchBookingMode.ALL_OR_NOTHING && accepted.size() < bookingRequests.size()) {
+                for (Integer position : acceptedPositions) {
+                    results[position] = buildResult(position, BookingResultStatus.SKIPPED, null,
+                            "Not booked because other items of the batch failed.");
+                }
+                break;
+            }
+            if (accepted.isEmpty()) {
+                break;
+            }
+
+            try {
+                List<Booking> saved = bookingDao.saveAll(accepted);
+                if (saved.isEmpty()) {
+                    throw new BookingSaveFailedException("The bookings could not be saved, try again later.");
+                }
+                for (int k = 0; k < acceptedPositions.size(); k++) {
+                    int position = acceptedPositions.get(k);
+                    results[position] = buildResult(position, BookingResultStatus.CREATED, saved.get(k), null);
+                }
+                break;
+            } catch (WorkspaceAlreadyBookedException e) {
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+
+        return buildBatchResponse(mode, List.of(results));
+    }
+
+    /**
+     * Books a workspace for a user by a recurrence rule.
+     * The occurrences are expanded from the rule, checked against stored bookings with one query and inserted
+     * together with the series by one statement in one transaction, under the lock of the workspace.
+     * If a concurrent booking takes one of the periods between the check and the insert, the series is checked again.
+     * @param seriesRequest DTO with the workspace, the first occurrence and the recurrence rule
+     * @param username Username of the user booking the workspace
+     * @param mode Whether the free occurrences are booked when other occurrences conflict
+     * @return The series and the outcome of every occurrence
+     * @throws NotValidArgumentException If the request is not valid or the series has too many occurrences
+     * @throws WorkspaceNotFoundException If the specified workspace does not exist
+     * @throws UserNotFoundException If the user specified by username does not exist
+     * @throws WorkspaceLockTimeoutException If the workspace stays locked by other bookings for too long
+     * @throws BookingSaveFailedException If the series and its free occurrences could not be stored
+     */
+    @Auditable(actionType = ActionType.BOOK_SERIES)
+    public BookingSeriesResponse bookSeries(BookingSeriesRequest seriesRequest, String username, BatchBookingMode mode)
+            throws NotValidArgumentException, WorkspaceNotFoundException, UserNotFoundException {
+        checkSeriesRequest(seriesRequest);
+
+        Workspace workspace = workspaceService.getWorkspace(seriesRequest.getWorkspaceName());
+        UserDTO user = userService.getUser(username);
+
+        BookingSeries series = BookingSeries.builder()
+                .workspaceId(workspace.getId())
+                .userId(user.getId())
+                .frequency(seriesRequest.getFrequency())
+                .interval(seriesRequest.getInterval() == null ? 1 : seriesRequest.getInterval())
+                .daysOfWeek(seriesRequest.getDaysOfWeek())
+                .startTime(seriesRequest.getStartTime())
+                .endTime(seriesRequest.getEndTime())
+                .until(seriesRequest.getUntil())
+                .count(seriesRequest.getCount())
+                .build();
+        series.setDaysOfWeek(RecurrenceUtil.daysOf(series));
+
+        List<Booking> occurrences = RecurrenceUtil.occurrences(series)
+                .limit(maxSeriesOccurrences + 1L)
+                .collect(Collectors.toList());
+        if (occurrences.isEmpty()) {
+            throw new NotValidArgumentException("The series has no occurrences");
+        }
+        if (occurrences.size() > maxSeriesOccurrences) {
+            throw new NotValidArgumentException("Series can not contain more than " + maxSeriesOccurrences + " occurrences");
+        }
+
+        List<BookingResult> results = workspaceLockManager.callLocked(workspace.getId(), () -> bookOccurrences(series, occurrences, mode));
+        return BookingSeriesResponse.builder()
+                .series(series)
+                .mode(mode)
+                .created((int) results.stream().filter(result -> result.getStatus() == BookingResultStatus.CREATED).count())
+                .conflicts((int) results.stream().filter(result -> result.getStatus() == BookingResultStatus.CONFLICT).count())
+                .results(results)
+                .build();
+    }
+
     /**
      * Cancels a booking by its ID.
      * @param id ID of the booking to cancel
@@ -99,11 +337,37 @@ public class BookingService {
         checkParamNotNullOrBlank(startTimeStr);
         checkParamNotNullOrBlank(endTimeStr);
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-        LocalDateTime startTime = LocalDateTime.parse(startTimeStr, formatter);
-        LocalDateTime endTime = LocalDateTime.parse(endTimeStr, formatter);
+        return bookingDao.getFilteredBookingsByTimePeriod(parseTime(startTimeStr), parseTime(endTimeStr));
+    }
+
+    /**
+     * Retrieves a page of bookings filtered by a specified time period.
+     * @param startTimeStr Start time of the period
+     * @param endTimeStr End time of the period
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of bookings on the page, or null for the default
+     * @return Page of bookings within the specified time period
+     */
+    public Page<Booking> getFilteredBookingsByTimePeriod(String startTimeStr, String endTimeStr, String cursor, Integer limit) {
+        checkParamNotNullOrBlank(startTimeStr);
+        checkParamNotNullOrBlank(endTimeStr);
+        int pageSize = PageUtil.checkLimit(limit);
 
-        return bookingDao.getFilteredBookingsByTimePeriod(startTime, endTime);
+        List<Booking> bookings = bookingDao.getFilteredBookingsByTimePeriod(
+                parseTime(startTimeStr), parseTime(endTimeStr), PageUtil.decodeCursor(cursor), pageSize + 1);
+        return PageUtil.toPage(bookings, pageSize, Booking::getId);
+    }
+
+    /**
+     * Passes every booking within a specified time period to the given action without loading all of them into memory.
+     * @param startTimeStr Start time of the period
+     * @param endTimeStr End time of the period
+     * @param action Action invoked for each booking
+     */
+    public void forEachFilteredBookingByTimePeriod(String startTimeStr, String endTimeStr, Consumer<? super Booking> action) {
+        checkParamNotNullOrBlank(startTimeStr);
+        checkParamNotNullOrBlank(endTimeStr);
+        bookingDao.forEachFilteredBookingByTimePeriod(parseTime(startTimeStr), parseTime(endTimeStr), action);
     }
 
     /**
@@ -118,6 +382,35 @@ public class BookingService {
         return bookingDao.getFilteredBookingsByUsername(username);
     }
 
+    /**
+     * Retrieves a page of bookings filtered by a specific username.
+     * @param username Username of the user whose bookings are to be retrieved
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of bookings on the page, or null for the default
+     * @return Page of bookings made by the specified user
+     * @throws UserNotFoundException If the specified user does not exist
+     */
+    public Page<Booking> getFilteredBookingsByUsername(String username, String cursor, Integer limit) throws UserNotFoundException {
+        checkParamNotNullOrBlank(username);
+        int pageSize = PageUtil.checkLimit(limit);
+        userService.getUser(username);
+
+        List<Booking> bookings = bookingDao.getFilteredBookingsByUsername(username, PageUtil.decodeCursor(cursor), pageSize + 1);
+        return PageUtil.toPage(bookings, pageSize, Booking::getId);
+    }
+
+    /**
+     * Passes every booking of a specific user to the given action without loading all of them into memory.
+     * @param username Username of the user whose bookings are to be retrieved
+     * @param action Action invoked for each booking
+     * @throws UserNotFoundException If the specified user does not exist
+     */
+    public void forEachFilteredBookingByUsername(String username, Consumer<? super Booking> action) throws UserNotFoundException {
+        checkParamNotNullOrBlank(username);
+        userService.getUser(username);
+        bookingDao.forEachFilteredBookingByUsername(username, action);
+    }
+
     /**
      * Retrieves a list of bookings filtered by a specific workspace name.
      * @param workspaceName Name of the workspace whose bookings are to be retrieved
@@ -130,6 +423,152 @@ public class BookingService {
         return bookingDao.getFilteredBookingsByWorkspace(workspaceName);
     }
 
+    /**
+     * Retrieves a page of bookings filtered by a specific workspace name.
+     * @param workspaceName Name of the workspace whose bookings are to be retrieved
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of bookings on the page, or null for the default
+     * @return Page of bookings for the specified workspace
+     * @throws WorkspaceNotFoundException If the specified workspace does not exist
+     */
+    public Page<Booking> getFilteredBookingsByWorkspace(String workspaceName, String cursor, Integer limit) throws WorkspaceNotFoundException {
+        checkParamNotNullOrBlank(workspaceName);
+        int pageSize = PageUtil.checkLimit(limit);
+        workspaceService.getWorkspace(workspaceName);
+
+        List<Booking> bookings = bookingDao.getFilteredBookingsByWorkspace(workspaceName, PageUtil.decodeCursor(cursor), pageSize + 1);
+        return PageUtil.toPage(bookings, pageSize, Booking::getId);
+    }
+
+    /**
+     * Passes every booking of a specific workspace to the given action without loading all of them into memory.
+     * @param workspaceName Name of the workspace whose bookings are to be retrieved
+     * @param action Action invoked for each booking
+     * @throws WorkspaceNotFoundException If the specified workspace does not exist
+     */
+    public void forEachFilteredBookingByWorkspace(String workspaceName, Consumer<? super Booking> action) throws WorkspaceNotFoundException {
+        checkParamNotNullOrBlank(workspaceName);
+        workspaceService.getWorkspace(workspaceName);
+        bookingDao.forEachFilteredBookingByWorkspace(workspaceName, action);
+    }
+
+    private String checkBookingRequest(BookingRequest bookingRequest, Map<String, Workspace> workspaces) {
+        if (bookingRequest == null) {
+            return "Booking can not be null";
+        }
+        try {
+            ValidationUtil.validate(bookingRequest);
+        } catch (NotValidArgumentException e) {
+            return e.getMessage();
+        }
+        try {
+            checkPeriod(bookingRequest.getStartTime(), bookingRequest.getEndTime());
+        } catch (NotValidArgumentException e) {
+            return e.getMessage();
+        }
+        if (!workspaces.containsKey(bookingRequest.getWorkspaceName())) {
+            return "Workspace with this name doesn't exists.";
+        }
+        return null;
+    }
+
+    private static void checkPeriod(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!startTime.isBefore(endTime)) {
+            throw new NotValidArgumentException("Start time must be before end time");
+        }
+    }
+
+    private void checkSeriesRequest(BookingSeriesRequest seriesRequest) {
+        if (seriesRequest == null) {
+            throw new NotValidArgumentException("Series can not be null");
+        }
+        ValidationUtil.validate(seriesRequest);
+        if (!seriesRequest.getStartTime().isBefore(seriesRequest.getEndTime())) {
+            throw new NotValidArgumentException("Start time must be before end time");
+        }
+        if (seriesRequest.getEndTime().isAfter(seriesRequest.getStartTime().plusDays(1))) {
+            throw new NotValidArgumentException("An occurrence of a series can not last longer than a day");
+        }
+        if (seriesRequest.getUntil() == null && seriesRequest.getCount() == null) {
+            throw new NotValidArgumentException("Series must end either on a date or after a count of occurrences");
+        }
+        if (seriesRequest.getCount() != null && seriesRequest.getCount() > maxSeriesOccurrences) {
+            throw new NotValidArgumentException("Series can not contain more than " + maxSeriesOccurrences + " occurrences");
+        }
+    }
+
+    private List<BookingResult> bookOccurrences(BookingSeries series, List<Booking> occurrences, BatchBookingMode mode) {
+        BookingResult[] results = new BookingResult[occurrences.size()];
+        for (int attempt = 1; ; attempt++) {
+            Set<Integer> conflicting = bookingDao.findConflicting(occurrences);
+            List<Integer> acceptedPositions = new ArrayList<>();
+            List<Booking> accepted = new ArrayList<>();
+            for (int i = 0; i < occurrences.size(); i++) {
+                if (conflicting.contains(i)) {
+                    results[i] = buildResult(i, BookingResultStatus.CONFLICT, occurrences.get(i),
+                            "The workspace is already booked for the specified period.");
+                } else {
+                    acceptedPositions.add(i);
+                    accepted.add(occurrences.get(i));
+                }
+            }
+
+            if (mode == BatchBookingMode.ALL_OR_NOTHING && !conflicting.isEmpty()) {
+                for (Integer position : acceptedPositions) {
+                    results[position] = buildResult(position, BookingResultStatus.SKIPPED, occurrences.get(position),
+                            "Not booked because other occurrences of the series conflict.");
+                }
+                break;
+            }
+            if (accepted.isEmpty()) {
+                break;
+            }
+
+            try {
+                List<Booking> saved = bookingDao.saveSeries(series, accepted);
+                if (saved.isEmpty()) {
+                    throw new BookingSaveFailedException("The series could not be saved, try again later.");
+                }
+                for (Integer position : acceptedPositions) {
+                    results[position] = buildResult(position, BookingResultStatus.CREATED, occurrences.get(position), null);
+                }
+                break;
+            } catch (WorkspaceAlreadyBookedException e) {
+                if (attempt == MAX_BATCH_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private static boolean overlaps(Booking first, Booking second) {
+        return first.getStartTime().isBefore(second.getEndTime()) && second.getStartTime().isBefore(first.getEndTime());
+    }
+
+    private static BookingResult buildResult(int index, BookingResultStatus status, Booking booking, String message) {
+        return BookingResult.builder()
+                .index(index)
+                .status(status)
+                .booking(booking)
+                .message(message)
+                .build();
+    }
+
+    private static BatchBookingResponse buildBatchResponse(BatchBookingMode mode, List<BookingResult> results) {
+        return BatchBookingResponse.builder()
+                .mode(mode)
+                .created((int) results.stream().filter(result -> result.getStatus() == BookingResultStatus.CREATED).count())
+                .conflicts((int) results.stream().filter(result -> result.getStatus() == BookingResultStatus.CONFLICT).count())
+                .invalid((int) results.stream().filter(result -> result.getStatus() == BookingResultStatus.INVALID).count())
+                .results(results)
+                .build();
+    }
+
+    private LocalDateTime parseTime(String time) {
+        return LocalDateTime.parse(time, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
+    }
+
     private void checkParamNotNullOrBlank(String param){
         if(param.isEmpty() || param.isBlank()) { throw new NotValidArgumentException("Param can not been null or blank"); }
     }
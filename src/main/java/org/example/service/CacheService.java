@@ -0,0 +1,38 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.cache.AuthenticationCache;
+import org.example.cache.UserCache;
+import org.example.cache.WorkspaceCache;
+import org.example.dto.CacheStats;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service class for inspecting the in-memory caches.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheService {
+
+    private final AuthenticationCache authenticationCache;
+
+    private final WorkspaceCache workspaceCache;
+
+    private final UserCache userCache;
+
+    /**
+     * Retrieves the statistics of every cache.
+     *
+     * @return the list of cache statistics
+     */
+    public List<CacheStats> getCacheStats() {
+        List<CacheStats> stats = new ArrayList<>();
+        stats.add(authenticationCache.getStats());
+        stats.addAll(workspaceCache.getStats());
+        stats.addAll(userCache.getStats());
+        return stats;
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.example.async.QueryExecutor;
+import org.example.dto.AuditWriterStats;
+import org.example.dto.CacheStats;
+import org.example.dto.ConnectionPoolStats;
+import org.example.dto.QueryExecutorStats;
+import org.example.metrics.AuthFailure;
+import org.example.metrics.MethodTimer;
+import org.example.metrics.MetricsRegistry;
+import org.example.utils.ConnectionManager;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service class rendering the application metrics in the Prometheus text exposition format.
+ */
+@Service
+@RequiredArgsConstructor
+public class MetricsService {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final MetricsRegistry metricsRegistry;
+
+    private final ConnectionManager connectionManager;
+
+    private final AuditService auditService;
+
+    private final CacheService cacheService;
+
+    private final QueryExecutor queryExecutor;
+
+    /**
+     * Renders method timers, database, authentication, audit, connection pool, asynchronous request and cache metrics.
+     *
+     * @return the metrics in Prometheus text format, version 0.0.4
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+
+        List<MethodTimer> timers = metricsRegistry.getTimers();
+        header(out, "coworking_method_duration_seconds", "summary", "Execution time of controller, service and repository methods.");
+        for (MethodTimer timer : timers) {
+            String labels = "layer=\"" + timer.getLayer() + "\",method=\"" + timer.getMethod() + "\"";
+            summary(out, "coworking_method_duration_seconds", labels, timer.getLatency(), timer.getTotalNanos());
+        }
+        header(out, "coworking_method_duration_max_seconds", "gauge", "Longest execution time of controller, service and repository methods.");
+        for (MethodTimer timer : timers) {
+            String labels = "layer=\"" + timer.getLayer() + "\",method=\"" + timer.getMethod() + "\"";
+            sample(out, "coworking_method_duration_max_seconds", labels, timer.getLatency().getMaxValue() / NANOS_PER_SECOND);
+        }
+
+        header(out, "coworking_db_statements_total", "counter", "Database statements executed by the repositories.");
+        sample(out, "coworking_db_statements_total", null, metricsRegistry.getDbStatements());
+        header(out, "coworking_db_rows_read_total", "counter", "Rows read by the repositories, not counting the rows written.");
+        sample(out, "coworking_db_rows_read_total", null, metricsRegistry.getDbRowsRead());
+
+        header(out, "coworking_auth_failures_total", "counter", "Rejected authentication attempts.");
+        for (AuthFailure reason : AuthFailure.values()) {
+            sample(out, "coworking_auth_failures_total", "reason=\"" + reason.name().toLowerCase(Locale.ROOT) + "\"",
+                    metricsRegistry.getAuthFailures(reason));
+        }
+
+        AuditWriterStats audit = auditService.getWriterStats();
+        header(out, "coworking_audit_records_total", "counter", "Audit records handled by the audit writer.");
+        sample(out, "coworking_audit_records_total", "outcome=\"submitted\"", audit.getSubmitted());
+        sample(out, "coworking_audit_records_total", "outcome=\"written\"", audit.getWritten());
+        sample(out, "coworking_audit_records_total", "outcome=\"dropped\"", audit.getDropped());
+        sample(out, "coworking_audit_records_total", "outcome=\"spilled\"", audit.getSpilled());
+        sample(out, "coworking_audit_records_total", "outcome=\"failed\"", audit.getFailed());
+        header(out, "coworking_audit_queue_depth", "gauge", "Audit records waiting to be written.");
+        sample(out, "coworking_audit_queue_depth", null, audit.getQueueDepth());
+
+        ConnectionPoolStats pool = connectionManager.getPoolStats();
+        header(out, "coworking_db_pool_connections", "gauge", "Open database connections.");
+        sample(out, "coworking_db_pool_connections", "state=\"active\"", pool.getActive());
+        sample(out, "coworking_db_pool_connections", "state=\"idle\"", pool.getIdle());
+        header(out, "coworking_db_pool_max_connections", "gauge", "Upper bound of open database connections.");
+        sample(out, "coworking_db_pool_max_connections", null, pool.getMaximumPoolSize());
+        header(out, "coworking_db_pool_waiting_threads", "gauge", "Threads waiting for a database connection.");
+        sample(out, "coworking_db_pool_waiting_threads", null, pool.getWaiting());
+        header(out, "coworking_db_limiter_waiting_threads", "gauge", "Threads waiting for a permit of the database concurrency limit.");
+        sample(out, "coworking_db_limiter_waiting_threads", null, pool.getLimiterWaiting());
+        header(out, "coworking_db_pool_acquire_timeouts_total", "counter", "Connection acquisitions which timed out.");
+        sample(out, "coworking_db_pool_acquire_timeouts_total", null, pool.getAcquireTimeouts());
+        Histogram acquireLatency = connectionManager.getAcquireLatency();
+        header(out, "coworking_db_pool_acquire_seconds", "summary", "Time spent waiting for a database connection.");
+        summary(out, "coworking_db_pool_acquire_seconds", null, acquireLatency,
+                (long) (acquireLatency.getMean() * acquireLatency.getTotalCount()));
+
+        QueryExecutorStats queries = queryExecutor.getStats();
+        header(out, "coworking_http_async_active_threads", "gauge", "Threads running the query of an asynchronous request.");
+        sample(out, "coworking_http_async_active_threads", null, queries.getActive());
+        header(out, "coworking_http_async_queue_depth", "gauge", "Asynchronous requests waiting for a query thread.");
+        sample(out, "coworking_http_async_queue_depth", null, queries.getQueueDepth());
+        header(out, "coworking_http_async_rejected_total", "counter", "Asynchronous requests rejected because the queue was full.");
+        sample(out, "coworking_http_async_rejected_total", null, queries.getRejected());
+        header(out, "coworking_http_async_timeouts_total", "counter", "Asynchronous requests which timed out.");
+        sample(out, "coworking_http_async_timeouts_total", null, queries.getTimeouts());
+
+        List<CacheStats> caches = cacheService.getCacheStats();
+        header(out, "coworking_cache_size", "gauge", "Entries held by the cache.");
+        caches.forEach(cache -> sample(out, "coworking_cache_size", cacheLabel(cache), cache.getSize()));
+        header(out, "coworking_cache_hits_total", "counter", "Cache lookups answered from the cache.");
+        caches.forEach(cache -> sample(out, "coworking_cache_hits_total", cacheLabel(cache), cache.getHits()));
+        header(out, "coworking_cache_misses_total", "counter", "Cache lookups which had to load the value.");
+        caches.forEach(cache -> sample(out, "coworking_cache_misses_total", cacheLabel(cache), cache.getMisses()));
+        header(out, "coworking_cache_evictions_total", "counter", "Entries evicted because the cache was full.");
+        caches.forEach(cache -> sample(out, "coworking_cache_evictions_total", cacheLabel(cache), cache.getEvictions()));
+
+        return out.toString();
+    }
+
+    private static void summary(StringBuilder out, String name, String labels, Histogram latency, long totalNanos) {
+        String prefix = labels == null ? "" : labels + ",";
+        for (double quantile : QUANTILES) {
+            sample(out, name, prefix + "quantile=\"" + quantile + "\"",
+                    latency.getValueAtPercentile(quantile * 100) / NANOS_PER_SECOND);
+        }
+        sample(out, name + "_count", labels, latency.getTotalCount());
+        sample(out, name + "_sum", labels, totalNanos / NANOS_PER_SECOND);
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(name);
+        if (labels != null) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String cacheLabel(CacheStats cache) {
+        return "cache=\"" + cache.getName() + "\"";
+    }
+}
@@ -2,6 +2,7 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.annotations.Auditable;
+import org.example.cache.UserCache;
 import org.example.dto.AuthRequest;
 import org.example.exceptions.InvalidCredentialsException;
 import org.example.repository.UserRepository;
@@ -12,6 +13,8 @@ import org.example.entity.types.ActionType;
 import org.example.exceptions.NotValidArgumentException;
 import org.example.exceptions.RegisterException;
 import org.example.mappers.UserMapper;
+import org.example.metrics.AuthFailure;
+import org.example.metrics.MetricsRegistry;
 import org.example.utils.JwtTokenUtil;
 import org.example.utils.PasswordUtil;
 import org.example.utils.ValidationUtil;
@@ -28,9 +31,12 @@ public class SecurityService {
 
     private final UserRepository userRepository;
     private final JwtTokenUtil jwtTokenUtil;
+    private final UserCache userCache;
+    private final MetricsRegistry metricsRegistry;
 
     /**
      * Registers a new user with the provided login and password.
+     * The username is dropped from the user cache, which may remember it as unknown.
      *
      * @param request the auth request
      * @return the registered user DTO
@@ -55,6 +61,7 @@ public class SecurityService {
                 .build();
 
         User savedUser = userRepository.save(newUser);
+        userCache.invalidate(username);
         return UserMapper.INSTANCE.toDTO(savedUser);
     }
 
@@ -73,6 +80,7 @@ public class SecurityService {
         Optional<User> optionalUser = userRepository.findByUsername(username);
 
         if (optionalUser.isEmpty() || !PasswordUtil.checkPassword(password, optionalUser.get().getPassword())) {
+            metricsRegistry.recordAuthFailure(AuthFailure.BAD_CREDENTIALS);
             throw new InvalidCredentialsException("Incorrect username or password.");
         }
 
@@ -2,7 +2,12 @@ package org.example.service;
 
 import lombok.RequiredArgsConstructor;
 import org.example.annotations.Auditable;
+import org.example.cache.AuthenticationCache;
+import org.example.cache.TokenDenylist;
+import org.example.cache.UserCache;
+import org.example.dto.Authentication;
 import org.example.entity.types.ActionType;
+import org.example.entity.types.Role;
 import org.example.repository.UserRepository;
 import org.example.dto.UserDTO;
 import org.example.entity.User;
@@ -11,7 +16,6 @@ import org.example.mappers.UserMapper;
 import org.springframework.stereotype.Service;
 
 
-import javax.servlet.ServletContext;
 import java.util.Optional;
 
 
@@ -24,6 +28,12 @@ public class UserService {
 
     private final UserRepository userRepository;
 
+    private final AuthenticationCache authenticationCache;
+
+    private final UserCache userCache;
+
+    private final TokenDenylist tokenDenylist;
+
     /**
      * Retrieves a user by their ID.
      *
@@ -32,26 +42,78 @@ public class UserService {
      * @throws UserNotFoundException if no user is found with the specified ID
      */
     public UserDTO getUser(Long id) throws UserNotFoundException{
+        UserDTO cachedUser = userCache.get(id);
+        if (cachedUser != null) return cachedUser;
+
+        long generation = userCache.generation();
         Optional<User> foundedUser = userRepository.findById(id);
         if(foundedUser.isEmpty()) throw new UserNotFoundException("User with this ID does not exist.");
-        return UserMapper.INSTANCE.toDTO(foundedUser.get());
+        UserDTO user = UserMapper.INSTANCE.toDTO(foundedUser.get());
+        userCache.put(user, generation);
+        return user;
     }
 
     /**
      * Retrieves a user by their username.
+     * Users and unknown usernames are cached, so repeated lookups do not query the database.
      *
      * @param username Username of the user to retrieve
      * @return Optional containing the user if found, otherwise empty
      * @throws UserNotFoundException if no user is found with the specified username
      */
     public UserDTO getUser(String username) throws UserNotFoundException{
+        UserDTO cachedUser = userCache.get(username);
+        if (cachedUser != null) return cachedUser;
+        if (userCache.isMissing(username)) throw new UserNotFoundException("User with this username does not exist.");
+
+        long generation = userCache.generation();
         Optional<User> foundedUser = userRepository.findByUsername(username);
-        if(foundedUser.isEmpty()) throw new UserNotFoundException("User with this username does not exist.");
-        return UserMapper.INSTANCE.toDTO(foundedUser.get());
+        if(foundedUser.isEmpty()) {
+            userCache.putMissing(username, generation);
+            throw new UserNotFoundException("User with this username does not exist.");
+        }
+        UserDTO user = UserMapper.INSTANCE.toDTO(foundedUser.get());
+        userCache.put(user, generation);
+        return user;
     }
 
+    /**
+     * Logs out the user of the current request. The token of the request is rejected until it expires,
+     * and the cached authentications of the user are dropped.
+     *
+     * @param authentication the authentication of the current request, may be null
+     * @param token          the JWT of the current request, may be null
+     */
     @Auditable(actionType = ActionType.LOGOUT)
-    public void logout(ServletContext servletContext){
-        servletContext.removeAttribute("authentication");
+    public void logout(Authentication authentication, String token){
+        if (token != null) {
+            tokenDenylist.deny(token);
+        }
+        if (authentication != null) {
+            authenticationCache.invalidateUser(authentication.getUsername());
+        }
+    }
+
+    /**
+     * Changes the role of a user. The user is read from the primary database, so a stale copy from a read replica
+     * is not written back. The cached user and cached authentications of the user are dropped,
+     * so the new role applies to the next request.
+     *
+     * @param username Username of the user
+     * @param role     New role of the user
+     * @return the updated user
+     * @throws UserNotFoundException if no user is found with the specified username
+     */
+    @Auditable(actionType = ActionType.CHANGE_ROLE)
+    public UserDTO changeRole(String username, Role role) throws UserNotFoundException {
+        User user = userRepository.findByUsernameOnPrimary(username)
+                .orElseThrow(() -> new UserNotFoundException("User with this username does not exist."));
+        user.setRole(role);
+        if (!userRepository.update(user)) {
+            throw new UserNotFoundException("User with this username does not exist.");
+        }
+        userCache.invalidate(username);
+        authenticationCache.invalidateUser(username);
+        return UserMapper.INSTANCE.toDTO(user);
     }
 }
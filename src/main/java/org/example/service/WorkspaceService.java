@@ -3,16 +3,23 @@ package org.example.service;
 import lombok.RequiredArgsConstructor;
 import org.example.annotations.Auditable;
 import org.example.repository.WorkspaceRepository;
+import org.example.dto.Page;
 import org.example.dto.WorkspaceRequest;
 import org.example.entity.Workspace;
 import org.example.entity.types.ActionType;
 import org.example.exceptions.WorkspaceAlreadyExistException;
 import org.example.exceptions.WorkspaceNotFoundException;
+import org.example.utils.PageUtil;
 import org.example.utils.ValidationUtil;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing workspaces.
@@ -31,6 +38,26 @@ public class WorkspaceService {
         return workspaceRepository.findAll();
     }
 
+    /**
+     * Retrieves a page of workspaces ordered by id.
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of workspaces on the page, or null for the default
+     * @return Page of workspaces with the cursor of the next page
+     */
+    public Page<Workspace> getPageOfWorkspaces(String cursor, Integer limit) {
+        int pageSize = PageUtil.checkLimit(limit);
+        List<Workspace> workspaces = workspaceRepository.findPage(PageUtil.decodeCursor(cursor), pageSize + 1);
+        return PageUtil.toPage(workspaces, pageSize, Workspace::getId);
+    }
+
+    /**
+     * Passes every workspace ordered by id to the given action without loading all of them into memory.
+     * @param action Action invoked for each workspace
+     */
+    public void forEachWorkspace(Consumer<? super Workspace> action) {
+        workspaceRepository.forEach(action);
+    }
+
     /**
      * Creates a new workspace with the given name.
      * @param workspace Workspace request object containing the name
@@ -102,6 +129,16 @@ public class WorkspaceService {
                 .orElseThrow(() -> new WorkspaceNotFoundException("Workspace with this name doesn't exists."));
     }
 
+    /**
+     * Retrieves the workspaces with the given names using a single lookup.
+     * @param names Names of the workspaces to retrieve
+     * @return Map from name to workspace, names without a workspace are left out
+     */
+    public Map<String, Workspace> getWorkspaces(Collection<String> names) {
+        return workspaceRepository.findAllByNames(names).stream()
+                .collect(Collectors.toMap(Workspace::getName, Function.identity(), (first, second) -> first));
+    }
+
     /**
      * Retrieves a workspace by its ID.
      * @param id ID of the workspace to retrieve
@@ -0,0 +1,105 @@
+package org.example.utils;
+
+import org.example.dto.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the authentication of the request handled by the current thread.
+ * The authentication is bound by {@link org.example.filters.JwtTokenFilter} for the duration of the filter chain
+ * and is also stored as a request attribute, so it never leaks between concurrent requests. Work handed over
+ * to another thread has to be wrapped with {@link #wrap(Runnable)} or {@link #wrap(Callable)} to see it.
+ */
+@Component
+public class AuthenticationContext {
+
+    /**
+     * The name of the request attribute holding the authentication.
+     */
+    public static final String ATTRIBUTE = "authentication";
+
+    private static final ThreadLocal<Authentication> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Returns the authentication of the current request.
+     *
+     * @return the authentication, or null if the request is not authenticated
+     */
+    public Authentication getAuthentication() {
+        Authentication authentication = CURRENT.get();
+        if (authentication != null) {
+            return authentication;
+        }
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        return (Authentication) requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Binds an authentication to the current thread.
+     *
+     * @param authentication the authentication of the request handled by this thread
+     */
+    public void bind(Authentication authentication) {
+        CURRENT.set(authentication);
+    }
+
+    /**
+     * Removes the authentication from the current thread.
+     */
+    public void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wraps a task so that it runs with the authentication of the current thread.
+     *
+     * @param task the task to run on another thread
+     * @return the wrapped task
+     */
+    public Runnable wrap(Runnable task) {
+        Authentication authentication = getAuthentication();
+        return () -> {
+            Authentication previous = CURRENT.get();
+            CURRENT.set(authentication);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Wraps a task so that it runs with the authentication of the current thread.
+     *
+     * @param task the task to run on another thread
+     * @param <T>  the result type of the task
+     * @return the wrapped task
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        Authentication authentication = getAuthentication();
+        return () -> {
+            Authentication previous = CURRENT.get();
+            CURRENT.set(authentication);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(Authentication previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -1,19 +1,57 @@
 package org.example.utils;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.example.dto.ConnectionPoolStats;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Utility class for managing database connections using JDBC.
+ * Connections are lent from a bounded HikariCP pool which is created lazily on first use
+ * and shared with every other component that needs a {@link DataSource}.
+ * The driver turns repeated statements into named server-side prepared statements after
+ * {@code db.statement-cache.prepare-threshold} executions on the same connection, so the statements
+ * of the repositories are parsed and planned once per pooled connection instead of on every call.
+ * Optionally the number of connections lent at the same time is further limited by a fair semaphore,
+ * so that a large number of request threads queue up in order instead of all competing inside the pool.
+ * A read replica bound to the current thread with {@link #bindReadDataSource(DataSource)} serves the connections
+ * borrowed by that thread instead of the pool, falling back to the pool when the replica does not lend one.
+ * The first SQL error raised through a replica connection is kept for the thread until
+ * {@link #takeReplicaFailure()}, so a read which failed on the replica can be repeated on the primary.
  */
+@Slf4j
 @Component
 public class ConnectionManager {
 
+    private static final String POOL_NAME = "coworking-pool";
+    private static final long MAX_TRACKABLE_ACQUIRE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
     @Value("${db.url}")
     private String url;
     @Value("${db.driver-class-name}")
@@ -23,9 +61,43 @@ public class ConnectionManager {
     @Value("${db.password}")
     private String password;
 
+    @Value("${db.pool.maximum-pool-size:10}")
+    private int maximumPoolSize = 10;
+    @Value("${db.pool.minimum-idle:2}")
+    private int minimumIdle = 2;
+    @Value("${db.pool.acquire-timeout:PT5S}")
+    private String acquireTimeout = "PT5S";
+    @Value("${db.pool.idle-timeout:PT10M}")
+    private String idleTimeout = "PT10M";
+    @Value("${db.pool.max-lifetime:PT30M}")
+    private String maxLifetime = "PT30M";
+    @Value("${db.pool.validation-timeout:PT3S}")
+    private String validationTimeout = "PT3S";
+    @Value("${db.fetch-size:500}")
+    private int fetchSize = 500;
+    @Value("${db.concurrency.max-concurrent:0}")
+    private int maxConcurrent = 0;
+    @Value("${db.statement-cache.prepare-threshold:1}")
+    private int prepareThreshold = 1;
+    @Value("${db.statement-cache.queries:256}")
+    private int preparedStatementCacheQueries = 256;
+    @Value("${db.statement-cache.size-mib:5}")
+    private int preparedStatementCacheSizeMiB = 5;
+
+    private final ThreadLocal<DataSource> readDataSource = new ThreadLocal<>();
+    private final ThreadLocal<SQLException> replicaFailure = new ThreadLocal<>();
+    private final ReentrantLock poolLock = new ReentrantLock();
+    private volatile HikariDataSource dataSource;
+    private volatile Semaphore permits;
+
+    private final Histogram acquireLatency = new ConcurrentHistogram(MAX_TRACKABLE_ACQUIRE_NANOS, 2);
+    private final LongAdder acquireTimeouts = new LongAdder();
+
     /**
      * Method for establishing connection with database using values from parameter.
      * This method used for testing service and establish connection with test database.
+     * The returned connection is not pooled, but subsequent calls of {@link #getConnection()}
+     * are served by a pool configured with the given values.
      * @return Connection class which may be used to work with database.
      */
     public Connection getConnection(String url, String username, String password, String driver) {
@@ -34,6 +106,7 @@ public class ConnectionManager {
             this.driver = driver;
             this.password = password;
             this.username = username;
+            close();
             Class.forName(driver);
             return DriverManager.getConnection(url, username, password);
         } catch (SQLException e) {
@@ -44,22 +117,338 @@ public class ConnectionManager {
     }
 
     /**
-     * Method for establishing connection with database.
+     * Method for borrowing a connection from the pool.
+     * Closing the returned connection gives it back to the pool.
+     * If the concurrency limit is enabled the caller first waits, at most for the acquire timeout, for a permit
+     * which is released when the connection is closed.
+     * While a read replica is bound to the current thread, the connection is borrowed from the replica
+     * without taking a permit, and the SQL errors raised through it are recorded for {@link #takeReplicaFailure()}.
      * @return Connection class which may be used to work with database.
      */
     public Connection getConnection() {
-        try {
-            Class.forName(driver);
+        DataSource replica = readDataSource.get();
+        if (replica != null) {
+            try {
+                return (Connection) trackFailures(replica.getConnection(), Connection.class);
+            } catch (SQLException e) {
+                log.warn("Failed to get a replica connection, using the primary: " + e.getMessage());
+            }
+        }
 
-            return DriverManager.getConnection(
-                    url,
-                    username,
-                    password
-            );
+        DataSource pool = getDataSource();
+        Semaphore limiter = permits;
+        if (limiter == null) {
+            try {
+                return pool.getConnection();
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to get a database connection.", e);
+            }
+        }
+
+        acquirePermit(limiter);
+        try {
+            return withPermit(pool.getConnection(), limiter);
         } catch (SQLException e) {
+            limiter.release();
             throw new RuntimeException("Failed to get a database connection.", e);
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            limiter.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Borrows a connection suitable for reading large result sets row by row.
+     * The PostgreSQL driver only honours the fetch size inside a transaction, so the connection
+     * is returned read-only with auto-commit switched off. The pool rolls the transaction back
+     * and restores auto-commit when the connection is closed.
+     * @return Connection class which may be used to stream query results.
+     * @throws SQLException if the connection can not be prepared for streaming
+     */
+    public Connection getStreamingConnection() throws SQLException {
+        Connection connection = getConnection();
+        try {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            return connection;
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Binds a read replica to the current thread, so the connections borrowed by this thread are read from it.
+     * @param replica the data source of the replica, or null to read from the primary
+     * @return the previously bound replica, to be restored with {@link #restoreReadDataSource(DataSource)}
+     */
+    public DataSource bindReadDataSource(DataSource replica) {
+        DataSource previous = readDataSource.get();
+        readDataSource.set(replica);
+        return previous;
+    }
+
+    /**
+     * Restores the read replica bound to the current thread before {@link #bindReadDataSource(DataSource)}.
+     * @param previous the previously bound replica, or null if none was bound
+     */
+    public void restoreReadDataSource(DataSource previous) {
+        if (previous == null) {
+            readDataSource.remove();
+        } else {
+            readDataSource.set(previous);
+        }
+    }
+
+    /**
+     * Returns and forgets the first SQL error raised through a replica connection of the current thread.
+     * @return the error, or null if no replica connection of this thread failed since the last call
+     */
+    public SQLException takeReplicaFailure() {
+        SQLException failure = replicaFailure.get();
+        replicaFailure.remove();
+        return failure;
+    }
+
+    /**
+     * Creates a separate pool of read-only connections with the settings of the primary pool,
+     * used for the connections to a read replica.
+     * @param poolName the name of the pool
+     * @param url the JDBC URL of the replica
+     * @param username the database user
+     * @param password the password of the user
+     * @param maximumPoolSize the maximum number of connections of the pool
+     * @param acquireTimeout how long a borrower waits for a connection before the replica is given up
+     * @return the data source backed by the new pool, which the caller has to close
+     */
+    public HikariDataSource createReplicaDataSource(String poolName, String url, String username, String password,
+                                                    int maximumPoolSize, Duration acquireTimeout) {
+        HikariConfig config = buildPoolConfig(poolName, url, username, password, maximumPoolSize);
+        config.setConnectionTimeout(acquireTimeout.toMillis());
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Returns the number of rows fetched per round trip when streaming query results.
+     * @return the configured fetch size
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Returns the pooled data source, creating the pool on first access.
+     * @return the data source backed by the connection pool
+     */
+    public DataSource getDataSource() {
+        HikariDataSource current = dataSource;
+        if (current != null) {
+            return current;
+        }
+
+        poolLock.lock();
+        try {
+            if (dataSource == null) {
+                permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent, true) : null;
+                dataSource = new HikariDataSource(buildPoolConfig());
+            }
+            return dataSource;
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool state and of the connection acquire latency.
+     * @return current pool statistics, all counts are zero while the pool is not created yet
+     */
+    public ConnectionPoolStats getPoolStats() {
+        HikariDataSource current = dataSource;
+        HikariPoolMXBean pool = current != null ? current.getHikariPoolMXBean() : null;
+        Semaphore limiter = permits;
+        Histogram latency = acquireLatency.copy();
+
+        return ConnectionPoolStats.builder()
+                .active(pool != null ? pool.getActiveConnections() : 0)
+                .idle(pool != null ? pool.getIdleConnections() : 0)
+                .total(pool != null ? pool.getTotalConnections() : 0)
+                .waiting(pool != null ? pool.getThreadsAwaitingConnection() : 0)
+                .maximumPoolSize(maximumPoolSize)
+                .maximumConcurrent(limiter != null ? maxConcurrent : 0)
+                .limiterWaiting(limiter != null ? limiter.getQueueLength() : 0)
+                .acquireCount(latency.getTotalCount())
+                .acquireTimeouts(acquireTimeouts.sum())
+                .acquireP50Micros(nanosToMicros(latency.getValueAtPercentile(50)))
+                .acquireP99Micros(nanosToMicros(latency.getValueAtPercentile(99)))
+                .acquireMaxMicros(nanosToMicros(latency.getMaxValue()))
+                .build();
+    }
+
+    /**
+     * Returns the live histogram of connection acquire latencies in nanoseconds.
+     * @return acquire latency histogram
+     */
+    public Histogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    /**
+     * Closes the pool and all of its connections. A new pool is created on the next borrow.
+     */
+    @PreDestroy
+    public void close() {
+        poolLock.lock();
+        try {
+            if (dataSource != null) {
+                dataSource.close();
+                dataSource = null;
+                permits = null;
+            }
+        } finally {
+            poolLock.unlock();
+        }
+    }
+
+    private HikariConfig buildPoolConfig() {
+        HikariConfig config = buildPoolConfig(POOL_NAME, url, username, password, maximumPoolSize);
+        config.setMetricsTrackerFactory(new AcquireLatencyTrackerFactory());
+        return config;
+    }
+
+    private HikariConfig buildPoolConfig(String poolName, String url, String username, String password, int maximumPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName(driver);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setMinimumIdle(Math.min(minimumIdle, maximumPoolSize));
+        config.setConnectionTimeout(Duration.parse(acquireTimeout).toMillis());
+        config.setIdleTimeout(Duration.parse(idleTimeout).toMillis());
+        config.setMaxLifetime(Duration.parse(maxLifetime).toMillis());
+        config.setValidationTimeout(Duration.parse(validationTimeout).toMillis());
+        config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        config.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", preparedStatementCacheSizeMiB);
+        return config;
+    }
+
+    private void acquirePermit(Semaphore limiter) {
+        try {
+            if (!limiter.tryAcquire(Duration.parse(acquireTimeout).toNanos(), TimeUnit.NANOSECONDS)) {
+                acquireTimeouts.increment();
+                throw new RuntimeException("Failed to get a database connection: concurrency limit of "
+                        + maxConcurrent + " reached.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a database connection.", e);
+        }
+    }
+
+    private static Connection withPermit(Connection connection, Semaphore limiter) {
+        return (Connection) Proxy.newProxyInstance(ConnectionManager.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new PermitReleasingHandler(connection, limiter));
+    }
+
+    /**
+     * Wraps a replica connection, or a statement or result set obtained from it, so its SQL errors are recorded.
+     */
+    private Object trackFailures(Object target, Class<?> type) {
+        return Proxy.newProxyInstance(ConnectionManager.class.getClassLoader(),
+                new Class<?>[]{type}, new FailureRecordingHandler(target));
+    }
+
+    private static long nanosToMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /**
+     * Hooks into the pool to record how long callers wait for a connection.
+     */
+    private class AcquireLatencyTrackerFactory implements MetricsTrackerFactory {
+
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    acquireLatency.recordValue(Math.min(elapsedAcquiredNanos, MAX_TRACKABLE_ACQUIRE_NANOS));
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    acquireTimeouts.increment();
+                }
+            };
+        }
+    }
+
+    /**
+     * Records the first SQL error of a replica connection for the current thread, and wraps the statements
+     * and result sets it hands out in the same way.
+     */
+    private final class FailureRecordingHandler implements InvocationHandler {
+
+        private final Object target;
+
+        private FailureRecordingHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException failure && replicaFailure.get() == null) {
+                    replicaFailure.set(failure);
+                }
+                throw e.getCause();
+            }
+            Class<?> type = method.getReturnType();
+            if (result != null && (Statement.class.isAssignableFrom(type) || type == ResultSet.class)) {
+                return trackFailures(result, type);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Gives the permit back when the connection is closed. Closing twice releases the permit only once.
+     */
+    private static final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final Semaphore limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection connection, Semaphore limiter) {
+            this.connection = connection;
+            this.limiter = limiter;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    connection.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        limiter.release();
+                    }
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes large listings to the response as a JSON array one element at a time,
+ * so the response body never has to be built in memory.
+ */
+public class JsonStreamUtil {
+
+    private static final ObjectWriter WRITER = JsonUtil.OBJECT_MAPPER
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    /**
+     * Writes every element produced by the source as an element of a JSON array.
+     * Output is buffered by the generator and sent to the client whenever the buffer fills up,
+     * the array is closed once the source returns. The output is indented if the request asks for it with the
+     * {@code pretty} parameter.
+     *
+     * @param response the response to write to
+     * @param source   receives the callback which writes one element and invokes it for each element
+     * @throws IOException if writing to the client fails
+     */
+    public static <T> void writeArray(HttpServletResponse response, Consumer<Consumer<T>> source) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        try (JsonGenerator generator = WRITER.getFactory().createGenerator(response.getOutputStream())) {
+            if (JsonUtil.isPrettyRequested()) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartArray();
+            source.accept(element -> {
+                try {
+                    WRITER.writeValue(generator, element);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import org.example.entity.Audit;
+import org.example.entity.Booking;
+import org.example.entity.Workspace;
+import org.example.serializers.AuditSerializer;
+import org.example.serializers.BookingSerializer;
+import org.example.serializers.WorkspaceSerializer;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Holds the one {@link ObjectMapper} of the application. It is built once with compact output, the format of
+ * {@link LocalDateTime} and the serializers of the entities returned in large listings registered up front,
+ * and is shared by the message converter, the streamed listings and the filters.
+ */
+public class JsonUtil {
+
+    /**
+     * The format of date-times in requests and responses.
+     */
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    /**
+     * The name of the request parameter which asks for indented output.
+     */
+    public static final String PRETTY_PARAMETER = "pretty";
+
+    public static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+            .serializerByType(LocalDateTime.class, new LocalDateTimeSerializer(DATE_TIME_FORMATTER))
+            .deserializerByType(LocalDateTime.class, new LocalDateTimeDeserializer(DATE_TIME_FORMATTER))
+            .serializerByType(Booking.class, new BookingSerializer())
+            .serializerByType(Workspace.class, new WorkspaceSerializer())
+            .serializerByType(Audit.class, new AuditSerializer())
+            .build();
+
+    /**
+     * Checks whether the current request asks for indented output with the {@code pretty} parameter.
+     * The parameter counts when it is present without a value or with any value other than {@code false}.
+     *
+     * @return true if the response should be indented
+     */
+    public static boolean isPrettyRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        String pretty = ((ServletRequestAttributes) attributes).getRequest().getParameter(PRETTY_PARAMETER);
+        return pretty != null && !"false".equalsIgnoreCase(pretty);
+    }
+
+    /**
+     * Writes a numeric field, or null if the value is missing.
+     *
+     * @param generator the generator to write to
+     * @param name      the pre-encoded name of the field
+     * @param value     the value, may be null
+     * @throws IOException if writing fails
+     */
+    public static void writeNumberField(JsonGenerator generator, SerializableString name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    /**
+     * Writes a string field, or null if the value is missing.
+     *
+     * @param generator the generator to write to
+     * @param name      the pre-encoded name of the field
+     * @param value     the value, may be null
+     * @throws IOException if writing fails
+     */
+    public static void writeStringField(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    /**
+     * Writes a date-time field in the format of {@link #DATE_TIME_FORMATTER}, or null if the value is missing.
+     *
+     * @param generator the generator to write to
+     * @param name      the pre-encoded name of the field
+     * @param value     the value, may be null
+     * @throws IOException if writing fails
+     */
+    public static void writeDateTimeField(JsonGenerator generator, SerializableString name, LocalDateTime value) throws IOException {
+        writeStringField(generator, name, value == null ? null : DATE_TIME_FORMATTER.format(value));
+    }
+}
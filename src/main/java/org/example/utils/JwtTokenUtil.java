@@ -6,12 +6,12 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import lombok.RequiredArgsConstructor;
+import org.example.cache.AuthenticationCache;
 import org.example.dto.UserDTO;
 import org.example.dto.Authentication;
 import org.example.exceptions.UserNotFoundException;
 import org.example.service.UserService;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.PropertySource;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.AccessDeniedException;
@@ -20,16 +20,23 @@ import java.util.Date;
 
 /**
  * Utility class for handling JWT token operations.
+ * The signing algorithm and the verifier are built once and shared, both are thread-safe.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtTokenUtil {
+    private static final String ISSUER = "ruslan";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.lifetime}")
     private String jwtLifetime;
     private final UserService userService;
+    private final AuthenticationCache authenticationCache;
+
+    private volatile Algorithm algorithm;
+    private volatile JWTVerifier verifier;
 
     /**
      * Generates a JWT for the given login.
@@ -44,43 +51,40 @@ public class JwtTokenUtil {
                 .withSubject("user details")
                 .withClaim("username", username)
                 .withIssuedAt(new Date())
-                .withIssuer("ruslan")
+                .withIssuer(ISSUER)
                 .withExpiresAt(expirationDate)
-                .sign(Algorithm.HMAC256(secret));
+                .sign(algorithm());
     }
 
     /**
      * Authenticates a user based on the given JWT.
+     * A token seen before is answered from the {@link AuthenticationCache} without verifying the signature
+     * or loading the user again. Otherwise the token is verified once and the result is cached until it expires.
      *
      * @param token the JWT to authenticate
      * @return the authentication result
      * @throws AccessDeniedException if the JWT is invalid or the user does not exist
      */
     public Authentication authentication(String token) throws AccessDeniedException, UserNotFoundException {
-        if (!validateToken(token)) {
+        Authentication cached = authenticationCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = authenticationCache.generation();
+        DecodedJWT jwt;
+        try {
+            jwt = verifier().verify(token);
+        } catch (JWTVerificationException e) {
             throw new AccessDeniedException("Access denied: Invalid token");
         }
 
-        String username = getUsernameClaim(token);
+        String username = jwt.getClaim("username").asString();
         UserDTO user = userService.getUser(username);
+        Authentication authentication = new Authentication(username, user.getRole());
 
-        return new Authentication(username, user.getRole());
-    }
-
-    /**
-     * Retrieves the username claim from the provided JWT token.
-     *
-     * @param token the JWT token from which to retrieve the username claim
-     * @return the username claim extracted from the JWT token
-     * @throws JWTVerificationException if the token verification fails
-     */
-    private String getUsernameClaim(String token) throws JWTVerificationException {
-        JWTVerifier verifier = JWT.require(Algorithm.HMAC256(secret))
-                .withIssuer("ruslan")
-                .build();
-
-        DecodedJWT jwt = verifier.verify(token);
-        return jwt.getClaim("username").asString();
+        authenticationCache.put(token, authentication, jwt.getExpiresAt(), generation);
+        return authentication;
     }
 
     /**
@@ -91,14 +95,30 @@ public class JwtTokenUtil {
      */
     public boolean validateToken(String token) {
         try {
-            JWTVerifier verifier = JWT.require(Algorithm.HMAC256(secret))
-                    .withIssuer("ruslan")
-                    .build();
-
-            verifier.verify(token);
+            verifier().verify(token);
             return true;
         } catch (JWTVerificationException e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private Algorithm algorithm() {
+        Algorithm current = algorithm;
+        if (current == null) {
+            current = Algorithm.HMAC256(secret);
+            algorithm = current;
+        }
+        return current;
+    }
+
+    private JWTVerifier verifier() {
+        JWTVerifier current = verifier;
+        if (current == null) {
+            current = JWT.require(algorithm())
+                    .withIssuer(ISSUER)
+                    .build();
+            verifier = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.utils;
+
+import org.example.dto.Page;
+import org.example.exceptions.NotValidArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset pagination. A cursor is the URL-safe Base64 form of the last id returned,
+ * so clients have to treat it as an opaque value and pass it back unchanged.
+ */
+public class PageUtil {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    /**
+     * Encodes the id of the last returned item as a cursor.
+     *
+     * @param lastId the id of the last item on the page
+     * @return the opaque cursor
+     */
+    public static String encodeCursor(Long lastId) {
+        byte[] bytes = (CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encodeCursor(Long)}.
+     *
+     * @param cursor the cursor, may be null or blank for the first page
+     * @return the id after which the page starts, or null for the first page
+     * @throws NotValidArgumentException if the cursor is malformed
+     */
+    public static Long decodeCursor(String cursor) throws NotValidArgumentException {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(CURSOR_PREFIX)) {
+                throw new NotValidArgumentException("Cursor is not valid");
+            }
+            return Long.parseLong(value.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new NotValidArgumentException("Cursor is not valid");
+        }
+    }
+
+    /**
+     * Checks the requested page size, falling back to {@link #DEFAULT_LIMIT} when it is absent.
+     *
+     * @param limit the requested page size, may be null
+     * @return the page size to use
+     * @throws NotValidArgumentException if the limit is not between 1 and {@link #MAX_LIMIT}
+     */
+    public static int checkLimit(Integer limit) throws NotValidArgumentException {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new NotValidArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1} as the SQL limit.
+     * The extra row only signals that another page exists and is not returned.
+     *
+     * @param rows  the fetched rows ordered by id
+     * @param limit the page size
+     * @param idOf  extracts the id of an item
+     * @return the page with the cursor of the next page, if any
+     */
+    public static <T> Page<T> toPage(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new Page<>(items, encodeCursor(idOf.apply(items.get(limit - 1))));
+    }
+}
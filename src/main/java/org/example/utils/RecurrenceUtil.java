@@ -0,0 +1,79 @@
+package org.example.utils;
+
+import org.example.entity.Booking;
+import org.example.entity.BookingSeries;
+import org.example.entity.types.RecurrenceFrequency;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Expands the rule of a booking series into its occurrences. Occurrences are computed one at a time while
+ * the stream is consumed, so a series is never expanded further than the caller reads.
+ */
+public class RecurrenceUtil {
+
+    /**
+     * Returns the occurrences of a series in order of time. Every occurrence starts at the time of day of the
+     * first one and lasts as long. The first occurrence is on the first matching day from the start date on.
+     * Daily series have an occurrence on every {@code interval}-th day, weekly series on the chosen days of
+     * every {@code interval}-th week, counted from the week of the start date. Without chosen days a daily
+     * series repeats on all days and a weekly series on the day of the start date. The stream ends after
+     * the until date or after count occurrences, and is infinite if the series has neither.
+     *
+     * @param series the series to expand
+     * @return the occurrences as bookings of the series which are not saved yet
+     */
+    public static Stream<Booking> occurrences(BookingSeries series) {
+        LocalDateTime startTime = series.getStartTime();
+        Duration duration = Duration.between(startTime, series.getEndTime());
+        LocalDate firstDate = startTime.toLocalDate();
+        LocalDate firstMonday = firstDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        Set<DayOfWeek> days = daysOf(series);
+        int interval = Math.max(series.getInterval(), 1);
+
+        Stream<LocalDate> dates = Stream.iterate(firstDate, date -> date.plusDays(1))
+                .filter(date -> days.contains(date.getDayOfWeek()))
+                .filter(date -> series.getFrequency() == RecurrenceFrequency.DAILY
+                        ? ChronoUnit.DAYS.between(firstDate, date) % interval == 0
+                        : ChronoUnit.WEEKS.between(firstMonday, date) % interval == 0);
+        if (series.getUntil() != null) {
+            dates = dates.takeWhile(date -> !date.isAfter(series.getUntil()));
+        }
+        if (series.getCount() != null) {
+            dates = dates.limit(series.getCount());
+        }
+
+        return dates.map(date -> {
+            LocalDateTime occurrenceStart = date.atTime(startTime.toLocalTime());
+            return Booking.builder()
+                    .workspaceId(series.getWorkspaceId())
+                    .userId(series.getUserId())
+                    .startTime(occurrenceStart)
+                    .endTime(occurrenceStart.plus(duration))
+                    .seriesId(series.getId())
+                    .build();
+        });
+    }
+
+    /**
+     * Returns the days of the week a series repeats on, filling in the default if none were chosen.
+     *
+     * @param series the series
+     * @return the days of the week with an occurrence
+     */
+    public static Set<DayOfWeek> daysOf(BookingSeries series) {
+        if (series.getDaysOfWeek() != null && !series.getDaysOfWeek().isEmpty()) {
+            return series.getDaysOfWeek();
+        }
+        return series.getFrequency() == RecurrenceFrequency.DAILY
+                ? Set.of(DayOfWeek.values())
+                : Set.of(series.getStartTime().getDayOfWeek());
+    }
+}
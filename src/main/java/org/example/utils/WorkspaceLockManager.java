@@ -0,0 +1,81 @@
+package org.example.utils;
+
+import org.example.exceptions.WorkspaceLockTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes bookings of the same workspace inside the application.
+ * Workspaces are mapped onto a fixed number of fair locks, so bookings of different workspaces mostly take
+ * different locks and run in parallel, while bookings of one workspace queue here in arrival order instead of
+ * holding pooled connections while they wait for the row lock of the workspace in the database.
+ */
+@Component
+public class WorkspaceLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutNanos;
+
+    /**
+     * Creates the lock manager.
+     *
+     * @param stripes the number of locks the workspaces are spread over
+     * @param timeout how long a booking waits for its lock, as an ISO-8601 duration
+     */
+    public WorkspaceLockManager(@Value("${booking.lock.stripes:64}") int stripes,
+                                @Value("${booking.lock.timeout:PT5S}") String timeout) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of lock stripes must be positive, got " + stripes + ".");
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+        this.timeoutNanos = Duration.parse(timeout).toNanos();
+    }
+
+    /**
+     * Runs an action while holding the lock of a workspace.
+     *
+     * @param workspaceId the workspace the action changes
+     * @param action      the action to run
+     * @param <T>         the type of the result
+     * @return the result of the action
+     * @throws WorkspaceLockTimeoutException if the lock is not free within the timeout
+     */
+    public <T> T callLocked(Long workspaceId, Supplier<T> action) {
+        ReentrantLock lock = stripeOf(workspaceId);
+        try {
+            if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new WorkspaceLockTimeoutException("The workspace is being booked by other requests, try again later.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WorkspaceLockTimeoutException("Interrupted while waiting for the workspace lock.");
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of threads waiting for the lock of a workspace.
+     *
+     * @param workspaceId the workspace id
+     * @return an estimate of the waiting threads, shared with the other workspaces of the stripe
+     */
+    public int getQueueLength(Long workspaceId) {
+        return stripeOf(workspaceId).getQueueLength();
+    }
+
+    private ReentrantLock stripeOf(Long workspaceId) {
+        return stripes[Math.floorMod(Long.hashCode(workspaceId), stripes.length)];
+    }
+}
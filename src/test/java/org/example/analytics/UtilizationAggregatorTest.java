@@ -0,0 +1,112 @@
+package org.example.analytics;
+
+import org.example.entity.Booking;
+import org.example.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UtilizationAggregatorTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 6, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(7);
+    private static final int PERIOD_SECONDS = 7 * 24 * 3600;
+    private static final Map<Long, Integer> WORKSPACE_ROWS = Map.of(1L, 0, 2L, 1, 3L, 2);
+
+    private BookingRepository bookingRepository;
+    private UtilizationAggregator utilizationAggregator;
+    private List<Booking> bookings;
+
+    @BeforeEach
+    void setUp() {
+        bookings = new ArrayList<>();
+        bookingRepository = mock(BookingRepository.class);
+        doAnswer(invocation -> {
+            Consumer<Booking> action = invocation.getArgument(2);
+            bookings.forEach(action);
+            return null;
+        }).when(bookingRepository).forEachFilteredBookingByTimePeriod(eq(FROM), eq(TO), any());
+
+        utilizationAggregator = new UtilizationAggregator(bookingRepository);
+        ReflectionTestUtils.setField(utilizationAggregator, "chunkSize", 100);
+        ReflectionTestUtils.setField(utilizationAggregator, "leafSize", 16);
+        ReflectionTestUtils.setField(utilizationAggregator, "parallelism", 4);
+        utilizationAggregator.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        utilizationAggregator.close();
+    }
+
+    @Test
+    @DisplayName("Test bookings are clipped to the period and split into hours")
+    void testAggregateClipsAndSplitsBookings() {
+        bookings.add(booking(1L, 10L, 0L, FROM.minusHours(1), FROM.plusMinutes(90)));
+        bookings.add(booking(2L, 10L, 1L, FROM.plusHours(25).plusMinutes(30), FROM.plusHours(26)));
+        bookings.add(booking(4L, 11L, 0L, TO.minusMinutes(15), TO.plusHours(3)));
+
+        UtilizationAggregate aggregate = utilizationAggregator.aggregate(FROM, TO, WORKSPACE_ROWS);
+
+        assertArrayEquals(new long[]{5400, 1800, 0}, aggregate.getWorkspaceSeconds());
+        assertArrayEquals(new long[]{1, 1, 0}, aggregate.getWorkspaceBookings());
+        assertEquals(3600, aggregate.getHourSeconds()[0]);
+        assertEquals(1800, aggregate.getHourSeconds()[1]);
+        assertEquals(1800, aggregate.getHourSeconds()[25]);
+        assertEquals(900, aggregate.getHourSeconds()[7 * 24 - 1]);
+        assertArrayEquals(new long[]{2, 1}, aggregate.getUsers().get(10L));
+        assertArrayEquals(new long[]{1, 0}, aggregate.getUsers().get(11L));
+    }
+
+    @Test
+    @DisplayName("Test aggregating in parallel chunks gives the same totals as adding up one booking after the other")
+    void testParallelAggregateMatchesSequential() {
+        Random random = new Random(42);
+        UtilizationAggregate expected = new UtilizationAggregate(WORKSPACE_ROWS, 7 * 24);
+        for (int i = 0; i < 5000; i++) {
+            LocalDateTime start = FROM.minusHours(12).plusMinutes(random.nextInt(8 * 24 * 60));
+            Booking booking = booking(1L + random.nextInt(3), 100L + random.nextInt(20), random.nextInt(3),
+                    start, start.plusMinutes(15 + random.nextInt(600)));
+            bookings.add(booking);
+            int bookingStart = (int) Math.max(0, Duration.between(FROM, booking.getStartTime()).toSeconds());
+            int bookingEnd = (int) Math.min(PERIOD_SECONDS, Duration.between(FROM, booking.getEndTime()).toSeconds());
+            if (bookingStart < bookingEnd) {
+                expected.addBooking(expected.rowOf(booking.getWorkspaceId()), booking.getUserId(), booking.getVersion() > 0,
+                        bookingStart, bookingEnd);
+            }
+        }
+
+        UtilizationAggregate aggregate = utilizationAggregator.aggregate(FROM, TO, WORKSPACE_ROWS);
+
+        assertArrayEquals(expected.getWorkspaceSeconds(), aggregate.getWorkspaceSeconds());
+        assertArrayEquals(expected.getWorkspaceBookings(), aggregate.getWorkspaceBookings());
+        assertArrayEquals(expected.getHourSeconds(), aggregate.getHourSeconds());
+        assertEquals(expected.getUsers().keySet(), aggregate.getUsers().keySet());
+        expected.getUsers().forEach((userId, counts) -> assertArrayEquals(counts, aggregate.getUsers().get(userId)));
+    }
+
+    private Booking booking(Long workspaceId, Long userId, long version, LocalDateTime startTime, LocalDateTime endTime) {
+        return Booking.builder()
+                .workspaceId(workspaceId)
+                .userId(userId)
+                .version(version)
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.async;
+
+import org.example.dto.Authentication;
+import org.example.entity.types.Role;
+import org.example.exceptions.ServiceBusyException;
+import org.example.utils.AuthenticationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class QueryExecutorTest {
+
+    private final AuthenticationContext authenticationContext = new AuthenticationContext();
+
+    private QueryExecutor queryExecutor;
+
+    @BeforeEach
+    public void setUp() {
+        queryExecutor = new QueryExecutor(authenticationContext);
+        ReflectionTestUtils.setField(queryExecutor, "threads", 1);
+        ReflectionTestUtils.setField(queryExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(queryExecutor, "retryAfter", "PT3S");
+        queryExecutor.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        authenticationContext.clear();
+        queryExecutor.close();
+    }
+
+    @Test
+    @DisplayName("Test the result of the query completes the response")
+    public void testSubmitCompletesResult() {
+        DeferredResult<ResponseEntity<String>> result = queryExecutor.submit(() -> "workspaces");
+
+        ResponseEntity<?> response = (ResponseEntity<?>) awaitResult(result);
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo("workspaces");
+    }
+
+    @Test
+    @DisplayName("Test an exception of the query becomes the error result")
+    public void testSubmitCompletesError() {
+        IllegalStateException failure = new IllegalStateException("failed");
+        DeferredResult<ResponseEntity<String>> result = queryExecutor.submit(() -> {
+            throw failure;
+        });
+
+        assertThat(awaitResult(result)).isSameAs(failure);
+    }
+
+    @Test
+    @DisplayName("Test an error of the query becomes the error result instead of a timeout")
+    public void testSubmitCompletesErrorOnError() {
+        StackOverflowError failure = new StackOverflowError("failed");
+        DeferredResult<ResponseEntity<String>> result = queryExecutor.submit(() -> {
+            throw failure;
+        });
+
+        assertThat(awaitResult(result)).isSameAs(failure);
+        assertThat(queryExecutor.getStats().getTimeouts()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test queries are rejected at once when the queue is full")
+    public void testSubmitRejectsWhenSaturated() {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DeferredResult<ResponseEntity<Boolean>> running = queryExecutor.submit(() -> {
+            started.countDown();
+            return await(release);
+        });
+        assertThat(await(started)).isTrue();
+        DeferredResult<ResponseEntity<String>> queued = queryExecutor.submit(() -> "queued");
+        assertThat(queryExecutor.getStats().getQueueDepth()).isEqualTo(1);
+
+        assertThatThrownBy(() -> queryExecutor.submit(() -> "rejected"))
+                .isInstanceOf(ServiceBusyException.class)
+                .extracting("retryAfterSeconds").isEqualTo(3L);
+
+        release.countDown();
+        assertThat(((ResponseEntity<?>) awaitResult(running)).getBody()).isEqualTo(true);
+        assertThat(((ResponseEntity<?>) awaitResult(queued)).getBody()).isEqualTo("queued");
+        assertThat(queryExecutor.getStats().getRejected()).isEqualTo(1);
+        assertThat(queryExecutor.getStats().getThreads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test with virtual threads the queries run at once up to the threads and the queue capacity")
+    public void testVirtualThreads() {
+        assumeTrue(Runtime.version().feature() >= 21);
+        queryExecutor.close();
+        ReflectionTestUtils.setField(queryExecutor, "virtualThreads", true);
+        queryExecutor.start();
+
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<DeferredResult<ResponseEntity<Boolean>>> running = List.of(
+                queryExecutor.submit(() -> {
+                    started.countDown();
+                    return await(release);
+                }),
+                queryExecutor.submit(() -> {
+                    started.countDown();
+                    return await(release);
+                }));
+        assertThat(await(started)).isTrue();
+        assertThat(queryExecutor.getStats().isVirtualThreads()).isTrue();
+        assertThat(queryExecutor.getStats().getActive()).isEqualTo(2);
+
+        assertThatThrownBy(() -> queryExecutor.submit(() -> "rejected"))
+                .isInstanceOf(ServiceBusyException.class);
+
+        release.countDown();
+        running.forEach(result -> assertThat(((ResponseEntity<?>) awaitResult(result)).getBody()).isEqualTo(true));
+        assertThat(queryExecutor.getStats().getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test the query runs with the authentication of the submitting request")
+    public void testSubmitPropagatesAuthentication() {
+        authenticationContext.bind(new Authentication("alice", Role.USER));
+
+        DeferredResult<ResponseEntity<String>> result = queryExecutor.submit(() ->
+                authenticationContext.getAuthentication().getUsername());
+
+        assertThat(((ResponseEntity<?>) awaitResult(result)).getBody()).isEqualTo("alice");
+    }
+
+    private static Object awaitResult(DeferredResult<?> result) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!result.hasResult() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(result.hasResult()).isTrue();
+        return result.getResult();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.audit;
+
+import org.example.entity.Audit;
+import org.example.entity.types.ActionType;
+import org.example.entity.types.AuditType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditArchiveTest {
+
+    private static final LocalDateTime JANUARY = LocalDateTime.of(2024, 1, 10, 9, 0, 0, 123_456_000);
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 10, 9, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private AuditArchive auditArchive;
+
+    @BeforeEach
+    void setUp() {
+        auditArchive = newArchive();
+    }
+
+    @Test
+    @DisplayName("Test archived records are found by time range and username")
+    void testFindByRangeAndUsername() throws IOException {
+        auditArchive.write(List.of(buildAudit(1L, "user1", JANUARY), buildAudit(2L, "user2", JANUARY.plusHours(1))));
+        auditArchive.write(List.of(buildAudit(3L, "user1", FEBRUARY)));
+
+        List<Audit> january = auditArchive.find(JANUARY.minusDays(1), JANUARY.plusDays(1), null, 10);
+        List<Audit> ofUser1 = auditArchive.find(JANUARY.minusDays(1), FEBRUARY.plusDays(1), "user1", 10);
+
+        assertEquals(List.of(1L, 2L), january.stream().map(Audit::getId).toList());
+        assertEquals(JANUARY, january.get(0).getAuditTimestamp());
+        assertEquals(ActionType.AUTHORIZATION, january.get(0).getActionType());
+        assertEquals(List.of(1L, 3L), ofUser1.stream().map(Audit::getId).toList());
+        assertEquals(1, auditArchive.find(JANUARY.minusDays(1), FEBRUARY.plusDays(1), null, 1).size());
+    }
+
+    @Test
+    @DisplayName("Test segments written before a restart are found by a new archive")
+    void testSegmentsSurviveRestart() throws IOException {
+        auditArchive.write(List.of(buildAudit(1L, "user1", JANUARY)));
+
+        AuditArchive restarted = newArchive();
+
+        assertEquals(1, restarted.getSegmentCount());
+        assertEquals(1, restarted.find(JANUARY, JANUARY.plusSeconds(1), "user1", 10).size());
+    }
+
+    @Test
+    @DisplayName("Test segments of past months are merged and duplicates dropped")
+    void testCompact() throws IOException {
+        auditArchive.write(List.of(buildAudit(1L, "user1", JANUARY)));
+        auditArchive.write(List.of(buildAudit(2L, "user1", JANUARY.plusDays(1)), buildAudit(1L, "user1", JANUARY)));
+        auditArchive.write(List.of(buildAudit(3L, "user1", FEBRUARY)));
+        auditArchive.write(List.of(buildAudit(4L, "user1", FEBRUARY.plusDays(1))));
+
+        int merged = auditArchive.compact(YearMonth.of(2024, 2));
+
+        assertEquals(1, merged);
+        assertEquals(3, auditArchive.getSegmentCount());
+        assertEquals(3, segmentFiles());
+        assertEquals(List.of(1L, 2L), auditArchive.find(JANUARY.minusDays(1), JANUARY.plusDays(2), null, 10)
+                .stream().map(Audit::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Test segments older than the retention are deleted")
+    void testDeleteOlderThan() throws IOException {
+        auditArchive.write(List.of(buildAudit(1L, "user1", JANUARY)));
+        auditArchive.write(List.of(buildAudit(2L, "user1", FEBRUARY)));
+
+        assertEquals(1, auditArchive.deleteOlderThan(FEBRUARY));
+
+        assertEquals(1, segmentFiles());
+        assertTrue(auditArchive.find(JANUARY.minusDays(1), JANUARY.plusDays(1), null, 10).isEmpty());
+    }
+
+    private AuditArchive newArchive() {
+        AuditArchive archive = new AuditArchive();
+        ReflectionTestUtils.setField(archive, "directory", tempDir.toString());
+        return archive;
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(path -> path.toString().endsWith(".ndjson.gz")).count();
+        }
+    }
+
+    private Audit buildAudit(Long id, String username, LocalDateTime timestamp) {
+        return Audit.builder()
+                .id(id)
+                .username(username)
+                .actionType(ActionType.AUTHORIZATION)
+                .auditType(AuditType.SUCCESS)
+                .auditTimestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.audit;
+
+import org.example.entity.Audit;
+import org.example.entity.types.ActionType;
+import org.example.entity.types.AuditType;
+import org.example.repository.AuditRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditArchiverTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private AuditRepository auditRepository;
+    private AuditArchive auditArchive;
+    private AuditArchiver auditArchiver;
+    private List<Audit> hotAudits;
+
+    @BeforeEach
+    void setUp() {
+        hotAudits = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            hotAudits.add(Audit.builder()
+                    .id(id)
+                    .username("user" + id % 3)
+                    .actionType(ActionType.AUTHORIZATION)
+                    .auditType(AuditType.SUCCESS)
+                    .auditTimestamp(CUTOFF.minusDays(30 - id))
+                    .build());
+        }
+
+        auditRepository = mock(AuditRepository.class);
+        when(auditRepository.findOlderThan(any(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime before = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return hotAudits.stream()
+                    .filter(audit -> audit.getAuditTimestamp().isBefore(before))
+                    .sorted(Comparator.comparing(Audit::getId))
+                    .limit(limit)
+                    .toList();
+        });
+        when(auditRepository.deleteAllById(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            hotAudits.removeIf(audit -> ids.contains(audit.getId()));
+            return ids.size();
+        });
+
+        auditArchive = new AuditArchive();
+        ReflectionTestUtils.setField(auditArchive, "directory", tempDir.toString());
+        auditArchiver = new AuditArchiver(auditRepository, auditArchive);
+        ReflectionTestUtils.setField(auditArchiver, "batchSize", 10);
+        ReflectionTestUtils.setField(auditArchiver, "batchPause", "PT0S");
+    }
+
+    @Test
+    @DisplayName("Test records older than the cutoff are moved to the archive in batches")
+    void testArchiveInBatches() throws IOException {
+        int archived = auditArchiver.archive(CUTOFF);
+
+        assertEquals(25, archived);
+        assertTrue(hotAudits.isEmpty());
+        assertEquals(3, auditArchive.getSegmentCount());
+        verify(auditRepository, times(3)).deleteAllById(anyList());
+        assertEquals(25, auditArchive.find(CUTOFF.minusDays(30), CUTOFF, null, 100).size());
+    }
+
+    @Test
+    @DisplayName("Test archiving stops after the batch limit of a run")
+    void testArchiveStopsAtBatchLimit() throws IOException {
+        ReflectionTestUtils.setField(auditArchiver, "maxBatchesPerRun", 2);
+
+        assertEquals(20, auditArchiver.archive(CUTOFF));
+        assertEquals(5, hotAudits.size());
+    }
+
+    @Test
+    @DisplayName("Test archiving stops when archived records can not be deleted")
+    void testArchiveStopsWhenDeleteFails() throws IOException {
+        when(auditRepository.deleteAllById(anyList())).thenReturn(-1);
+
+        assertEquals(0, auditArchiver.archive(CUTOFF));
+        verify(auditRepository, times(1)).findOlderThan(any(), anyInt());
+        assertEquals(25, hotAudits.size());
+    }
+
+    @Test
+    @DisplayName("Test a run archives records older than the hot days and compacts past months")
+    void testRun() {
+        ReflectionTestUtils.setField(auditArchiver, "hotDays", 10);
+
+        auditArchiver.run(CUTOFF.plusDays(10));
+
+        assertTrue(hotAudits.isEmpty());
+        assertEquals(1, auditArchive.getSegmentCount());
+        assertEquals(25, auditArchive.find(CUTOFF.minusDays(30), CUTOFF, null, 100).size());
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.audit;
+
+import org.example.dto.AuditWriterStats;
+import org.example.entity.Audit;
+import org.example.entity.types.ActionType;
+import org.example.entity.types.AuditType;
+import org.example.repository.AuditRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private AuditRepository auditRepository;
+    private AuditWriter auditWriter;
+    private List<Audit> savedAudits;
+
+    @BeforeEach
+    void setUp() {
+        savedAudits = Collections.synchronizedList(new ArrayList<>());
+        auditRepository = mock(AuditRepository.class);
+        when(auditRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            savedAudits.addAll(invocation.getArgument(0));
+            return true;
+        });
+
+        auditWriter = new AuditWriter(auditRepository);
+        ReflectionTestUtils.setField(auditWriter, "batchSize", 10);
+        ReflectionTestUtils.setField(auditWriter, "flushInterval", "PT0.05S");
+        ReflectionTestUtils.setField(auditWriter, "spillFile", tempDir.resolve("spill.ndjson").toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditWriter.close();
+    }
+
+    @Test
+    @DisplayName("Test submitted records are written in batches")
+    void testRecordsWrittenInBatches() {
+        auditWriter.start();
+
+        for (int i = 0; i < 25; i++) {
+            auditWriter.submit(buildAudit("user" + i));
+        }
+        auditWriter.close();
+
+        ArgumentCaptor<List<Audit>> batches = ArgumentCaptor.forClass(List.class);
+        verify(auditRepository, atLeastOnce()).saveAll(batches.capture());
+        assertEquals(25, savedAudits.size());
+        assertTrue(batches.getAllValues().size() < 25);
+        assertTrue(savedAudits.stream().allMatch(audit -> audit.getAuditTimestamp() != null));
+
+        AuditWriterStats stats = auditWriter.getStats();
+        assertEquals(25, stats.getSubmitted());
+        assertEquals(25, stats.getWritten());
+        assertTrue(stats.getBatchSizeMax() <= 10);
+    }
+
+    @Test
+    @DisplayName("Test records are written on the calling thread when writer is not started")
+    void testSynchronousWriteWhenNotStarted() {
+        auditWriter.submit(buildAudit("user"));
+
+        verify(auditRepository, times(1)).saveAll(anyList());
+        assertEquals(1, savedAudits.size());
+    }
+
+    @Test
+    @DisplayName("Test drop oldest policy discards oldest records when queue is full")
+    void testDropOldestPolicy() throws InterruptedException {
+        CountDownLatch release = blockRepository();
+        ReflectionTestUtils.setField(auditWriter, "queueCapacity", 2);
+        ReflectionTestUtils.setField(auditWriter, "overflowPolicy", AuditOverflowPolicy.DROP_OLDEST);
+        auditWriter.start();
+
+        auditWriter.submit(buildAudit("blocking"));
+        waitForEmptyQueue();
+        for (int i = 0; i < 5; i++) {
+            auditWriter.submit(buildAudit("user" + i));
+        }
+        release.countDown();
+        auditWriter.close();
+
+        assertEquals(3, auditWriter.getStats().getDropped());
+        assertEquals(List.of("blocking", "user3", "user4"), usernames());
+    }
+
+    @Test
+    @DisplayName("Test spill policy writes overflow to file and replays it later")
+    void testSpillPolicy() throws Exception {
+        CountDownLatch release = blockRepository();
+        ReflectionTestUtils.setField(auditWriter, "queueCapacity", 1);
+        ReflectionTestUtils.setField(auditWriter, "overflowPolicy", AuditOverflowPolicy.SPILL);
+        auditWriter.start();
+
+        auditWriter.submit(buildAudit("blocking"));
+        waitForEmptyQueue();
+        auditWriter.submit(buildAudit("queued"));
+        auditWriter.submit(buildAudit("spilled1"));
+        auditWriter.submit(buildAudit("spilled2"));
+
+        assertEquals(2, auditWriter.getStats().getSpilled());
+        assertEquals(2, Files.readAllLines(tempDir.resolve("spill.ndjson")).size());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (savedAudits.size() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(usernames().containsAll(List.of("blocking", "queued", "spilled1", "spilled2")));
+        assertFalse(Files.exists(tempDir.resolve("spill.ndjson")));
+    }
+
+    @Test
+    @DisplayName("Test failed batches are counted")
+    void testFailedBatchCounted() {
+        when(auditRepository.saveAll(anyList())).thenReturn(false);
+
+        auditWriter.submit(buildAudit("user"));
+
+        assertEquals(1, auditWriter.getStats().getFailed());
+        assertEquals(0, auditWriter.getStats().getWritten());
+    }
+
+    private CountDownLatch blockRepository() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(auditRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            savedAudits.addAll(invocation.getArgument(0));
+            return true;
+        });
+        return release;
+    }
+
+    private void waitForEmptyQueue() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (auditWriter.getStats().getQueueDepth() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+    }
+
+    private List<String> usernames() {
+        synchronized (savedAudits) {
+            return savedAudits.stream().map(Audit::getUsername).toList();
+        }
+    }
+
+    private Audit buildAudit(String username) {
+        return Audit.builder()
+                .username(username)
+                .actionType(ActionType.AUTHORIZATION)
+                .auditType(AuditType.SUCCESS)
+                .build();
+    }
+}
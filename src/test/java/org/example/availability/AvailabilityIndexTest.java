@@ -0,0 +1,197 @@
+package org.example.availability;
+
+import org.example.entity.Booking;
+import org.example.entity.Workspace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 4, 1, 9, 0);
+
+    private AvailabilityIndex availabilityIndex;
+
+    @BeforeEach
+    void setUp() {
+        availabilityIndex = new AvailabilityIndex();
+        availabilityIndex.rebuild(
+                () -> List.of(buildWorkspace(2L, "Workspace 2"), buildWorkspace(1L, "Workspace 1")),
+                () -> List.of(buildBooking(1L, 1L, BASE, BASE.plusHours(2))));
+    }
+
+    @Test
+    @DisplayName("Test index is ready after rebuild")
+    void testReadyAfterRebuild() {
+        assertTrue(availabilityIndex.isReady());
+        assertEquals(1, availabilityIndex.getBookingCount());
+        assertFalse(new AvailabilityIndex().isReady());
+    }
+
+    @Test
+    @DisplayName("Test booked workspace is not available during the booking")
+    void testBookedWorkspaceNotAvailable() {
+        List<Workspace> available = availabilityIndex.findAvailableWorkspaces(BASE.plusHours(1), BASE.plusHours(3));
+
+        assertEquals(List.of(2L), ids(available));
+    }
+
+    @Test
+    @DisplayName("Test workspace is available once its booking has ended")
+    void testWorkspaceAvailableAfterBookingEnd() {
+        List<Workspace> available = availabilityIndex.findAvailableWorkspaces(BASE.plusHours(2), BASE.plusHours(3));
+
+        assertEquals(List.of(1L, 2L), ids(available));
+    }
+
+    @Test
+    @DisplayName("Test period ending at the booking start is treated as busy")
+    void testPeriodEndingAtBookingStart() {
+        List<Workspace> available = availabilityIndex.findAvailableWorkspaces(BASE.minusHours(1), BASE);
+
+        assertEquals(List.of(2L), ids(available));
+    }
+
+    @Test
+    @DisplayName("Test index follows added and removed bookings")
+    void testAddAndRemoveBooking() {
+        availabilityIndex.addBooking(buildBooking(2L, 2L, BASE.plusDays(1), BASE.plusDays(1).plusHours(1)));
+        assertEquals(List.of(1L), ids(availabilityIndex.findAvailableWorkspaces(BASE.plusDays(1), BASE.plusDays(1))));
+
+        availabilityIndex.removeBooking(2L);
+        assertEquals(List.of(1L, 2L), ids(availabilityIndex.findAvailableWorkspaces(BASE.plusDays(1), BASE.plusDays(1))));
+        assertEquals(1, availabilityIndex.getBookingCount());
+    }
+
+    @Test
+    @DisplayName("Test removing a workspace removes its bookings")
+    void testRemoveWorkspace() {
+        availabilityIndex.removeWorkspace("Workspace 1");
+
+        assertEquals(List.of(2L), ids(availabilityIndex.findAvailableWorkspaces(BASE, BASE.plusHours(1))));
+        assertEquals(0, availabilityIndex.getBookingCount());
+    }
+
+    @Test
+    @DisplayName("Test index agrees with the SQL predicate on random data")
+    void testMatchesSqlPredicate() {
+        Random random = new Random(42);
+        List<Workspace> workspaces = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (long workspaceId = 1; workspaceId <= 20; workspaceId++) {
+            workspaces.add(buildWorkspace(workspaceId, "Workspace " + workspaceId));
+            for (int i = 0; i < 30; i++) {
+                LocalDateTime start = BASE.plusMinutes(random.nextInt(10_000));
+                bookings.add(buildBooking(bookings.size() + 1L, workspaceId, start, start.plusMinutes(1 + random.nextInt(600))));
+            }
+        }
+        availabilityIndex.rebuild(() -> workspaces, () -> bookings);
+
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(11_000) - 500);
+            LocalDateTime end = start.plusMinutes(random.nextInt(300));
+            List<Long> expected = workspaces.stream()
+                    .filter(workspace -> bookings.stream()
+                            .noneMatch(booking -> booking.getWorkspaceId().equals(workspace.getId())
+                                    && !booking.getStartTime().isAfter(end)
+                                    && booking.getEndTime().isAfter(start)))
+                    .map(Workspace::getId)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, ids(availabilityIndex.findAvailableWorkspaces(start, end)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test incremental updates keep the slot bitmap in line with the SQL predicate")
+    void testIncrementalUpdatesMatchSqlPredicate() {
+        ReflectionTestUtils.setField(availabilityIndex, "slotMinutes", 60);
+        Random random = new Random(7);
+        List<Workspace> workspaces = new ArrayList<>();
+        for (long workspaceId = 1; workspaceId <= 70; workspaceId++) {
+            workspaces.add(buildWorkspace(workspaceId, "Workspace " + workspaceId));
+        }
+        availabilityIndex.rebuild(() -> workspaces, List::of);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (long bookingId = 1; bookingId <= 1500; bookingId++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(5 * 24 * 60));
+            Booking booking = buildBooking(bookingId, 1L + random.nextInt(workspaces.size()), start,
+                    start.plusMinutes(1 + random.nextInt(300)));
+            availabilityIndex.addBooking(booking);
+            bookings.add(booking);
+            if (random.nextInt(3) == 0) {
+                Booking removed = bookings.remove(random.nextInt(bookings.size()));
+                availabilityIndex.removeBooking(removed.getId());
+            }
+        }
+
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime start = BASE.plusMinutes(random.nextInt(6 * 24 * 60) - 60);
+            LocalDateTime end = start.plusMinutes(random.nextInt(600));
+            List<Long> expected = workspaces.stream()
+                    .filter(workspace -> bookings.stream()
+                            .noneMatch(booking -> booking.getWorkspaceId().equals(workspace.getId())
+                                    && !booking.getStartTime().isAfter(end)
+                                    && booking.getEndTime().isAfter(start)))
+                    .map(Workspace::getId)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, ids(availabilityIndex.findAvailableWorkspaces(start, end)));
+        }
+    }
+
+    @Test
+    @DisplayName("Test slot bitmap of 1000 workspaces booked every day of a year takes a few megabytes")
+    void testBitmapFootprint() {
+        List<Workspace> workspaces = new ArrayList<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (long workspaceId = 1; workspaceId <= 1000; workspaceId++) {
+            workspaces.add(buildWorkspace(workspaceId, "Workspace " + workspaceId));
+            for (int day = 0; day < 365; day++) {
+                LocalDateTime start = BASE.plusDays(day);
+                bookings.add(buildBooking(bookings.size() + 1L, workspaceId, start, start.plusHours(2)));
+            }
+        }
+        availabilityIndex.rebuild(() -> workspaces, () -> bookings);
+
+        assertTrue(availabilityIndex.getBitmapSizeInBytes() < 8 * 1024 * 1024);
+        assertEquals(List.of(), ids(availabilityIndex.findAvailableWorkspaces(BASE.plusDays(100), BASE.plusDays(100).plusHours(1))));
+        assertEquals(1000, availabilityIndex.findAvailableWorkspaces(BASE.plusDays(100).plusHours(2), BASE.plusDays(100).plusHours(3)).size());
+    }
+
+    @Test
+    @DisplayName("Test slot length has to divide a day")
+    void testInvalidSlotLength() {
+        ReflectionTestUtils.setField(availabilityIndex, "slotMinutes", 7);
+
+        assertThrows(IllegalArgumentException.class, () -> availabilityIndex.rebuild(List::of, List::of));
+    }
+
+    private List<Long> ids(List<Workspace> workspaces) {
+        return workspaces.stream().map(Workspace::getId).collect(Collectors.toList());
+    }
+
+    private Workspace buildWorkspace(Long id, String name) {
+        return Workspace.builder().id(id).name(name).build();
+    }
+
+    private Booking buildBooking(Long id, Long workspaceId, LocalDateTime startTime, LocalDateTime endTime) {
+        return Booking.builder()
+                .id(id)
+                .workspaceId(workspaceId)
+                .userId(1L)
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.cache;
+
+import org.example.dto.CacheStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    @DisplayName("Test least recently used entry is evicted when cache is full")
+    void testEvictsLeastRecentlyUsed() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 2, null, now::get);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    @DisplayName("Test entries expire after time to live")
+    void testTimeToLive() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10, Duration.ofSeconds(5), now::get);
+        cache.put("a", 1);
+
+        now.addAndGet(4_999);
+        assertEquals(1, cache.get("a"));
+        now.addAndGet(1);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Test entries expire at given time but not later than time to live")
+    void testPerEntryExpiration() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10, Duration.ofSeconds(5), now::get);
+        cache.put("short", 1, now.get() + 1_000);
+        cache.put("long", 2, now.get() + 60_000);
+        cache.put("expired", 3, now.get());
+
+        now.addAndGet(1_000);
+        assertNull(cache.get("short"));
+        assertEquals(2, cache.get("long"));
+        assertFalse(cache.containsKey("expired"));
+
+        now.addAndGet(4_000);
+        assertNull(cache.get("long"));
+    }
+
+    @Test
+    @DisplayName("Test invalidating entries by predicate")
+    void testInvalidateIf() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10, null, now::get);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        assertEquals(2, cache.invalidateIf((key, value) -> value % 2 == 1));
+        assertEquals(1, cache.size());
+        assertTrue(cache.containsKey("b"));
+    }
+
+    @Test
+    @DisplayName("Test hits and misses are counted")
+    void testStats() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>("test", 10);
+        cache.put("a", 1);
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        CacheStats stats = cache.getStats();
+        assertEquals("test", stats.getName());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+        assertEquals(10, stats.getMaximumSize());
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.cache;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenylistTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final TokenDenylist denylist = new TokenDenylist(now::get);
+
+    @Test
+    @DisplayName("Test a denied token is rejected until it expires")
+    void testDeniedUntilExpiration() {
+        String token = token("user1", now.get() + 60_000);
+
+        denylist.deny(token);
+
+        assertTrue(denylist.isDenied(token));
+        assertFalse(denylist.isDenied(token("user2", now.get() + 60_000)));
+        now.addAndGet(60_000);
+        assertFalse(denylist.isDenied(token));
+    }
+
+    @Test
+    @DisplayName("Test expired tokens are forgotten when another token is denied")
+    void testForgetsExpiredTokens() {
+        denylist.deny(token("user1", now.get() + 1_000));
+        denylist.deny(token("user2", now.get() + 60_000));
+        now.addAndGet(1_000);
+
+        denylist.deny(token("user3", now.get() + 60_000));
+        denylist.deny(token("user4", now.get() - 1_000));
+        denylist.deny("not a token");
+
+        assertEquals(2, denylist.size());
+    }
+
+    private static String token(String username, long expiresAtMillis) {
+        return JWT.create()
+                .withClaim("username", username)
+                .withExpiresAt(new Date(expiresAtMillis))
+                .sign(Algorithm.HMAC256("secret"));
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.aspects.AuditingAspect;
+import org.example.async.QueryExecutor;
+import org.example.cache.TokenDenylist;
+import org.example.controllers.BookingController;
+import org.example.dto.Authentication;
+import org.example.dto.UserDTO;
+import org.example.entity.Booking;
+import org.example.entity.Workspace;
+import org.example.entity.types.ActionType;
+import org.example.entity.types.AuditType;
+import org.example.entity.types.Role;
+import org.example.metrics.MetricsRegistry;
+import org.example.repository.BookingRepository;
+import org.example.service.AuditService;
+import org.example.service.BookingService;
+import org.example.service.UserService;
+import org.example.service.WorkspaceService;
+import org.example.utils.AuthenticationContext;
+import org.example.utils.JwtTokenUtil;
+import org.example.utils.WorkspaceLockManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fires concurrent booking requests of many users through the JWT filter, the controller and the auditing aspect
+ * and checks that every booking and every audit record is attributed to the user who sent the request.
+ */
+public class AuthenticationPropagationTest {
+
+    private static final int USERS = 20;
+    private static final int REQUESTS = 4000;
+    private static final int THREADS = 32;
+
+    private final AuthenticationContext authenticationContext = new AuthenticationContext();
+    private final Map<Long, Long> bookingOwners = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> auditsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong bookingIds = new AtomicLong();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        JwtTokenUtil jwtTokenUtil = mock(JwtTokenUtil.class);
+        when(jwtTokenUtil.authentication(anyString())).thenAnswer(invocation ->
+                new Authentication(invocation.<String>getArgument(0).substring("token-".length()), Role.USER));
+
+        UserService userService = mock(UserService.class);
+        when(userService.getUser(anyString())).thenAnswer(invocation -> {
+            String username = invocation.getArgument(0);
+            return UserDTO.builder().id(userId(username)).username(username).role(Role.USER).build();
+        });
+
+        WorkspaceService workspaceService = mock(WorkspaceService.class);
+        when(workspaceService.getWorkspace(anyString())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            Thread.yield();
+            return new Workspace(Long.parseLong(name.substring("request-".length())), name);
+        });
+
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(bookingIds.incrementAndGet());
+            bookingOwners.put(booking.getWorkspaceId(), booking.getUserId());
+            return booking;
+        });
+
+        AuditService auditService = mock(AuditService.class);
+        doAnswer(invocation -> {
+            if (invocation.getArgument(2) == AuditType.SUCCESS) {
+                auditsByUser.computeIfAbsent(invocation.getArgument(0), username -> new LongAdder()).increment();
+            }
+            return null;
+        }).when(auditService).submit(anyString(), eq(ActionType.BOOK_WORKSPACE), any(AuditType.class));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new BookingService(userService, workspaceService, bookingRepository,
+                new WorkspaceLockManager(64, "PT5S")));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new AuditingAspect(auditService, authenticationContext));
+        BookingService bookingService = proxyFactory.getProxy();
+
+        JwtTokenFilter jwtTokenFilter = new JwtTokenFilter(jwtTokenUtil, new ObjectMapper(), new MetricsRegistry(),
+                new TokenDenylist(), authenticationContext);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingService, authenticationContext,
+                        new QueryExecutor(authenticationContext)))
+                .addFilters(jwtTokenFilter)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Concurrent requests of different users never see each other's authentication")
+    public void testConcurrentRequestsKeepTheirOwner() throws Exception {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1).withNano(0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < REQUESTS; i++) {
+            int request = i;
+            futures.add(executor.submit(() -> {
+                mockMvc.perform(post("/workspaces/bookings/book")
+                                .header("Authorization", "Bearer token-" + username(request))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{ \"workspaceName\": \"request-" + request + "\", \"startTime\": \"" + startTime
+                                        + "\", \"endTime\": \"" + startTime.plusHours(1) + "\" }"))
+                        .andExpect(status().isOk());
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertThat(bookingOwners).hasSize(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            assertThat(bookingOwners.get((long) i)).as("owner of booking made by request " + i)
+                    .isEqualTo(userId(username(i)));
+        }
+        assertThat(auditsByUser).hasSize(USERS);
+        auditsByUser.forEach((username, audits) ->
+                assertThat(audits.sum()).as("audit records of " + username).isEqualTo(REQUESTS / USERS));
+        assertThat(authenticationContext.getAuthentication()).isNull();
+    }
+
+    private static String username(int request) {
+        return "user" + (request % USERS);
+    }
+
+    private static long userId(String username) {
+        return Long.parseLong(username.substring("user".length())) + 1;
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.filters;
+
+import org.example.async.QueryExecutor;
+import org.example.config.JsonHttpMessageConverter;
+import org.example.controllers.WorkspaceController;
+import org.example.entity.Workspace;
+import org.example.service.BookingService;
+import org.example.service.WorkspaceService;
+import org.example.utils.AuthenticationContext;
+import org.example.utils.JsonUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CompressionFilterTest {
+
+    private static final List<Workspace> WORKSPACES = LongStream.rangeClosed(1, 200)
+            .mapToObj(id -> new Workspace(id, "Workspace " + id))
+            .collect(Collectors.toList());
+
+    @Mock
+    private WorkspaceService workspaceService;
+
+    @Mock
+    private BookingService bookingService;
+
+    private QueryExecutor queryExecutor;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(workspaceService.getListOfAllWorkSpaces()).thenReturn(WORKSPACES);
+        when(workspaceService.getWorkspace("small")).thenReturn(new Workspace(1L, "small"));
+        doAnswer(invocation -> {
+            Consumer<Workspace> action = invocation.getArgument(0);
+            WORKSPACES.forEach(action);
+            return null;
+        }).when(workspaceService).forEachWorkspace(any());
+
+        queryExecutor = new QueryExecutor(new AuthenticationContext());
+        queryExecutor.start();
+        mockMvc = MockMvcBuilders.standaloneSetup(new WorkspaceController(workspaceService, bookingService, queryExecutor))
+                .setMessageConverters(new JsonHttpMessageConverter(JsonUtil.OBJECT_MAPPER))
+                .addFilters(new CompressionFilter())
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queryExecutor.close();
+    }
+
+    @Test
+    @DisplayName("Test large deferred responses are compressed and compact")
+    public void testLargeDeferredResponseIsCompressed() throws Exception {
+        MvcResult result = mockMvc.perform(get("/workspaces/list").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        String json = gunzip(response.getContentAsByteArray());
+        assertThat(json).isEqualTo(JsonUtil.OBJECT_MAPPER.writeValueAsString(WORKSPACES));
+        assertThat(json).doesNotContain("\n");
+        assertThat(response.getContentAsByteArray().length).isLessThan(json.length() / 3);
+    }
+
+    @Test
+    @DisplayName("Test streamed responses are compressed")
+    public void testStreamedResponseIsCompressed() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/workspaces/list/stream").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(JsonUtil.OBJECT_MAPPER.writeValueAsString(WORKSPACES));
+    }
+
+    @Test
+    @DisplayName("Test small responses and clients without gzip get the plain body")
+    public void testSmallOrUnacceptedResponseIsPlain() throws Exception {
+        MockHttpServletResponse small = mockMvc.perform(get("/workspaces/name/small").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(small.getHeader("Content-Encoding")).isNull();
+        assertThat(small.getContentAsString()).isEqualTo("{\"id\":1,\"name\":\"small\"}");
+        assertThat(small.getContentLength()).isEqualTo(small.getContentAsByteArray().length);
+
+        MockHttpServletResponse plain = mockMvc.perform(get("/workspaces/list/stream"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(plain.getHeader("Content-Encoding")).isNull();
+        assertThat(plain.getContentAsString()).isEqualTo(JsonUtil.OBJECT_MAPPER.writeValueAsString(WORKSPACES));
+    }
+
+    @Test
+    @DisplayName("Test responses are indented only when the pretty parameter is given")
+    public void testPrettyParameter() throws Exception {
+        String pretty = mockMvc.perform(get("/workspaces/name/small").param("pretty", ""))
+                .andReturn().getResponse().getContentAsString();
+        String compact = mockMvc.perform(get("/workspaces/name/small").param("pretty", "false"))
+                .andReturn().getResponse().getContentAsString();
+        String streamed = mockMvc.perform(get("/workspaces/list/stream").param("pretty", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(pretty).contains("\n").contains("\"name\" : \"small\"");
+        assertThat(compact).isEqualTo("{\"id\":1,\"name\":\"small\"}");
+        assertThat(streamed).contains("\n");
+        assertThat(JsonUtil.OBJECT_MAPPER.writeValueAsString(JsonUtil.OBJECT_MAPPER.readTree(streamed)))
+                .isEqualTo(JsonUtil.OBJECT_MAPPER.writeValueAsString(WORKSPACES));
+    }
+
+    private static String gunzip(byte[] bytes) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cache.TokenDenylist;
+import org.example.dto.Authentication;
+import org.example.entity.types.Role;
+import org.example.metrics.AuthFailure;
+import org.example.metrics.MetricsRegistry;
+import org.example.utils.AuthenticationContext;
+import org.example.utils.JwtTokenUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtTokenFilterTest {
+
+    private final JwtTokenUtil jwtTokenUtil = mock(JwtTokenUtil.class);
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final TokenDenylist tokenDenylist = mock(TokenDenylist.class);
+    private final JwtTokenFilter jwtTokenFilter = new JwtTokenFilter(jwtTokenUtil, new ObjectMapper(), metricsRegistry,
+            tokenDenylist, new AuthenticationContext());
+
+    @Test
+    @DisplayName("Test a request with a valid token passes the filter")
+    void testValidToken() throws Exception {
+        when(jwtTokenUtil.authentication("token")).thenReturn(new Authentication("user", Role.USER));
+        MockFilterChain filterChain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtTokenFilter.doFilter(request("Bearer token"), response, filterChain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(filterChain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Test a request with a logged out token is rejected")
+    void testDeniedToken() throws Exception {
+        when(tokenDenylist.isDenied("token")).thenReturn(true);
+        MockFilterChain filterChain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtTokenFilter.doFilter(request("Bearer token"), response, filterChain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(filterChain.getRequest());
+        assertEquals(1, metricsRegistry.getAuthFailures(AuthFailure.REVOKED_TOKEN));
+        verifyNoInteractions(jwtTokenUtil);
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/user/logout");
+        request.addHeader("Authorization", authorization);
+        return request;
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.partitions;
+
+import org.example.liquibase.LiquibaseManager;
+import org.example.utils.ConnectionManager;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+public class PartitionMaintainerTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16.2")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private LiquibaseManager liquibaseManager = LiquibaseManager.getInstance();
+    private ConnectionManager connectionManager;
+    private Connection connection;
+    private PartitionMaintainer partitionMaintainer;
+
+    @BeforeAll
+    public static void setUpAll() {
+        postgresContainer.start();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        connectionManager = new ConnectionManager();
+        connection = connectionManager.getConnection(
+                postgresContainer.getJdbcUrl(),
+                postgresContainer.getUsername(),
+                postgresContainer.getPassword(),
+                postgresContainer.getDriverClassName());
+
+        liquibaseManager.runMigrations(connection);
+
+        partitionMaintainer = new PartitionMaintainer(connectionManager);
+    }
+
+    @AfterEach
+    public void reset() throws SQLException {
+        execute("DROP TABLE IF EXISTS coworking.audits_p2023_01");
+        liquibaseManager.rollbackToCreateTables(connection);
+        connectionManager.close();
+    }
+
+    @AfterAll
+    public static void resetAll() {
+        postgresContainer.stop();
+    }
+
+    @Test
+    @DisplayName("Test creating a partition moves the rows of its month out of the default partition")
+    public void testCreatePartitionMovesRowsFromDefault() throws SQLException {
+        execute("""
+                INSERT INTO coworking.audits(username, action_type, audit_type, audit_timestamp)
+                VALUES ('user1', 'AUTHORIZATION', 'SUCCESS', '2023-01-15 10:00'),
+                       ('user2', 'AUTHORIZATION', 'SUCCESS', '2023-02-15 10:00')
+                """);
+
+        assertThat(partitionMaintainer.createPartition(PartitionedTable.AUDITS, YearMonth.of(2023, 1))).isTrue();
+        assertThat(partitionMaintainer.createPartition(PartitionedTable.AUDITS, YearMonth.of(2023, 1))).isFalse();
+
+        assertThat(count("coworking.audits_p2023_01")).isEqualTo(1);
+        assertThat(count("coworking.audits_default")).isEqualTo(1);
+        assertThat(count("coworking.audits")).isEqualTo(2);
+        assertThat(partitionMaintainer.findPartitions(PartitionedTable.AUDITS)).contains("audits_p2023_01");
+    }
+
+    @Test
+    @DisplayName("Test created booking partitions keep rejecting overlapping bookings")
+    public void testCreatedBookingPartitionHasExclusionConstraint() throws SQLException {
+        execute("INSERT INTO coworking.workspaces(name) VALUES ('workspace-1')");
+        execute("""
+                INSERT INTO coworking.users(username, password, role) VALUES ('user-1', 'password', 'USER')
+                """);
+        String insert = """
+                INSERT INTO coworking.bookings(user_id, workspace_id, start_time, end_time)
+                SELECT u.id, w.id, timestamp '2023-01-10 10:00', timestamp '2023-01-10 12:00'
+                FROM coworking.users u, coworking.workspaces w
+                WHERE u.username = 'user-1' AND w.name = 'workspace-1'
+                """;
+        execute(insert);
+
+        partitionMaintainer.createPartition(PartitionedTable.BOOKINGS, YearMonth.of(2023, 1));
+
+        assertThat(count("coworking.bookings_p2023_01")).isEqualTo(1);
+        Assertions.assertThrows(SQLException.class, () -> execute(insert));
+    }
+
+    @Test
+    @DisplayName("Test bookings overlapping across partitions are rejected by the database")
+    public void testOverlapAcrossPartitionsIsRejected() throws SQLException {
+        partitionMaintainer.createPartition(PartitionedTable.BOOKINGS, YearMonth.of(2023, 1));
+        partitionMaintainer.createPartition(PartitionedTable.BOOKINGS, YearMonth.of(2023, 2));
+        execute("INSERT INTO coworking.workspaces(name) VALUES ('workspace-1')");
+        execute("""
+                INSERT INTO coworking.users(username, password, role) VALUES ('user-1', 'password', 'USER')
+                """);
+        String insert = """
+                INSERT INTO coworking.bookings(user_id, workspace_id, start_time, end_time)
+                SELECT u.id, w.id, timestamp '%s', timestamp '%s'
+                FROM coworking.users u, coworking.workspaces w
+                WHERE u.username = 'user-1' AND w.name = 'workspace-1'
+                """;
+        execute(insert.formatted("2023-01-31 20:00", "2023-02-01 04:00"));
+        execute(insert.formatted("2023-02-01 08:00", "2023-02-01 10:00"));
+
+        SQLException inserted = Assertions.assertThrows(SQLException.class,
+                () -> execute(insert.formatted("2023-02-01 02:00", "2023-02-01 03:00")));
+        SQLException moved = Assertions.assertThrows(SQLException.class, () -> execute("""
+                UPDATE coworking.bookings SET start_time = '2023-02-01 03:00'
+                WHERE start_time = '2023-02-01 08:00'
+                """));
+
+        assertThat(inserted.getSQLState()).isEqualTo("23P01");
+        assertThat(moved.getSQLState()).isEqualTo("23P01");
+        assertThat(count("coworking.bookings")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test expired partitions are detached or dropped")
+    public void testRemovePartitionsBefore() throws SQLException {
+        partitionMaintainer.createPartition(PartitionedTable.AUDITS, YearMonth.of(2023, 1));
+        partitionMaintainer.createPartition(PartitionedTable.AUDITS, YearMonth.of(2023, 2));
+        partitionMaintainer.createPartition(PartitionedTable.AUDITS, YearMonth.of(2023, 3));
+
+        List<String> detached = partitionMaintainer.removePartitionsBefore(PartitionedTable.AUDITS, YearMonth.of(2023, 2), RetentionAction.DETACH);
+        List<String> dropped = partitionMaintainer.removePartitionsBefore(PartitionedTable.AUDITS, YearMonth.of(2023, 3), RetentionAction.DROP);
+
+        assertThat(detached).containsExactly("audits_p2023_01");
+        assertThat(dropped).containsExactly("audits_p2023_02");
+        assertThat(partitionMaintainer.findPartitions(PartitionedTable.AUDITS))
+                .doesNotContain("audits_p2023_01", "audits_p2023_02")
+                .contains("audits_p2023_03", "audits_default");
+        assertThat(exists("coworking.audits_p2023_01")).isTrue();
+        assertThat(exists("coworking.audits_p2023_02")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test maintenance creates the partitions of the coming months")
+    public void testMaintainCreatesPartitionsAhead() throws SQLException {
+        ReflectionTestUtils.setField(partitionMaintainer, "auditsRetentionMonths", 0);
+
+        partitionMaintainer.maintain(YearMonth.of(2030, 1));
+
+        assertThat(partitionMaintainer.findPartitions(PartitionedTable.BOOKINGS))
+                .contains("bookings_p2030_01", "bookings_p2030_02", "bookings_p2030_03", "bookings_p2030_04");
+        assertThat(partitionMaintainer.findPartitions(PartitionedTable.AUDITS))
+                .contains("audits_p2030_01", "audits_p2030_04")
+                .doesNotContain("audits_p2030_05");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection pooled = connectionManager.getConnection();
+             Statement statement = pooled.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long count(String table) throws SQLException {
+        try (Connection pooled = connectionManager.getConnection();
+             Statement statement = pooled.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private boolean exists(String table) throws SQLException {
+        try (Connection pooled = connectionManager.getConnection();
+             Statement statement = pooled.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT to_regclass('" + table + "') IS NOT NULL")) {
+            resultSet.next();
+            return resultSet.getBoolean(1);
+        }
+    }
+}
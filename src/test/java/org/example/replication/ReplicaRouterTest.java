@@ -0,0 +1,219 @@
+package org.example.replication;
+
+import org.example.aspects.ReadReplicaAspect;
+import org.example.dto.Authentication;
+import org.example.entity.User;
+import org.example.entity.Workspace;
+import org.example.entity.types.Role;
+import org.example.liquibase.LiquibaseManager;
+import org.example.repository.UserRepository;
+import org.example.repository.WorkspaceRepository;
+import org.example.repository.impl.UserRepositoryImpl;
+import org.example.repository.impl.WorkspaceRepositoryImpl;
+import org.example.utils.AuthenticationContext;
+import org.example.utils.ConnectionManager;
+import org.junit.jupiter.api.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes the reads of a workspace repository between a primary and two replicas. The databases are not replicating,
+ * each holds a workspace named after it, so the name read tells which database served the query.
+ */
+@Testcontainers
+public class ReplicaRouterTest {
+
+    @Container
+    public static PostgreSQLContainer<?> primaryContainer = new PostgreSQLContainer<>("postgres:16.2")
+            .withDatabaseName("primarydb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Container
+    public static PostgreSQLContainer<?> replica1Container = new PostgreSQLContainer<>("postgres:16.2")
+            .withDatabaseName("replica1db")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Container
+    public static PostgreSQLContainer<?> replica2Container = new PostgreSQLContainer<>("postgres:16.2")
+            .withDatabaseName("replica2db")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private final LiquibaseManager liquibaseManager = LiquibaseManager.getInstance();
+    private final AuthenticationContext authenticationContext = new AuthenticationContext();
+    private ConnectionManager connectionManager;
+    private List<Connection> migrationConnections;
+    private ReplicaRouter replicaRouter;
+    private WorkspaceRepository workspaceRepository;
+    private UserRepository userRepository;
+
+    @BeforeAll
+    public static void setUpAll() {
+        primaryContainer.start();
+        replica1Container.start();
+        replica2Container.start();
+    }
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connectionManager = new ConnectionManager();
+        migrationConnections = List.of(
+                connectionManager.getConnection(primaryContainer.getJdbcUrl(), primaryContainer.getUsername(),
+                        primaryContainer.getPassword(), primaryContainer.getDriverClassName()),
+                new ConnectionManager().getConnection(replica1Container.getJdbcUrl(), replica1Container.getUsername(),
+                        replica1Container.getPassword(), replica1Container.getDriverClassName()),
+                new ConnectionManager().getConnection(replica2Container.getJdbcUrl(), replica2Container.getUsername(),
+                        replica2Container.getPassword(), replica2Container.getDriverClassName()));
+        migrationConnections.forEach(liquibaseManager::runMigrations);
+
+        execute(primaryContainer, "INSERT INTO coworking.workspaces(name) VALUES ('primary')");
+        execute(replica1Container, "INSERT INTO coworking.workspaces(name) VALUES ('replica-1')");
+        execute(replica2Container, "INSERT INTO coworking.workspaces(name) VALUES ('replica-2')");
+        execute(primaryContainer, "INSERT INTO coworking.users(username, password, role) VALUES ('user', 'primary', 'USER')");
+        execute(replica1Container, "INSERT INTO coworking.users(username, password, role) VALUES ('user', 'replica-1', 'USER')");
+
+        replicaRouter = new ReplicaRouter(connectionManager, authenticationContext);
+        ReflectionTestUtils.setField(replicaRouter, "username", primaryContainer.getUsername());
+        ReflectionTestUtils.setField(replicaRouter, "password", primaryContainer.getPassword());
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new WorkspaceRepositoryImpl(connectionManager));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ReadReplicaAspect(replicaRouter, connectionManager));
+        workspaceRepository = proxyFactory.getProxy();
+        AspectJProxyFactory userProxyFactory = new AspectJProxyFactory(new UserRepositoryImpl(connectionManager));
+        userProxyFactory.setProxyTargetClass(true);
+        userProxyFactory.addAspect(new ReadReplicaAspect(replicaRouter, connectionManager));
+        userRepository = userProxyFactory.getProxy();
+
+        authenticationContext.bind(new Authentication("user", Role.USER));
+    }
+
+    @AfterEach
+    public void reset() {
+        authenticationContext.clear();
+        replicaRouter.close();
+        migrationConnections.forEach(liquibaseManager::rollbackToCreateTables);
+        connectionManager.close();
+    }
+
+    @AfterAll
+    public static void resetAll() {
+        primaryContainer.stop();
+        replica1Container.stop();
+        replica2Container.stop();
+    }
+
+    @Test
+    @DisplayName("Test read-only methods read from the replicas in turn, other methods from the primary")
+    public void testReadsGoRoundRobinToReplicas() throws SQLException {
+        startRouter(replica1Container.getJdbcUrl() + "," + replica2Container.getJdbcUrl());
+
+        Set<String> servedBy = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            servedBy.add(workspaceRepository.findAll().get(0).getName());
+        }
+
+        assertThat(replicaRouter.getHealthyReplicaCount()).isEqualTo(2);
+        assertThat(servedBy).containsExactlyInAnyOrder("replica-1", "replica-2");
+        assertThat(workspaceRepository.findByName("replica-1")).isPresent();
+        assertThat(workspaceRepository.findById(primaryWorkspaceId())).map(Workspace::getName).contains("primary");
+    }
+
+    @Test
+    @DisplayName("Test a user reads from the primary right after writing")
+    public void testReadYourWrites() {
+        startRouter(replica1Container.getJdbcUrl());
+
+        workspaceRepository.save(Workspace.builder().name("written").build());
+
+        assertThat(workspaceRepository.findByName("written")).isPresent();
+        authenticationContext.bind(new Authentication("other", Role.USER));
+        assertThat(workspaceRepository.findByName("written")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test a user to be written back is read from the primary and a user write is recorded")
+    public void testUserWrites() {
+        startRouter(replica1Container.getJdbcUrl());
+
+        assertThat(userRepository.findByUsername("user")).map(User::getPassword).contains("replica-1");
+        User user = userRepository.findByUsernameOnPrimary("user").orElseThrow();
+        assertThat(user.getPassword()).isEqualTo("primary");
+
+        user.setRole(Role.ADMIN);
+        assertThat(userRepository.update(user)).isTrue();
+
+        assertThat(userRepository.findByUsername("user")).map(User::getRole).contains(Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Test a read failing on a replica is repeated on the primary unless it streams its rows")
+    public void testFailedReadRetriedOnPrimary() throws SQLException {
+        startRouter(replica1Container.getJdbcUrl());
+        execute(replica1Container, "ALTER TABLE coworking.workspaces RENAME TO workspaces_moved");
+        try {
+            List<Workspace> streamed = new ArrayList<>();
+            workspaceRepository.forEach(streamed::add);
+
+            assertThat(workspaceRepository.findAll()).extracting(Workspace::getName).containsExactly("primary");
+            assertThat(workspaceRepository.findByName("primary")).isPresent();
+            assertThat(streamed).isEmpty();
+            assertThat((Throwable) connectionManager.takeReplicaFailure()).isNull();
+        } finally {
+            execute(replica1Container, "ALTER TABLE coworking.workspaces_moved RENAME TO workspaces");
+        }
+    }
+
+    @Test
+    @DisplayName("Test reads fall back to the primary when no replica is healthy or the request is not authenticated")
+    public void testFallbackToPrimary() {
+        startRouter("jdbc:postgresql://localhost:1/unreachable");
+
+        assertThat(replicaRouter.getHealthyReplicaCount()).isZero();
+        assertThat(workspaceRepository.findAll()).extracting(Workspace::getName).containsExactly("primary");
+
+        replicaRouter.close();
+        startRouter(replica1Container.getJdbcUrl());
+        authenticationContext.clear();
+
+        assertThat(workspaceRepository.findAll()).extracting(Workspace::getName).containsExactly("primary");
+    }
+
+    private void startRouter(String urls) {
+        ReflectionTestUtils.setField(replicaRouter, "urls", urls);
+        replicaRouter.start();
+    }
+
+    private static long primaryWorkspaceId() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(primaryContainer.getJdbcUrl(), primaryContainer.getUsername(), primaryContainer.getPassword());
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id FROM coworking.workspaces WHERE name = 'primary'")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void execute(PostgreSQLContainer<?> container, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
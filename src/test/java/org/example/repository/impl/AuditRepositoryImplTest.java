@@ -12,6 +12,8 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +29,7 @@ public class AuditRepositoryImplTest {
 
     private AuditRepository auditRepository;
     private Connection connection;
+    private ConnectionManager connectionManager;
     private LiquibaseManager liquibaseManager = LiquibaseManager.getInstance();
 
     @BeforeAll
@@ -36,7 +39,7 @@ public class AuditRepositoryImplTest {
 
     @BeforeEach
     public void setUp(){
-        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager = new ConnectionManager();
         connection = connectionManager.getConnection(
                 postgresContainer.getJdbcUrl(),
                 postgresContainer.getUsername(),
@@ -51,6 +54,7 @@ public class AuditRepositoryImplTest {
     @AfterEach
     public void reset(){
         liquibaseManager.rollbackToCreateTables(connection);
+        connectionManager.close();
     }
 
     @AfterAll
@@ -88,6 +92,25 @@ public class AuditRepositoryImplTest {
         assertEquals(2, allAudits.size());
     }
 
+    @Test
+    @DisplayName("Save several records at once")
+    public void testSaveAll() {
+        LocalDateTime auditTimestamp = LocalDateTime.of(2024, 6, 21, 11, 30);
+        Audit audit1 = buildAudit("testUser1", ActionType.AUTHORIZATION, AuditType.SUCCESS);
+        Audit audit2 = buildAudit("testUser2", ActionType.REGISTRATION, AuditType.FAIL);
+        audit2.setAuditTimestamp(auditTimestamp);
+
+        assertTrue(auditRepository.saveAll(List.of(audit1, audit2)));
+
+        List<Audit> allAudits = auditRepository.findAll();
+
+        assertEquals(2, allAudits.size());
+        assertTrue(allAudits.stream().anyMatch(audit -> audit.getUsername().equals("testUser1")
+                && audit.getAuditTimestamp() != null));
+        assertTrue(allAudits.stream().anyMatch(audit -> audit.getUsername().equals("testUser2")
+                && audit.getAuditTimestamp().equals(auditTimestamp)));
+    }
+
     @Test
     @DisplayName("Update record")
     public void testUpdate() {
@@ -123,6 +146,101 @@ public class AuditRepositoryImplTest {
 
 
 
+    @Test
+    @DisplayName("Find page after cursor")
+    public void testFindPage() {
+        for (int i = 0; i < 5; i++) {
+            auditRepository.save(buildAudit("testUser" + i, ActionType.AUTHORIZATION, AuditType.SUCCESS));
+        }
+        List<Audit> firstPage = auditRepository.findPage(null, 3);
+        List<Audit> secondPage = auditRepository.findPage(firstPage.get(2).getId(), 3);
+
+        assertEquals(3, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals("testUser3", secondPage.get(0).getUsername());
+        assertTrue(secondPage.get(0).getId() > firstPage.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Find page within a time window")
+    public void testFindPageInWindow() {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 30, 12, 0);
+        List<Audit> audits = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Audit audit = buildAudit("testUser" + i, ActionType.AUTHORIZATION, AuditType.SUCCESS);
+            audit.setAuditTimestamp(start.plusDays(i));
+            audits.add(audit);
+        }
+        auditRepository.saveAll(audits);
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 7, 1, 0, 0);
+
+        List<Audit> firstPage = auditRepository.findPage(from, to, null, 3);
+        List<Audit> secondPage = auditRepository.findPage(from, to, firstPage.get(2).getId(), 3);
+
+        assertEquals(List.of("testUser2", "testUser3", "testUser4"), firstPage.stream().map(Audit::getUsername).toList());
+        assertEquals(List.of("testUser5"), secondPage.stream().map(Audit::getUsername).toList());
+    }
+
+    @Test
+    @DisplayName("Find audits older than a time, delete them by id")
+    public void testFindOlderThanAndDeleteAllById() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Audit> audits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Audit audit = buildAudit("testUser" + i, ActionType.AUTHORIZATION, AuditType.SUCCESS);
+            audit.setAuditTimestamp(start.plusDays(i));
+            audits.add(audit);
+        }
+        auditRepository.saveAll(audits);
+
+        List<Audit> older = auditRepository.findOlderThan(start.plusDays(3), 2);
+        int deleted = auditRepository.deleteAllById(older.stream().map(Audit::getId).toList());
+
+        assertEquals(List.of("testUser0", "testUser1"), older.stream().map(Audit::getUsername).toList());
+        assertEquals(2, deleted);
+        assertEquals(List.of("testUser2"), auditRepository.findOlderThan(start.plusDays(3), 2)
+                .stream().map(Audit::getUsername).toList());
+        assertEquals(0, auditRepository.deleteAllById(List.of()));
+    }
+
+    @Test
+    @DisplayName("Find audits within a time range, optionally of one user")
+    public void testFindInRange() {
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 12, 0);
+        List<Audit> audits = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Audit audit = buildAudit("testUser" + i % 2, ActionType.AUTHORIZATION, AuditType.SUCCESS);
+            audit.setAuditTimestamp(start.minusDays(i));
+            audits.add(audit);
+        }
+        auditRepository.saveAll(audits);
+        LocalDateTime from = LocalDateTime.of(2024, 5, 28, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+        List<Audit> all = auditRepository.findInRange(from, to, null, 10);
+        List<Audit> ofUser = auditRepository.findInRange(from, to, "testUser1", 10);
+
+        assertEquals(List.of(start.minusDays(4), start.minusDays(3), start.minusDays(2), start.minusDays(1)),
+                all.stream().map(Audit::getAuditTimestamp).toList());
+        assertEquals(List.of(start.minusDays(3), start.minusDays(1)),
+                ofUser.stream().map(Audit::getAuditTimestamp).toList());
+        assertEquals(1, auditRepository.findInRange(from, to, null, 1).size());
+    }
+
+    @Test
+    @DisplayName("Stream all audits in id order")
+    public void testForEach() {
+        for (int i = 0; i < 5; i++) {
+            auditRepository.save(buildAudit("testUser" + i, ActionType.AUTHORIZATION, AuditType.SUCCESS));
+        }
+        List<String> usernames = new ArrayList<>();
+
+        auditRepository.forEach(audit -> usernames.add(audit.getUsername()));
+
+        assertEquals(List.of("testUser0", "testUser1", "testUser2", "testUser3", "testUser4"), usernames);
+    }
+
     private Audit buildAudit(String username, ActionType actionType, AuditType auditType){
         return Audit.builder()
                 .username(username)
@@ -0,0 +1,169 @@
+package org.example.repository.impl;
+
+import org.example.liquibase.LiquibaseManager;
+import org.example.partitions.PartitionMaintainer;
+import org.example.partitions.PartitionedTable;
+import org.example.utils.ConnectionManager;
+import org.junit.jupiter.api.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the booking filter and reschedule queries are answered by indexes of the monthly partitions
+ * once the table is large, and that period queries only read the partitions which can hold matching bookings.
+ */
+@Testcontainers
+public class BookingQueryPlanTest {
+
+    private static final int BOOKINGS = 1_000_000;
+    private static final int USERS = 1_000;
+    private static final int WORKSPACES = 2_000;
+    /**
+     * The bookings fill the partitions of January to April 2024, the other partitions are empty
+     * and may be scanned sequentially at no cost.
+     */
+    private static final String SEQ_SCAN_ON_FILLED_PARTITION = "Seq Scan on bookings_p2024_0[1-4]";
+
+    private static LiquibaseManager liquibaseManager = LiquibaseManager.getInstance();
+    private static ConnectionManager connectionManager;
+    private static Connection connection;
+
+    @Container
+    public static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16.2")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @BeforeAll
+    public static void setUpAll() throws SQLException {
+        postgresContainer.start();
+        connectionManager = new ConnectionManager();
+        connection = connectionManager.getConnection(
+                postgresContainer.getJdbcUrl(),
+                postgresContainer.getUsername(),
+                postgresContainer.getPassword(),
+                postgresContainer.getDriverClassName());
+
+        liquibaseManager.runMigrations(connection);
+
+        PartitionMaintainer partitionMaintainer = new PartitionMaintainer(connectionManager);
+        for (int month = 1; month <= 5; month++) {
+            partitionMaintainer.createPartition(PartitionedTable.BOOKINGS, YearMonth.of(2024, month));
+        }
+
+        try (Connection loader = connectionManager.getConnection();
+             Statement statement = loader.createStatement()) {
+            statement.execute("""
+                    INSERT INTO coworking.users(username, password, role)
+                    SELECT 'user-' || g, 'password', 'USER' FROM generate_series(1, %d) g
+                    """.formatted(USERS));
+            statement.execute("""
+                    INSERT INTO coworking.workspaces(name)
+                    SELECT 'workspace-' || g FROM generate_series(1, %d) g
+                    """.formatted(WORKSPACES));
+            // every workspace gets one booking of one to four hours every five hours, so bookings never overlap
+            statement.execute("""
+                    INSERT INTO coworking.bookings(user_id, workspace_id, start_time, end_time)
+                    SELECT u.id, w.id, s.start_time, s.start_time + interval '1 hour' * (1 + s.g %% 4)
+                    FROM (SELECT g, timestamp '2024-01-01' + (g / %2$d) * interval '5 hours' AS start_time
+                          FROM generate_series(0, %1$d - 1) g) s
+                    JOIN coworking.users u ON u.username = 'user-' || (s.g %% %3$d + 1)
+                    JOIN coworking.workspaces w ON w.name = 'workspace-' || (s.g %% %2$d + 1)
+                    """.formatted(BOOKINGS, WORKSPACES, USERS));
+            statement.execute("ANALYZE coworking.users");
+            statement.execute("ANALYZE coworking.workspaces");
+            statement.execute("ANALYZE coworking.bookings");
+        }
+    }
+
+    @AfterAll
+    public static void resetAll() {
+        liquibaseManager.rollbackToCreateTables(connection);
+        connectionManager.close();
+        postgresContainer.stop();
+    }
+
+    @Test
+    @DisplayName("Filter by time period reads only the partitions of the period with the period index")
+    public void testTimePeriodFilterUsesIndex() throws SQLException {
+        Timestamp startTime = Timestamp.valueOf(LocalDateTime.of(2024, 4, 10, 10, 0));
+        Timestamp endTime = Timestamp.valueOf(LocalDateTime.of(2024, 4, 10, 12, 0));
+        String plan = explainAnalyze(BookingRepositoryImpl.SQL_FILTER_BY_TIME_PERIOD, startTime, endTime, startTime, endTime);
+
+        assertThat(plan).containsPattern("Index Scan (using|on) bookings_p2024_04_(period_idx|no_overlap)");
+        // the lower bound comes from the longest stored booking, so the other partitions are skipped when the query runs
+        for (String partition : new String[]{"bookings_p2024_01", "bookings_p2024_02", "bookings_p2024_05", "bookings_default"}) {
+            assertThat(plan).doesNotContainPattern(partition + " \\S+ \\(actual");
+        }
+        assertThat(plan).doesNotContainPattern(SEQ_SCAN_ON_FILLED_PARTITION);
+    }
+
+    @Test
+    @DisplayName("Filter by username uses the user index")
+    public void testUsernameFilterUsesIndex() throws SQLException {
+        String plan = explain(BookingRepositoryImpl.SQL_FILTER_BY_USERNAME, "user-5");
+
+        assertThat(plan).contains("bookings_p2024_01_user_id_start_time_idx");
+        assertThat(plan).doesNotContainPattern(SEQ_SCAN_ON_FILLED_PARTITION);
+    }
+
+    @Test
+    @DisplayName("Filter by workspace uses the workspace index")
+    public void testWorkspaceFilterUsesIndex() throws SQLException {
+        String plan = explain(BookingRepositoryImpl.SQL_FILTER_BY_WORKSPACE, "workspace-5");
+
+        assertThat(plan).containsPattern("bookings_p2024_0[1-4]_(workspace_id_start_time_end_time_idx|no_overlap)");
+        assertThat(plan).doesNotContainPattern(SEQ_SCAN_ON_FILLED_PARTITION);
+    }
+
+    @Test
+    @DisplayName("Reschedule finds the booking by primary key and checks overlaps with the period indexes")
+    public void testRescheduleUsesIndexes() throws SQLException {
+        String plan = explain(BookingRepositoryImpl.SQL_UPDATE_IF_FREE,
+                500_000L, 5L, 5L,
+                Timestamp.valueOf(LocalDateTime.of(2024, 4, 10, 10, 0)),
+                Timestamp.valueOf(LocalDateTime.of(2024, 4, 10, 12, 0)),
+                0L);
+
+        assertThat(plan).contains("bookings_p2024_04_pkey");
+        assertThat(plan).containsPattern("Index Scan using bookings_p2024_04_(period_idx|no_overlap) on bookings_p2024_04 o_");
+        assertThat(plan).doesNotContainPattern(SEQ_SCAN_ON_FILLED_PARTITION);
+    }
+
+    private static String explain(String query, Object... parameters) throws SQLException {
+        return explain("EXPLAIN ", query, parameters);
+    }
+
+    private static String explainAnalyze(String query, Object... parameters) throws SQLException {
+        return explain("EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) ", query, parameters);
+    }
+
+    private static String explain(String explain, String query, Object[] parameters) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+
+        try (Connection explainConnection = connectionManager.getConnection();
+             PreparedStatement preparedStatement = explainConnection.prepareStatement(explain + query)) {
+            for (int i = 0; i < parameters.length; i++) {
+                preparedStatement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
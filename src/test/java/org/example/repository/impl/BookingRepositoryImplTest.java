@@ -1,13 +1,21 @@
 package org.example.repository.impl;
 
+import org.example.analytics.UtilizationAggregate;
+import org.example.analytics.UtilizationAggregator;
+import org.example.exceptions.BookingNotFoundException;
+import org.example.exceptions.BookingVersionConflictException;
 import org.example.exceptions.WorkspaceAlreadyBookedException;
 import org.example.repository.BookingRepository;
 import org.example.repository.UserRepository;
 import org.example.repository.WorkspaceRepository;
 import org.example.entity.Booking;
+import org.example.entity.BookingSeries;
 import org.example.entity.User;
 import org.example.entity.Workspace;
+import org.example.entity.types.RecurrenceFrequency;
 import org.example.liquibase.LiquibaseManager;
+import org.example.partitions.PartitionMaintainer;
+import org.example.partitions.PartitionedTable;
 import org.example.utils.ConnectionManager;
 import org.junit.jupiter.api.*;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -15,9 +23,24 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,6 +55,7 @@ public class BookingRepositoryImplTest {
     private User testUser;
     private Workspace testWorkspace;
     private Connection connection;
+    private ConnectionManager connectionManager;
     DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
     @Container
@@ -45,7 +69,7 @@ public class BookingRepositoryImplTest {
     }
     @BeforeEach
     public void setUp(){
-        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager = new ConnectionManager();
         connection = connectionManager.getConnection(
                 postgresContainer.getJdbcUrl(),
                 postgresContainer.getUsername(),
@@ -83,6 +107,7 @@ public class BookingRepositoryImplTest {
     @AfterEach
     public void reset(){
         liquibaseManager.rollbackToCreateTables(connection);
+        connectionManager.close();
     }
 
     @AfterAll
@@ -187,9 +212,220 @@ public class BookingRepositoryImplTest {
     }
 
     @Test
-    @DisplayName("Test update method")
-    @Disabled("Not implemented yet")
+    @DisplayName("Test save method throws exception if new booking partially overlaps existing one")
+    public void testSaveThrowsOnPartialOverlap(){
+        LocalDateTime startTime = LocalDateTime.parse("2024-06-21 12:00", formatter);
+        LocalDateTime endTime = LocalDateTime.parse("2024-06-21 13:00", formatter);
+        Booking testBooking2 = Booking.builder()
+                .workspaceId(testWorkspace.getId())
+                .userId(testUser.getId())
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
+
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.save(testBooking2));
+    }
+
+    @Test
+    @DisplayName("Test save method allows booking which starts when existing one ends")
+    public void testSaveAdjacentBooking(){
+        LocalDateTime startTime = LocalDateTime.parse("2024-06-21 12:30", formatter);
+        LocalDateTime endTime = LocalDateTime.parse("2024-06-21 13:30", formatter);
+        Booking testBooking2 = Booking.builder()
+                .workspaceId(testWorkspace.getId())
+                .userId(testUser.getId())
+                .startTime(startTime)
+                .endTime(endTime)
+                .build();
+
+        assertThat(bookingDao.save(testBooking2).getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Test concurrent save method never stores overlapping bookings")
+    public void testConcurrentSaveWithoutOverlaps() throws Exception {
+        int threads = 8;
+        int attemptsPerThread = 25;
+        LocalDateTime base = LocalDateTime.parse("2024-07-01 09:00", formatter);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger saved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < threads; thread++) {
+            int offset = thread;
+            futures.add(executor.submit(() -> {
+                startSignal.await();
+                for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                    LocalDateTime startTime = base.plusMinutes(30L * ((attempt * 7L + offset) % 20));
+                    try {
+                        bookingDao.save(Booking.builder()
+                                .workspaceId(testWorkspace.getId())
+                                .userId(testUser.getId())
+                                .startTime(startTime)
+                                .endTime(startTime.plusMinutes(90))
+                                .build());
+                        saved.incrementAndGet();
+                    } catch (WorkspaceAlreadyBookedException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        String sqlCountOverlaps = """
+                SELECT count(*) FROM coworking.bookings a
+                JOIN coworking.bookings b ON a.workspace_id = b.workspace_id AND a.id < b.id
+                WHERE a.start_time < b.end_time AND b.start_time < a.end_time;
+                """;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sqlCountOverlaps)) {
+            resultSet.next();
+            assertAll(
+                    () -> assertThat(resultSet.getLong(1)).isZero(),
+                    () -> assertThat(saved.get()).isPositive(),
+                    () -> assertThat(saved.get() + rejected.get()).isEqualTo(threads * attemptsPerThread)
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Test save method waits for the workspace row lock and then sees the committed booking")
+    public void testSaveWaitsForWorkspaceRowLock() throws Exception {
+        LocalDateTime startTime = LocalDateTime.parse("2024-07-01 09:00", formatter);
+        Booking booking = Booking.builder()
+                .workspaceId(testWorkspace.getId())
+                .userId(testUser.getId())
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .build();
+
+        try (Connection other = connectionManager.getConnection();
+             Statement statement = other.createStatement()) {
+            other.setAutoCommit(false);
+            statement.execute("SELECT id FROM coworking.workspaces WHERE id = " + testWorkspace.getId() + " FOR NO KEY UPDATE");
+            statement.execute("INSERT INTO coworking.bookings(workspace_id, user_id, start_time, end_time) VALUES ("
+                    + testWorkspace.getId() + ", " + testUser.getId() + ", '2024-07-01 09:30', '2024-07-01 10:30')");
+
+            Future<Booking> pending = Executors.newSingleThreadExecutor().submit(() -> bookingDao.save(booking));
+            Thread.sleep(300);
+            assertThat(pending).isNotDone();
+
+            other.commit();
+            other.setAutoCommit(true);
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+            assertThat(exception.getCause()).isInstanceOf(WorkspaceAlreadyBookedException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Test save method returns null for an unknown workspace")
+    public void testSaveUnknownWorkspace() {
+        LocalDateTime startTime = LocalDateTime.parse("2024-07-01 09:00", formatter);
+
+        assertThat(bookingDao.save(Booking.builder()
+                .workspaceId(testWorkspace.getId() + 1000)
+                .userId(testUser.getId())
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .build())).isNull();
+    }
+
+    @Test
+    @DisplayName("Test update method moves the booking and increments its version")
     public void testUpdate(){
+        Workspace otherWorkspace = workspaceRepository.save(Workspace.builder().name("test-workspace-2").build());
+        LocalDateTime startTime = LocalDateTime.parse("2024-06-21 12:00", formatter);
+        Booking moved = Booking.builder()
+                .id(testBooking.getId())
+                .workspaceId(otherWorkspace.getId())
+                .userId(testUser.getId())
+                .startTime(startTime)
+                .endTime(startTime.plusHours(2))
+                .version(testBooking.getVersion())
+                .build();
+
+        assertThat(testBooking.getVersion()).isZero();
+        assertThat(bookingDao.update(moved)).isTrue();
+        assertThat(moved.getVersion()).isEqualTo(1L);
+        assertThat(bookingDao.findById(testBooking.getId())).contains(moved);
+    }
+
+    @Test
+    @DisplayName("Test update method keeps the series of a rescheduled occurrence")
+    public void testUpdateOccurrenceOfSeries(){
+        BookingSeries series = buildSeries(LocalDateTime.parse("2024-06-24 09:00", formatter));
+        Booking occurrence = bookingDao.saveSeries(series, List.of(
+                Booking.builder().startTime(series.getStartTime()).endTime(series.getEndTime()).build())).get(0);
+        Booking moved = Booking.builder()
+                .id(occurrence.getId())
+                .workspaceId(testWorkspace.getId())
+                .userId(testUser.getId())
+                .startTime(series.getStartTime().plusHours(3))
+                .endTime(series.getEndTime().plusHours(3))
+                .version(occurrence.getVersion())
+                .build();
+
+        assertThat(bookingDao.update(moved)).isTrue();
+        assertThat(moved.getSeriesId()).isEqualTo(series.getId());
+        assertThat(bookingDao.findById(occurrence.getId())).contains(moved);
+    }
+
+    @Test
+    @DisplayName("Test update method allows a new period overlapping the old period of the same booking")
+    public void testUpdateOverlappingItself(){
+        testBooking.setEndTime(testBooking.getEndTime().plusMinutes(30));
+
+        assertThat(bookingDao.update(testBooking)).isTrue();
+        assertThat(bookingDao.findById(testBooking.getId()).get().getEndTime()).isEqualTo(testBooking.getEndTime());
+    }
+
+    @Test
+    @DisplayName("Test update method rejects a stale version")
+    public void testUpdateStaleVersion(){
+        Long readVersion = testBooking.getVersion();
+        testBooking.setStartTime(testBooking.getStartTime().plusMinutes(15));
+        assertThat(bookingDao.update(testBooking)).isTrue();
+
+        testBooking.setStartTime(testBooking.getStartTime().plusMinutes(15));
+        testBooking.setVersion(readVersion);
+        assertThrows(BookingVersionConflictException.class, () -> bookingDao.update(testBooking));
+    }
+
+    @Test
+    @DisplayName("Test update method rejects a period booked by another booking")
+    public void testUpdateOverlappingOtherBooking(){
+        LocalDateTime startTime = LocalDateTime.parse("2024-06-21 14:00", formatter);
+        Booking other = bookingDao.save(Booking.builder()
+                .workspaceId(testWorkspace.getId())
+                .userId(testUser.getId())
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .build());
+
+        other.setStartTime(testBooking.getStartTime().plusMinutes(30));
+
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.update(other));
+        assertThat(bookingDao.findById(other.getId()).get().getStartTime()).isEqualTo(startTime);
+    }
+
+    @Test
+    @DisplayName("Test update method does not find bookings of other users")
+    public void testUpdateBookingOfOtherUser(){
+        User otherUser = userRepository.save(User.builder().username("other").password("123").build());
+        testBooking.setUserId(otherUser.getId());
+
+        assertThrows(BookingNotFoundException.class, () -> bookingDao.update(testBooking));
+        testBooking.setId(999L);
+        assertThrows(BookingNotFoundException.class, () -> bookingDao.update(testBooking));
     }
 
     @Test
@@ -242,4 +478,300 @@ public class BookingRepositoryImplTest {
         );
     }
 
+    @Test
+    @DisplayName("Test paginated filter methods")
+    public void testGetFilteredBookingsPage(){
+        Booking secondBooking = bookingDao.save(Booking.builder()
+                .workspaceId(testWorkspace.getId())
+                .userId(testUser.getId())
+                .startTime(testBooking.getEndTime())
+                .endTime(testBooking.getEndTime().plusHours(1))
+                .build());
+        LocalDateTime startTime = testBooking.getStartTime();
+        LocalDateTime endTime = secondBooking.getEndTime();
+
+        assertAll(
+                () -> assertThat(bookingDao.getFilteredBookingsByTimePeriod(startTime, endTime, null, 1))
+                        .extracting(Booking::getId).containsExactly(testBooking.getId()),
+                () -> assertThat(bookingDao.getFilteredBookingsByTimePeriod(startTime, endTime, testBooking.getId(), 1))
+                        .extracting(Booking::getId).containsExactly(secondBooking.getId()),
+                () -> assertThat(bookingDao.getFilteredBookingsByUsername(testUser.getUsername(), testBooking.getId(), 10))
+                        .extracting(Booking::getId).containsExactly(secondBooking.getId()),
+                () -> assertThat(bookingDao.getFilteredBookingsByWorkspace(testWorkspace.getName(), null, 10)).hasSize(2),
+                () -> assertThat(bookingDao.getFilteredBookingsByWorkspace(testWorkspace.getName(), secondBooking.getId(), 10)).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("Test streaming filter methods")
+    public void testForEachFilteredBooking(){
+        Booking secondBooking = bookingDao.save(Booking.builder()
+                .workspaceId(testWorkspace.getId())
+                .userId(testUser.getId())
+                .startTime(testBooking.getEndTime())
+                .endTime(testBooking.getEndTime().plusHours(1))
+                .build());
+        List<Booking> byTimePeriod = new ArrayList<>();
+        List<Booking> byUsername = new ArrayList<>();
+        List<Booking> byWorkspace = new ArrayList<>();
+
+        bookingDao.forEachFilteredBookingByTimePeriod(testBooking.getStartTime(), secondBooking.getEndTime(), byTimePeriod::add);
+        bookingDao.forEachFilteredBookingByUsername(testUser.getUsername(), byUsername::add);
+        bookingDao.forEachFilteredBookingByWorkspace("", byWorkspace::add);
+
+        assertAll(
+                () -> assertThat(byTimePeriod).extracting(Booking::getId).containsExactly(testBooking.getId(), secondBooking.getId()),
+                () -> assertThat(byUsername).extracting(Booking::getId).containsExactly(testBooking.getId(), secondBooking.getId()),
+                () -> assertThat(byWorkspace).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("Test saveAll method")
+    public void testSaveAll(){
+        LocalDateTime startTime = LocalDateTime.parse("2024-06-21 13:30", formatter);
+        List<Booking> bookings = List.of(
+                Booking.builder().workspaceId(testWorkspace.getId()).userId(testUser.getId())
+                        .startTime(startTime).endTime(startTime.plusHours(1)).build(),
+                Booking.builder().workspaceId(testWorkspace.getId()).userId(testUser.getId())
+                        .startTime(startTime.plusHours(1)).endTime(startTime.plusHours(2)).build());
+
+        List<Booking> savedBookings = bookingDao.saveAll(bookings);
+
+        assertAll(
+                () -> assertThat(savedBookings).hasSize(2),
+                () -> assertThat(savedBookings).allMatch(booking -> booking.getId() != null),
+                () -> assertThat(bookingDao.findById(savedBookings.get(1).getId())).isPresent(),
+                () -> assertThat(bookingDao.findAll().size()).isEqualTo(3)
+        );
+    }
+
+    @Test
+    @DisplayName("Test saveAll method stores nothing if one booking overlaps existing one")
+    public void testSaveAllRollsBackOnOverlap(){
+        LocalDateTime startTime = LocalDateTime.parse("2024-06-21 12:00", formatter);
+        List<Booking> bookings = List.of(
+                Booking.builder().workspaceId(testWorkspace.getId()).userId(testUser.getId())
+                        .startTime(startTime.plusHours(2)).endTime(startTime.plusHours(3)).build(),
+                Booking.builder().workspaceId(testWorkspace.getId()).userId(testUser.getId())
+                        .startTime(startTime).endTime(startTime.plusHours(1)).build());
+
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.saveAll(bookings));
+        assertThat(bookingDao.findAll().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test bookings overlapping across the start of a month are rejected by every write method")
+    public void testOverlapAcrossPartitions() throws Exception {
+        PartitionMaintainer partitionMaintainer = new PartitionMaintainer(connectionManager);
+        partitionMaintainer.createPartition(PartitionedTable.BOOKINGS, YearMonth.of(2024, 6));
+        partitionMaintainer.createPartition(PartitionedTable.BOOKINGS, YearMonth.of(2024, 7));
+        LocalDateTime monthEnd = LocalDateTime.parse("2024-07-01 00:00", formatter);
+        bookingDao.save(Booking.builder().workspaceId(testWorkspace.getId()).userId(testUser.getId())
+                .startTime(monthEnd.minusHours(2)).endTime(monthEnd.plusHours(2)).build());
+        Booking overlapping = Booking.builder().workspaceId(testWorkspace.getId()).userId(testUser.getId())
+                .startTime(monthEnd.plusHours(1)).endTime(monthEnd.plusHours(3)).build();
+
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.save(overlapping));
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.saveAll(List.of(overlapping)));
+        testBooking.setStartTime(overlapping.getStartTime());
+        testBooking.setEndTime(overlapping.getEndTime());
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.update(testBooking));
+        assertThat(bookingDao.findAll().size()).isEqualTo(2);
+        assertThat(bookingDao.getFilteredBookingsByTimePeriod(overlapping.getStartTime(), overlapping.getEndTime())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Test bookings longer than a month are stored and found by every period they cover")
+    public void testLongBookingAcrossPartitions() throws Exception {
+        PartitionMaintainer partitionMaintainer = new PartitionMaintainer(connectionManager);
+        for (int month = 1; month <= 4; month++) {
+            partitionMaintainer.createPartition(PartitionedTable.BOOKINGS, YearMonth.of(2025, month));
+        }
+        LocalDateTime startTime = LocalDateTime.parse("2025-01-15 09:00", formatter);
+        LocalDateTime endTime = LocalDateTime.parse("2025-03-20 18:00", formatter);
+        bookingDao.save(Booking.builder().workspaceId(testWorkspace.getId()).userId(testUser.getId())
+                .startTime(startTime).endTime(endTime).build());
+        Booking overlapping = Booking.builder().workspaceId(testWorkspace.getId()).userId(testUser.getId())
+                .startTime(LocalDateTime.parse("2025-03-20 17:00", formatter))
+                .endTime(LocalDateTime.parse("2025-03-20 19:00", formatter)).build();
+
+        assertThat(bookingDao.getFilteredBookingsByTimePeriod(
+                LocalDateTime.parse("2025-03-10 10:00", formatter), LocalDateTime.parse("2025-03-10 11:00", formatter))).hasSize(1);
+        assertThat(bookingDao.findAllAvailableWorkspaces(
+                LocalDateTime.parse("2025-03-10 10:00", formatter), LocalDateTime.parse("2025-03-10 11:00", formatter))).isEmpty();
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.save(overlapping));
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.saveAll(List.of(overlapping)));
+    }
+
+    @Test
+    @DisplayName("Test saveSeries method")
+    public void testSaveSeries(){
+        BookingSeries series = buildSeries(LocalDateTime.parse("2024-06-24 09:00", formatter));
+        List<Booking> occurrences = List.of(
+                Booking.builder().startTime(series.getStartTime()).endTime(series.getEndTime()).build(),
+                Booking.builder().startTime(series.getStartTime().plusDays(2)).endTime(series.getEndTime().plusDays(2)).build());
+
+        List<Booking> savedBookings = bookingDao.saveSeries(series, occurrences);
+
+        assertAll(
+                () -> assertThat(series.getId()).isNotNull(),
+                () -> assertThat(savedBookings).hasSize(2),
+                () -> assertThat(savedBookings).allMatch(booking -> booking.getId() != null && booking.getVersion() != null),
+                () -> assertThat(bookingDao.findById(savedBookings.get(1).getId()))
+                        .hasValueSatisfying(booking -> {
+                            assertThat(booking.getSeriesId()).isEqualTo(series.getId());
+                            assertThat(booking.getWorkspaceId()).isEqualTo(testWorkspace.getId());
+                            assertThat(booking.getStartTime()).isEqualTo(series.getStartTime().plusDays(2));
+                        }),
+                () -> assertThat(bookingDao.findById(testBooking.getId()).orElseThrow().getSeriesId()).isNull()
+        );
+    }
+
+    @Test
+    @DisplayName("Test saveSeries method sets the IDs of occurrences whose start times have sub-microsecond precision")
+    public void testSaveSeriesWithNanoseconds(){
+        BookingSeries series = buildSeries(LocalDateTime.parse("2024-06-24 09:00", formatter).plusNanos(123_456_789));
+        List<Booking> occurrences = List.of(
+                Booking.builder().startTime(series.getStartTime()).endTime(series.getEndTime()).build(),
+                Booking.builder().startTime(series.getStartTime().plusDays(1)).endTime(series.getEndTime().plusDays(1)).build());
+
+        List<Booking> savedBookings = bookingDao.saveSeries(series, occurrences);
+
+        assertAll(
+                () -> assertThat(savedBookings).hasSize(2),
+                () -> assertThat(savedBookings).allMatch(booking -> booking.getId() != null && booking.getVersion() != null),
+                () -> assertThat(bookingDao.findById(savedBookings.get(1).getId()))
+                        .hasValueSatisfying(booking -> assertThat(booking.getStartTime().toLocalDate())
+                                .isEqualTo(series.getStartTime().plusDays(1).toLocalDate()))
+        );
+    }
+
+    @Test
+    @DisplayName("Test filter methods return the series of occurrences")
+    public void testGetFilteredBookingsOfSeries(){
+        BookingSeries series = buildSeries(LocalDateTime.parse("2024-06-24 09:00", formatter));
+        Booking occurrence = bookingDao.saveSeries(series, List.of(
+                Booking.builder().startTime(series.getStartTime()).endTime(series.getEndTime()).build())).get(0);
+
+        assertAll(
+                () -> assertThat(bookingDao.getFilteredBookingsByTimePeriod(series.getStartTime(), series.getEndTime()))
+                        .singleElement().extracting(Booking::getSeriesId).isEqualTo(series.getId()),
+                () -> assertThat(bookingDao.getFilteredBookingsByUsername(testUser.getUsername()))
+                        .filteredOn(booking -> booking.getId().equals(occurrence.getId()))
+                        .singleElement().extracting(Booking::getSeriesId).isEqualTo(series.getId()),
+                () -> assertThat(bookingDao.getFilteredBookingsByWorkspace(testWorkspace.getName()))
+                        .filteredOn(booking -> booking.getId().equals(testBooking.getId()))
+                        .singleElement().extracting(Booking::getSeriesId).isNull(),
+                () -> assertThat(bookingDao.getFilteredBookingsByWorkspace(testWorkspace.getName()))
+                        .filteredOn(booking -> booking.getId().equals(occurrence.getId()))
+                        .singleElement().extracting(Booking::getSeriesId).isEqualTo(series.getId())
+        );
+    }
+
+    @Test
+    @DisplayName("Test saveSeries method stores neither the series nor its occurrences if one overlaps existing booking")
+    public void testSaveSeriesRollsBackOnOverlap() throws Exception {
+        BookingSeries series = buildSeries(LocalDateTime.parse("2024-06-20 11:00", formatter));
+        List<Booking> occurrences = List.of(
+                Booking.builder().startTime(series.getStartTime()).endTime(series.getEndTime()).build(),
+                Booking.builder().startTime(series.getStartTime().plusDays(1)).endTime(series.getEndTime().plusDays(1)).build());
+
+        assertThrows(WorkspaceAlreadyBookedException.class, () -> bookingDao.saveSeries(series, occurrences));
+        assertThat(bookingDao.findAll().size()).isEqualTo(1);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM coworking.booking_series")) {
+            resultSet.next();
+            assertThat(resultSet.getInt(1)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Test saveSeries method leaves no series behind when storing an occurrence fails")
+    public void testSaveSeriesRollsBackOnError() throws Exception {
+        BookingSeries series = buildSeries(LocalDateTime.parse("2024-06-24 09:00", formatter));
+        List<Booking> occurrences = List.of(
+                Booking.builder().startTime(series.getStartTime()).endTime(series.getEndTime()).build(),
+                Booking.builder().startTime(series.getEndTime().plusDays(1)).endTime(series.getStartTime().plusDays(1)).build());
+
+        assertThat(bookingDao.saveSeries(series, occurrences)).isEmpty();
+        assertThat(series.getId()).isNull();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT count(*) FROM coworking.booking_series")) {
+            resultSet.next();
+            assertThat(resultSet.getInt(1)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Test findConflicting method")
+    public void testFindConflicting(){
+        LocalDateTime startTime = LocalDateTime.parse("2024-06-21 11:30", formatter);
+        Workspace otherWorkspace = workspaceRepository.save(Workspace.builder().name("test-workspace-2").build());
+        List<Booking> bookings = List.of(
+                Booking.builder().workspaceId(testWorkspace.getId())
+                        .startTime(startTime.plusMinutes(30)).endTime(startTime.plusHours(2)).build(),
+                Booking.builder().workspaceId(testWorkspace.getId())
+                        .startTime(startTime.plusHours(1)).endTime(startTime.plusHours(2)).build(),
+                Booking.builder().workspaceId(otherWorkspace.getId())
+                        .startTime(startTime).endTime(startTime.plusHours(1)).build(),
+                Booking.builder().workspaceId(testWorkspace.getId())
+                        .startTime(startTime.minusHours(1)).endTime(startTime.plusHours(2)).build());
+
+        assertThat(bookingDao.findConflicting(bookings)).containsExactlyInAnyOrder(0, 3);
+    }
+
+    @Test
+    @DisplayName("Test aggregateUtilization method adds up bookings clipped to the period like the in-memory aggregation")
+    public void testAggregateUtilization(){
+        Workspace otherWorkspace = workspaceRepository.save(Workspace.builder().name("test-workspace-2").build());
+        User otherUser = userRepository.save(User.builder().username("other").password("123").build());
+        LocalDateTime from = LocalDateTime.parse("2024-06-21 00:00", formatter);
+        LocalDateTime to = from.plusDays(2);
+        testBooking.setEndTime(LocalDateTime.parse("2024-06-21 13:00", formatter));
+        bookingDao.update(testBooking);
+        bookingDao.saveAll(List.of(
+                Booking.builder().workspaceId(otherWorkspace.getId()).userId(testUser.getId())
+                        .startTime(from.minusHours(2)).endTime(from.plusMinutes(150)).build(),
+                Booking.builder().workspaceId(otherWorkspace.getId()).userId(otherUser.getId())
+                        .startTime(to.minusMinutes(45)).endTime(to.plusHours(1)).build(),
+                Booking.builder().workspaceId(testWorkspace.getId()).userId(otherUser.getId())
+                        .startTime(to.plusHours(10)).endTime(to.plusHours(11)).build()));
+        Map<Long, Integer> rows = Map.of(testWorkspace.getId(), 0, otherWorkspace.getId(), 1);
+
+        UtilizationAggregate pushedDown = new UtilizationAggregate(rows, 48);
+        bookingDao.aggregateUtilization(from, to, pushedDown);
+        UtilizationAggregator aggregator = new UtilizationAggregator(bookingDao);
+        aggregator.start();
+        UtilizationAggregate inMemory = aggregator.aggregate(from, to, rows);
+        aggregator.close();
+
+        long[] hourSeconds = new long[48];
+        hourSeconds[0] = 3600;
+        hourSeconds[1] = 3600;
+        hourSeconds[2] = 1800;
+        hourSeconds[11] = 1800;
+        hourSeconds[12] = 3600;
+        hourSeconds[47] = 2700;
+        for (UtilizationAggregate aggregate : List.of(pushedDown, inMemory)) {
+            assertThat(aggregate.getWorkspaceSeconds()).containsExactly(5400, 11700);
+            assertThat(aggregate.getWorkspaceBookings()).containsExactly(1, 2);
+            assertThat(aggregate.getHourSeconds()).containsExactly(hourSeconds);
+            assertThat(aggregate.getUsers().get(testUser.getId())).containsExactly(2, 1);
+            assertThat(aggregate.getUsers().get(otherUser.getId())).containsExactly(1, 0);
+        }
+    }
+
+    private BookingSeries buildSeries(LocalDateTime startTime) {
+        return BookingSeries.builder()
+                .workspaceId(testWorkspace.getId())
+                .userId(testUser.getId())
+                .frequency(RecurrenceFrequency.WEEKLY)
+                .interval(1)
+                .daysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY))
+                .startTime(startTime)
+                .endTime(startTime.plusHours(2))
+                .count(2)
+                .build();
+    }
 }
@@ -0,0 +1,140 @@
+package org.example.repository.impl;
+
+import org.example.cache.WorkspaceCache;
+import org.example.dto.CacheStats;
+import org.example.entity.Workspace;
+import org.example.repository.WorkspaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingWorkspaceRepositoryTest {
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    private WorkspaceCache workspaceCache;
+    private CachingWorkspaceRepository cachingWorkspaceRepository;
+
+    @BeforeEach
+    public void setUp() {
+        workspaceCache = new WorkspaceCache(100, "PT5M");
+        cachingWorkspaceRepository = new CachingWorkspaceRepository(workspaceRepository, workspaceCache);
+    }
+
+    @Test
+    @DisplayName("Lookup by name is loaded once and then served from the cache")
+    public void testFindByNameIsCached() {
+        when(workspaceRepository.findByName("W1")).thenReturn(Optional.of(new Workspace(1L, "W1")));
+
+        Optional<Workspace> first = cachingWorkspaceRepository.findByName("W1");
+        Optional<Workspace> second = cachingWorkspaceRepository.findByName("W1");
+        Optional<Workspace> byId = cachingWorkspaceRepository.findById(1L);
+
+        assertThat(first).contains(new Workspace(1L, "W1"));
+        assertThat(second).contains(new Workspace(1L, "W1"));
+        assertThat(byId).contains(new Workspace(1L, "W1"));
+        verify(workspaceRepository, times(1)).findByName("W1");
+        verify(workspaceRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Cached workspaces are returned as copies")
+    public void testCachedWorkspaceIsCopied() {
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(new Workspace(1L, "W1")));
+
+        cachingWorkspaceRepository.findById(1L).get().setName("changed");
+
+        assertThat(cachingWorkspaceRepository.findById(1L)).contains(new Workspace(1L, "W1"));
+    }
+
+    @Test
+    @DisplayName("Missing workspaces are not cached")
+    public void testMissIsNotCached() {
+        when(workspaceRepository.findByName("W1")).thenReturn(Optional.empty());
+
+        cachingWorkspaceRepository.findByName("W1");
+        cachingWorkspaceRepository.findByName("W1");
+
+        verify(workspaceRepository, times(2)).findByName("W1");
+    }
+
+    @Test
+    @DisplayName("Update drops the old name and id")
+    public void testUpdateInvalidates() {
+        when(workspaceRepository.findByName("W1")).thenReturn(Optional.of(new Workspace(1L, "W1")), Optional.empty());
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(new Workspace(1L, "W2")));
+        when(workspaceRepository.update(new Workspace(1L, "W2"))).thenReturn(true);
+
+        cachingWorkspaceRepository.findByName("W1");
+        cachingWorkspaceRepository.update(new Workspace(1L, "W2"));
+
+        assertThat(cachingWorkspaceRepository.findByName("W1")).isEmpty();
+        assertThat(cachingWorkspaceRepository.findById(1L)).contains(new Workspace(1L, "W2"));
+    }
+
+    @Test
+    @DisplayName("Delete by name drops the id entry as well")
+    public void testDeleteByNameInvalidates() {
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(new Workspace(1L, "W1")), Optional.empty());
+        when(workspaceRepository.deleteByName("W1")).thenReturn(true);
+
+        cachingWorkspaceRepository.findById(1L);
+        cachingWorkspaceRepository.deleteByName("W1");
+
+        assertThat(cachingWorkspaceRepository.findById(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Load racing with an invalidation is not cached")
+    public void testLoadRacingWithInvalidationIsNotCached() {
+        when(workspaceRepository.findById(1L)).thenAnswer(invocation -> {
+            workspaceCache.invalidate(1L);
+            return Optional.of(new Workspace(1L, "W1"));
+        });
+
+        cachingWorkspaceRepository.findById(1L);
+
+        assertThat(workspaceCache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Statistics count hits and misses of both lookups")
+    public void testStats() {
+        when(workspaceRepository.findByName("W1")).thenReturn(Optional.of(new Workspace(1L, "W1")));
+
+        cachingWorkspaceRepository.findByName("W1");
+        cachingWorkspaceRepository.findByName("W1");
+        cachingWorkspaceRepository.findById(1L);
+
+        List<CacheStats> stats = workspaceCache.getStats();
+        assertThat(stats).extracting(CacheStats::getName).containsExactly("workspace-by-id", "workspace-by-name");
+        assertThat(stats.get(0).getHits()).isEqualTo(1);
+        assertThat(stats.get(1).getHits()).isEqualTo(1);
+        assertThat(stats.get(1).getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Lookup of several names loads only the names missing from the cache")
+    public void testFindAllByNamesLoadsMisses() {
+        when(workspaceRepository.findByName("W1")).thenReturn(Optional.of(new Workspace(1L, "W1")));
+        when(workspaceRepository.findAllByNames(List.of("W2", "W3"))).thenReturn(List.of(new Workspace(2L, "W2")));
+        cachingWorkspaceRepository.findByName("W1");
+
+        List<Workspace> workspaces = cachingWorkspaceRepository.findAllByNames(List.of("W1", "W2", "W3"));
+
+        assertThat(workspaces).containsExactlyInAnyOrder(new Workspace(1L, "W1"), new Workspace(2L, "W2"));
+        assertThat(cachingWorkspaceRepository.findByName("W2")).contains(new Workspace(2L, "W2"));
+        verify(workspaceRepository, never()).findByName("W2");
+    }
+}
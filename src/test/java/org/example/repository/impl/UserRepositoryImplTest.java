@@ -2,6 +2,7 @@ package org.example.repository.impl;
 
 import org.example.repository.UserRepository;
 import org.example.entity.User;
+import org.example.entity.types.Role;
 import org.example.liquibase.LiquibaseManager;
 import org.example.utils.ConnectionManager;
 import org.junit.jupiter.api.*;
@@ -10,6 +11,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.sql.Connection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +27,7 @@ public class UserRepositoryImplTest {
 
     private UserRepository userRepository;
     private Connection connection;
+    private ConnectionManager connectionManager;
     private LiquibaseManager liquibaseManager = LiquibaseManager.getInstance();
     private User testUser;
 
@@ -35,7 +38,7 @@ public class UserRepositoryImplTest {
 
     @BeforeEach
     public void setUp(){
-        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager = new ConnectionManager();
         connection = connectionManager.getConnection(
                 postgresContainer.getJdbcUrl(),
                 postgresContainer.getUsername(),
@@ -57,6 +60,7 @@ public class UserRepositoryImplTest {
     @AfterEach
     public void reset(){
         liquibaseManager.rollbackToCreateTables(connection);
+        connectionManager.close();
     }
 
     @AfterAll
@@ -132,8 +136,19 @@ public class UserRepositoryImplTest {
 
     @Test
     @DisplayName("Test update method")
-    @Disabled("Not implemented yet")
     public void testUpdate(){
+        testUser.setRole(Role.ADMIN);
+        User missingUser = User.builder()
+                .id(999L)
+                .username("missing")
+                .password("123")
+                .build();
+
+        assertAll(
+                () -> assertTrue(userRepository.update(testUser)),
+                () -> assertEquals(Role.ADMIN, userRepository.findById(testUser.getId()).get().getRole()),
+                () -> assertFalse(userRepository.update(missingUser))
+        );
     }
 
     @Test
@@ -150,4 +165,21 @@ public class UserRepositoryImplTest {
                 () -> assertFalse(notFoundPlayer.isPresent())
         );
     }
+
+    @Test
+    @DisplayName("Test findAllByIds method")
+    public void testFindAllByIds(){
+        User testUser2 = userRepository.save(User.builder()
+                .username("ruslan2")
+                .password("123")
+                .build());
+
+        List<User> foundUsers = userRepository.findAllByIds(List.of(testUser.getId(), testUser2.getId(), 999L));
+
+        assertAll(
+                () -> assertEquals(2, foundUsers.size()),
+                () -> assertTrue(foundUsers.stream().anyMatch(user -> user.getUsername().equals(testUser2.getUsername()))),
+                () -> assertTrue(userRepository.findAllByIds(List.of()).isEmpty())
+        );
+    }
 }
@@ -10,6 +10,8 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +28,7 @@ public class WorkspaceRepositoryImplTest {
 
     private WorkspaceRepository workspaceRepository;
     private Connection connection;
+    private ConnectionManager connectionManager;
     private LiquibaseManager liquibaseManager = LiquibaseManager.getInstance();
     private Workspace testWorkspace;
 
@@ -36,7 +39,7 @@ public class WorkspaceRepositoryImplTest {
 
     @BeforeEach
     public void setUp(){
-        ConnectionManager connectionManager = new ConnectionManager();
+        connectionManager = new ConnectionManager();
         connection = connectionManager.getConnection(
                 postgresContainer.getJdbcUrl(),
                 postgresContainer.getUsername(),
@@ -55,6 +58,7 @@ public class WorkspaceRepositoryImplTest {
     @AfterEach
     public void reset(){
         liquibaseManager.rollbackToCreateTables(connection);
+        connectionManager.close();
     }
 
     @AfterAll
@@ -77,6 +81,33 @@ public class WorkspaceRepositoryImplTest {
         );
     }
 
+    @Test
+    @DisplayName("Test findPage method")
+    public void testFindPage(){
+        Workspace testWorkspace2 = workspaceRepository.save(Workspace.builder().name("test-workspace-2").build());
+        Workspace testWorkspace3 = workspaceRepository.save(Workspace.builder().name("test-workspace-3").build());
+
+        List<Workspace> firstPage = workspaceRepository.findPage(null, 2);
+        List<Workspace> secondPage = workspaceRepository.findPage(firstPage.get(1).getId(), 2);
+
+        assertAll(
+                () -> assertThat(firstPage).extracting(Workspace::getId).containsExactly(testWorkspace.getId(), testWorkspace2.getId()),
+                () -> assertThat(secondPage).extracting(Workspace::getId).containsExactly(testWorkspace3.getId()),
+                () -> assertThat(workspaceRepository.findPage(testWorkspace3.getId(), 2)).isEmpty()
+        );
+    }
+
+    @Test
+    @DisplayName("Test forEach method")
+    public void testForEach(){
+        Workspace testWorkspace2 = workspaceRepository.save(Workspace.builder().name("test-workspace-2").build());
+        List<Workspace> streamed = new ArrayList<>();
+
+        workspaceRepository.forEach(streamed::add);
+
+        assertThat(streamed).extracting(Workspace::getId).containsExactly(testWorkspace.getId(), testWorkspace2.getId());
+    }
+
     @Test
     @DisplayName("Test findById method")
     public void testFindById(){
@@ -169,4 +200,19 @@ public class WorkspaceRepositoryImplTest {
         );
     }
 
+    @Test
+    @DisplayName("Test findAllByNames method")
+    public void testFindAllByNames(){
+        Workspace testWorkspace2 = workspaceRepository.save(Workspace.builder()
+                                                              .name("test-workspace-2")
+                                                              .build());
+
+        List<Workspace> foundWorkspaces = workspaceRepository.findAllByNames(
+                List.of(testWorkspace.getName(), testWorkspace2.getName(), "missing"));
+
+        assertAll(
+                () -> assertThat(foundWorkspaces).containsExactlyInAnyOrder(testWorkspace, testWorkspace2),
+                () -> assertThat(workspaceRepository.findAllByNames(List.of())).isEmpty()
+        );
+    }
 }
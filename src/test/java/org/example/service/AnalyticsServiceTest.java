@@ -0,0 +1,118 @@
+package org.example.service;
+
+import org.example.analytics.UtilizationAggregate;
+import org.example.analytics.UtilizationAggregator;
+import org.example.dto.UtilizationReport;
+import org.example.dto.WorkspaceUtilization;
+import org.example.entity.User;
+import org.example.entity.Workspace;
+import org.example.exceptions.NotValidArgumentException;
+import org.example.repository.BookingRepository;
+import org.example.repository.UserRepository;
+import org.example.repository.WorkspaceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnalyticsServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 6, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 6, 3, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private WorkspaceRepository workspaceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UtilizationAggregator utilizationAggregator;
+
+    @InjectMocks
+    private AnalyticsService analyticsService;
+
+    @Test
+    @DisplayName("Test utilization report from totals computed by the database")
+    void testGetUtilizationPushedDown() {
+        when(workspaceRepository.findAll()).thenReturn(List.of(
+                Workspace.builder().id(2L).name("workspace-2").build(),
+                Workspace.builder().id(1L).name("workspace-1").build()));
+        doAnswer(invocation -> {
+            UtilizationAggregate aggregate = invocation.getArgument(2);
+            aggregate.addWorkspace(1L, 2, 12 * 3600);
+            aggregate.addWorkspace(2L, 1, 6 * 3600);
+            aggregate.addHour(9, 2 * 3600);
+            aggregate.addHour(24 + 10, 3600);
+            aggregate.addUser(10L, 4, 2);
+            aggregate.addUser(11L, 5, 1);
+            aggregate.addUser(12L, 2, 2);
+            return null;
+        }).when(bookingRepository).aggregateUtilization(eq(FROM), eq(TO), any());
+        when(userRepository.findAllByIds(List.of(10L, 11L))).thenReturn(List.of(
+                User.builder().id(11L).username("user11").build(),
+                User.builder().id(10L).username("user10").build()));
+
+        UtilizationReport report = analyticsService.getUtilization("2024-06-01", "2024-06-02", true);
+
+        assertTrue(report.isPushedDown());
+        assertEquals(LocalDate.of(2024, 6, 2), report.getTo());
+        assertEquals(List.of("workspace-1", "workspace-2"), report.getWorkspaces().stream().map(WorkspaceUtilization::getName).toList());
+        assertEquals(25.0, report.getWorkspaces().get(0).getOccupancy());
+        assertEquals(12.0, report.getWorkspaces().get(0).getBookedHours());
+        assertEquals(12.5, report.getWorkspaces().get(1).getOccupancy());
+        assertEquals(50.0, report.getHourlyOccupancy().get(9));
+        assertEquals(25.0, report.getHourlyOccupancy().get(10));
+        assertEquals(List.of(9, 10), report.getPeakHours());
+        assertEquals(2, report.getDailyHeatmap().size());
+        assertEquals(100.0, report.getDailyHeatmap().get(0).getHourlyOccupancy().get(9));
+        assertEquals(50.0, report.getDailyHeatmap().get(1).getHourlyOccupancy().get(10));
+        assertEquals(List.of("user10", "user11"), report.getFrequentReschedulers().stream().map(stats -> stats.getUsername()).toList());
+        assertEquals(50.0, report.getFrequentReschedulers().get(0).getRescheduledShare());
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(utilizationAggregator);
+    }
+
+    @Test
+    @DisplayName("Test utilization report aggregated in memory by default")
+    void testGetUtilizationInMemory() {
+        Workspace workspace = Workspace.builder().id(1L).name("workspace-1").build();
+        when(workspaceRepository.findAll()).thenReturn(List.of(workspace));
+        UtilizationAggregate aggregate = new UtilizationAggregate(Map.of(1L, 0), 48);
+        aggregate.addWorkspace(1L, 1, 3600);
+        when(utilizationAggregator.aggregate(FROM, TO, Map.of(1L, 0))).thenReturn(aggregate);
+
+        UtilizationReport report = analyticsService.getUtilization("2024-06-01", "2024-06-02", null);
+
+        assertFalse(report.isPushedDown());
+        assertEquals(1, report.getWorkspaces().get(0).getBookings());
+        assertTrue(report.getPeakHours().isEmpty());
+        verify(bookingRepository, never()).aggregateUtilization(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test utilization report with a missing, invalid or too long range fails")
+    void testGetUtilizationInvalidRange() {
+        assertThrows(NotValidArgumentException.class, () -> analyticsService.getUtilization(null, "2024-06-02", null));
+        assertThrows(NotValidArgumentException.class, () -> analyticsService.getUtilization("2024-06-01T00:00:00", "2024-06-02", null));
+        assertThrows(NotValidArgumentException.class, () -> analyticsService.getUtilization("2024-06-02", "2024-06-01", null));
+        assertThrows(NotValidArgumentException.class, () -> analyticsService.getUtilization("2023-01-01", "2024-06-01", null));
+        verifyNoInteractions(workspaceRepository, bookingRepository, utilizationAggregator);
+    }
+}
@@ -1,9 +1,14 @@
 package org.example.service;
 
+import org.example.audit.AuditArchive;
+import org.example.audit.AuditWriter;
+import org.example.dto.Page;
 import org.example.repository.AuditRepository;
 import org.example.entity.Audit;
 import org.example.entity.types.ActionType;
 import org.example.entity.types.AuditType;
+import org.example.exceptions.NotValidArgumentException;
+import org.example.utils.PageUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -23,6 +29,12 @@ class AuditServiceTest {
     @Mock
     private AuditRepository auditRepository;
 
+    @Mock
+    private AuditWriter auditWriter;
+
+    @Mock
+    private AuditArchive auditArchive;
+
     @InjectMocks
     private AuditService auditService;
 
@@ -81,6 +93,17 @@ class AuditServiceTest {
         verify(auditRepository, times(1)).save(any(Audit.class));
     }
 
+    @Test
+    @DisplayName("Test submitting record hands it over to the audit writer")
+    void testSubmitAudit() {
+        auditService.submit("testUser", ActionType.AUTHORIZATION, AuditType.SUCCESS);
+
+        verify(auditWriter, times(1)).submit(argThat(audit -> audit.getUsername().equals("testUser")
+                && audit.getActionType() == ActionType.AUTHORIZATION
+                && audit.getAuditType() == AuditType.SUCCESS));
+        verifyNoInteractions(auditRepository);
+    }
+
     private Audit buildAudit(String username, ActionType actionType, AuditType auditType){
         return Audit.builder()
                 .username(username)
@@ -88,4 +111,74 @@ class AuditServiceTest {
                 .auditType(auditType)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test retrieving page of records returns next cursor")
+    void testGetAuditsPage() {
+        Audit audit1 = buildAudit("user1", ActionType.REGISTRATION, AuditType.SUCCESS);
+        Audit audit2 = buildAudit("user2", ActionType.AUTHORIZATION, AuditType.SUCCESS);
+        audit1.setId(10L);
+        audit2.setId(11L);
+
+        when(auditRepository.findPage(null, 2)).thenReturn(List.of(audit1, audit2));
+
+        Page<Audit> page = auditService.getAuditsPage(null, 1);
+
+        assertEquals(List.of(audit1), page.getItems());
+        assertEquals(10L, PageUtil.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Test retrieving page of records within a time window")
+    void testGetAuditsPageInWindow() {
+        Audit audit = buildAudit("user1", ActionType.REGISTRATION, AuditType.SUCCESS);
+        audit.setId(10L);
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 7, 1, 0, 0);
+
+        when(auditRepository.findPage(from, to, null, 2)).thenReturn(List.of(audit));
+
+        Page<Audit> page = auditService.getAuditsPage("2024-06-01T00:00:00", "2024-07-01T00:00:00", null, 1);
+
+        assertEquals(List.of(audit), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test retrieving page of records with an incomplete time window fails")
+    void testGetAuditsPageInvalidWindow() {
+        assertThrows(NotValidArgumentException.class, () -> auditService.getAuditsPage("2024-06-01T00:00:00", null, null, 1));
+        assertThrows(NotValidArgumentException.class, () -> auditService.getAuditsPage("2024-06-01", "2024-07-01", null, 1));
+    }
+
+    @Test
+    @DisplayName("Test searching records merges the database and the archive")
+    void testSearchAuditsMergesArchive() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 7, 1, 0, 0);
+        Audit archived = buildAudit("user1", ActionType.REGISTRATION, AuditType.SUCCESS);
+        archived.setId(1L);
+        archived.setAuditTimestamp(LocalDateTime.of(2024, 1, 15, 10, 0));
+        Audit archivedTwice = buildAudit("user1", ActionType.AUTHORIZATION, AuditType.SUCCESS);
+        archivedTwice.setId(2L);
+        archivedTwice.setAuditTimestamp(LocalDateTime.of(2024, 2, 15, 10, 0));
+        Audit hot = buildAudit("user1", ActionType.AUTHORIZATION, AuditType.FAIL);
+        hot.setId(3L);
+        hot.setAuditTimestamp(LocalDateTime.of(2024, 6, 15, 10, 0));
+
+        when(auditRepository.findInRange(from, to, "user1", 10)).thenReturn(List.of(archivedTwice, hot));
+        when(auditArchive.find(from, to, "user1", 10)).thenReturn(List.of(archived, archivedTwice));
+
+        List<Audit> audits = auditService.searchAudits("2024-01-01T00:00:00", "2024-07-01T00:00:00", "user1", 10);
+
+        assertEquals(List.of(archived, archivedTwice, hot), audits);
+    }
+
+    @Test
+    @DisplayName("Test searching records with an incomplete time window fails")
+    void testSearchAuditsInvalidWindow() {
+        assertThrows(NotValidArgumentException.class, () -> auditService.searchAudits(null, "2024-07-01T00:00:00", null, 10));
+        assertThrows(NotValidArgumentException.class, () -> auditService.searchAudits("2024-06-01", "2024-07-01", null, 10));
+        verifyNoInteractions(auditArchive);
+    }
+}
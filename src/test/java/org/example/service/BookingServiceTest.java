@@ -1,24 +1,46 @@
 package org.example.service;
 
 import org.example.repository.BookingRepository;
+import org.example.dto.BatchBookingMode;
+import org.example.dto.BatchBookingResponse;
 import org.example.dto.BookingRequest;
+import org.example.dto.BookingResult;
+import org.example.dto.BookingResultStatus;
+import org.example.dto.BookingSeriesRequest;
+import org.example.dto.BookingSeriesResponse;
+import org.example.dto.Page;
+import org.example.dto.RescheduleRequest;
 import org.example.dto.UserDTO;
 import org.example.entity.Booking;
+import org.example.entity.BookingSeries;
 import org.example.entity.Workspace;
+import org.example.entity.types.RecurrenceFrequency;
+import org.example.exceptions.BookingSaveFailedException;
+import org.example.exceptions.BookingUpdateFailedException;
+import org.example.exceptions.NotValidArgumentException;
 import org.example.exceptions.UserNotFoundException;
 import org.example.exceptions.WorkspaceAlreadyBookedException;
+import org.example.exceptions.WorkspaceLockTimeoutException;
 import org.example.exceptions.WorkspaceNotFoundException;
+import org.example.utils.PageUtil;
+import org.example.utils.WorkspaceLockManager;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,6 +57,9 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingDao;
 
+    @Spy
+    private WorkspaceLockManager workspaceLockManager = new WorkspaceLockManager(16, "PT1S");
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -68,6 +93,113 @@ class BookingServiceTest {
         verify(workspaceService, times(1)).getWorkspace(workspaceName);
         verify(userService, times(1)).getUser(username);
         verify(bookingDao, times(1)).save(any(Booking.class));
+        verify(workspaceLockManager, times(1)).callLocked(eq(workspace.getId()), any());
+    }
+
+    @Test
+    @DisplayName("Test booking a workspace fails without saving when the workspace lock is not free")
+    void testBookWorkspaceLockTimeout() {
+        String username = "testUser";
+        String workspaceName = "Test Workspace";
+        LocalDateTime startTime = LocalDateTime.now().plusHours(1);
+
+        when(workspaceService.getWorkspace(workspaceName)).thenReturn(buildWorkspace(1L, workspaceName));
+        when(userService.getUser(username)).thenReturn(buildUserDTO(1L, username));
+        doThrow(new WorkspaceLockTimeoutException("busy")).when(workspaceLockManager).callLocked(eq(1L), any());
+
+        assertThrows(WorkspaceLockTimeoutException.class,
+                () -> bookingService.bookWorkspace(buildBookingRequest(workspaceName, startTime, startTime.plusHours(1)), username));
+        verify(bookingDao, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Test booking a workspace for an empty period fails without saving")
+    void testBookWorkspaceEmptyPeriod() {
+        LocalDateTime startTime = LocalDateTime.now().plusHours(1);
+
+        assertThrows(NotValidArgumentException.class,
+                () -> bookingService.bookWorkspace(buildBookingRequest("Test Workspace", startTime, startTime), "testUser"));
+        verify(bookingDao, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Test rescheduling a booking in place")
+    void testRescheduleBooking() {
+        String username = "testUser";
+        String workspaceName = "Test Workspace";
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        RescheduleRequest request = RescheduleRequest.builder()
+                .workspaceName(workspaceName)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(2))
+                .version(3L)
+                .build();
+
+        when(workspaceService.getWorkspace(workspaceName)).thenReturn(buildWorkspace(2L, workspaceName));
+        when(userService.getUser(username)).thenReturn(buildUserDTO(1L, username));
+        when(bookingDao.update(any(Booking.class))).thenAnswer(invocation -> {
+            invocation.<Booking>getArgument(0).setVersion(4L);
+            return true;
+        });
+
+        Booking booking = bookingService.rescheduleBooking(7L, request, username);
+
+        assertEquals(7L, booking.getId());
+        assertEquals(2L, booking.getWorkspaceId());
+        assertEquals(1L, booking.getUserId());
+        assertEquals(startTime, booking.getStartTime());
+        assertEquals(4L, booking.getVersion());
+        verify(bookingDao).update(argThat(updated -> updated.getVersion() == 4L && updated.getId() == 7L));
+        verify(workspaceLockManager).callLocked(eq(2L), any());
+    }
+
+    @Test
+    @DisplayName("Test rescheduling a booking fails when the change can not be stored")
+    void testRescheduleBookingUpdateFailed() {
+        String username = "testUser";
+        String workspaceName = "Test Workspace";
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        RescheduleRequest request = RescheduleRequest.builder()
+                .workspaceName(workspaceName)
+                .startTime(startTime)
+                .endTime(startTime.plusHours(2))
+                .version(3L)
+                .build();
+
+        when(workspaceService.getWorkspace(workspaceName)).thenReturn(buildWorkspace(2L, workspaceName));
+        when(userService.getUser(username)).thenReturn(buildUserDTO(1L, username));
+        when(bookingDao.update(any(Booking.class))).thenReturn(false);
+
+        assertThrows(BookingUpdateFailedException.class, () -> bookingService.rescheduleBooking(7L, request, username));
+    }
+
+    @Test
+    @DisplayName("Test rescheduling a booking rejects an end before the start")
+    void testRescheduleBookingInvalidPeriod() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        RescheduleRequest request = RescheduleRequest.builder()
+                .workspaceName("Test Workspace")
+                .startTime(startTime)
+                .endTime(startTime.minusHours(1))
+                .version(0L)
+                .build();
+
+        assertThrows(NotValidArgumentException.class, () -> bookingService.rescheduleBooking(7L, request, "testUser"));
+        verify(bookingDao, never()).update(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Test rescheduling a booking requires the version")
+    void testRescheduleBookingWithoutVersion() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        RescheduleRequest request = RescheduleRequest.builder()
+                .workspaceName("Test Workspace")
+                .startTime(startTime)
+                .endTime(startTime.plusHours(1))
+                .build();
+
+        assertThrows(NotValidArgumentException.class, () -> bookingService.rescheduleBooking(7L, request, "testUser"));
+        verify(bookingDao, never()).update(any(Booking.class));
     }
 
     @Test
@@ -182,4 +314,205 @@ class BookingServiceTest {
                 .build();
     }
 
+    @Test
+    @DisplayName("Test getting page of bookings by workspace")
+    void testGetPageOfBookingsByWorkspace() throws WorkspaceNotFoundException {
+        Workspace workspace = buildWorkspace(1L, "Workspace1");
+        Booking booking = buildBooking(1L, 1L, LocalDateTime.now(), LocalDateTime.now().plusHours(1));
+        booking.setId(6L);
+
+        when(workspaceService.getWorkspace("Workspace1")).thenReturn(workspace);
+        when(bookingDao.getFilteredBookingsByWorkspace("Workspace1", 5L, 11)).thenReturn(List.of(booking));
+
+        Page<Booking> page = bookingService.getFilteredBookingsByWorkspace("Workspace1", PageUtil.encodeCursor(5L), 10);
+
+        assertEquals(List.of(booking), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test batch booking in best-effort mode reports every item")
+    void testBookWorkspacesBestEffort() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        List<BookingRequest> requests = List.of(
+                buildBookingRequest("W1", startTime, startTime.plusHours(1)),
+                buildBookingRequest("W1", startTime.plusMinutes(30), startTime.plusHours(2)),
+                buildBookingRequest("W2", startTime, startTime.plusHours(1)),
+                buildBookingRequest("Missing", startTime, startTime.plusHours(1)),
+                buildBookingRequest("W1", startTime.plusHours(1), startTime.plusHours(2)));
+
+        when(userService.getUser("testUser")).thenReturn(buildUserDTO(1L, "testUser"));
+        when(workspaceService.getWorkspaces(anyCollection())).thenReturn(Map.of(
+                "W1", buildWorkspace(1L, "W1"), "W2", buildWorkspace(2L, "W2")));
+        when(bookingDao.findConflicting(anyList())).thenReturn(Set.of(2));
+        when(bookingDao.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            for (int i = 0; i < bookings.size(); i++) {
+                bookings.get(i).setId(10L + i);
+            }
+            return bookings;
+        });
+
+        BatchBookingResponse response = bookingService.bookWorkspaces(requests, "testUser", BatchBookingMode.BEST_EFFORT);
+
+        assertEquals(List.of(BookingResultStatus.CREATED, BookingResultStatus.CONFLICT, BookingResultStatus.CONFLICT,
+                        BookingResultStatus.INVALID, BookingResultStatus.CREATED),
+                response.getResults().stream().map(BookingResult::getStatus).toList());
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getConflicts());
+        assertEquals(1, response.getInvalid());
+        assertEquals(11L, response.getResults().get(4).getBooking().getId());
+        verify(workspaceService, times(1)).getWorkspaces(anyCollection());
+        verify(bookingDao, times(1)).saveAll(argThat(bookings -> bookings.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Test batch booking in all-or-nothing mode books nothing when an item fails")
+    void testBookWorkspacesAllOrNothing() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        List<BookingRequest> requests = List.of(
+                buildBookingRequest("W1", startTime, startTime.plusHours(1)),
+                buildBookingRequest("W1", startTime.plusHours(2), startTime.plusHours(1)));
+
+        when(userService.getUser("testUser")).thenReturn(buildUserDTO(1L, "testUser"));
+        when(workspaceService.getWorkspaces(anyCollection())).thenReturn(Map.of("W1", buildWorkspace(1L, "W1")));
+        when(bookingDao.findConflicting(anyList())).thenReturn(Set.of());
+
+        BatchBookingResponse response = bookingService.bookWorkspaces(requests, "testUser", BatchBookingMode.ALL_OR_NOTHING);
+
+        assertEquals(BookingResultStatus.SKIPPED, response.getResults().get(0).getStatus());
+        assertEquals(BookingResultStatus.INVALID, response.getResults().get(1).getStatus());
+        assertEquals(0, response.getCreated());
+        verify(bookingDao, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Test batch booking checks conflicts again when a concurrent booking wins the race")
+    void testBookWorkspacesRetriesAfterConcurrentBooking() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        List<BookingRequest> requests = List.of(
+                buildBookingRequest("W1", startTime, startTime.plusHours(1)),
+                buildBookingRequest("W2", startTime, startTime.plusHours(1)));
+
+        when(userService.getUser("testUser")).thenReturn(buildUserDTO(1L, "testUser"));
+        when(workspaceService.getWorkspaces(anyCollection())).thenReturn(Map.of(
+                "W1", buildWorkspace(1L, "W1"), "W2", buildWorkspace(2L, "W2")));
+        when(bookingDao.findConflicting(anyList())).thenReturn(Set.of(), Set.of(0));
+        when(bookingDao.saveAll(anyList()))
+                .thenThrow(new WorkspaceAlreadyBookedException("The workspace is already booked for the specified period."))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchBookingResponse response = bookingService.bookWorkspaces(requests, "testUser", BatchBookingMode.BEST_EFFORT);
+
+        assertEquals(BookingResultStatus.CONFLICT, response.getResults().get(0).getStatus());
+        assertEquals(BookingResultStatus.CREATED, response.getResults().get(1).getStatus());
+        verify(bookingDao, times(2)).findConflicting(anyList());
+    }
+
+    @Test
+    @DisplayName("Test batch booking fails when the bookings can not be stored")
+    void testBookWorkspacesSaveFailed() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+        List<BookingRequest> requests = List.of(buildBookingRequest("W1", startTime, startTime.plusHours(1)));
+        when(userService.getUser("testUser")).thenReturn(buildUserDTO(1L, "testUser"));
+        when(workspaceService.getWorkspaces(anyCollection())).thenReturn(Map.of("W1", buildWorkspace(1L, "W1")));
+        when(bookingDao.findConflicting(anyList())).thenReturn(Set.of());
+        when(bookingDao.saveAll(anyList())).thenReturn(List.of());
+
+        assertThrows(BookingSaveFailedException.class,
+                () -> bookingService.bookWorkspaces(requests, "testUser", BatchBookingMode.BEST_EFFORT));
+    }
+
+    @Test
+    @DisplayName("Test batch booking rejects empty batch")
+    void testBookWorkspacesEmpty() {
+        assertThrows(NotValidArgumentException.class, () -> bookingService.bookWorkspaces(List.of(), "testUser", BatchBookingMode.BEST_EFFORT));
+        verifyNoInteractions(bookingDao);
+    }
+
+    @Test
+    @DisplayName("Test booking a series checks all occurrences at once and reports the conflicting ones")
+    void testBookSeriesBestEffort() {
+        LocalDateTime startTime = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(9, 0);
+        BookingSeriesRequest request = buildSeriesRequest(startTime, startTime.toLocalDate().plusDays(13));
+
+        when(workspaceService.getWorkspace("W1")).thenReturn(buildWorkspace(1L, "W1"));
+        when(userService.getUser("testUser")).thenReturn(buildUserDTO(1L, "testUser"));
+        when(bookingDao.findConflicting(anyList())).thenReturn(Set.of(1));
+        when(bookingDao.saveSeries(any(BookingSeries.class), anyList())).thenAnswer(invocation -> {
+            BookingSeries series = invocation.getArgument(0);
+            series.setId(7L);
+            List<Booking> bookings = invocation.getArgument(1);
+            bookings.forEach(booking -> booking.setSeriesId(7L));
+            return bookings;
+        });
+
+        BookingSeriesResponse response = bookingService.bookSeries(request, "testUser", BatchBookingMode.BEST_EFFORT);
+
+        assertEquals(10, response.getResults().size());
+        assertEquals(9, response.getCreated());
+        assertEquals(1, response.getConflicts());
+        assertEquals(7L, response.getSeries().getId());
+        assertEquals(BookingResultStatus.CONFLICT, response.getResults().get(1).getStatus());
+        assertEquals(startTime.plusDays(1), response.getResults().get(1).getBooking().getStartTime());
+        assertEquals(startTime.plusDays(7), response.getResults().get(5).getBooking().getStartTime());
+        verify(bookingDao, times(1)).findConflicting(argThat(bookings -> bookings.size() == 10));
+        verify(bookingDao, times(1)).saveSeries(any(BookingSeries.class), argThat(bookings -> bookings.size() == 9));
+        verify(workspaceLockManager, times(1)).callLocked(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Test booking a series fails when the series can not be stored")
+    void testBookSeriesSaveFailed() {
+        LocalDateTime startTime = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(9, 0);
+        BookingSeriesRequest request = buildSeriesRequest(startTime, startTime.toLocalDate().plusDays(4));
+
+        when(workspaceService.getWorkspace("W1")).thenReturn(buildWorkspace(1L, "W1"));
+        when(userService.getUser("testUser")).thenReturn(buildUserDTO(1L, "testUser"));
+        when(bookingDao.findConflicting(anyList())).thenReturn(Set.of());
+        when(bookingDao.saveSeries(any(BookingSeries.class), anyList())).thenReturn(List.of());
+
+        assertThrows(BookingSaveFailedException.class,
+                () -> bookingService.bookSeries(request, "testUser", BatchBookingMode.BEST_EFFORT));
+    }
+
+    @Test
+    @DisplayName("Test booking a series in all-or-nothing mode books nothing when an occurrence conflicts")
+    void testBookSeriesAllOrNothing() {
+        LocalDateTime startTime = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(9, 0);
+        BookingSeriesRequest request = buildSeriesRequest(startTime, startTime.toLocalDate().plusDays(4));
+
+        when(workspaceService.getWorkspace("W1")).thenReturn(buildWorkspace(1L, "W1"));
+        when(userService.getUser("testUser")).thenReturn(buildUserDTO(1L, "testUser"));
+        when(bookingDao.findConflicting(anyList())).thenReturn(Set.of(4));
+
+        BookingSeriesResponse response = bookingService.bookSeries(request, "testUser", BatchBookingMode.ALL_OR_NOTHING);
+
+        assertEquals(0, response.getCreated());
+        assertEquals(1, response.getConflicts());
+        assertEquals(BookingResultStatus.SKIPPED, response.getResults().get(0).getStatus());
+        assertNull(response.getSeries().getId());
+        verify(bookingDao, never()).saveSeries(any(BookingSeries.class), anyList());
+    }
+
+    @Test
+    @DisplayName("Test booking a series rejects series without an end")
+    void testBookSeriesWithoutEnd() {
+        LocalDateTime startTime = LocalDateTime.now().plusDays(1);
+
+        assertThrows(NotValidArgumentException.class,
+                () -> bookingService.bookSeries(buildSeriesRequest(startTime, null), "testUser", BatchBookingMode.BEST_EFFORT));
+        verifyNoInteractions(bookingDao);
+    }
+
+    private BookingSeriesRequest buildSeriesRequest(LocalDateTime startTime, LocalDate until) {
+        return BookingSeriesRequest.builder()
+                .workspaceName("W1")
+                .startTime(startTime)
+                .endTime(startTime.plusHours(8))
+                .frequency(RecurrenceFrequency.WEEKLY)
+                .daysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY))
+                .until(until)
+                .build();
+    }
 }
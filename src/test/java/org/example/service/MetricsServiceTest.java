@@ -0,0 +1,101 @@
+package org.example.service;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.example.async.QueryExecutor;
+import org.example.dto.AuditWriterStats;
+import org.example.dto.CacheStats;
+import org.example.dto.ConnectionPoolStats;
+import org.example.dto.QueryExecutorStats;
+import org.example.metrics.AuthFailure;
+import org.example.metrics.MetricsRegistry;
+import org.example.utils.ConnectionManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricsServiceTest {
+
+    @Spy
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    @Mock
+    private ConnectionManager connectionManager;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private QueryExecutor queryExecutor;
+
+    @InjectMocks
+    private MetricsService metricsService;
+
+    @Test
+    @DisplayName("Test scrape renders method timers as summaries")
+    void testScrapeMethodTimers() throws NoSuchMethodException {
+        stubCollaborators();
+        metricsRegistry.timer(MetricsService.class, MetricsService.class.getMethod("scrape"), "service")
+                .record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        String metrics = metricsService.scrape();
+
+        assertTrue(metrics.contains("# TYPE coworking_method_duration_seconds summary\n"));
+        assertTrue(metrics.contains("coworking_method_duration_seconds{layer=\"service\",method=\"MetricsService.scrape\",quantile=\"0.99\"} 0.002"));
+        assertTrue(metrics.contains("coworking_method_duration_seconds_count{layer=\"service\",method=\"MetricsService.scrape\"} 1\n"));
+        assertTrue(metrics.contains("coworking_method_duration_seconds_sum{layer=\"service\",method=\"MetricsService.scrape\"} 0.002\n"));
+    }
+
+    @Test
+    @DisplayName("Test scrape renders counters and gauges")
+    void testScrapeCountersAndGauges() {
+        stubCollaborators();
+        metricsRegistry.recordStatement(3);
+        metricsRegistry.recordStatement(0);
+        metricsRegistry.recordAuthFailure(AuthFailure.INVALID_TOKEN);
+
+        String metrics = metricsService.scrape();
+
+        assertTrue(metrics.contains("coworking_db_statements_total 2\n"));
+        assertTrue(metrics.contains("coworking_db_rows_read_total 3\n"));
+        assertTrue(metrics.contains("coworking_auth_failures_total{reason=\"invalid_token\"} 1\n"));
+        assertTrue(metrics.contains("coworking_auth_failures_total{reason=\"bad_credentials\"} 0\n"));
+        assertTrue(metrics.contains("coworking_audit_records_total{outcome=\"written\"} 7\n"));
+        assertTrue(metrics.contains("coworking_db_pool_connections{state=\"active\"} 2\n"));
+        assertTrue(metrics.contains("coworking_http_async_queue_depth 5\n"));
+        assertTrue(metrics.contains("coworking_http_async_rejected_total 1\n"));
+        assertTrue(metrics.contains("coworking_cache_hits_total{cache=\"user-by-id\"} 4\n"));
+    }
+
+    @Test
+    @DisplayName("Test timers are shared per class and method")
+    void testTimerIsReused() throws NoSuchMethodException {
+        var method = MetricsService.class.getMethod("scrape");
+
+        assertSame(metricsRegistry.timer(MetricsService.class, method, "service"),
+                metricsRegistry.timer(MetricsService.class, method, "service"));
+        assertNotSame(metricsRegistry.timer(MetricsService.class, method, "service"),
+                metricsRegistry.timer(CacheService.class, method, "service"));
+    }
+
+    private void stubCollaborators() {
+        when(connectionManager.getPoolStats()).thenReturn(ConnectionPoolStats.builder().active(2).idle(3).maximumPoolSize(10).build());
+        when(connectionManager.getAcquireLatency()).thenReturn(new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 2));
+        when(auditService.getWriterStats()).thenReturn(AuditWriterStats.builder().written(7).build());
+        when(queryExecutor.getStats()).thenReturn(QueryExecutorStats.builder().queueDepth(5).rejected(1).build());
+        when(cacheService.getCacheStats()).thenReturn(List.of(CacheStats.builder().name("user-by-id").hits(4).build()));
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.service;
 
+import org.example.cache.UserCache;
 import org.example.dto.AuthRequest;
 import org.example.exceptions.InvalidCredentialsException;
+import org.example.metrics.AuthFailure;
+import org.example.metrics.MetricsRegistry;
 import org.example.repository.UserRepository;
 import org.example.dto.TokenResponse;
 import org.example.dto.UserDTO;
@@ -30,6 +33,12 @@ class SecurityServiceTest {
     @Mock
     private JwtTokenUtil jwtTokenUtil;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private MetricsRegistry metricsRegistry;
+
     @InjectMocks
     private SecurityService securityService;
 
@@ -59,6 +68,7 @@ class SecurityServiceTest {
 
         verify(userRepository, times(1)).findByUsername(username);
         verify(userRepository, times(1)).save(any(User.class));
+        verify(userCache, times(1)).invalidate(username);
 
         assertNotNull(userDTO);
         assertEquals(1L, userDTO.getId());
@@ -116,6 +126,7 @@ class SecurityServiceTest {
         assertThrows(InvalidCredentialsException.class, () -> securityService.authenticate(authRequest));
         verify(userRepository, times(1)).findByUsername(username);
         verify(jwtTokenUtil, never()).generateToken(anyString());
+        verify(metricsRegistry, times(1)).recordAuthFailure(AuthFailure.BAD_CREDENTIALS);
     }
 
     @Test
@@ -135,5 +146,6 @@ class SecurityServiceTest {
         assertThrows(InvalidCredentialsException.class, () -> securityService.authenticate(authRequest));
         verify(userRepository, times(1)).findByUsername(username);
         verify(jwtTokenUtil, never()).generateToken(anyString());
+        verify(metricsRegistry, times(1)).recordAuthFailure(AuthFailure.BAD_CREDENTIALS);
     }
 }
@@ -1,5 +1,10 @@
 package org.example.service;
 
+import org.example.cache.AuthenticationCache;
+import org.example.cache.TokenDenylist;
+import org.example.cache.UserCache;
+import org.example.dto.Authentication;
+import org.example.entity.types.Role;
 import org.example.repository.UserRepository;
 import org.example.dto.UserDTO;
 import org.example.entity.User;
@@ -9,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
@@ -22,6 +28,15 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AuthenticationCache authenticationCache;
+
+    @Mock
+    private TokenDenylist tokenDenylist;
+
+    @Spy
+    private UserCache userCache = new UserCache(100, "PT1M", "PT10S");
+
     @InjectMocks
     private UserService userService;
 
@@ -83,4 +98,82 @@ class UserServiceTest {
         verify(userRepository, times(1)).findByUsername(username);
     }
 
+
+    @Test
+    @DisplayName("Test logout denies the token and drops cached authentications of the user")
+    void testLogoutInvalidatesCache() {
+        userService.logout(new Authentication("testUser", Role.USER), "token");
+
+        verify(tokenDenylist, times(1)).deny("token");
+        verify(authenticationCache, times(1)).invalidateUser("testUser");
+    }
+
+    @Test
+    @DisplayName("Test changing role updates user and drops cached authentications")
+    void testChangeRole() {
+        User user = User.builder().id(1L).username("testUser").password("password").role(Role.USER).build();
+        when(userRepository.findByUsernameOnPrimary("testUser")).thenReturn(Optional.of(user));
+        when(userRepository.update(user)).thenReturn(true);
+
+        UserDTO result = userService.changeRole("testUser", Role.ADMIN);
+
+        assertEquals(Role.ADMIN, result.getRole());
+        verify(userRepository, times(1)).update(argThat(updated -> updated.getRole() == Role.ADMIN));
+        verify(authenticationCache, times(1)).invalidateUser("testUser");
+    }
+
+    @Test
+    @DisplayName("Test changing role of missing user throws exception")
+    void testChangeRoleUserNotFound() {
+        when(userRepository.findByUsernameOnPrimary("missing")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.changeRole("missing", Role.ADMIN));
+        verify(authenticationCache, never()).invalidateUser(anyString());
+    }
+
+    @Test
+    @DisplayName("Test retrieving user by username is served from cache on repeated calls")
+    void testGetUserByUsernameIsCached() throws UserNotFoundException {
+        User user = User.builder().id(1L).username("testUser").password("hash").role(Role.USER).build();
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+
+        userService.getUser("testUser");
+        UserDTO cached = userService.getUser("testUser");
+        UserDTO byId = userService.getUser(1L);
+
+        assertEquals("testUser", cached.getUsername());
+        assertEquals(1L, byId.getId());
+        verify(userRepository, times(1)).findByUsername("testUser");
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Test unknown username is cached as missing until registration")
+    void testUnknownUsernameIsCached() {
+        when(userRepository.findByUsername("missing")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getUser("missing"));
+        assertThrows(UserNotFoundException.class, () -> userService.getUser("missing"));
+        verify(userRepository, times(1)).findByUsername("missing");
+
+        userCache.invalidate("missing");
+        when(userRepository.findByUsername("missing")).thenReturn(Optional.of(User.builder().id(2L).username("missing").build()));
+
+        assertEquals(2L, userService.getUser("missing").getId());
+    }
+
+    @Test
+    @DisplayName("Test changing role drops the cached user")
+    void testChangeRoleInvalidatesUserCache() {
+        User user = User.builder().id(1L).username("testUser").password("password").role(Role.USER).build();
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        when(userRepository.findByUsernameOnPrimary("testUser")).thenReturn(Optional.of(user));
+        when(userRepository.update(user)).thenReturn(true);
+
+        userService.getUser("testUser");
+        userService.changeRole("testUser", Role.ADMIN);
+
+        assertEquals(Role.ADMIN, userService.getUser("testUser").getRole());
+        verify(userCache, times(1)).invalidate("testUser");
+    }
 }
@@ -1,10 +1,13 @@
 package org.example.service;
 
 import org.example.repository.WorkspaceRepository;
+import org.example.dto.Page;
 import org.example.dto.WorkspaceRequest;
 import org.example.entity.Workspace;
+import org.example.exceptions.NotValidArgumentException;
 import org.example.exceptions.WorkspaceAlreadyExistException;
 import org.example.exceptions.WorkspaceNotFoundException;
+import org.example.utils.PageUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -99,4 +103,38 @@ public class WorkspaceServiceTest {
                 .name(name)
                 .build();
     }
+
+    @Test
+    @DisplayName("Test getting page of workspaces returns next cursor")
+    void testGetPageOfWorkspaces() {
+        when(workspaceRepository.findPage(null, 3)).thenReturn(List.of(
+                Workspace.builder().id(1L).name("W1").build(),
+                Workspace.builder().id(2L).name("W2").build(),
+                Workspace.builder().id(3L).name("W3").build()));
+
+        Page<Workspace> page = workspaceService.getPageOfWorkspaces(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, PageUtil.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Test getting last page of workspaces has no next cursor")
+    void testGetLastPageOfWorkspaces() {
+        String cursor = PageUtil.encodeCursor(2L);
+        when(workspaceRepository.findPage(2L, PageUtil.DEFAULT_LIMIT + 1)).thenReturn(List.of(Workspace.builder().id(3L).name("W3").build()));
+
+        Page<Workspace> page = workspaceService.getPageOfWorkspaces(cursor, null);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test getting page of workspaces with invalid cursor or limit throws NotValidArgumentException")
+    void testGetPageOfWorkspacesInvalidArguments() {
+        assertThrows(NotValidArgumentException.class, () -> workspaceService.getPageOfWorkspaces("not-a-cursor", 10));
+        assertThrows(NotValidArgumentException.class, () -> workspaceService.getPageOfWorkspaces(null, PageUtil.MAX_LIMIT + 1));
+        verifyNoInteractions(workspaceRepository);
+    }
 }
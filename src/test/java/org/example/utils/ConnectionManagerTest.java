@@ -0,0 +1,129 @@
+package org.example.utils;
+
+import org.example.liquibase.LiquibaseManager;
+import org.example.repository.impl.UserRepositoryImpl;
+import org.junit.jupiter.api.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers
+public class ConnectionManagerTest {
+
+    @Container
+    public static PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:16.2")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    private ConnectionManager connectionManager;
+
+    @BeforeAll
+    public static void setUpAll() {
+        postgresContainer.start();
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        connectionManager = new ConnectionManager();
+        connectionManager.getConnection(
+                postgresContainer.getJdbcUrl(),
+                postgresContainer.getUsername(),
+                postgresContainer.getPassword(),
+                postgresContainer.getDriverClassName()).close();
+        ReflectionTestUtils.setField(connectionManager, "maxConcurrent", 2);
+        ReflectionTestUtils.setField(connectionManager, "acquireTimeout", "PT0.5S");
+    }
+
+    @AfterEach
+    public void reset() {
+        connectionManager.close();
+    }
+
+    @AfterAll
+    public static void resetAll() {
+        postgresContainer.stop();
+    }
+
+    @Test
+    @DisplayName("Test getConnection waits for a permit of the concurrency limit")
+    public void testGetConnectionWaitsForPermit() throws Exception {
+        Connection first = connectionManager.getConnection();
+        Connection second = connectionManager.getConnection();
+
+        CompletableFuture<Connection> third = CompletableFuture.supplyAsync(connectionManager::getConnection);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (connectionManager.getPoolStats().getLimiterWaiting() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(connectionManager.getPoolStats().getLimiterWaiting()).isEqualTo(1);
+        assertThat(third).isNotDone();
+
+        first.close();
+        try (Connection connection = third.get(1, TimeUnit.SECONDS)) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+        second.close();
+
+        assertThat(connectionManager.getPoolStats().getMaximumConcurrent()).isEqualTo(2);
+        assertThat(connectionManager.getPoolStats().getLimiterWaiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test getConnection gives up after the acquire timeout when no permit is free")
+    public void testGetConnectionTimesOut() throws Exception {
+        try (Connection first = connectionManager.getConnection();
+             Connection second = connectionManager.getConnection()) {
+            assertThatThrownBy(() -> connectionManager.getConnection())
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("concurrency limit of 2");
+        }
+
+        assertThat(connectionManager.getPoolStats().getAcquireTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test closing a connection twice releases its permit once")
+    public void testCloseReleasesPermitOnce() throws Exception {
+        Connection connection = connectionManager.getConnection();
+        connection.close();
+        connection.close();
+
+        try (Connection first = connectionManager.getConnection();
+             Connection second = connectionManager.getConnection()) {
+            assertThatThrownBy(() -> connectionManager.getConnection()).isInstanceOf(RuntimeException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Test repository statements become server-side prepared statements of the pooled connection")
+    public void testStatementsArePreparedOnServer() throws Exception {
+        ReflectionTestUtils.setField(connectionManager, "maximumPoolSize", 1);
+        try (Connection connection = connectionManager.getConnection()) {
+            LiquibaseManager.getInstance().runMigrations(connection);
+        }
+        UserRepositoryImpl userRepository = new UserRepositoryImpl(connectionManager);
+
+        userRepository.findByUsername("admin");
+        userRepository.findByUsername("admin");
+
+        try (Connection connection = connectionManager.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT count(*) FROM pg_prepared_statements WHERE statement LIKE '%FROM coworking.users%WHERE username=$1%'"
+                             + " AND statement NOT LIKE '%pg_prepared_statements%'")) {
+            resultSet.next();
+            assertThat(resultSet.getInt(1)).isEqualTo(1);
+        }
+    }
+}
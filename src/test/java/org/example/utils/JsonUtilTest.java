@@ -0,0 +1,72 @@
+package org.example.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.entity.Audit;
+import org.example.entity.Booking;
+import org.example.entity.Workspace;
+import org.example.entity.types.ActionType;
+import org.example.entity.types.AuditType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonUtilTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000);
+
+    private final ObjectMapper beanMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    @DisplayName("Test bookings are written exactly like the bean serializer writes them")
+    public void testBookingSerializer() throws Exception {
+        List<Booking> bookings = List.of(
+                new Booking(1L, 2L, 3L, TIME, TIME.plusHours(1), 4L, 5L),
+                new Booking(null, 2L, null, null, TIME, null, null));
+
+        String json = JsonUtil.OBJECT_MAPPER.writeValueAsString(bookings);
+
+        assertThat(json).isEqualTo(beanMapper.writeValueAsString(bookings));
+        assertThat(json).contains("\"startTime\":\"2024-05-01T10:30:15\"");
+    }
+
+    @Test
+    @DisplayName("Test workspaces are written exactly like the bean serializer writes them")
+    public void testWorkspaceSerializer() throws Exception {
+        List<Workspace> workspaces = List.of(new Workspace(1L, "Workspace \"A\""), new Workspace(2L, null));
+
+        assertThat(JsonUtil.OBJECT_MAPPER.writeValueAsString(workspaces))
+                .isEqualTo(beanMapper.writeValueAsString(workspaces));
+    }
+
+    @Test
+    @DisplayName("Test audits are written exactly like the bean serializer writes them")
+    public void testAuditSerializer() throws Exception {
+        List<Audit> audits = List.of(
+                new Audit(1L, "admin", AuditType.SUCCESS, ActionType.BOOK_WORKSPACE, TIME),
+                new Audit(2L, null, null, null, null));
+
+        assertThat(JsonUtil.OBJECT_MAPPER.writeValueAsString(audits))
+                .isEqualTo(beanMapper.writeValueAsString(audits));
+    }
+
+    @Test
+    @DisplayName("Test output is compact and date-times without a property format use the shared format")
+    public void testCompactOutput() throws Exception {
+        String json = JsonUtil.OBJECT_MAPPER.writeValueAsString(List.of(TIME));
+
+        assertThat(json).isEqualTo("[\"2024-05-01T10:30:15\"]");
+        assertThat(JsonUtil.OBJECT_MAPPER.readValue("\"2024-05-01T10:30:15\"", LocalDateTime.class))
+                .isEqualTo(TIME.withNano(0));
+    }
+
+    @Test
+    @DisplayName("Test pretty output is not requested outside of a request")
+    public void testPrettyNotRequestedWithoutRequest() {
+        assertThat(JsonUtil.isPrettyRequested()).isFalse();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.utils;
+
+import org.example.cache.AuthenticationCache;
+import org.example.dto.Authentication;
+import org.example.dto.UserDTO;
+import org.example.entity.types.Role;
+import org.example.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.AccessDeniedException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtTokenUtilTest {
+
+    private UserService userService;
+    private AuthenticationCache authenticationCache;
+    private JwtTokenUtil jwtTokenUtil;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        authenticationCache = new AuthenticationCache(100);
+        jwtTokenUtil = new JwtTokenUtil(userService, authenticationCache);
+        ReflectionTestUtils.setField(jwtTokenUtil, "secret", "test-secret");
+        ReflectionTestUtils.setField(jwtTokenUtil, "jwtLifetime", "PT1H");
+
+        when(userService.getUser("testUser")).thenReturn(UserDTO.builder().id(1L).username("testUser").role(Role.USER).build());
+    }
+
+    @Test
+    @DisplayName("Test repeated authentication is served from cache")
+    void testAuthenticationCached() throws Exception {
+        String token = jwtTokenUtil.generateToken("testUser");
+
+        Authentication first = jwtTokenUtil.authentication(token);
+        Authentication second = jwtTokenUtil.authentication(token);
+
+        assertEquals(new Authentication("testUser", Role.USER), first);
+        assertEquals(first, second);
+        verify(userService, times(1)).getUser("testUser");
+        assertEquals(1, authenticationCache.getStats().getHits());
+    }
+
+    @Test
+    @DisplayName("Test invalidated user is loaded again")
+    void testAuthenticationAfterInvalidation() throws Exception {
+        String token = jwtTokenUtil.generateToken("testUser");
+        jwtTokenUtil.authentication(token);
+
+        authenticationCache.invalidateUser("testUser");
+        when(userService.getUser("testUser")).thenReturn(UserDTO.builder().id(1L).username("testUser").role(Role.ADMIN).build());
+
+        assertEquals(Role.ADMIN, jwtTokenUtil.authentication(token).getRole());
+        verify(userService, times(2)).getUser("testUser");
+    }
+
+    @Test
+    @DisplayName("Test invalid token is rejected and not cached")
+    void testInvalidToken() {
+        String token = jwtTokenUtil.generateToken("testUser") + "x";
+
+        assertThrows(AccessDeniedException.class, () -> jwtTokenUtil.authentication(token));
+        assertFalse(jwtTokenUtil.validateToken(token));
+        assertEquals(0, authenticationCache.getStats().getSize());
+        verifyNoInteractions(userService);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.utils;
+
+import org.example.entity.Booking;
+import org.example.entity.BookingSeries;
+import org.example.entity.types.RecurrenceFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecurrenceUtilTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    @Test
+    @DisplayName("Test weekly series on weekdays every other week until a date")
+    public void testWeeklyOnWeekdays() {
+        BookingSeries series = buildSeries(RecurrenceFrequency.WEEKLY, 2, Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY))
+                .until(LocalDate.of(2030, 1, 21))
+                .build();
+
+        assertThat(startDates(series)).containsExactly(
+                LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 11), LocalDate.of(2030, 1, 21));
+    }
+
+    @Test
+    @DisplayName("Test daily series keeps the time of day and duration of the first occurrence and stops after count")
+    public void testDailyWithCount() {
+        BookingSeries series = buildSeries(RecurrenceFrequency.DAILY, 3, null)
+                .startTime(MONDAY.plusDays(1))
+                .endTime(MONDAY.plusDays(1).plusHours(15))
+                .count(3)
+                .build();
+
+        List<Booking> occurrences = RecurrenceUtil.occurrences(series).collect(Collectors.toList());
+
+        assertThat(occurrences).extracting(Booking::getStartTime).containsExactly(
+                MONDAY.plusDays(1), MONDAY.plusDays(4), MONDAY.plusDays(7));
+        assertThat(occurrences).extracting(Booking::getEndTime).containsExactly(
+                MONDAY.plusDays(1).plusHours(15), MONDAY.plusDays(4).plusHours(15), MONDAY.plusDays(7).plusHours(15));
+        assertThat(occurrences).allMatch(booking -> booking.getWorkspaceId() == 1L && booking.getUserId() == 2L);
+    }
+
+    @Test
+    @DisplayName("Test weekly series without days repeats on the day of the start and skips days before it")
+    public void testWeeklyDefaultsToDayOfStart() {
+        BookingSeries series = buildSeries(RecurrenceFrequency.WEEKLY, 1, null)
+                .startTime(MONDAY.plusDays(2))
+                .endTime(MONDAY.plusDays(2).plusHours(1))
+                .count(2)
+                .build();
+        BookingSeries weekdays = buildSeries(RecurrenceFrequency.WEEKLY, 1, Set.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY))
+                .startTime(MONDAY.plusDays(2))
+                .endTime(MONDAY.plusDays(2).plusHours(1))
+                .count(2)
+                .build();
+
+        assertThat(startDates(series)).containsExactly(LocalDate.of(2030, 1, 9), LocalDate.of(2030, 1, 16));
+        assertThat(startDates(weekdays)).containsExactly(LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 14));
+    }
+
+    @Test
+    @DisplayName("Test expansion is lazy for series without an end")
+    public void testExpansionIsLazy() {
+        BookingSeries series = buildSeries(RecurrenceFrequency.DAILY, 1, null).build();
+
+        assertThat(RecurrenceUtil.occurrences(series).limit(1000).count()).isEqualTo(1000);
+    }
+
+    private static BookingSeries.BookingSeriesBuilder buildSeries(RecurrenceFrequency frequency, int interval, Set<DayOfWeek> days) {
+        return BookingSeries.builder()
+                .workspaceId(1L)
+                .userId(2L)
+                .frequency(frequency)
+                .interval(interval)
+                .daysOfWeek(days)
+                .startTime(MONDAY)
+                .endTime(MONDAY.plusHours(8));
+    }
+
+    private static List<LocalDate> startDates(BookingSeries series) {
+        return RecurrenceUtil.occurrences(series)
+                .map(booking -> booking.getStartTime().toLocalDate())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.utils;
+
+import org.example.exceptions.WorkspaceLockTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class WorkspaceLockManagerTest {
+
+    private final WorkspaceLockManager lockManager = new WorkspaceLockManager(4, "PT0.2S");
+
+    @Test
+    @DisplayName("Test bookings of the same workspace wait for each other")
+    public void testSameWorkspaceIsSerialized() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> holder = CompletableFuture.supplyAsync(() -> lockManager.callLocked(1L, () -> {
+            locked.countDown();
+            return await(release);
+        }));
+        assertThat(locked.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> lockManager.callLocked(1L, () -> true))
+                .isInstanceOf(WorkspaceLockTimeoutException.class);
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> lockManager.callLocked(1L, () -> true));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (lockManager.getQueueLength(1L) == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(lockManager.getQueueLength(1L)).isEqualTo(1);
+
+        release.countDown();
+        assertThat(holder.get(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(waiter.get(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test bookings of workspaces on different stripes run in parallel and share the lock otherwise")
+    public void testDifferentWorkspacesRunInParallel() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> holder = CompletableFuture.supplyAsync(() -> lockManager.callLocked(1L, () -> {
+            locked.countDown();
+            return await(release);
+        }));
+        assertThat(locked.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(lockManager.callLocked(2L, () -> "booked")).isEqualTo("booked");
+        assertThatThrownBy(() -> lockManager.callLocked(5L, () -> "same stripe"))
+                .isInstanceOf(WorkspaceLockTimeoutException.class);
+
+        release.countDown();
+        assertThat(holder.get(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Test the lock is released when the action fails")
+    public void testLockReleasedOnFailure() {
+        assertThatThrownBy(() -> lockManager.callLocked(1L, () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(lockManager.callLocked(1L, () -> "booked")).isEqualTo("booked");
+    }
+
+    @Test
+    @DisplayName("Test the number of stripes has to be positive")
+    public void testInvalidStripes() {
+        assertThatThrownBy(() -> new WorkspaceLockManager(0, "PT1S"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package org.example.сontrollers;
 
 import org.example.controllers.AdminController;
 import org.example.dto.Authentication;
+import org.example.dto.CacheStats;
+import org.example.dto.Page;
+import org.example.dto.UtilizationReport;
 import org.example.dto.WorkspaceRequest;
 import org.example.entity.Audit;
 import org.example.entity.Workspace;
@@ -9,8 +12,14 @@ import org.example.entity.types.ActionType;
 import org.example.entity.types.Role;
 import org.example.exceptions.InvalidCredentialsException;
 import org.example.exceptions.WorkspaceAlreadyExistException;
+import org.example.dto.UserDTO;
+import org.example.service.AnalyticsService;
 import org.example.service.AuditService;
+import org.example.service.CacheService;
+import org.example.service.MetricsService;
+import org.example.service.UserService;
 import org.example.service.WorkspaceService;
+import org.example.utils.AuthenticationContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,18 +27,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import javax.servlet.ServletContext;
-
+import java.nio.file.AccessDeniedException;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class AdminControllerTest {
@@ -41,7 +54,19 @@ public class AdminControllerTest {
     private WorkspaceService workspaceService;
 
     @Mock
-    private ServletContext servletContext;
+    private UserService userService;
+
+    @Mock
+    private CacheService cacheService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private AuthenticationContext authenticationContext;
 
     @InjectMocks
     private AdminController adminController;
@@ -60,7 +85,7 @@ public class AdminControllerTest {
         WorkspaceRequest request = new WorkspaceRequest("Workspace1");
         Workspace workspace = Workspace.builder().name("Workspace1").build();
 
-        when(servletContext.getAttribute("authentication")).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
         when(workspaceService.createWorkspace(request)).thenReturn(workspace);
 
         mockMvc.perform(post("/admin/workspaces")
@@ -74,7 +99,7 @@ public class AdminControllerTest {
     public void testCreateWorkspaceFail() {
         WorkspaceRequest request = new WorkspaceRequest("Workspace1");
 
-        when(servletContext.getAttribute("authentication")).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
         when(workspaceService.createWorkspace(request)).thenThrow(new WorkspaceAlreadyExistException("Workspace already exist."));
 
         WorkspaceAlreadyExistException exception = assertThrows(WorkspaceAlreadyExistException.class, () -> {
@@ -89,7 +114,7 @@ public class AdminControllerTest {
     public void testUpdateWorkspace() throws Exception {
         String name = "Workspace1";
 
-        when(servletContext.getAttribute("authentication")).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
 
         mockMvc.perform(put("/admin/workspaces")
                         .param("name", name)
@@ -103,7 +128,7 @@ public class AdminControllerTest {
     public void testDeleteWorkspaceByName() throws Exception {
         String name = "Workspace1";
 
-        when(servletContext.getAttribute("authentication")).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
 
         mockMvc.perform(delete("/admin/workspaces/name/{name}", name)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -115,7 +140,7 @@ public class AdminControllerTest {
     public void testDeleteWorkspaceById() throws Exception {
         Long id = 1L;
 
-        when(servletContext.getAttribute("authentication")).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
 
         mockMvc.perform(delete("/admin/workspaces/id/{id}", id)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -127,15 +152,161 @@ public class AdminControllerTest {
     public void testGetListOfAllAudits() throws Exception {
         List<Audit> audits = Arrays.asList((Audit.builder().actionType(ActionType.AUTHORIZATION).build()), Audit.builder().actionType(ActionType.REGISTRATION).build());
 
-        when(servletContext.getAttribute("authentication")).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
         when(auditService.getAllAudits()).thenReturn(audits);
 
         mockMvc.perform(get("/admin/audits")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(servletContext, times(1)).getAttribute("authentication");
+        verify(authenticationContext, times(1)).getAuthentication();
         verify(auditService, times(1)).getAllAudits();
     }
 
+    @Test
+    @DisplayName("Test changing user role success")
+    public void testChangeUserRole() throws Exception {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(userService.changeRole("user", Role.ADMIN)).thenReturn(UserDTO.builder().id(1L).username("user").role(Role.ADMIN).build());
+
+        mockMvc.perform(put("/admin/users/user/role")
+                        .param("role", "ADMIN")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(userService, times(1)).changeRole("user", Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Test changing user role without admin rights fails")
+    public void testChangeUserRoleForbidden() {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("user", Role.USER));
+
+        assertThrows(AccessDeniedException.class, () -> adminController.changeUserRole("user", Role.ADMIN));
+        verify(userService, never()).changeRole(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Test getting page of audits success")
+    public void testGetPageOfAudits() throws Exception {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(auditService.getAuditsPage("cursor", 10)).thenReturn(new Page<>(List.of(), null));
+
+        mockMvc.perform(get("/admin/audits/page")
+                        .param("cursor", "cursor")
+                        .param("limit", "10"))
+                .andExpect(status().isOk());
+
+        verify(auditService, times(1)).getAuditsPage("cursor", 10);
+    }
+
+    @Test
+    @DisplayName("Test getting page of audits within a time window")
+    public void testGetPageOfAuditsInWindow() throws Exception {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(auditService.getAuditsPage("2024-06-01T00:00:00", "2024-07-01T00:00:00", null, 10))
+                .thenReturn(new Page<>(List.of(), null));
+
+        mockMvc.perform(get("/admin/audits/page")
+                        .param("from", "2024-06-01T00:00:00")
+                        .param("to", "2024-07-01T00:00:00")
+                        .param("limit", "10"))
+                .andExpect(status().isOk());
+
+        verify(auditService, times(1)).getAuditsPage("2024-06-01T00:00:00", "2024-07-01T00:00:00", null, 10);
+        verify(auditService, never()).getAuditsPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test searching audits by time range and username")
+    public void testSearchAudits() throws Exception {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(auditService.searchAudits("2024-01-01T00:00:00", "2024-07-01T00:00:00", "user1", null))
+                .thenReturn(List.of(Audit.builder().id(1L).username("user1").actionType(ActionType.AUTHORIZATION).build()));
+
+        mockMvc.perform(get("/admin/audits/search")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-07-01T00:00:00")
+                        .param("username", "user1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("user1"));
+
+        verify(auditService, times(1)).searchAudits("2024-01-01T00:00:00", "2024-07-01T00:00:00", "user1", null);
+    }
+
+    @Test
+    @DisplayName("Test getting utilization of workspaces")
+    public void testGetUtilization() throws Exception {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(analyticsService.getUtilization("2024-06-01", "2024-06-30", true))
+                .thenReturn(UtilizationReport.builder().from(LocalDate.of(2024, 6, 1)).peakHours(List.of(10, 11)).build());
+
+        mockMvc.perform(get("/admin/analytics/utilization")
+                        .param("from", "2024-06-01")
+                        .param("to", "2024-06-30")
+                        .param("pushDown", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.peakHours[0]").value(10));
+
+        verify(analyticsService, times(1)).getUtilization("2024-06-01", "2024-06-30", true);
+    }
+
+    @Test
+    @DisplayName("Test streaming audits writes JSON array")
+    public void testStreamAudits() throws Exception {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
+        doAnswer(invocation -> {
+            Consumer<Audit> action = invocation.getArgument(0);
+            action.accept(Audit.builder().id(1L).username("user1").actionType(ActionType.AUTHORIZATION).build());
+            action.accept(Audit.builder().id(2L).username("user2").actionType(ActionType.REGISTRATION).build());
+            return null;
+        }).when(auditService).forEachAudit(any());
+
+        mockMvc.perform(get("/admin/audits/stream"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].username").value("user2"));
+    }
+
+    @Test
+    @DisplayName("Test streaming audits without admin rights fails")
+    public void testStreamAuditsForbidden() {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("user", Role.USER));
+
+        assertThrows(AccessDeniedException.class, () -> adminController.streamAudits(new MockHttpServletResponse()));
+        verify(auditService, never()).forEachAudit(any());
+    }
+
+    @Test
+    @DisplayName("Test getting cache statistics success")
+    public void testGetCacheStats() throws Exception {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(cacheService.getCacheStats()).thenReturn(List.of(CacheStats.builder().name("workspace-by-name").hits(3).build()));
+
+        mockMvc.perform(get("/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("workspace-by-name"))
+                .andExpect(jsonPath("$[0].hits").value(3));
+    }
+
+    @Test
+    @DisplayName("Test getting metrics success")
+    public void testGetMetrics() throws Exception {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("admin", Role.ADMIN));
+        when(metricsService.scrape()).thenReturn("coworking_db_statements_total 5.0\n");
+
+        mockMvc.perform(get("/admin/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andExpect(content().string("coworking_db_statements_total 5.0\n"));
+    }
+
+    @Test
+    @DisplayName("Test getting metrics forbidden for user")
+    public void testGetMetricsForbidden() {
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("user", Role.USER));
+
+        assertThrows(AccessDeniedException.class, () -> adminController.getMetrics());
+        verify(metricsService, never()).scrape();
+    }
 }
@@ -1,34 +1,48 @@
 package org.example.сontrollers;
 
+import org.example.async.QueryExecutor;
 import org.example.controllers.BookingController;
 import org.example.dto.Authentication;
+import org.example.dto.BatchBookingMode;
+import org.example.dto.BatchBookingResponse;
 import org.example.dto.BookingRequest;
+import org.example.dto.BookingSeriesResponse;
+import org.example.dto.RescheduleRequest;
 import org.example.dto.WorkspaceRequest;
 import org.example.entity.Booking;
+import org.example.entity.types.RecurrenceFrequency;
 import org.example.entity.types.Role;
 import org.example.exceptions.WorkspaceAlreadyBookedException;
 import org.example.exceptions.WorkspaceAlreadyExistException;
 import org.example.service.BookingService;
+import org.example.utils.AuthenticationContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import javax.servlet.ServletContext;
-
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class BookingControllerTest {
@@ -37,9 +51,10 @@ public class BookingControllerTest {
     private BookingService bookingService;
 
     @Mock
-    private ServletContext servletContext;
+    private AuthenticationContext authenticationContext;
+
+    private QueryExecutor queryExecutor;
 
-    @InjectMocks
     private BookingController bookingController;
 
     private MockMvc mockMvc;
@@ -47,16 +62,24 @@ public class BookingControllerTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        queryExecutor = new QueryExecutor(new AuthenticationContext());
+        queryExecutor.start();
+        bookingController = new BookingController(bookingService, authenticationContext, queryExecutor);
         mockMvc = MockMvcBuilders.standaloneSetup(bookingController).build();
     }
 
+    @AfterEach
+    public void tearDown() {
+        queryExecutor.close();
+    }
+
     @Test
     @DisplayName("Test booking Workspace success")
     public void testBookWorkspace() throws Exception {
         BookingRequest request = buildBookingRequest("Workspace1", "2024-07-15T10:00:00", "2024-07-15T12:00:00");
         Booking booking = buildBooking(1L, 1L, "2024-07-15T10:00:00", "2024-07-15T12:00:00");
 
-        when(servletContext.getAttribute("authentication")).thenReturn(new Authentication("user1", Role.USER));
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("user1", Role.USER));
         when(bookingService.bookWorkspace(request, "user1")).thenReturn(booking);
 
         mockMvc.perform(post("/workspaces/bookings/book")
@@ -70,7 +93,7 @@ public class BookingControllerTest {
     public void testBookWorkspaceFail() {
         BookingRequest request = buildBookingRequest("Workspace1", "2024-07-15T10:00:00", "2024-07-15T12:00:00");
 
-        when(servletContext.getAttribute("authentication")).thenReturn(new Authentication("user1", Role.USER));
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("user1", Role.USER));
         when(bookingService.bookWorkspace(request, "user1")).thenThrow(new WorkspaceAlreadyBookedException("Workspace already booked."));
 
         WorkspaceAlreadyBookedException exception = assertThrows(WorkspaceAlreadyBookedException.class, () -> {
@@ -80,6 +103,27 @@ public class BookingControllerTest {
         assertEquals("Workspace already booked.", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("Test Reschedule Booking")
+    public void testRescheduleBooking() throws Exception {
+        Booking booking = buildBooking(1L, 1L, "2024-07-15T14:00:00", "2024-07-15T16:00:00");
+        booking.setId(5L);
+        booking.setVersion(2L);
+
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("user1", Role.USER));
+        when(bookingService.rescheduleBooking(eq(5L), any(RescheduleRequest.class), eq("user1"))).thenReturn(booking);
+
+        mockMvc.perform(put("/workspaces/bookings/{id}", 5)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"workspaceName\": \"Workspace1\", \"startTime\": \"2024-07-15T14:00:00\", \"endTime\": \"2024-07-15T16:00:00\", \"version\": 1 }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5))
+                .andExpect(jsonPath("$.version").value(2));
+
+        verify(bookingService).rescheduleBooking(eq(5L), argThat(request -> request.getVersion() == 1L
+                && request.getWorkspaceName().equals("Workspace1")), eq("user1"));
+    }
+
     @Test
     @DisplayName("Test Cancel Booking")
     public void testCancelBooking() throws Exception {
@@ -98,10 +142,14 @@ public class BookingControllerTest {
         String startTime = "2024-07-15T00:00:00";
         String endTime = "2024-07-15T23:59:59";
 
-        mockMvc.perform(get("/workspaces/bookings/time-period")
+        MvcResult result = mockMvc.perform(get("/workspaces/bookings/time-period")
                         .param("startTime", startTime)
                         .param("endTime", endTime)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         verify(bookingService, times(1)).getFilteredBookingsByTimePeriod(startTime, endTime);
@@ -135,6 +183,56 @@ public class BookingControllerTest {
 
 
 
+    @Test
+    @DisplayName("Test booking several Workspaces in one request")
+    public void testBookWorkspaces() throws Exception {
+        BatchBookingResponse response = BatchBookingResponse.builder()
+                .mode(BatchBookingMode.ALL_OR_NOTHING)
+                .created(2)
+                .results(List.of())
+                .build();
+
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("user1", Role.USER));
+        when(bookingService.bookWorkspaces(anyList(), eq("user1"), eq(BatchBookingMode.ALL_OR_NOTHING))).thenReturn(response);
+
+        mockMvc.perform(post("/workspaces/bookings/batch")
+                        .param("mode", "ALL_OR_NOTHING")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{ \"workspaceName\": \"Workspace1\", \"startTime\": \"2024-07-15T10:00:00\", \"endTime\": \"2024-07-15T12:00:00\" }," +
+                                " { \"workspaceName\": \"Workspace2\", \"startTime\": \"2024-07-15T10:00:00\", \"endTime\": \"2024-07-15T12:00:00\" }]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2));
+
+        verify(bookingService, times(1)).bookWorkspaces(argThat(requests -> requests.size() == 2), eq("user1"), eq(BatchBookingMode.ALL_OR_NOTHING));
+    }
+
+    @Test
+    @DisplayName("Test booking a series of Workspace bookings in one request")
+    public void testBookSeries() throws Exception {
+        BookingSeriesResponse response = BookingSeriesResponse.builder()
+                .mode(BatchBookingMode.BEST_EFFORT)
+                .created(60)
+                .conflicts(2)
+                .results(List.of())
+                .build();
+
+        when(authenticationContext.getAuthentication()).thenReturn(new Authentication("user1", Role.USER));
+        when(bookingService.bookSeries(any(), eq("user1"), eq(BatchBookingMode.BEST_EFFORT))).thenReturn(response);
+
+        mockMvc.perform(post("/workspaces/bookings/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"workspaceName\": \"Workspace1\", \"startTime\": \"2030-07-01T09:00:00\", \"endTime\": \"2030-07-01T18:00:00\"," +
+                                " \"frequency\": \"WEEKLY\", \"daysOfWeek\": [\"MONDAY\", \"FRIDAY\"], \"until\": \"2030-09-30\" }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(60))
+                .andExpect(jsonPath("$.conflicts").value(2));
+
+        verify(bookingService, times(1)).bookSeries(argThat(request -> request.getFrequency() == RecurrenceFrequency.WEEKLY
+                        && request.getDaysOfWeek().equals(Set.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY))
+                        && request.getUntil().equals(LocalDate.of(2030, 9, 30))),
+                eq("user1"), eq(BatchBookingMode.BEST_EFFORT));
+    }
+
     private BookingRequest buildBookingRequest(String workspaceName, String startTime, String endTime){
         return BookingRequest.builder()
                 .workspaceName(workspaceName)
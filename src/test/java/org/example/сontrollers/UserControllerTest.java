@@ -1,7 +1,10 @@
 package org.example.сontrollers;
 
 import org.example.controllers.UserController;
+import org.example.dto.Authentication;
+import org.example.entity.types.Role;
 import org.example.service.UserService;
+import org.example.utils.AuthenticationContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +15,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -21,6 +25,9 @@ public class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private AuthenticationContext authenticationContext;
+
     @InjectMocks
     private UserController userController;
 
@@ -35,9 +42,14 @@ public class UserControllerTest {
     @Test
     @DisplayName("Logout success test")
     public void testLogout() throws Exception {
+        Authentication authentication = new Authentication("user1", Role.USER);
+        when(authenticationContext.getAuthentication()).thenReturn(authentication);
+
         mockMvc.perform(get("/user/logout")
+                        .header("Authorization", "Bearer token")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
+        verify(userService, times(1)).logout(authentication, "token");
     }
 }
@@ -1,24 +1,41 @@
 package org.example.сontrollers;
 
+import org.example.async.QueryExecutor;
 import org.example.controllers.WorkspaceController;
+import org.example.controllers.advice.GlobalExceptionHandler;
+import org.example.dto.Page;
 import org.example.entity.Workspace;
 import org.example.service.BookingService;
 import org.example.service.WorkspaceService;
+import org.example.utils.AuthenticationContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class WorkspaceControllerTest {
@@ -29,15 +46,26 @@ public class WorkspaceControllerTest {
     @Mock
     private BookingService bookingService;
 
-    @InjectMocks
-    private WorkspaceController workspaceController;
+    private QueryExecutor queryExecutor;
 
     private MockMvc mockMvc;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(workspaceController).build();
+        queryExecutor = new QueryExecutor(new AuthenticationContext());
+        ReflectionTestUtils.setField(queryExecutor, "threads", 1);
+        ReflectionTestUtils.setField(queryExecutor, "queueCapacity", 1);
+        queryExecutor.start();
+        WorkspaceController workspaceController = new WorkspaceController(workspaceService, bookingService, queryExecutor);
+        mockMvc = MockMvcBuilders.standaloneSetup(workspaceController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queryExecutor.close();
     }
 
     @Test
@@ -49,13 +77,62 @@ public class WorkspaceControllerTest {
 
         when(workspaceService.getListOfAllWorkSpaces()).thenReturn(workspaces);
 
-        mockMvc.perform(get("/workspaces/list")
+        MvcResult result = mockMvc.perform(get("/workspaces/list")
                         .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
 
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].name").value("Workspace2"));
         verify(workspaceService, times(1)).getListOfAllWorkSpaces();
     }
 
+    @Test
+    @DisplayName("Test read requests are rejected with 503 and Retry-After when the query queue is full")
+    public void testReadRejectedWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(workspaceService.getListOfAllWorkSpaces()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        MvcResult running = mockMvc.perform(get("/workspaces/list")).andExpect(request().asyncStarted()).andReturn();
+        verify(workspaceService, timeout(1000)).getListOfAllWorkSpaces();
+        MvcResult queued = mockMvc.perform(get("/workspaces/list")).andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(get("/workspaces/list"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        release.countDown();
+        mockMvc.perform(asyncDispatch(running)).andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(queued)).andExpect(status().isOk());
+        assertEquals(1, queryExecutor.getStats().getRejected());
+    }
+
+    @Test
+    @DisplayName("Test read requests which time out are answered with 503 and Retry-After")
+    public void testReadTimesOut() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingService.getAvailableWorkspacesAtNow()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        MvcResult result = mockMvc.perform(get("/workspaces/available")).andExpect(request().asyncStarted()).andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        release.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        assertEquals(1, queryExecutor.getStats().getTimeouts());
+    }
+
     @Test
     @DisplayName("Test getting workspace by name success")
     public void testGetWorkspaceByName() throws Exception {
@@ -95,8 +172,12 @@ public class WorkspaceControllerTest {
         );
         when(bookingService.getAvailableWorkspacesAtNow()).thenReturn(availableWorkspaces);
 
-        mockMvc.perform(get("/workspaces/available")
+        MvcResult result = mockMvc.perform(get("/workspaces/available")
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         verify(bookingService, times(1)).getAvailableWorkspacesAtNow();
@@ -114,12 +195,42 @@ public class WorkspaceControllerTest {
 
         when(bookingService.getAvailableWorkspacesForTimePeriod(startTime, endTime)).thenReturn(availableWorkspaces);
 
-        mockMvc.perform(get("/workspaces/available-period")
+        MvcResult result = mockMvc.perform(get("/workspaces/available-period")
                         .param("startTime", startTime)
                         .param("endTime", endTime)
                         .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
 
         verify(bookingService, times(1)).getAvailableWorkspacesForTimePeriod(startTime, endTime);
     }
+
+    @Test
+    @DisplayName("Test getting page of workspaces success")
+    public void testGetPageOfWorkspaces() throws Exception {
+        when(workspaceService.getPageOfWorkspaces(null, 2)).thenReturn(new Page<>(List.of(Workspace.builder().id(1L).name("Workspace1").build()), "next"));
+
+        mockMvc.perform(get("/workspaces/list/page")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Workspace1"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    @DisplayName("Test streaming workspaces writes JSON array")
+    public void testStreamWorkspaces() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Workspace> action = invocation.getArgument(0);
+            action.accept(Workspace.builder().id(1L).name("Workspace1").build());
+            return null;
+        }).when(workspaceService).forEachWorkspace(any());
+
+        mockMvc.perform(get("/workspaces/list/stream"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Workspace1"));
+    }
 }